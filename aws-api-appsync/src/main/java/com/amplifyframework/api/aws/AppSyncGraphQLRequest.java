@@ -47,6 +47,7 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
     private final SelectionSet selectionSet;
     private final Map<String, Object> variables;
     private final Map<String, String> variableTypes;
+    private volatile String query;
 
     /**
      * Constructor for AppSyncGraphQLRequest.
@@ -95,6 +96,16 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
      */
     @Override
     public String getQuery() {
+        // The request can not change, so its document is only rendered once.
+        String renderedQuery = query;
+        if (renderedQuery == null) {
+            renderedQuery = renderQuery();
+            query = renderedQuery;
+        }
+        return renderedQuery;
+    }
+
+    private String renderQuery() {
         String inputTypeString = "";
         String inputParameterString = "";
         if (variableTypes.size() > 0) {
@@ -217,7 +228,8 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
             this.modelSchema = request.modelSchema;
             this.operation = request.operation;
             this.responseType = request.getResponseType();
-            this.selectionSet = new SelectionSet(request.selectionSet);
+            // Selection sets are not changed once built, so the request's own can be shared.
+            this.selectionSet = request.selectionSet;
             this.variables = new HashMap<>(request.variables);
             this.variableTypes = new HashMap<>(request.variableTypes);
         }
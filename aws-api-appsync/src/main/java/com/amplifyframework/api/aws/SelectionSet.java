@@ -45,16 +45,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class representing a node of a SelectionSet for use in a GraphQLDocument.
  * A root SelectionSet node will have a null value.
+ *
+ * A selection set depends only on the model, the operation, and the request options it is built
+ * for, so the {@link Builder} builds each one once, and shares it among all of the requests which
+ * use it. Since it is shared, a selection set can not be changed once constructed: its nodes are
+ * unmodifiable, and the text of each is kept once rendered.
  */
 public final class SelectionSet {
     private static final String INDENT = "  ";
+    private static final Map<BuildKey, SelectionSet> BUILT_SELECTION_SETS = new ConcurrentHashMap<>();
 
     private final String value;
     private final Set<SelectionSet> nodes;
+    private volatile Rendering rendering;
 
     /**
      * Copy constructor.
@@ -62,7 +70,7 @@ public final class SelectionSet {
      */
     @SuppressWarnings("CopyConstructorMissesField") // It is cloned, by recursion
     public SelectionSet(SelectionSet selectionSet) {
-        this(selectionSet.value, new HashSet<>(selectionSet.nodes));
+        this(selectionSet.value, selectionSet.nodes);
     }
 
     /**
@@ -76,16 +84,16 @@ public final class SelectionSet {
     /**
      * Default constructor.
      * @param value String value of the field
-     * @param nodes Set of child nodes
+     * @param nodes Set of child nodes, which is copied
      */
     public SelectionSet(String value, @NonNull Set<SelectionSet> nodes) {
         this.value = value;
-        this.nodes = Objects.requireNonNull(nodes);
+        this.nodes = Collections.unmodifiableSet(new HashSet<>(Objects.requireNonNull(nodes)));
     }
 
     /**
      * Returns child nodes.
-     * @return child nodes
+     * @return child nodes, which can not be modified
      */
     @NonNull
     public Set<SelectionSet> getNodes() {
@@ -119,6 +127,15 @@ public final class SelectionSet {
      * @return String value of the SelectionSet for a GraphQL query document.
      */
     public String toString(String margin) {
+        Rendering rendered = rendering;
+        if (rendered == null || !rendered.margin.equals(margin)) {
+            rendered = new Rendering(margin, render(margin));
+            rendering = rendered;
+        }
+        return rendered.text;
+    }
+
+    private String render(String margin) {
         List<String> fieldsList = new ArrayList<>();
         StringBuilder builder = new StringBuilder();
 
@@ -157,6 +174,65 @@ public final class SelectionSet {
         return ObjectsCompat.hash(value);
     }
 
+    // The text of a selection set, rendered with a margin.
+    private static final class Rendering {
+        private final String margin;
+        private final String text;
+
+        Rendering(String margin, String text) {
+            this.margin = margin;
+            this.text = text;
+        }
+    }
+
+    /**
+     * What a built selection set depends on: the model, which is its class, or its schema for a
+     * {@link SerializedModel}; the operation; and the values of the request options.
+     */
+    private static final class BuildKey {
+        private final Object model;
+        private final Operation operation;
+        private final String listField;
+        private final List<String> paginationFields;
+        private final List<String> modelMetaFields;
+        private final int maxDepth;
+        private final LeafSerializationBehavior leafSerializationBehavior;
+
+        BuildKey(Object model, Operation operation, GraphQLRequestOptions requestOptions) {
+            this.model = model;
+            this.operation = operation;
+            this.listField = requestOptions.listField();
+            this.paginationFields = requestOptions.paginationFields();
+            this.modelMetaFields = requestOptions.modelMetaFields();
+            this.maxDepth = requestOptions.maxDepth();
+            this.leafSerializationBehavior = requestOptions.leafSerializationBehavior();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            BuildKey that = (BuildKey) object;
+            return maxDepth == that.maxDepth &&
+                ObjectsCompat.equals(model, that.model) &&
+                ObjectsCompat.equals(operation, that.operation) &&
+                ObjectsCompat.equals(listField, that.listField) &&
+                ObjectsCompat.equals(paginationFields, that.paginationFields) &&
+                ObjectsCompat.equals(modelMetaFields, that.modelMetaFields) &&
+                ObjectsCompat.equals(leafSerializationBehavior, that.leafSerializationBehavior);
+        }
+
+        @Override
+        public int hashCode() {
+            return ObjectsCompat.hash(model, operation, listField, paginationFields, modelMetaFields,
+                maxDepth, leafSerializationBehavior);
+        }
+    }
+
     /**
      * Create a new SelectionSet builder.
      * @return a new SelectionSet builder.
@@ -198,6 +274,8 @@ public final class SelectionSet {
 
         /**
          * Builds the SelectionSet containing all of the fields of the provided model class.
+         * A selection set which has been built before for the same model, operation, and
+         * request options is returned again, rather than being built anew.
          * @return selection set
          * @throws AmplifyException if a ModelSchema cannot be created from the provided model class.
          */
@@ -207,14 +285,26 @@ public final class SelectionSet {
                         "Provide either a modelClass or a modelSchema to build the selection set");
             }
             Objects.requireNonNull(this.operation);
-            SelectionSet node = new SelectionSet(null,
-                    SerializedModel.class == modelClass
-                            ? getModelFields(modelSchema, requestOptions.maxDepth())
-                            : getModelFields(modelClass, requestOptions.maxDepth()));
-            if (QueryType.LIST.equals(operation) || QueryType.SYNC.equals(operation)) {
-                node = wrapPagination(node);
+            BuildKey key = new BuildKey(
+                SerializedModel.class == modelClass || modelClass == null ? modelSchema : modelClass,
+                operation,
+                requestOptions
+            );
+            SelectionSet selectionSet = BUILT_SELECTION_SETS.get(key);
+            if (selectionSet == null) {
+                selectionSet = new SelectionSet(null,
+                        SerializedModel.class == modelClass
+                                ? getModelFields(modelSchema, requestOptions.maxDepth())
+                                : getModelFields(modelClass, requestOptions.maxDepth()));
+                if (QueryType.LIST.equals(operation) || QueryType.SYNC.equals(operation)) {
+                    selectionSet = wrapPagination(selectionSet);
+                }
+                SelectionSet existing = BUILT_SELECTION_SETS.putIfAbsent(key, selectionSet);
+                if (existing != null) {
+                    selectionSet = existing;
+                }
             }
-            return node;
+            return selectionSet;
         }
 
         /**
@@ -28,7 +28,14 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -101,24 +108,6 @@ public final class GsonResponseAdapters {
             }
         }
 
-        private boolean shouldSkipQueryLevel(Type type) {
-            if (type instanceof ParameterizedType) {
-                final Type rawType = ((ParameterizedType) type).getRawType();
-                if (ModelWithMetadata.class.equals(rawType)) {
-                    return true;
-                }
-                if (Iterable.class.isAssignableFrom((Class<?>) rawType)) {
-                    return true;
-                }
-            } else {
-                if (Model.class.isAssignableFrom((Class<?>) type)) {
-                    return true;
-                }
-            }
-
-            return false;
-        }
-
         // Skips a JSON level to get content of query, not query itself
         private JsonElement skipQueryLevel(JsonElement jsonData) throws JsonParseException {
             if (jsonData == null || jsonData.isJsonNull()) {
@@ -149,6 +138,139 @@ public final class GsonResponseAdapters {
         }
     }
 
+    /**
+     * Reads GraphQL response JSON into modeled {@link GraphQLResponse}s as it is streamed,
+     * without first building a tree of the whole response. The data is bound by the
+     * adapters of its type, directly from the stream. The responses are the same as those
+     * of the {@link ResponseDeserializer}.
+     */
+    public static final class StreamingResponseAdapterFactory implements TypeAdapterFactory {
+        @SuppressWarnings("unchecked") // (TypeAdapter<T>)
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (!GraphQLResponse.class.equals(typeToken.getRawType())) {
+                return null;
+            }
+            if (!(typeToken.getType() instanceof ParameterizedType)) {
+                throw new JsonParseException("Expected a parameterized type during GraphQLResponse deserialization.");
+            }
+            final Type templateClassType = ((ParameterizedType) typeToken.getType()).getActualTypeArguments()[0];
+            Type errorsType = TypeMaker.getParameterizedType(ArrayList.class, GraphQLResponse.Error.class);
+            return (TypeAdapter<T>) new StreamingResponseAdapter(
+                (TypeAdapter<GraphQLResponse<Object>>) gson.getDelegateAdapter(this, typeToken),
+                (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(templateClassType)),
+                (TypeAdapter<List<GraphQLResponse.Error>>) gson.getAdapter(TypeToken.get(errorsType)),
+                shouldSkipQueryLevel(templateClassType)
+            );
+        }
+
+        static final class StreamingResponseAdapter extends TypeAdapter<GraphQLResponse<Object>> {
+            private static final String DATA_KEY = "data";
+            private static final String ERRORS_KEY = "errors";
+
+            private final TypeAdapter<GraphQLResponse<Object>> delegate;
+            private final TypeAdapter<Object> dataAdapter;
+            private final TypeAdapter<List<GraphQLResponse.Error>> errorsAdapter;
+            private final boolean skipQueryLevel;
+
+            StreamingResponseAdapter(
+                    TypeAdapter<GraphQLResponse<Object>> delegate,
+                    TypeAdapter<Object> dataAdapter,
+                    TypeAdapter<List<GraphQLResponse.Error>> errorsAdapter,
+                    boolean skipQueryLevel) {
+                this.delegate = delegate;
+                this.dataAdapter = dataAdapter;
+                this.errorsAdapter = errorsAdapter;
+                this.skipQueryLevel = skipQueryLevel;
+            }
+
+            @Override
+            public void write(JsonWriter jsonWriter, GraphQLResponse<Object> response) throws IOException {
+                delegate.write(jsonWriter, response);
+            }
+
+            @Override
+            public GraphQLResponse<Object> read(JsonReader jsonReader) throws IOException {
+                if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                    throw new JsonParseException(
+                        "Expected a JsonObject while deserializing GraphQLResponse but found " + jsonReader.peek()
+                    );
+                }
+                Object data = null;
+                List<GraphQLResponse.Error> errors = Collections.emptyList();
+
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    switch (jsonReader.nextName()) {
+                        case DATA_KEY:
+                            data = readData(jsonReader);
+                            break;
+                        case ERRORS_KEY:
+                            if (jsonReader.peek() == JsonToken.NULL) {
+                                jsonReader.nextNull();
+                            } else {
+                                errors = errorsAdapter.read(jsonReader);
+                            }
+                            break;
+                        default:
+                            jsonReader.skipValue();
+                            break;
+                    }
+                }
+                jsonReader.endObject();
+                return new GraphQLResponse<>(data, errors);
+            }
+
+            private Object readData(JsonReader jsonReader) throws IOException {
+                if (jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                if (!skipQueryLevel) {
+                    return dataAdapter.read(jsonReader);
+                }
+
+                // Skips a JSON level to get content of query, not query itself
+                jsonReader.beginObject();
+                if (!jsonReader.hasNext()) {
+                    throw new JsonParseException(
+                        "Amplify encountered an error while serializing/deserializing an object.  " +
+                            "Please add a single top level field in your query."
+                    );
+                }
+                jsonReader.nextName();
+                Object data = dataAdapter.read(jsonReader);
+                if (jsonReader.hasNext()) {
+                    throw new JsonParseException(
+                        "Amplify encountered an error while serializing/deserializing an object.  " +
+                            "Please reduce your query to a single top level field."
+                    );
+                }
+                jsonReader.endObject();
+                return data;
+            }
+        }
+    }
+
+    // Whether the data of a response of this type is found under the field of the query.
+    private static boolean shouldSkipQueryLevel(Type type) {
+        if (type instanceof ParameterizedType) {
+            final Type rawType = ((ParameterizedType) type).getRawType();
+            if (ModelWithMetadata.class.equals(rawType)) {
+                return true;
+            }
+            if (Iterable.class.isAssignableFrom((Class<?>) rawType)) {
+                return true;
+            }
+        } else {
+            if (Model.class.isAssignableFrom((Class<?>) type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Deserializes an error in a GraphQL response JSON into a modeled
      * {@link GraphQLResponse.Error}.
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query;
+
+import android.util.Base64;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.util.FieldFinder;
+import com.amplifyframework.util.Immutable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The position of an item in the results of a keyset-paginated query: the values of the item's
+ * sort fields, followed by its ID. The page after the item is queried with
+ * {@link Page#startingAfter(String)}, and the token of its position.
+ *
+ * Tokens are opaque to callers. Within a token, temporal values are kept in their ISO-8601 form,
+ * and enums by name, so that the values can be converted to however the fields are stored.
+ */
+public final class ContinuationToken {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BASE64_FLAGS = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+    private static final int VERSION = 1;
+    private static final String VERSION_KEY = "v";
+    private static final String SORT_KEY_VALUES_KEY = "k";
+    private static final String ID_KEY = "id";
+
+    private final List<Object> sortKeyValues;
+    private final String id;
+
+    private ContinuationToken(List<Object> sortKeyValues, String id) {
+        this.sortKeyValues = sortKeyValues;
+        this.id = id;
+    }
+
+    /**
+     * Makes the continuation token of an item, which is used to query the page after it.
+     * @param item The last item of a page
+     * @param options The options of the query which returned the page
+     * @return A continuation token
+     * @throws IllegalArgumentException If the results are sorted by a field of another model,
+     *         or by a field whose values are neither scalars, enums nor temporal values
+     */
+    @NonNull
+    public static String of(@NonNull Model item, @NonNull QueryOptions options) {
+        return of(item, Objects.requireNonNull(options).getSortBy());
+    }
+
+    /**
+     * Makes the continuation token of an item, which is used to query the page after it.
+     * @param item The last item of a page
+     * @param sortBy The sort order of the query which returned the page, or null if it was not sorted
+     * @return A continuation token
+     * @throws IllegalArgumentException If the results are sorted by a field of another model,
+     *         or by a field whose values are neither scalars, enums nor temporal values
+     */
+    @NonNull
+    public static String of(@NonNull Model item, @Nullable List<QuerySortBy> sortBy) {
+        final JsonObject token = new JsonObject();
+        token.addProperty(VERSION_KEY, VERSION);
+        token.add(SORT_KEY_VALUES_KEY, sortKeyValuesOf(item, sortBy));
+        token.addProperty(ID_KEY, item.getId());
+        return Base64.encodeToString(token.toString().getBytes(UTF_8), BASE64_FLAGS);
+    }
+
+    /**
+     * Finds the position of an item in a sort order, as it would be read from the item's token.
+     * @param item An item
+     * @param sortBy A sort order, or null for the order of IDs
+     * @return The position of the item
+     * @throws IllegalArgumentException If the sort order is by a field of another model,
+     *         or by a field whose values are neither scalars, enums nor temporal values
+     */
+    @NonNull
+    public static ContinuationToken positionOf(@NonNull Model item, @Nullable List<QuerySortBy> sortBy) {
+        final List<Object> sortKeyValues = new ArrayList<>();
+        for (JsonElement value : sortKeyValuesOf(item, sortBy)) {
+            sortKeyValues.add(fromJson(value));
+        }
+        return new ContinuationToken(Collections.unmodifiableList(sortKeyValues), item.getId());
+    }
+
+    private static JsonArray sortKeyValuesOf(Model item, @Nullable List<QuerySortBy> sortBy) {
+        Objects.requireNonNull(item);
+        final String modelName = item instanceof SerializedModel
+            ? ((SerializedModel) item).getModelName()
+            : item.getClass().getSimpleName();
+        final JsonArray values = new JsonArray();
+        if (sortBy != null) {
+            for (QuerySortBy sort : sortBy) {
+                if (sort.getModelName() != null && modelName != null && !sort.getModelName().equals(modelName)) {
+                    throw new IllegalArgumentException("Can not continue after a " + modelName +
+                        ", because the results are sorted by a field of " + sort.getModelName() + ".");
+                }
+                values.add(toJson(readField(item, sort.getField())));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads a continuation token.
+     * @param token A token made by {@link #of(Model, List)}
+     * @return The position of the item which the token was made from
+     * @throws IllegalArgumentException If the token was not made by {@link #of(Model, List)}
+     */
+    @NonNull
+    public static ContinuationToken parse(@NonNull String token) {
+        try {
+            final String json = new String(Base64.decode(Objects.requireNonNull(token), BASE64_FLAGS), UTF_8);
+            final JsonObject object = JsonParser.parseString(json).getAsJsonObject();
+            if (object.get(VERSION_KEY).getAsInt() != VERSION) {
+                throw new IllegalArgumentException("Unsupported version of continuation token: " + token);
+            }
+            final List<Object> sortKeyValues = new ArrayList<>();
+            for (JsonElement value : object.getAsJsonArray(SORT_KEY_VALUES_KEY)) {
+                sortKeyValues.add(fromJson(value));
+            }
+            return new ContinuationToken(
+                Collections.unmodifiableList(sortKeyValues),
+                object.get(ID_KEY).getAsString()
+            );
+        } catch (JsonParseException | IllegalStateException | NullPointerException | UnsupportedOperationException
+                malformed) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token, malformed);
+        }
+    }
+
+    /**
+     * Gets the values of the sort fields of the item, in the order of the sort fields. Temporal
+     * values and enums are given as strings, and whole numbers as longs.
+     * @return Values of the sort fields
+     */
+    @NonNull
+    public List<Object> getSortKeyValues() {
+        return Immutable.of(sortKeyValues);
+    }
+
+    /**
+     * Gets the ID of the item, which orders items with the same values of their sort fields.
+     * @return ID of the item
+     */
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    @Nullable
+    private static Object readField(Model item, String fieldName) {
+        if (item instanceof SerializedModel) {
+            return ((SerializedModel) item).getSerializedData().get(fieldName);
+        }
+        try {
+            return FieldFinder.extractFieldValue(item, fieldName);
+        } catch (NoSuchFieldException noSuchField) {
+            throw new IllegalArgumentException("The item has no field named " + fieldName + ".", noSuchField);
+        }
+    }
+
+    private static JsonElement toJson(@Nullable Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof String) {
+            return new JsonPrimitive((String) value);
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        } else if (value instanceof Enum) {
+            return new JsonPrimitive(((Enum<?>) value).name());
+        } else if (value instanceof Temporal.Date) {
+            return new JsonPrimitive(((Temporal.Date) value).format());
+        } else if (value instanceof Temporal.DateTime) {
+            return new JsonPrimitive(((Temporal.DateTime) value).format());
+        } else if (value instanceof Temporal.Time) {
+            return new JsonPrimitive(((Temporal.Time) value).format());
+        } else if (value instanceof Temporal.Timestamp) {
+            return new JsonPrimitive(((Temporal.Timestamp) value).getSecondsSinceEpoch());
+        }
+        throw new IllegalArgumentException("Can not continue after a value of type " + value.getClass().getName());
+    }
+
+    @Nullable
+    private static Object fromJson(JsonElement value) {
+        if (value.isJsonNull()) {
+            return null;
+        }
+        final JsonPrimitive primitive = value.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        } else if (primitive.isNumber()) {
+            final BigDecimal number = primitive.getAsBigDecimal();
+            try {
+                return number.longValueExact();
+            } catch (ArithmeticException notWhole) {
+                return number.doubleValue();
+            }
+        }
+        return primitive.getAsString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+        ContinuationToken that = (ContinuationToken) thatObject;
+        return sortKeyValues.equals(that.sortKeyValues) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = sortKeyValues.hashCode();
+        result = 31 * result + id.hashCode();
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ContinuationToken{" +
+            "sortKeyValues=" + sortKeyValues +
+            ", id=" + id +
+            '}';
+    }
+}
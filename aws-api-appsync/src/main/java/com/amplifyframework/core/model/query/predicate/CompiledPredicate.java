@@ -0,0 +1,365 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query.predicate;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.util.FieldFinder;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link QueryPredicate}, prepared to be evaluated against many items of one model.
+ *
+ * {@link QueryPredicate#evaluate(Object)} looks up each field it compares every time it is
+ * called, and compares the values as they are found. A compiled predicate does that work once,
+ * using the {@link ModelSchema} of the model: the field of each operation is resolved up front,
+ * and the values being compared are brought to a common form for the type of the field. Values
+ * are read from the data of a {@link SerializedModel}, or from an accessible field of a typed
+ * model. So, a whole number read from JSON as a double still equals an integer, the name of an
+ * enum equals the enum, and temporal values in their text form are compared as temporal values.
+ *
+ * As with {@link QueryPredicate#evaluate(Object)}, a field without a value does not match any
+ * operation, and groups stop as soon as their result is known.
+ */
+public final class CompiledPredicate {
+    private final QueryPredicate predicate;
+    private final ModelSchema modelSchema;
+    private final Node root;
+
+    private CompiledPredicate(QueryPredicate predicate, ModelSchema modelSchema) {
+        this.predicate = predicate;
+        this.modelSchema = modelSchema;
+        this.root = compileNode(predicate, modelSchema);
+    }
+
+    /**
+     * Compiles a predicate, to be evaluated against items of a model.
+     * @param predicate A predicate on the fields of the model
+     * @param modelSchema Schema of the model
+     * @return A compiled predicate, which may be kept and evaluated any number of times,
+     *         from any thread
+     */
+    @NonNull
+    public static CompiledPredicate compile(@NonNull QueryPredicate predicate, @NonNull ModelSchema modelSchema) {
+        return new CompiledPredicate(Objects.requireNonNull(predicate), Objects.requireNonNull(modelSchema));
+    }
+
+    /**
+     * Gets the predicate which was compiled.
+     * @return The predicate which was compiled
+     */
+    @NonNull
+    public QueryPredicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the schema of the model against which the predicate is evaluated.
+     * @return Schema of the model
+     */
+    @NonNull
+    public ModelSchema getModelSchema() {
+        return modelSchema;
+    }
+
+    /**
+     * Evaluates the predicate against an item of the model.
+     * @param model An item of the model, either typed or serialized
+     * @return True if the item matches the predicate
+     * @throws IllegalArgumentException If the value of a field can not be compared
+     *         by the operator applied to it
+     */
+    public boolean evaluate(@NonNull Model model) throws IllegalArgumentException {
+        return root.evaluate(Objects.requireNonNull(model));
+    }
+
+    private static Node compileNode(QueryPredicate predicate, ModelSchema modelSchema) {
+        if (QueryPredicates.all().equals(predicate)) {
+            return model -> true;
+        } else if (QueryPredicates.none().equals(predicate)) {
+            return model -> false;
+        } else if (predicate instanceof QueryPredicateOperation) {
+            return new OperationNode((QueryPredicateOperation<?>) predicate, modelSchema);
+        } else if (predicate instanceof QueryPredicateGroup) {
+            return compileGroup((QueryPredicateGroup) predicate, modelSchema);
+        }
+        // Some other kind of predicate, which can only evaluate itself.
+        return predicate::evaluate;
+    }
+
+    private static Node compileGroup(QueryPredicateGroup group, ModelSchema modelSchema) {
+        final List<QueryPredicate> predicates = group.predicates();
+        final Node[] children = new Node[predicates.size()];
+        for (int index = 0; index < children.length; index++) {
+            children[index] = compileNode(predicates.get(index), modelSchema);
+        }
+        switch (group.type()) {
+            case AND:
+                return model -> {
+                    for (Node child : children) {
+                        if (!child.evaluate(model)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            case OR:
+                return model -> {
+                    for (Node child : children) {
+                        if (child.evaluate(model)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            case NOT:
+                final Node negated = children[0];
+                return model -> !negated.evaluate(model);
+            default:
+                return model -> false;
+        }
+    }
+
+    /**
+     * A compiled predicate, or a part of one.
+     */
+    private interface Node {
+        boolean evaluate(Model model);
+    }
+
+    /**
+     * A single comparison on a field. The operands of the operator are normalized once, and the
+     * value of the field is normalized in the same way before each comparison.
+     */
+    private static final class OperationNode implements Node {
+        private final String fieldName;
+        private final QueryOperator<?> operator;
+        private final JavaFieldType fieldType;
+        private final FieldReader reader;
+        private final Object first;
+        private final Object second;
+
+        OperationNode(QueryPredicateOperation<?> operation, ModelSchema modelSchema) {
+            this.fieldName = operation.field();
+            this.operator = operation.operator();
+            this.fieldType = fieldTypeOf(modelSchema.getFields().get(fieldName));
+            this.reader = new FieldReader(modelSchema.getModelClass(), fieldName);
+            if (operator instanceof BetweenQueryOperator) {
+                BetweenQueryOperator<?> between = (BetweenQueryOperator<?>) operator;
+                this.first = normalize(fieldType, between.start());
+                this.second = normalize(fieldType, between.end());
+            } else {
+                this.first = normalize(fieldType, operandOf(operator));
+                this.second = null;
+            }
+        }
+
+        @Override
+        public boolean evaluate(Model model) {
+            final Object value = normalize(fieldType, reader.read(model));
+            if (value == null) {
+                return false;
+            }
+            switch (operator.type()) {
+                case EQUAL:
+                    return valuesEqual(value, first);
+                case NOT_EQUAL:
+                    return !valuesEqual(value, first);
+                case LESS_THAN:
+                    return compare(value, first) < 0;
+                case LESS_OR_EQUAL:
+                    return compare(value, first) <= 0;
+                case GREATER_THAN:
+                    return compare(value, first) > 0;
+                case GREATER_OR_EQUAL:
+                    return compare(value, first) >= 0;
+                case BETWEEN:
+                    return compare(value, first) >= 0 && compare(value, second) <= 0;
+                case CONTAINS:
+                    return text(value).contains(text(first));
+                case NOT_CONTAINS:
+                    return !text(value).contains(text(first));
+                case BEGINS_WITH:
+                    return text(value).startsWith(text(first));
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean valuesEqual(Object value, Object operand) {
+            if (value instanceof Number && operand instanceof Number) {
+                return compareNumbers((Number) value, (Number) operand) == 0;
+            }
+            return value.equals(operand);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int compare(Object value, Object operand) {
+            if (value instanceof Number && operand instanceof Number) {
+                return compareNumbers((Number) value, (Number) operand);
+            } else if (value instanceof Comparable && operand != null && value.getClass().equals(operand.getClass())) {
+                return ((Comparable) value).compareTo(operand);
+            }
+            throw cannotEvaluate();
+        }
+
+        private String text(Object value) {
+            if (value instanceof String) {
+                return (String) value;
+            }
+            throw cannotEvaluate();
+        }
+
+        private IllegalArgumentException cannotEvaluate() {
+            return new IllegalArgumentException(fieldName + " field inside " +
+                "provided object cannot be evaluated by the operator " +
+                "type: " + operator.type().name());
+        }
+    }
+
+    /**
+     * Reads the value of a field from a model. The field of a typed model is resolved
+     * when the predicate is compiled, if the schema names the class of the model.
+     */
+    private static final class FieldReader {
+        private final String fieldName;
+        private final Class<?> modelClass;
+        private final Field field;
+
+        FieldReader(Class<?> modelClass, String fieldName) {
+            this.fieldName = fieldName;
+            this.modelClass = modelClass;
+            this.field = resolve(modelClass, fieldName);
+        }
+
+        Object read(Model model) {
+            if (model instanceof SerializedModel) {
+                return ((SerializedModel) model).getSerializedData().get(fieldName);
+            }
+            try {
+                if (field != null && model.getClass().equals(modelClass)) {
+                    return field.get(model);
+                }
+                return FieldFinder.extractFieldValue(model, fieldName);
+            } catch (IllegalAccessException | NoSuchFieldException notReadable) {
+                return null;
+            }
+        }
+
+        private static Field resolve(Class<?> modelClass, String fieldName) {
+            if (modelClass == null || SerializedModel.class.equals(modelClass)) {
+                return null;
+            }
+            try {
+                return FieldFinder.findDeclaredField(modelClass, fieldName);
+            } catch (NoSuchFieldException noSuchField) {
+                return null;
+            }
+        }
+    }
+
+    private static JavaFieldType fieldTypeOf(ModelField modelField) {
+        if (modelField == null) {
+            return JavaFieldType.CUSTOM_TYPE;
+        } else if (modelField.isEnum()) {
+            return JavaFieldType.ENUM;
+        } else if (modelField.isModel()) {
+            return JavaFieldType.MODEL;
+        }
+        try {
+            return JavaFieldType.from(modelField.getJavaClassForValue());
+        } catch (IllegalArgumentException unknownType) {
+            return JavaFieldType.CUSTOM_TYPE;
+        }
+    }
+
+    private static Object operandOf(QueryOperator<?> operator) {
+        if (operator instanceof EqualQueryOperator) {
+            return ((EqualQueryOperator) operator).value();
+        } else if (operator instanceof NotEqualQueryOperator) {
+            return ((NotEqualQueryOperator) operator).value();
+        } else if (operator instanceof LessThanQueryOperator) {
+            return ((LessThanQueryOperator<?>) operator).value();
+        } else if (operator instanceof LessOrEqualQueryOperator) {
+            return ((LessOrEqualQueryOperator<?>) operator).value();
+        } else if (operator instanceof GreaterThanQueryOperator) {
+            return ((GreaterThanQueryOperator<?>) operator).value();
+        } else if (operator instanceof GreaterOrEqualQueryOperator) {
+            return ((GreaterOrEqualQueryOperator<?>) operator).value();
+        } else if (operator instanceof ContainsQueryOperator) {
+            return ((ContainsQueryOperator) operator).value();
+        } else if (operator instanceof NotContainsQueryOperator) {
+            return ((NotContainsQueryOperator) operator).value();
+        } else if (operator instanceof BeginsWithQueryOperator) {
+            return ((BeginsWithQueryOperator) operator).value();
+        }
+        return null;
+    }
+
+    // Brings a value to the form in which values of a field of the given type are compared.
+    private static Object normalize(JavaFieldType fieldType, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return normalizeAs(fieldType, value);
+        } catch (IllegalArgumentException unparseable) {
+            // Left as it is. It can only be compared for equality.
+            return value;
+        }
+    }
+
+    private static Object normalizeAs(JavaFieldType fieldType, Object value) {
+        switch (fieldType) {
+            case ENUM:
+                return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+            case DATE:
+                return value instanceof String ? new Temporal.Date((String) value) : value;
+            case DATE_TIME:
+                return value instanceof String ? new Temporal.DateTime((String) value) : value;
+            case TIME:
+                return value instanceof String ? new Temporal.Time((String) value) : value;
+            case TIMESTAMP:
+                return value instanceof Number
+                    ? new Temporal.Timestamp(((Number) value).longValue(), TimeUnit.SECONDS) : value;
+            default:
+                return value;
+        }
+    }
+
+    // Whole numbers are compared exactly, and any other numbers as doubles.
+    private static int compareNumbers(Number one, Number other) {
+        if (isWhole(one) && isWhole(other)) {
+            return Long.compare(one.longValue(), other.longValue());
+        }
+        return Double.compare(one.doubleValue(), other.doubleValue());
+    }
+
+    private static boolean isWhole(Number number) {
+        return number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte;
+    }
+}
@@ -16,6 +16,7 @@
 package com.amplifyframework.core.model.temporal;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
 import java.time.Instant;
@@ -51,6 +52,12 @@ public final class Temporal {
      * https://docs.aws.amazon.com/appsync/latest/devguide/scalars.html#appsync-defined-scalars
      */
     public static final class Date implements Comparable<Date> {
+        private static final DateTimeFormatter OFFSET_DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+                .append(DateTimeFormatter.ISO_OFFSET_DATE)
+                .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                .toFormatter();
+
         private final LocalDate localDate;
         private final ZoneOffset zoneOffset;
 
@@ -75,6 +82,17 @@ public final class Temporal {
             this.localDate = Instant.ofEpochMilli(date.getTime()).atOffset(this.zoneOffset).toLocalDate();
         }
 
+        /**
+         * Constructs a new {@link Temporal.Date} from a local date and an optional zone offset.
+         *
+         * @param localDate  A local date
+         * @param zoneOffset Offset of the date from UTC, or null if the date has no offset
+         */
+        public Date(@NonNull LocalDate localDate, @Nullable ZoneOffset zoneOffset) {
+            this.localDate = Objects.requireNonNull(localDate);
+            this.zoneOffset = zoneOffset;
+        }
+
         /**
          * Constructs an {@link Temporal.Date from a }valid extended ISO-8601 Date string,
          * with an optional timezone offset.
@@ -86,7 +104,7 @@ public final class Temporal {
             LocalDate localDate;
             ZoneOffset zoneOffset;
             try {
-                OffsetDateTime odt = OffsetDateTime.parse(text, getOffsetDateTimeFormatter());
+                OffsetDateTime odt = OffsetDateTime.parse(text, OFFSET_DATE_TIME_FORMATTER);
                 localDate = LocalDate.from(odt);
                 zoneOffset = ZoneOffset.from(odt);
             } catch (DateTimeParseException exception) {
@@ -111,18 +129,30 @@ public final class Temporal {
         public String format() {
             if (zoneOffset != null) {
                 OffsetDateTime odt = OffsetDateTime.of(localDate, LocalTime.MIDNIGHT, zoneOffset);
-                return getOffsetDateTimeFormatter().format(odt);
+                return OFFSET_DATE_TIME_FORMATTER.format(odt);
             } else {
                 return DateTimeFormatter.ISO_LOCAL_DATE.format(this.localDate);
             }
         }
 
-        private DateTimeFormatter getOffsetDateTimeFormatter() {
-            return new DateTimeFormatterBuilder()
-                    .append(DateTimeFormatter.ISO_OFFSET_DATE)
-                    .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
-                    .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
-                    .toFormatter();
+        /**
+         * Gets the local date, without its zone offset.
+         *
+         * @return The local date
+         */
+        @NonNull
+        public LocalDate toLocalDate() {
+            return localDate;
+        }
+
+        /**
+         * Gets the zone offset of the date, if it has one.
+         *
+         * @return Offset of the date from UTC, or null if the date has no offset
+         */
+        @Nullable
+        public ZoneOffset getZoneOffset() {
+            return zoneOffset;
         }
 
         /**
@@ -211,6 +241,15 @@ public final class Temporal {
             this.offsetDateTime = Instant.ofEpochMilli(date.getTime()).atOffset(zoneOffset);
         }
 
+        /**
+         * Constructs a new {@link Temporal.DateTime} from an offset date-time.
+         *
+         * @param offsetDateTime A date-time, with its offset from UTC
+         */
+        public DateTime(@NonNull OffsetDateTime offsetDateTime) {
+            this.offsetDateTime = Objects.requireNonNull(offsetDateTime);
+        }
+
         /**
          * Constructs an {@link Temporal.DateTime} from a valid extended ISO-8601 DateTime string.
          *
@@ -234,6 +273,16 @@ public final class Temporal {
             return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(this.offsetDateTime);
         }
 
+        /**
+         * Gets the date-time, with its offset from UTC.
+         *
+         * @return The offset date-time
+         */
+        @NonNull
+        public OffsetDateTime toOffsetDateTime() {
+            return offsetDateTime;
+        }
+
         /**
          * Gets a {@link java.util.Date} representation of the {@link Temporal.DateTime}.
          *
@@ -321,6 +370,17 @@ public final class Temporal {
             this.localTime = Instant.ofEpochMilli(date.getTime()).atOffset(this.zoneOffset).toLocalTime();
         }
 
+        /**
+         * Constructs a new {@link Temporal.Time} from a local time and an optional zone offset.
+         *
+         * @param localTime  A local time
+         * @param zoneOffset Offset of the time from UTC, or null if the time has no offset
+         */
+        public Time(@NonNull LocalTime localTime, @Nullable ZoneOffset zoneOffset) {
+            this.localTime = Objects.requireNonNull(localTime);
+            this.zoneOffset = zoneOffset;
+        }
+
         /**
          * Constructs an {@link Temporal.Time} from a valid, extended ISO-8601 Time string.
          *
@@ -360,6 +420,26 @@ public final class Temporal {
             }
         }
 
+        /**
+         * Gets the local time, without its zone offset.
+         *
+         * @return The local time
+         */
+        @NonNull
+        public LocalTime toLocalTime() {
+            return localTime;
+        }
+
+        /**
+         * Gets the zone offset of the time, if it has one.
+         *
+         * @return Offset of the time from UTC, or null if the time has no offset
+         */
+        @Nullable
+        public ZoneOffset getZoneOffset() {
+            return zoneOffset;
+        }
+
         /**
          * Converts Temporal.Time to java.util.Date.
          * <p>
@@ -37,8 +37,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 @RunWith(RobolectricTestRunner.class)
 public class SelectionSetTest {
@@ -56,6 +60,54 @@ public class SelectionSetTest {
         assertEquals(Resources.readAsString("selection-set-post.txt"), selectionSet.toString() + "\n");
     }
 
+    /**
+     * A selection set is built once for a model, operation and set of request options, and
+     * is shared by the requests which use it. Different options give a different selection set.
+     * @throws AmplifyException if a ModelSchema can't be derived from Post.class
+     */
+    @Test
+    public void selectionSetIsSharedForSameModelOperationAndOptions() throws AmplifyException {
+        SelectionSet first = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.GET)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+        SelectionSet second = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.GET)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+        SelectionSet list = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.LIST)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+
+        assertSame(first, second);
+        assertNotSame(first, list);
+        assertEquals(Resources.readAsString("selection-set-post.txt"), second.toString() + "\n");
+    }
+
+    /**
+     * A shared selection set can not be changed through its nodes, at any depth.
+     * @throws AmplifyException if a ModelSchema can't be derived from Post.class
+     */
+    @Test
+    public void sharedSelectionSetCanNotBeModified() throws AmplifyException {
+        SelectionSet selectionSet = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.LIST)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+        String rendered = selectionSet.toString();
+
+        Set<SelectionSet> nodes = selectionSet.getNodes();
+        assertThrows(UnsupportedOperationException.class, () -> nodes.add(new SelectionSet("extra")));
+        Set<SelectionSet> items = nodes.iterator().next().getNodes();
+        assertThrows(UnsupportedOperationException.class, items::clear);
+        assertEquals(rendered, selectionSet.toString());
+    }
+
     /**
      * Test that custom type selection set serialization works as expected.
      * @throws AmplifyException if a ModelSchema can't be derived from Post.class
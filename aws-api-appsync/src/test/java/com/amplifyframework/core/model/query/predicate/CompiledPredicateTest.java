@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.model.query.predicate;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.amplifyframework.core.model.query.predicate.QueryPredicate.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link CompiledPredicate}.
+ */
+public final class CompiledPredicateTest {
+    private ModelSchema schema;
+    private Post post;
+
+    /**
+     * Builds the schema of a post, and a post to evaluate predicates against.
+     * @throws AmplifyException On failure to build the schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        schema = ModelSchema.fromModelClass(Post.class);
+        post = Post.builder()
+            .title("Hello, world")
+            .status(PostStatus.ACTIVE)
+            .rating(3)
+            .build();
+    }
+
+    /**
+     * A compiled predicate gives the same result as the predicate itself, for a typed model.
+     */
+    @Test
+    public void typedModelMatchesAsPredicateDoes() {
+        List<QueryPredicate> predicates = Arrays.asList(
+            Post.RATING.eq(3),
+            Post.RATING.ne(3),
+            Post.RATING.gt(2),
+            Post.RATING.le(2),
+            Post.RATING.between(1, 3),
+            Post.TITLE.beginsWith("Hello"),
+            Post.TITLE.contains("world"),
+            Post.TITLE.notContains("world"),
+            Post.STATUS.eq(PostStatus.ACTIVE),
+            Post.TITLE.eq("Hello, world").and(Post.RATING.lt(3)),
+            Post.TITLE.eq("Goodbye").or(Post.RATING.ge(3)),
+            not(Post.RATING.eq(3)),
+            QueryPredicates.all(),
+            QueryPredicates.none()
+        );
+        for (QueryPredicate predicate : predicates) {
+            assertEquals(predicate.toString(),
+                predicate.evaluate(post), CompiledPredicate.compile(predicate, schema).evaluate(post));
+        }
+    }
+
+    /**
+     * The values of a serialized model are compared in the form they would have in the typed model:
+     * whole numbers read as doubles equal integers, and enum names equal enums.
+     */
+    @Test
+    public void serializedModelValuesAreNormalized() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", post.getId());
+        data.put("title", "Hello, world");
+        data.put("status", "ACTIVE");
+        data.put("rating", 3.0);
+        SerializedModel serializedPost = SerializedModel.builder()
+            .serializedData(data)
+            .modelSchema(schema)
+            .build();
+
+        assertTrue(CompiledPredicate.compile(Post.RATING.eq(3), schema).evaluate(serializedPost));
+        assertTrue(CompiledPredicate.compile(Post.RATING.gt(2), schema).evaluate(serializedPost));
+        assertTrue(CompiledPredicate.compile(Post.STATUS.eq(PostStatus.ACTIVE), schema).evaluate(serializedPost));
+        assertFalse(CompiledPredicate.compile(Post.STATUS.ne(PostStatus.ACTIVE), schema).evaluate(serializedPost));
+        assertTrue(CompiledPredicate.compile(Post.TITLE.beginsWith("Hello"), schema).evaluate(serializedPost));
+    }
+
+    /**
+     * A field without a value does not match any operation.
+     */
+    @Test
+    public void missingValueDoesNotMatch() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", post.getId());
+        SerializedModel partialPost = SerializedModel.builder()
+            .serializedData(data)
+            .modelSchema(schema)
+            .build();
+
+        assertFalse(CompiledPredicate.compile(Post.RATING.eq(3), schema).evaluate(partialPost));
+        assertFalse(CompiledPredicate.compile(Post.RATING.ne(3), schema).evaluate(partialPost));
+    }
+
+    /**
+     * Groups stop evaluating as soon as their result is known, so an operation which can
+     * not be evaluated is not reached.
+     */
+    @Test
+    public void groupsShortCircuit() {
+        QueryPredicate unevaluable = Post.RATING.contains("3");
+        assertFalse(CompiledPredicate.compile(Post.RATING.eq(4).and(unevaluable), schema).evaluate(post));
+        assertTrue(CompiledPredicate.compile(Post.RATING.eq(3).or(unevaluable), schema).evaluate(post));
+    }
+
+    /**
+     * An operator which can not be applied to the value of a field fails the evaluation.
+     */
+    @Test
+    public void mismatchedOperatorThrows() {
+        CompiledPredicate compiled = CompiledPredicate.compile(Post.RATING.contains("3"), schema);
+        assertThrows(IllegalArgumentException.class, () -> compiled.evaluate(post));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.os.SystemClock;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.QueryType;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.testmodels.commentsblog.Post;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the throughput of building list query requests, now that the selection set of each
+ * model, operation and set of request options is built and rendered once. The first request for
+ * a model pays for building and rendering its selection set; it is timed against the requests
+ * which follow, and which share what the first one built.
+ */
+public final class GraphQLDocumentCacheBenchmarkTest {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api:test");
+    private static final int REQUEST_COUNT = 5_000;
+
+    /**
+     * Builds the same list query for posts many times, with a different variable each time, as
+     * happens when paging through results. The request content is rendered, as it is when sent.
+     * @throws AmplifyException If the selection set of a post can not be built
+     */
+    @Test
+    public void requestConstructionReusesDocument() throws AmplifyException {
+        long start = SystemClock.elapsedRealtimeNanos();
+        GraphQLRequest<Object> first = buildRequest(0);
+        first.getContent();
+        long firstNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        SelectionSet selectionSet = buildSelectionSet();
+        assertSame(selectionSet, buildSelectionSet());
+        assertTrue(first.getQuery().contains(selectionSet.toString("  ")));
+
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int index = 0; index < REQUEST_COUNT; index++) {
+            GraphQLRequest<Object> request = buildRequest(index);
+            assertEquals(first.getQuery(), request.getQuery());
+            request.getContent();
+        }
+        long laterNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        LOG.info(String.format(
+            "Built a list query for posts: first %.3f ms, afterwards %.3f ms " +
+                "(%.0f requests/s over %d requests)",
+            firstNanos / 1e6, laterNanos / 1e6 / REQUEST_COUNT,
+            REQUEST_COUNT / (laterNanos / 1e9), REQUEST_COUNT
+        ));
+    }
+
+    private static GraphQLRequest<Object> buildRequest(int index) {
+        QueryPredicate predicate = Post.RATING.gt(index % 5);
+        return AppSyncGraphQLRequestFactory.buildQuery(Post.class, predicate);
+    }
+
+    private static SelectionSet buildSelectionSet() throws AmplifyException {
+        return SelectionSet.builder()
+            .modelClass(Post.class)
+            .operation(QueryType.LIST)
+            .requestOptions(new ApiGraphQLRequestOptions())
+            .build();
+    }
+}
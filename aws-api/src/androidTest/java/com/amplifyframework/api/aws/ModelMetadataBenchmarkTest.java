@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.os.SystemClock;
+
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the work saved by keeping the reflective metadata of model classes: their
+ * schema, their fields, and accessible handles to those fields. Request building is
+ * timed the first time a model class is seen, and afterwards. Predicate evaluation is
+ * compared against the previous approach of looking up and unlocking a field for
+ * every read. Timings are only logged, since they depend on the device; what is timed
+ * is checked against the result it should have.
+ */
+public final class ModelMetadataBenchmarkTest {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api:test");
+    private static final int REQUEST_COUNT = 2_000;
+    private static final int POST_COUNT = 20_000;
+
+    /**
+     * Builds a list query for posts many times. The selection set of a post reaches into
+     * its blog and the blog's owner, so each request needs the metadata of several classes.
+     */
+    @Test
+    public void requestBuildingReusesModelMetadata() {
+        long start = SystemClock.elapsedRealtimeNanos();
+        GraphQLRequest<Object> first = AppSyncGraphQLRequestFactory.buildQuery(Post.class, QueryPredicates.all());
+        long firstNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int index = 0; index < REQUEST_COUNT; index++) {
+            GraphQLRequest<Object> request =
+                AppSyncGraphQLRequestFactory.buildQuery(Post.class, QueryPredicates.all());
+            assertEquals(first.getQuery(), request.getQuery());
+        }
+        long laterNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        LOG.info(String.format(
+            "Built a list query for posts: first %.3f ms, afterwards %.3f ms (average over %d requests)",
+            firstNanos / 1e6, laterNanos / 1e6 / REQUEST_COUNT, REQUEST_COUNT
+        ));
+    }
+
+    /**
+     * Evaluates a predicate against many posts, and compares the matches and timing with
+     * reading the same fields by looking each one up reflectively.
+     * @throws ReflectiveOperationException If a field can not be read by the previous approach
+     */
+    @Test
+    public void predicateEvaluationReusesFieldAccessors() throws ReflectiveOperationException {
+        Blog blog = Blog.builder()
+            .name("Benchmark Blog")
+            .owner(BlogOwner.builder().name("Benchmark Owner").build())
+            .build();
+        List<Post> posts = new ArrayList<>(POST_COUNT);
+        for (int index = 0; index < POST_COUNT; index++) {
+            posts.add(Post.builder()
+                .title("Post " + index)
+                .status(index % 2 == 0 ? PostStatus.ACTIVE : PostStatus.INACTIVE)
+                .rating(index % 5)
+                .blog(blog)
+                .build());
+        }
+        QueryPredicate predicate = Post.TITLE.beginsWith("Post 1").and(Post.RATING.gt(2));
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        int cachedMatches = 0;
+        for (Post post : posts) {
+            if (predicate.evaluate(post)) {
+                cachedMatches++;
+            }
+        }
+        long cachedNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        start = SystemClock.elapsedRealtimeNanos();
+        int uncachedMatches = 0;
+        for (Post post : posts) {
+            String title = (String) readUncached(post, "title");
+            Integer rating = (Integer) readUncached(post, "rating");
+            if (title.startsWith("Post 1") && rating > 2) {
+                uncachedMatches++;
+            }
+        }
+        long uncachedNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        assertEquals(uncachedMatches, cachedMatches);
+        LOG.info(String.format(
+            "Evaluated a predicate against %d posts: cached accessors %.2f ms, field lookup per read %.2f ms",
+            POST_COUNT, cachedNanos / 1e6, uncachedNanos / 1e6
+        ));
+    }
+
+    // How a field used to be read while evaluating a predicate.
+    private static Object readUncached(Object object, String fieldName) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+}
@@ -72,7 +72,9 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
     private final GraphQLResponse.Factory gqlResponseFactory;
     private final ApiAuthProviders authProvider;
     private final ExecutorService executorService;
-    private final AuthRuleRequestDecorator requestDecorator;
+    private AuthRuleRequestDecorator requestDecorator;
+    // The providers built by the last configuration, if any.
+    private CachingAuthProviders cachingAuthProviders;
 
     private final Set<String> restApis;
     private final Set<String> gqlApis;
@@ -91,6 +93,9 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
      * If no Auth provider implementation is provided, then
      * the plugin will assume default behavior for that specific
      * mode of authorization.
+     * Cognito User Pools and AWS credentials providers, whether given here or
+     * created by default, are wrapped in caches which are emptied whenever the
+     * user signs in or out, or their session expires.
      *
      * @param apiAuthProvider configured instance of {@link ApiAuthProviders}
      */
@@ -119,8 +124,16 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
         AWSApiPluginConfiguration pluginConfig =
                 AWSApiPluginConfigurationReader.readFrom(pluginConfiguration);
 
+        // Auth providers are shared by every API, so that tokens and credentials are cached across them.
+        // Those of an earlier configuration stop listening for auth events.
+        if (this.cachingAuthProviders != null) {
+            this.cachingAuthProviders.dispose();
+        }
+        this.cachingAuthProviders = CachingAuthProviders.forApis(authProvider, pluginConfig.getApis().values());
+        final ApiAuthProviders sharedAuthProviders = cachingAuthProviders.getProviders();
         final InterceptorFactory interceptorFactory =
-                new AppSyncSigV4SignerInterceptorFactory(authProvider);
+                new AppSyncSigV4SignerInterceptorFactory(sharedAuthProviders);
+        this.requestDecorator = new AuthRuleRequestDecorator(sharedAuthProviders);
 
         for (Map.Entry<String, ApiConfiguration> entry : pluginConfig.getApis().entrySet()) {
             final String apiName = entry.getKey();
@@ -134,7 +147,7 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             }
             final OkHttpClient okHttpClient = builder.build();
             final SubscriptionAuthorizer subscriptionAuthorizer =
-                    new SubscriptionAuthorizer(apiConfiguration, authProvider);
+                    new SubscriptionAuthorizer(apiConfiguration, sharedAuthProviders);
             final SubscriptionEndpoint subscriptionEndpoint =
                     new SubscriptionEndpoint(apiConfiguration, gqlResponseFactory, subscriptionAuthorizer);
             if (EndpointType.REST.equals(endpointType)) {
@@ -114,6 +114,8 @@ public final class ApiAuthProviders {
 
         /**
          * Assigns an AWS credentials provider.
+         * The AWSApiPlugin wraps it in a cache, so it is not asked for credentials on every
+         * request; see {@link com.amplifyframework.api.aws.sigv4.CachingAWSCredentialsProvider}.
          * @param provider an instance of {@link AWSCredentialsProvider}
          * @return this builder object for chaining
          */
@@ -124,6 +126,8 @@ public final class ApiAuthProviders {
 
         /**
          * Assigns a Cognito User Pools provider.
+         * The AWSApiPlugin wraps it in a cache, so that a token is reused until shortly before
+         * its expiry; see {@link com.amplifyframework.api.aws.sigv4.CachingCognitoUserPoolsAuthProvider}.
          * @param provider an instance of {@link CognitoUserPoolsAuthProvider}
          * @return this builder object for chaining
          */
@@ -122,25 +122,22 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
         @Override
         public void onResponse(@NonNull Call call, @NonNull Response response) {
             final ResponseBody responseBody = response.body();
-            String jsonResponse = null;
-            if (responseBody != null) {
-                try {
-                    jsonResponse = responseBody.string();
-                } catch (IOException exception) {
-                    onFailure.accept(new ApiException(
-                        "Could not retrieve the response body from the returned JSON",
-                        exception, AmplifyException.TODO_RECOVERY_SUGGESTION
-                    ));
-                    return;
-                }
-            }
-
+            final GraphQLResponse<R> graphQLResponse;
             try {
-                onResponse.accept(wrapResponse(jsonResponse));
-                //TODO: Dispatch to hub
+                // The body is parsed as it is read from the network, rather than being read into a String first.
+                graphQLResponse = responseBody != null ?
+                    wrapResponse(responseBody.charStream()) : wrapResponse((String) null);
             } catch (ApiException exception) {
                 onFailure.accept(exception);
+                return;
+            } finally {
+                if (responseBody != null) {
+                    responseBody.close();
+                }
             }
+
+            onResponse.accept(graphQLResponse);
+            //TODO: Dispatch to hub
         }
 
         @Override
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.aws.sigv4.CachingAWSCredentialsProvider;
+import com.amplifyframework.api.aws.sigv4.CachingCognitoUserPoolsAuthProvider;
+import com.amplifyframework.api.aws.sigv4.CognitoUserPoolsAuthProvider;
+import com.amplifyframework.api.aws.sigv4.DefaultCognitoUserPoolsAuthProvider;
+import com.amplifyframework.auth.AuthChannelEventName;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.SubscriptionToken;
+import com.amplifyframework.logging.Logger;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.mobile.client.AWSMobileClient;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Builds the {@link ApiAuthProviders} that are shared by everything in the plugin which
+ * authorizes requests: the request interceptors, the subscription authorizers, and the
+ * auth rule request decorator. The Cognito User Pools and IAM providers are wrapped in
+ * caches, so that a token or credentials are not fetched for every request. The caches are
+ * emptied whenever the user signs in or out, or their session expires, as announced on the
+ * {@link HubChannel#AUTH} channel, until they are {@link #dispose() disposed}.
+ */
+final class CachingAuthProviders {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
+    private static final String AUTH_DEPENDENCY_PLUGIN_KEY = "awsCognitoAuthPlugin";
+    private static final Set<String> INVALIDATING_AUTH_EVENTS = new HashSet<>(Arrays.asList(
+        AuthChannelEventName.SIGNED_IN.toString(),
+        AuthChannelEventName.SIGNED_OUT.toString(),
+        AuthChannelEventName.SESSION_EXPIRED.toString()
+    ));
+
+    private final ApiAuthProviders providers;
+    private final SubscriptionToken authEventsToken;
+
+    private CachingAuthProviders(ApiAuthProviders providers, SubscriptionToken authEventsToken) {
+        this.providers = providers;
+        this.authEventsToken = authEventsToken;
+    }
+
+    /**
+     * Wraps the providers for the authorization modes used by the configured APIs in caches.
+     * A default provider is created for each of those modes that the user did not override.
+     * The Cognito User Pools and IAM providers given by the user are wrapped as well, as
+     * documented on {@link ApiAuthProviders.Builder}; the others are used as they are.
+     * @param overrides Providers given by the user
+     * @param apis Configurations of the APIs that will use the providers
+     * @return Caching providers, which listen for auth events until they are disposed
+     * @throws ApiException If a default provider is needed, but AWSCognitoAuthPlugin is missing
+     */
+    @NonNull
+    static CachingAuthProviders forApis(
+            @NonNull ApiAuthProviders overrides,
+            @NonNull Collection<ApiConfiguration> apis) throws ApiException {
+        Objects.requireNonNull(overrides);
+        Objects.requireNonNull(apis);
+        Set<AuthorizationType> authorizationTypes = EnumSet.noneOf(AuthorizationType.class);
+        for (ApiConfiguration api : apis) {
+            authorizationTypes.add(api.getAuthorizationType());
+        }
+
+        ApiAuthProviders.Builder builder = ApiAuthProviders.builder();
+        if (overrides.getApiKeyAuthProvider() != null) {
+            builder.apiKeyAuthProvider(overrides.getApiKeyAuthProvider());
+        }
+        if (overrides.getOidcAuthProvider() != null) {
+            builder.oidcAuthProvider(overrides.getOidcAuthProvider());
+        }
+
+        CognitoUserPoolsAuthProvider cognitoProvider = overrides.getCognitoUserPoolsAuthProvider();
+        if (cognitoProvider == null && authorizationTypes.contains(AuthorizationType.AMAZON_COGNITO_USER_POOLS)) {
+            cognitoProvider = new DefaultCognitoUserPoolsAuthProvider();
+        }
+        final CachingCognitoUserPoolsAuthProvider cachingCognitoProvider = cognitoProvider == null ?
+            null : new CachingCognitoUserPoolsAuthProvider(cognitoProvider);
+        if (cachingCognitoProvider != null) {
+            builder.cognitoUserPoolsAuthProvider(cachingCognitoProvider);
+        }
+
+        AWSCredentialsProvider credentialsProvider = overrides.getAWSCredentialsProvider();
+        if (credentialsProvider == null && authorizationTypes.contains(AuthorizationType.AWS_IAM)) {
+            credentialsProvider = getAWSMobileClient();
+        }
+        final CachingAWSCredentialsProvider cachingCredentialsProvider = credentialsProvider == null ?
+            null : new CachingAWSCredentialsProvider(credentialsProvider);
+        if (cachingCredentialsProvider != null) {
+            builder.awsCredentialsProvider(cachingCredentialsProvider);
+        }
+
+        SubscriptionToken authEventsToken = null;
+        if (cachingCognitoProvider != null || cachingCredentialsProvider != null) {
+            // A token or credentials fetched for one user must not be used once another has signed in.
+            authEventsToken = Amplify.Hub.subscribe(HubChannel.AUTH,
+                event -> INVALIDATING_AUTH_EVENTS.contains(event.getName()),
+                event -> {
+                    LOG.debug("Discarding cached auth tokens and credentials after auth event: " + event.getName());
+                    if (cachingCognitoProvider != null) {
+                        cachingCognitoProvider.invalidate();
+                    }
+                    if (cachingCredentialsProvider != null) {
+                        cachingCredentialsProvider.invalidate();
+                    }
+                });
+        }
+        return new CachingAuthProviders(builder.build(), authEventsToken);
+    }
+
+    /**
+     * Gets the providers to share across the plugin.
+     * @return Providers to share across the plugin
+     */
+    @NonNull
+    ApiAuthProviders getProviders() {
+        return providers;
+    }
+
+    /**
+     * Stops listening for auth events, for example when the plugin is configured again and
+     * these providers are replaced. The caches are no longer emptied after this.
+     */
+    void dispose() {
+        if (authEventsToken != null) {
+            Amplify.Hub.unsubscribe(authEventsToken);
+        }
+    }
+
+    private static AWSCredentialsProvider getAWSMobileClient() throws ApiException {
+        try {
+            return (AWSMobileClient) Amplify.Auth.getPlugin(AUTH_DEPENDENCY_PLUGIN_KEY).getEscapeHatch();
+        } catch (IllegalStateException exception) {
+            throw new ApiException(
+                "AWSApiPlugin depends on AWSCognitoAuthPlugin but it is currently missing",
+                exception,
+                "Before configuring Amplify, be sure to add AWSCognitoAuthPlugin same as you added AWSApiPlugin."
+            );
+        }
+    }
+}
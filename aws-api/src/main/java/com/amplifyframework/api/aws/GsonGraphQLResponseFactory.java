@@ -21,19 +21,24 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiException;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.GsonResponseAdapters;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.util.GsonFactory;
 import com.amplifyframework.util.TypeMaker;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
-
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -41,9 +46,17 @@ import java.util.List;
 
 /**
  * Converts JSON strings into models of a given type, using Gson.
+ *
+ * Responses are read as a stream, so the data is bound to models as the JSON is read, without
+ * first building a tree of the whole response. The Gson used to read responses is built once;
+ * its adapters do not depend on the request, so Gson keeps them for each type of response.
  */
 final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
-    private final Gson gson;
+    // The request whose response is being read on this thread. The adapters are shared by
+    // all requests, so they find the request from which to build the request for a next page here.
+    private static final ThreadLocal<GraphQLRequest<?>> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final Gson responseGson;
 
     GsonGraphQLResponseFactory() {
         this(GsonFactory.instance());
@@ -51,119 +64,184 @@ final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
 
     @VisibleForTesting
     GsonGraphQLResponseFactory(Gson gson) {
-        this.gson = gson;
+        this.responseGson = gson.newBuilder()
+            .registerTypeAdapterFactory(new IterableAdapterFactory())
+            .registerTypeAdapterFactory(new GsonResponseAdapters.StreamingResponseAdapterFactory())
+            .create();
     }
 
     @Override
     public <T> GraphQLResponse<T> buildResponse(GraphQLRequest<T> request, String responseJson)
             throws ApiException {
+        if (responseJson == null) {
+            return null;
+        }
+        return buildResponse(request, new StringReader(responseJson));
+    }
+
+    @Override
+    public <T> GraphQLResponse<T> buildResponse(GraphQLRequest<T> request, Reader responseJson)
+            throws ApiException {
         Type responseType = TypeMaker.getParameterizedType(GraphQLResponse.class, request.getResponseType());
+        GraphQLRequest<?> enclosingRequest = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.set(request);
         try {
-            Gson responseGson = gson.newBuilder()
-                .registerTypeHierarchyAdapter(Iterable.class, new IterableDeserializer<>(request))
-                .create();
-            return responseGson.fromJson(responseJson, responseType);
-        } catch (JsonSyntaxException jsonSyntaxException) {
+            JsonReader jsonReader = responseGson.newJsonReader(responseJson);
+            GraphQLResponse<T> response = responseGson.fromJson(jsonReader, responseType);
+            if (response != null && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return response;
+        } catch (JsonParseException | IOException exception) {
             throw new ApiException(
                 "Amplify encountered an error while deserializing an object.",
-                jsonSyntaxException,
+                exception,
                 AmplifyException.TODO_RECOVERY_SUGGESTION
             );
+        } finally {
+            if (enclosingRequest != null) {
+                CURRENT_REQUEST.set(enclosingRequest);
+            } else {
+                CURRENT_REQUEST.remove();
+            }
         }
     }
 
-    static final class IterableDeserializer<R> implements JsonDeserializer<Iterable<Object>> {
+    /**
+     * Creates adapters which read the lists in a response, including the results of a query
+     * at the root level, which are read into a {@link PaginatedResult}.
+     */
+    static final class IterableAdapterFactory implements TypeAdapterFactory {
+        @SuppressWarnings("unchecked") // (TypeAdapter<T>)
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (!Iterable.class.isAssignableFrom(typeToken.getRawType())) {
+                return null;
+            }
+            if (!(typeToken.getType() instanceof ParameterizedType)) {
+                throw new JsonParseException("Expected a parameterized type during list deserialization.");
+            }
+            Type templateClassType = ((ParameterizedType) typeToken.getType()).getActualTypeArguments()[0];
+            return (TypeAdapter<T>) new IterableAdapter(
+                gson.getDelegateAdapter(this, (TypeToken<Iterable<Object>>) typeToken),
+                (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(templateClassType)),
+                PaginatedResult.class.equals(typeToken.getRawType())
+            );
+        }
+    }
+
+    static final class IterableAdapter extends TypeAdapter<Iterable<Object>> {
         private static final String ITEMS_KEY = "items";
         private static final String NEXT_TOKEN_KEY = "nextToken";
 
-        private final GraphQLRequest<R> request;
+        private final TypeAdapter<Iterable<Object>> delegate;
+        private final TypeAdapter<Object> itemAdapter;
+        private final boolean paginated;
 
-        IterableDeserializer(GraphQLRequest<R> request) {
-            this.request = request;
+        IterableAdapter(TypeAdapter<Iterable<Object>> delegate, TypeAdapter<Object> itemAdapter, boolean paginated) {
+            this.delegate = delegate;
+            this.itemAdapter = itemAdapter;
+            this.paginated = paginated;
         }
 
         @Override
-        public Iterable<Object> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-                throws JsonParseException {
-            final Type templateClassType;
-            if (typeOfT instanceof ParameterizedType) {
-                templateClassType = ((ParameterizedType) typeOfT).getActualTypeArguments()[0];
-            } else {
-                throw new JsonParseException("Expected a parameterized type during list deserialization.");
-            }
+        public void write(JsonWriter jsonWriter, Iterable<Object> iterable) throws IOException {
+            delegate.write(jsonWriter, iterable);
+        }
 
-            // If the json we got is not really a list and the list has a generics type...
-            if (json.isJsonObject()) {
-                /*
-                 * Parses JSON such as the following:
-                 *   {
-                 *      "items" : [
-                 *          {
-                 *              "description": null,
-                 *              "id": "92863611-684a-424d-b3e5-94d42c4914c9",
-                 *              "name": "some name"
-                 *          }
-                 *      ],
-                 *      "nextToken" : "some_next_token"
-                 *   }
-                 */
-                JsonObject jsonObject = json.getAsJsonObject();
-                // ...and it is in the format we expect from AppSync
-                // for a list of objects in a relationship
-                if (jsonObject.has(ITEMS_KEY) && jsonObject.get(ITEMS_KEY).isJsonArray()) {
-                    JsonArray itemsArray = jsonObject.get(ITEMS_KEY).getAsJsonArray();
-                    Iterable<Object> items = toList(itemsArray, templateClassType, context);
-                    if (PaginatedResult.class.equals(((ParameterizedType) typeOfT).getRawType())) {
-                        // Results of a GraphQL query at the root level are parsed into a PaginatedResult.
-                        // A PaginatedResult extends the Iterable class, augmenting it with knowledge
-                        // of whether a next page exists, and how to request that next page
-                        // (via the nextToken).
-                        return buildPaginatedResult(items, jsonObject.get(NEXT_TOKEN_KEY));
-                    } else {
-                        // Results below than the root level are parsed as a List, because that
-                        // is the type on the code generated model for a one to many relationship
-                        // to a list of objects.  For this case, a nextToken may be present,
-                        // but we currently ignore it.  In the future, we could update the
-                        // generated model to use a PaginatedResult instead of List,
-                        // which would expose these details for customers.
-                        return items;
-                    }
-                } else {
+        @Override
+        public Iterable<Object> read(JsonReader jsonReader) throws IOException {
+            switch (jsonReader.peek()) {
+                case NULL:
+                    jsonReader.nextNull();
+                    return null;
+                case BEGIN_ARRAY:
+                    return readItems(jsonReader);
+                case BEGIN_OBJECT:
+                    return readItemsObject(jsonReader);
+                default:
                     throw new JsonParseException(
-                        "Got JSON from an API call which was supposed to go with a List " +
-                            "but is in the form of an object rather than an array. " +
-                            "It also is not in the standard format of having an items " +
-                            "property with the actual array of data so we do not know how " +
-                            "to deserialize it."
+                        "Got a JSON value that was not an object or a list. " +
+                            "Refusing to deserialize into a Java Iterable."
                     );
+            }
+        }
+
+        /*
+         * Reads JSON such as the following:
+         *   {
+         *      "items" : [
+         *          {
+         *              "description": null,
+         *              "id": "92863611-684a-424d-b3e5-94d42c4914c9",
+         *              "name": "some name"
+         *          }
+         *      ],
+         *      "nextToken" : "some_next_token"
+         *   }
+         * This is the format we expect from AppSync for a list of objects in a relationship.
+         */
+        private Iterable<Object> readItemsObject(JsonReader jsonReader) throws IOException {
+            List<Object> items = null;
+            String nextToken = null;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (ITEMS_KEY.equals(name) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    items = readItems(jsonReader);
+                } else if (NEXT_TOKEN_KEY.equals(name) && jsonReader.peek() != JsonToken.NULL) {
+                    nextToken = jsonReader.nextString();
+                } else {
+                    jsonReader.skipValue();
                 }
-            } else if (json.isJsonArray()) {
-                return toList(json.getAsJsonArray(), templateClassType, context);
             }
-            throw new JsonParseException(
-                    "Got a JSON value that was not an object or a list. " +
-                            "Refusing to deserialize into a Java Iterable."
-            );
+            jsonReader.endObject();
+
+            if (items == null) {
+                throw new JsonParseException(
+                    "Got JSON from an API call which was supposed to go with a List " +
+                        "but is in the form of an object rather than an array. " +
+                        "It also is not in the standard format of having an items " +
+                        "property with the actual array of data so we do not know how " +
+                        "to deserialize it."
+                );
+            }
+            if (paginated) {
+                // Results of a GraphQL query at the root level are parsed into a PaginatedResult.
+                // A PaginatedResult extends the Iterable class, augmenting it with knowledge
+                // of whether a next page exists, and how to request that next page
+                // (via the nextToken).
+                return buildPaginatedResult(items, nextToken);
+            } else {
+                // Results below than the root level are parsed as a List, because that
+                // is the type on the code generated model for a one to many relationship
+                // to a list of objects.  For this case, a nextToken may be present,
+                // but we currently ignore it.  In the future, we could update the
+                // generated model to use a PaginatedResult instead of List,
+                // which would expose these details for customers.
+                return items;
+            }
         }
 
-        private Iterable<Object> toList(JsonArray jsonArray, Type type, JsonDeserializationContext context) {
+        private List<Object> readItems(JsonReader jsonReader) throws IOException {
             final List<Object> items = new ArrayList<>();
-            for (JsonElement item : jsonArray) {
-                items.add(context.deserialize(item, type));
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                items.add(itemAdapter.read(jsonReader));
             }
+            jsonReader.endArray();
             return items;
         }
 
-        private PaginatedResult<Object> buildPaginatedResult(Iterable<Object> items, JsonElement nextTokenElement) {
+        @SuppressWarnings("unchecked") // The request for the next page returns the same type as this one.
+        private PaginatedResult<Object> buildPaginatedResult(List<Object> items, String nextToken) {
             GraphQLRequest<PaginatedResult<Object>> requestForNextPage = null;
-            if (nextTokenElement.isJsonPrimitive()) {
-                String nextToken = nextTokenElement.getAsJsonPrimitive().getAsString();
+            GraphQLRequest<?> request = CURRENT_REQUEST.get();
+            if (nextToken != null && request instanceof AppSyncGraphQLRequest) {
                 try {
-                    if (request instanceof AppSyncGraphQLRequest) {
-                        requestForNextPage = ((AppSyncGraphQLRequest<R>) request).newBuilder()
-                                .variable(NEXT_TOKEN_KEY, "String", nextToken)
-                                .build();
-                    }
+                    requestForNextPage = ((AppSyncGraphQLRequest<PaginatedResult<Object>>) request).newBuilder()
+                            .variable(NEXT_TOKEN_KEY, "String", nextToken)
+                            .build();
                 } catch (AmplifyException exception) {
                     throw new JsonParseException(
                         "Failed to create requestForNextPage with nextToken variable",
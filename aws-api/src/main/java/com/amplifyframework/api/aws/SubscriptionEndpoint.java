@@ -16,17 +16,23 @@
 package com.amplifyframework.api.aws;
 
 import android.net.Uri;
+import android.os.SystemClock;
 import android.util.Base64;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.events.SubscriptionHandshakeEvent;
+import com.amplifyframework.api.events.SubscriptionReconnectedEvent;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
+import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.UserAgent;
 
@@ -36,15 +42,22 @@ import org.json.JSONObject;
 import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import okhttp3.OkHttpClient;
@@ -56,11 +69,30 @@ import okhttp3.WebSocketListener;
 /**
  * Manages the lifecycle of a single WebSocket connection,
  * and multiple GraphQL subscriptions that work on top of it.
+ *
+ * Subscriptions are requested without waiting on the connection, or on each other. While the
+ * connection is being acknowledged, the starts of the subscriptions requested meanwhile are held;
+ * they are all sent as soon as it is ready. Each start is then acknowledged by its ID, in whichever
+ * order the endpoint answers. Timeouts are kept by a single scheduler thread, rather than by a
+ * thread waiting on each subscription; that thread is only kept while there are subscriptions,
+ * and is shut down when the last one is released. When a handshake ends, its timings are published on the
+ * {@link HubChannel#API} channel, as a {@link SubscriptionHandshakeEvent}.
+ *
+ * If the connection is lost while there are subscriptions, it is made again after a jittered,
+ * exponentially growing delay, and the subscriptions are started again under their existing IDs.
+ * Their consumers are not told of the loss; instead, once every subscription has been started
+ * again, a {@link SubscriptionReconnectedEvent} reports the window in which items may have been
+ * missed. Only when the attempts run out are the subscriptions failed.
  */
 final class SubscriptionEndpoint {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
     private static final int CONNECTION_ACKNOWLEDGEMENT_TIMEOUT = 30 /* seconds */;
     private static final int NORMAL_CLOSURE_STATUS = 1000;
+    private static final int MAX_RECONNECT_ATTEMPTS = 8;
+    private static final long RECONNECT_BASE_DELAY_MS = 1_000;
+    private static final long RECONNECT_MAX_DELAY_MS = 30_000;
+    private static final long START_ACKNOWLEDGEMENT_TIMEOUT_MS =
+        TimeUnit.SECONDS.toMillis(Subscription.ACKNOWLEDGEMENT_TIMEOUT);
 
     private final ApiConfiguration apiConfiguration;
     private final SubscriptionAuthorizer authorizer;
@@ -68,28 +100,74 @@ final class SubscriptionEndpoint {
     private final GraphQLResponse.Factory responseFactory;
     private final TimeoutWatchdog timeoutWatchdog;
     private final Set<String> pendingSubscriptionIds;
-    private final OkHttpClient okHttpClient;
+    private final WebSocket.Factory webSocketFactory;
+    private final long startAcknowledgementTimeoutMs;
+    // Guards the timer apart from the endpoint, so that the WebSocket's thread can send starts
+    // while a subscription is being released.
+    private final Object timerLock;
+    // Guards the state of a reconnection apart from the endpoint, so that the WebSocket's thread
+    // can end a replay, or report a lost connection, while a subscription is being released.
+    private final Object reconnectLock;
+    private final Random reconnectJitter;
+    // IDs of the subscriptions to start again on the next connection, while reconnecting.
+    private final Set<String> awaitingReplay;
     private WebSocket webSocket;
-    private AmplifyWebSocketListener webSocketListener;
+    // Replaced while holding the endpoint's lock; read without it by the WebSocket's thread.
+    private volatile AmplifyWebSocketListener webSocketListener;
+    // Created on demand, and shut down once there are no subscriptions left.
+    private ScheduledThreadPoolExecutor acknowledgementTimer;
+    // When the lost connection was last known to work, or 0 if not reconnecting.
+    private long disconnectedAtMs;
+    private int reconnectAttempts;
 
     SubscriptionEndpoint(
             @NonNull ApiConfiguration apiConfiguration,
             @NonNull GraphQLResponse.Factory responseFactory,
             @NonNull SubscriptionAuthorizer authorizer
     ) throws ApiException {
+        this(apiConfiguration, responseFactory, authorizer, new OkHttpClient.Builder()
+            .addNetworkInterceptor(UserAgentInterceptor.using(UserAgent::string))
+            .retryOnConnectionFailure(true)
+            .build(), START_ACKNOWLEDGEMENT_TIMEOUT_MS);
+    }
+
+    @VisibleForTesting
+    SubscriptionEndpoint(
+            @NonNull ApiConfiguration apiConfiguration,
+            @NonNull GraphQLResponse.Factory responseFactory,
+            @NonNull SubscriptionAuthorizer authorizer,
+            @NonNull WebSocket.Factory webSocketFactory,
+            long startAcknowledgementTimeoutMs
+    ) {
         this.apiConfiguration = Objects.requireNonNull(apiConfiguration);
         this.subscriptions = new ConcurrentHashMap<>();
         this.responseFactory = Objects.requireNonNull(responseFactory);
         this.authorizer = Objects.requireNonNull(authorizer);
         this.timeoutWatchdog = new TimeoutWatchdog();
         this.pendingSubscriptionIds = Collections.synchronizedSet(new HashSet<>());
-        this.okHttpClient = new OkHttpClient.Builder()
-            .addNetworkInterceptor(UserAgentInterceptor.using(UserAgent::string))
-            .retryOnConnectionFailure(true)
-            .build();
+        this.reconnectJitter = new Random();
+        this.awaitingReplay = new HashSet<>();
+        this.webSocketFactory = Objects.requireNonNull(webSocketFactory);
+        this.startAcknowledgementTimeoutMs = startAcknowledgementTimeoutMs;
+        this.timerLock = new Object();
+        this.reconnectLock = new Object();
     }
 
-    synchronized <T> void requestSubscription(
+    /**
+     * Requests a subscription. This does not wait for the connection, or for the subscription
+     * to be acknowledged: onSubscriptionStarted is called once it has been, from the thread
+     * which reads the WebSocket.
+     * @param request GraphQL subscription request
+     * @param onSubscriptionStarted Called with the ID of the subscription, once it is acknowledged
+     * @param onNextItem Called with each item received on the subscription
+     * @param onSubscriptionError Called if the subscription fails to start, or fails later on
+     * @param onSubscriptionComplete Called when the subscription completes
+     * @param <T> Type of the items received on the subscription
+     * @return ID of the requested subscription, or null if it could not be requested, in
+     *         which case onSubscriptionError has already been called
+     */
+    @Nullable
+    <T> String requestSubscription(
             @NonNull GraphQLRequest<T> request,
             @NonNull Consumer<String> onSubscriptionStarted,
             @NonNull Consumer<GraphQLResponse<T>> onNextItem,
@@ -101,67 +179,246 @@ final class SubscriptionEndpoint {
         Objects.requireNonNull(onSubscriptionError);
         Objects.requireNonNull(onSubscriptionComplete);
 
-        // The first call to subscribe OR a disconnected websocket listener will
-        // force a new connection to be created.
-        if (webSocketListener == null || webSocketListener.isDisconnectedState()) {
-            webSocketListener = new AmplifyWebSocketListener();
-            try {
-                webSocket = okHttpClient.newWebSocket(new Request.Builder()
-                    .url(buildConnectionRequestUrl())
-                    .addHeader("Sec-WebSocket-Protocol", "graphql-ws")
-                    .build(), webSocketListener);
-            } catch (ApiException apiException) {
-                onSubscriptionError.accept(apiException);
-                return;
+        final String subscriptionId = UUID.randomUUID().toString();
+        final String startMessage;
+        try {
+            startMessage = buildStartMessage(subscriptionId, request);
+        } catch (JSONException | ApiException exception) {
+            onSubscriptionError.accept(new ApiException(
+                "Failed to construct subscription registration message.",
+                exception,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            ));
+            return null;
+        }
+
+        Subscription<T> subscription = new Subscription<>(
+            subscriptionId, onSubscriptionStarted, onNextItem, onSubscriptionError, onSubscriptionComplete,
+            responseFactory, request.getResponseType(), request
+        );
+        final AmplifyWebSocketListener listener;
+        synchronized (this) {
+            // The first call to subscribe OR a disconnected websocket listener will
+            // force a new connection to be created.
+            if (webSocketListener == null || webSocketListener.isDisconnectedState()) {
+                try {
+                    connect();
+                } catch (ApiException apiException) {
+                    onSubscriptionError.accept(apiException);
+                    return null;
+                }
             }
+            subscriptions.put(subscriptionId, subscription);
+            pendingSubscriptionIds.add(subscriptionId);
+            listener = webSocketListener;
+        }
+        listener.startSubscription(subscription, startMessage);
+        return subscriptionId;
+    }
 
+    // The authorization is built for each start, since a start that is sent again may need a fresh one.
+    private String buildStartMessage(String subscriptionId, GraphQLRequest<?> request)
+            throws JSONException, ApiException {
+        return new JSONObject()
+            .put("id", subscriptionId)
+            .put("type", "start")
+            .put("payload", new JSONObject()
+            .put("data", request.getContent())
+            .put("extensions", new JSONObject()
+            .put("authorization", authorizer.createHeadersForSubscription(request))))
+            .toString();
+    }
+
+    private void connect() throws ApiException {
+        final AmplifyWebSocketListener listener = new AmplifyWebSocketListener();
+        final WebSocket socket = webSocketFactory.newWebSocket(new Request.Builder()
+            .url(buildConnectionRequestUrl())
+            .addHeader("Sec-WebSocket-Protocol", "graphql-ws")
+            .build(), listener);
+        webSocket = socket;
+        webSocketListener = listener;
+        listener.connectionTimeout = schedule(
+            () -> listener.onConnectionTimeout(socket), TimeUnit.SECONDS.toMillis(CONNECTION_ACKNOWLEDGEMENT_TIMEOUT)
+        );
+    }
+
+    private ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        synchronized (timerLock) {
+            if (acknowledgementTimer == null) {
+                acknowledgementTimer = new ScheduledThreadPoolExecutor(1);
+                // Timeouts which are pending when the timer is shut down are of no use any more.
+                acknowledgementTimer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+                acknowledgementTimer.setRemoveOnCancelPolicy(true);
+            }
+            return acknowledgementTimer.schedule(task, delayMs, TimeUnit.MILLISECONDS);
         }
-        final String subscriptionId = UUID.randomUUID().toString();
-        pendingSubscriptionIds.add(subscriptionId);
-        // Every request waits here for the connection to be ready.
-        Connection connection = webSocketListener.waitForConnectionReady();
-        if (connection.hasFailure()) {
-            // If the latch didn't count all the way down
-            if (pendingSubscriptionIds.remove(subscriptionId)) {
-                // The subscription was pending, so we need to emit an error.
-                onSubscriptionError.accept(
-                    new ApiException(connection.getFailureReason(), AmplifyException.TODO_RECOVERY_SUGGESTION));
+    }
+
+    // Stops the timer's thread, without interrupting a task which is running on it.
+    private void shutDownAcknowledgementTimer() {
+        synchronized (timerLock) {
+            if (acknowledgementTimer != null) {
+                acknowledgementTimer.shutdown();
+                acknowledgementTimer = null;
+            }
+        }
+    }
+
+    @VisibleForTesting
+    boolean isAcknowledgementTimerRunning() {
+        synchronized (timerLock) {
+            return acknowledgementTimer != null;
+        }
+    }
+
+    // Called when a connection is lost other than by closing it.
+    private void onConnectionLost(AmplifyWebSocketListener listener, Throwable cause) {
+        synchronized (reconnectLock) {
+            if (listener != webSocketListener || !listener.markLost()) {
+                // An earlier connection, or a loss which has already been handled.
                 return;
             }
+            timeoutWatchdog.stop();
+            if (disconnectedAtMs == 0) {
+                disconnectedAtMs = listener.getLastAliveAtMs();
+            }
         }
+        scheduleReconnection(cause);
+    }
 
-        try {
-            webSocket.send(new JSONObject()
-                .put("id", subscriptionId)
-                .put("type", "start")
-                .put("payload", new JSONObject()
-                .put("data", request.getContent())
-                .put("extensions", new JSONObject()
-                .put("authorization", authorizer.createHeadersForSubscription(request))))
-                .toString()
-            );
-        } catch (JSONException | ApiException exception) {
-            // If the subscriptionId was still pending, then we can call the onSubscriptionError
-            if (pendingSubscriptionIds.remove(subscriptionId)) {
-                onSubscriptionError.accept(new ApiException(
-                    "Failed to construct subscription registration message.",
-                    exception,
-                    AmplifyException.TODO_RECOVERY_SUGGESTION
-                ));
+    // While there are subscriptions, and attempts left, schedules another connection;
+    // otherwise, the subscriptions fail.
+    private void scheduleReconnection(Throwable cause) {
+        synchronized (reconnectLock) {
+            if (!subscriptions.isEmpty() && reconnectAttempts < MAX_RECONNECT_ATTEMPTS) {
+                awaitingReplay.addAll(subscriptions.keySet());
+                // A start which was sent on the lost connection will not be acknowledged; it is sent again.
+                for (Subscription<?> subscription : subscriptions.values()) {
+                    subscription.restart();
+                }
+                long delayMs = reconnectDelayMs(reconnectAttempts, reconnectJitter.nextDouble());
+                LOG.warn("Subscription connection lost. Reconnecting in " + delayMs + " ms.", cause);
+                schedule(this::reconnect, delayMs);
+                return;
             }
+            disconnectedAtMs = 0;
+            reconnectAttempts = 0;
+            awaitingReplay.clear();
+            shutDownAcknowledgementTimer();
+        }
+        notifyError(cause);
+    }
+
+    /**
+     * Gets the delay before an attempt to connect again. It grows exponentially with the
+     * number of attempts made, up to a limit. Only the upper half of it is fixed; the lower
+     * half is scaled by the jitter, to spread out the clients which lost their connections
+     * at the same moment.
+     * @param attempts Number of attempts already made
+     * @param jitter A random number, from 0 (inclusive) to 1 (exclusive)
+     * @return Delay in milliseconds
+     */
+    @VisibleForTesting
+    static long reconnectDelayMs(int attempts, double jitter) {
+        long delayMs = Math.min(RECONNECT_MAX_DELAY_MS,
+            RECONNECT_BASE_DELAY_MS << Math.min(attempts, MAX_RECONNECT_ATTEMPTS));
+        return delayMs / 2 + (long) (jitter * (delayMs / 2));
+    }
+
+    private boolean isReconnecting() {
+        synchronized (reconnectLock) {
+            return disconnectedAtMs != 0;
+        }
+    }
 
+    private void reconnect() {
+        final AmplifyWebSocketListener listener;
+        final List<Subscription<?>> replays = new ArrayList<>();
+        ApiException connectionFailure = null;
+        // The endpoint's lock is needed to connect; the reconnection's lock is always taken after it.
+        synchronized (this) {
+            synchronized (reconnectLock) {
+                awaitingReplay.retainAll(subscriptions.keySet());
+                if (awaitingReplay.isEmpty()) {
+                    LOG.info("No subscriptions left to start again. Not reconnecting.");
+                    disconnectedAtMs = 0;
+                    reconnectAttempts = 0;
+                    shutDownAcknowledgementTimer();
+                    return;
+                }
+                reconnectAttempts++;
+                // A subscription requested during the delay may already have opened a connection.
+                if (webSocketListener == null || webSocketListener.isDisconnectedState()) {
+                    try {
+                        connect();
+                    } catch (ApiException exception) {
+                        connectionFailure = exception;
+                    }
+                }
+                listener = webSocketListener;
+                if (connectionFailure == null) {
+                    for (String subscriptionId : awaitingReplay) {
+                        Subscription<?> subscription = subscriptions.get(subscriptionId);
+                        subscription.restart();
+                        pendingSubscriptionIds.add(subscriptionId);
+                        replays.add(subscription);
+                    }
+                }
+            }
+        }
+        if (connectionFailure != null) {
+            // No connection was made, so there is none to be lost; the next attempt is scheduled directly.
+            LOG.warn("Failed to reconnect.", connectionFailure);
+            scheduleReconnection(connectionFailure);
             return;
         }
+        for (Subscription<?> subscription : replays) {
+            try {
+                listener.startSubscription(subscription, buildStartMessage(subscription.id, subscription.request));
+            } catch (JSONException | ApiException exception) {
+                notifyConnectionFailure(subscription, "Failed to construct subscription registration message.");
+            }
+        }
+    }
 
-        Subscription<T> subscription = new Subscription<>(
-            onNextItem, onSubscriptionError, onSubscriptionComplete,
-            responseFactory, request.getResponseType(), request
-        );
-        subscriptions.put(subscriptionId, subscription);
-        if (subscription.awaitSubscriptionReady()) {
-            pendingSubscriptionIds.remove(subscriptionId);
-            onSubscriptionStarted.accept(subscriptionId);
+    // Once every subscription that was started again has been acknowledged or has failed,
+    // reports the window in which the connection was lost.
+    private void onReplayEnded(String subscriptionId) {
+        final SubscriptionReconnectedEvent event;
+        synchronized (reconnectLock) {
+            if (!awaitingReplay.remove(subscriptionId) || !awaitingReplay.isEmpty() || disconnectedAtMs == 0) {
+                return;
+            }
+            final AmplifyWebSocketListener listener = webSocketListener;
+            if (listener == null || listener.isDisconnectedState()) {
+                // No connection was restored, as when the last subscription is released before one is made.
+                if (subscriptions.isEmpty()) {
+                    disconnectedAtMs = 0;
+                    reconnectAttempts = 0;
+                }
+                return;
+            }
+            event = new SubscriptionReconnectedEvent(disconnectedAtMs, System.currentTimeMillis(), reconnectAttempts);
+            disconnectedAtMs = 0;
+            reconnectAttempts = 0;
+        }
+        LOG.info("Subscription connection restored: " + event);
+        Amplify.Hub.publish(HubChannel.API, event.toHubEvent());
+    }
+
+    // Sends the start of a subscription, and begins to wait for its acknowledgement.
+    private void sendStart(WebSocket socket, Subscription<?> subscription, String startMessage) {
+        synchronized (timerLock) {
+            // A subscription is removed before the timer is shut down, so this does not
+            // start a new timer for a subscription which has just been released.
+            if (!subscriptions.containsKey(subscription.id)) {
+                return;
+            }
+            subscription.startSent(schedule(
+                () -> notifySubscriptionTimedOut(subscription.id), startAcknowledgementTimeoutMs
+            ));
         }
+        socket.send(startMessage);
     }
 
     private void notifySubscriptionAcknowledged(final String subscriptionId) throws ApiException {
@@ -169,7 +426,14 @@ final class SubscriptionEndpoint {
         // If the subscription is still present (and it should also be pending if it hasn't been canceled),
         // then invoke the callback
         if (subscription != null && pendingSubscriptionIds.remove(subscriptionId)) {
+            // A subscription started again after a reconnection has already been reported as started.
+            boolean startedBefore = subscription.isAcknowledged();
             subscription.acknowledgeSubscriptionReady();
+            reportHandshake(subscription, true);
+            if (!startedBefore) {
+                subscription.dispatchStarted();
+            }
+            onReplayEnded(subscriptionId);
         } else {
             throw new ApiException(
                 "Acknowledgement for unknown subscription: " + subscriptionId,
@@ -182,9 +446,40 @@ final class SubscriptionEndpoint {
         Subscription<?> subscription = subscriptions.get(subscriptionId);
         if (subscription != null && pendingSubscriptionIds.remove(subscriptionId)) {
             subscription.acknowledgeSubscriptionFailure();
+            reportHandshake(subscription, false);
+            onReplayEnded(subscriptionId);
         }
     }
 
+    private void notifySubscriptionTimedOut(final String subscriptionId) {
+        Subscription<?> subscription = subscriptions.get(subscriptionId);
+        if (subscription != null && pendingSubscriptionIds.remove(subscriptionId)) {
+            reportHandshake(subscription, false);
+            onReplayEnded(subscriptionId);
+            subscription.dispatchError(new ApiException(
+                "Timed out waiting for subscription start_ack.",
+                "Check your Internet connection. Is your device online?"
+            ));
+        }
+    }
+
+    // Fails a subscription whose start has not been sent, since the connection could not be made.
+    // It is forgotten, so that it is not told again about the end of the connection.
+    private void notifyConnectionFailure(Subscription<?> subscription, String failureReason) {
+        if (pendingSubscriptionIds.remove(subscription.id)) {
+            subscriptions.remove(subscription.id);
+            reportHandshake(subscription, false);
+            onReplayEnded(subscription.id);
+            subscription.dispatchError(new ApiException(failureReason, AmplifyException.TODO_RECOVERY_SUGGESTION));
+        }
+    }
+
+    private void reportHandshake(Subscription<?> subscription, boolean acknowledged) {
+        SubscriptionHandshakeEvent event = subscription.handshakeEvent(acknowledged);
+        LOG.debug("Subscription handshake ended: " + event);
+        Amplify.Hub.publish(HubChannel.API, event.toHubEvent());
+    }
+
     private void notifyAllSubscriptionsCompleted() {
         // TODO: if the connection closes, but our subscription didn't ask for that,
         //  is that a failure, from its standpoint? Or not?
@@ -208,6 +503,11 @@ final class SubscriptionEndpoint {
 
     private void notifyError(Throwable error) {
         for (Subscription<?> dispatcher : new HashSet<>(subscriptions.values())) {
+            // The error ends the handshake of a subscription which has not yet been acknowledged.
+            if (pendingSubscriptionIds.remove(dispatcher.id)) {
+                dispatcher.acknowledgeSubscriptionFailure();
+                reportHandshake(dispatcher, false);
+            }
             dispatcher.dispatchError(new ApiException(
                 "Subscription failed.", error,
                 "Check your Internet connection. Is your device online?"
@@ -238,15 +538,40 @@ final class SubscriptionEndpoint {
                 AmplifyException.TODO_RECOVERY_SUGGESTION
             );
         }
+        release(subscription, wasSubscriptionPending, true);
+    }
+
+    /**
+     * Cancels a subscription which was requested, but has not been reported as started. Unlike
+     * {@link #releaseSubscription(String)}, this does not wait for the endpoint to complete the
+     * subscription, and does nothing if the subscription is no longer known.
+     * @param subscriptionId ID returned when the subscription was requested
+     */
+    synchronized void cancelSubscriptionRequest(String subscriptionId) {
+        final Subscription<?> subscription = subscriptions.get(subscriptionId);
+        boolean wasSubscriptionPending = pendingSubscriptionIds.remove(subscriptionId);
+        if (subscription != null) {
+            release(subscription, wasSubscriptionPending, false);
+        }
+    }
 
-        // Only do this if the subscription was NOT pending.
-        // Otherwise it would probably fail since it was never established in the first place.
+    private void release(Subscription<?> subscription, boolean wasSubscriptionPending, boolean awaitCompletion)
+            throws ApiException {
+        final boolean connected = webSocketListener != null && !webSocketListener.isDisconnectedState();
+        if (wasSubscriptionPending) {
+            subscription.acknowledgeSubscriptionFailure();
+            if (webSocketListener != null) {
+                webSocketListener.dropQueuedStart(subscription.id);
+            }
+        }
 
-        if (!wasSubscriptionPending && !webSocketListener.isDisconnectedState()) {
+        // Only stop the subscription if its start was sent. If it is still pending,
+        // don't wait for the completion, since it was never established in the first place.
+        if (subscription.wasStartSent() && connected) {
             try {
                 webSocket.send(new JSONObject()
                     .put("type", "stop")
-                    .put("id", subscriptionId)
+                    .put("id", subscription.id)
                     .toString());
             } catch (JSONException jsonException) {
                 throw new ApiException(
@@ -255,16 +580,25 @@ final class SubscriptionEndpoint {
                     AmplifyException.TODO_RECOVERY_SUGGESTION
                 );
             }
-            subscription.awaitSubscriptionCompleted();
+            if (awaitCompletion && subscription.isAcknowledged()) {
+                subscription.awaitSubscriptionCompleted();
+            }
         }
 
-        subscriptions.remove(subscriptionId);
+        subscriptions.remove(subscription.id);
+        onReplayEnded(subscription.id);
 
         // If we have zero subscriptions, close the WebSocket
         if (subscriptions.size() == 0) {
-            LOG.info("No more active subscriptions. Closing web socket.");
-            timeoutWatchdog.stop();
-            webSocket.close(NORMAL_CLOSURE_STATUS, "No active subscriptions");
+            shutDownAcknowledgementTimer();
+            if (webSocket != null) {
+                LOG.info("No more active subscriptions. Closing web socket.");
+                timeoutWatchdog.stop();
+                if (webSocketListener != null) {
+                    webSocketListener.closedByClient = true;
+                }
+                webSocket.close(NORMAL_CLOSURE_STATUS, "No active subscriptions");
+            }
         }
     }
 
@@ -306,64 +640,87 @@ final class SubscriptionEndpoint {
     static final class Subscription<T> {
         private static final int ACKNOWLEDGEMENT_TIMEOUT = 10 /* seconds */;
 
+        private final String id;
+        private final Consumer<String> onSubscriptionStarted;
         private final Consumer<GraphQLResponse<T>> onNextItem;
         private final Consumer<ApiException> onSubscriptionError;
         private final Action onSubscriptionComplete;
         private final GraphQLResponse.Factory responseFactory;
         private final Type responseType;
         private final GraphQLRequest<T> request;
-        private final CountDownLatch subscriptionReadyAcknowledgment;
         private final CountDownLatch subscriptionCompletionAcknowledgement;
-        private boolean failed;
+        private final long requestedAtMs;
+        private volatile long startSentAtMs;
+        private volatile ScheduledFuture<?> acknowledgementTimeout;
+        private volatile boolean acknowledged;
 
+        @SuppressWarnings("ParameterNumber")
         Subscription(
+                String id,
+                Consumer<String> onSubscriptionStarted,
                 Consumer<GraphQLResponse<T>> onNextItem,
                 Consumer<ApiException> onSubscriptionError,
                 Action onSubscriptionComplete,
                 GraphQLResponse.Factory responseFactory,
                 Type responseType,
                 GraphQLRequest<T> request) {
+            this.id = id;
+            this.onSubscriptionStarted = onSubscriptionStarted;
             this.onNextItem = onNextItem;
             this.onSubscriptionError = onSubscriptionError;
             this.onSubscriptionComplete = onSubscriptionComplete;
             this.responseFactory = responseFactory;
             this.responseType = responseType;
             this.request = request;
-            this.subscriptionReadyAcknowledgment = new CountDownLatch(1);
             this.subscriptionCompletionAcknowledgement = new CountDownLatch(1);
-            this.failed = false;
+            this.requestedAtMs = SystemClock.elapsedRealtime();
+            this.startSentAtMs = -1;
+            this.acknowledged = false;
+        }
+
+        void startSent(ScheduledFuture<?> acknowledgementTimeout) {
+            this.startSentAtMs = SystemClock.elapsedRealtime();
+            this.acknowledgementTimeout = acknowledgementTimeout;
+        }
+
+        // Readies the subscription to be started again, on a new connection.
+        void restart() {
+            cancelAcknowledgementTimeout();
+            startSentAtMs = -1;
+        }
+
+        boolean wasStartSent() {
+            return startSentAtMs >= 0;
+        }
+
+        boolean isAcknowledged() {
+            return acknowledged;
         }
 
         void acknowledgeSubscriptionReady() {
-            subscriptionReadyAcknowledgment.countDown();
+            acknowledged = true;
+            cancelAcknowledgementTimeout();
         }
 
         void acknowledgeSubscriptionFailure() {
-            failed = true;
-            subscriptionReadyAcknowledgment.countDown();
+            cancelAcknowledgementTimeout();
         }
 
-        boolean awaitSubscriptionReady() {
-            try {
-                if (!subscriptionReadyAcknowledgment.await(ACKNOWLEDGEMENT_TIMEOUT, TimeUnit.SECONDS)) {
-                    dispatchError(new ApiException(
-                        "Timed out waiting for subscription start_ack.",
-                        "Check your Internet connection. Is your device online?"
-                    ));
-                    return false;
-                } else if (failed) {
-                    // An error was already dispatched at the time of failure, so don't dispatch a second one.
-                    return false;
-                }
-            } catch (InterruptedException interruptedException) {
-                // Triggered when the Future created in SubscriptionOperation is cancelled, which happens when the
-                // subscription Observable is disposed, which happens when a SUBSCRIPTION_ERROR occurs.  Don't dispatch
-                // any error because the caller has likely already been disposed.
-                LOG.warn("Thread interrupted awaiting subscription acknowledgement.", interruptedException);
-                return false;
+        private void cancelAcknowledgementTimeout() {
+            ScheduledFuture<?> timeout = acknowledgementTimeout;
+            if (timeout != null) {
+                timeout.cancel(false);
             }
+        }
 
-            return true;
+        SubscriptionHandshakeEvent handshakeEvent(boolean acknowledged) {
+            final long now = SystemClock.elapsedRealtime();
+            final long sentAt = wasStartSent() ? startSentAtMs : now;
+            return new SubscriptionHandshakeEvent(id, acknowledged, sentAt - requestedAtMs, now - sentAt);
+        }
+
+        void dispatchStarted() {
+            onSubscriptionStarted.accept(id);
         }
 
         void acknowledgeSubscriptionCompleted() {
@@ -429,7 +786,7 @@ final class SubscriptionEndpoint {
             if (!ObjectsCompat.equals(responseType, that.responseType)) {
                 return false;
             }
-            if (!ObjectsCompat.equals(subscriptionReadyAcknowledgment, that.subscriptionReadyAcknowledgment)) {
+            if (!ObjectsCompat.equals(id, that.id)) {
                 return false;
             }
             return ObjectsCompat.equals(
@@ -445,33 +802,40 @@ final class SubscriptionEndpoint {
             result = 31 * result + onSubscriptionComplete.hashCode();
             result = 31 * result + responseFactory.hashCode();
             result = 31 * result + responseType.hashCode();
-            result = 31 * result + subscriptionReadyAcknowledgment.hashCode();
+            result = 31 * result + id.hashCode();
             result = 31 * result + subscriptionCompletionAcknowledgement.hashCode();
             return result;
         }
     }
 
     final class AmplifyWebSocketListener extends WebSocketListener {
-        private final CountDownLatch connectionResponse;
         private final AtomicReference<EndpointStatus> endpointStatus;
-        private OkHttpClient okHttpClient;
+        // Starts of subscriptions requested before the connection was acknowledged, in the order requested.
+        private final Map<String, QueuedStart> queuedStarts;
+        private final AtomicBoolean lost;
+        private volatile ScheduledFuture<?> connectionTimeout;
+        private volatile boolean closedByClient;
+        private volatile long lastAliveAtMs;
+        private WebSocket openWebSocket;
 
         AmplifyWebSocketListener() {
-            this(new CountDownLatch(1));
-        }
-
-        AmplifyWebSocketListener(CountDownLatch latch) {
-            this.connectionResponse = latch;
-            this.endpointStatus = new AtomicReference<>(EndpointStatus.DISCONNECTED);
+            this.endpointStatus = new AtomicReference<>(EndpointStatus.CONNECTING);
+            this.queuedStarts = new LinkedHashMap<>();
+            this.lost = new AtomicBoolean(false);
+            this.lastAliveAtMs = System.currentTimeMillis();
         }
 
         @Override
         public void onOpen(@NonNull final WebSocket webSocket, @NonNull final Response response) {
+            synchronized (this) {
+                openWebSocket = webSocket;
+            }
             sendConnectionInit(webSocket);
         }
 
         @Override
         public void onMessage(@NonNull final WebSocket webSocket, @NonNull final String message) {
+            lastAliveAtMs = System.currentTimeMillis();
             try {
                 processJsonMessage(webSocket, message);
             } catch (ApiException exception) {
@@ -481,7 +845,14 @@ final class SubscriptionEndpoint {
 
         @Override
         public void onClosing(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
-            notifyAllSubscriptionsCompleted();
+            if (closedByClient) {
+                notifyAllSubscriptionsCompleted();
+            } else {
+                onConnectionLost(this, new ApiException(
+                    "WebSocket closed: " + reason,
+                    "Check your Internet connection. Is your device online?"
+                ));
+            }
         }
 
         @Override
@@ -489,10 +860,13 @@ final class SubscriptionEndpoint {
             LOG.warn("Websocket connection failed.", failure);
             endpointStatus.set(EndpointStatus.CONNECTION_FAILED);
             webSocket.cancel();
-            // This will free up any pending subscriptions that haven't been established yet.
-            connectionResponse.countDown();
-            // This will broadcast the error to all subscriptions
-            notifyError(failure);
+            cancelConnectionTimeout();
+            // The subscriptions which were waiting to start are started again on the next
+            // connection, or failed along with all of the others.
+            synchronized (this) {
+                queuedStarts.clear();
+            }
+            onConnectionLost(this, failure);
         }
 
         @Override
@@ -505,21 +879,84 @@ final class SubscriptionEndpoint {
             return endpointStatus.get().isDisconnectedState();
         }
 
-        public Connection waitForConnectionReady() {
-            try {
-                if (!connectionResponse.await(CONNECTION_ACKNOWLEDGEMENT_TIMEOUT, TimeUnit.SECONDS)) {
-                    LOG.warn("Timed out waiting for connection acknowledgement.");
-                    return new Connection("Timed out waiting for connection acknowledgement.");
+        boolean markLost() {
+            endpointStatus.compareAndSet(EndpointStatus.CONNECTING, EndpointStatus.CONNECTION_FAILED);
+            endpointStatus.compareAndSet(EndpointStatus.CONNECTED, EndpointStatus.CONNECTION_FAILED);
+            return lost.compareAndSet(false, true);
+        }
+
+        long getLastAliveAtMs() {
+            return lastAliveAtMs;
+        }
+
+        /**
+         * Sends the start of a subscription if the connection is ready, or else holds it
+         * until the connection is acknowledged.
+         * @param subscription A subscription which has been requested
+         * @param startMessage The message which starts the subscription
+         */
+        void startSubscription(Subscription<?> subscription, String startMessage) {
+            final WebSocket socket;
+            synchronized (this) {
+                if (EndpointStatus.CONNECTING.equals(endpointStatus.get())) {
+                    queuedStarts.put(subscription.id, new QueuedStart(subscription, startMessage));
+                    return;
                 }
-            } catch (InterruptedException exception) {
-                LOG.warn("Thread interrupted waiting for connection acknowledgement");
-                return new Connection("Thread interrupted waiting for connection acknowledgement");
+                socket = openWebSocket;
+            }
+            if (EndpointStatus.CONNECTED.equals(endpointStatus.get()) && socket != null) {
+                sendStart(socket, subscription, startMessage);
+            } else {
+                notifyConnectionFailure(subscription, "Connection failed.");
+            }
+        }
+
+        synchronized void dropQueuedStart(String subscriptionId) {
+            queuedStarts.remove(subscriptionId);
+        }
+
+        // Marks the connection as ready or failed, and hands back the starts which were waiting for it.
+        private synchronized List<QueuedStart> settleConnection(EndpointStatus status) {
+            cancelConnectionTimeout();
+            endpointStatus.set(status);
+            List<QueuedStart> starts = new ArrayList<>(queuedStarts.values());
+            queuedStarts.clear();
+            return starts;
+        }
+
+        private void onConnectionAcknowledged(WebSocket webSocket) {
+            // All of the waiting starts go out at once; their acknowledgements are matched up by ID.
+            for (QueuedStart start : settleConnection(EndpointStatus.CONNECTED)) {
+                sendStart(webSocket, start.subscription, start.message);
             }
-            LOG.debug("Current endpoint status: " + endpointStatus.get());
-            if (EndpointStatus.CONNECTION_FAILED.equals(endpointStatus.get())) {
-                return new Connection("Connection failed.");
+        }
+
+        private void onConnectionError(String failureReason) {
+            List<QueuedStart> starts = settleConnection(EndpointStatus.CONNECTION_FAILED);
+            if (isReconnecting()) {
+                // The subscriptions are still in place; they are started again on the next attempt.
+                onConnectionLost(this, new ApiException(failureReason, AmplifyException.TODO_RECOVERY_SUGGESTION));
+                return;
+            }
+            for (QueuedStart start : starts) {
+                notifyConnectionFailure(start.subscription, failureReason);
+            }
+        }
+
+        void onConnectionTimeout(WebSocket webSocket) {
+            if (!EndpointStatus.CONNECTING.equals(endpointStatus.get())) {
+                return;
+            }
+            LOG.warn("Timed out waiting for connection acknowledgement.");
+            onConnectionError("Timed out waiting for connection acknowledgement.");
+            webSocket.cancel();
+        }
+
+        private void cancelConnectionTimeout() {
+            ScheduledFuture<?> timeout = connectionTimeout;
+            if (timeout != null) {
+                timeout.cancel(false);
             }
-            return new Connection();
         }
 
         private void sendConnectionInit(WebSocket webSocket) {
@@ -548,13 +985,12 @@ final class SubscriptionEndpoint {
                                 jsonMessage.getJSONObject("payload").getString("connectionTimeoutMs")
                             )
                         );
-                        endpointStatus.set(EndpointStatus.CONNECTED);
-                        connectionResponse.countDown();
+                        lastAliveAtMs = System.currentTimeMillis();
+                        onConnectionAcknowledged(webSocket);
                         break;
                     case CONNECTION_ERROR:
-                        endpointStatus.set(EndpointStatus.CONNECTION_FAILED);
                         LOG.warn("Websocket listener received a CONNECTION_ERROR event. " + message);
-                        connectionResponse.countDown();
+                        onConnectionError("Connection failed.");
                         break;
                     case SUBSCRIPTION_ACK:
                         notifySubscriptionAcknowledged(jsonMessage.getString("id"));
@@ -588,23 +1024,13 @@ final class SubscriptionEndpoint {
         }
     }
 
-    static final class Connection {
-        private final String failureReason;
-
-        Connection() {
-            this.failureReason = null;
-        }
-
-        Connection(String failureReason) {
-            this.failureReason = failureReason;
-        }
-
-        public String getFailureReason() {
-            return failureReason;
-        }
+    static final class QueuedStart {
+        private final Subscription<?> subscription;
+        private final String message;
 
-        public boolean hasFailure() {
-            return failureReason != null;
+        QueuedStart(Subscription<?> subscription, String message) {
+            this.subscription = subscription;
+            this.message = message;
         }
     }
 
@@ -43,6 +43,7 @@ final class SubscriptionOperation<T> extends GraphQLOperation<T> {
     private final AtomicBoolean canceled;
 
     private String subscriptionId;
+    private String requestedSubscriptionId;
     private Future<?> subscriptionFuture;
 
     @SuppressWarnings("ParameterNumber")
@@ -80,7 +81,7 @@ final class SubscriptionOperation<T> extends GraphQLOperation<T> {
         }
         subscriptionFuture = executorService.submit(() -> {
             LOG.debug("Requesting subscription: " + getRequest().getContent());
-            subscriptionEndpoint.requestSubscription(
+            String requestedId = subscriptionEndpoint.requestSubscription(
                 getRequest(),
                 subscriptionId -> {
                     SubscriptionOperation.this.subscriptionId = subscriptionId;
@@ -93,9 +94,20 @@ final class SubscriptionOperation<T> extends GraphQLOperation<T> {
                 },
                 onSubscriptionComplete
             );
+            onSubscriptionRequested(requestedId);
         });
     }
 
+    // The request does not wait for the subscription to start. If the operation was canceled
+    // while it was being made, the subscription is let go right away.
+    private synchronized void onSubscriptionRequested(String requestedId) {
+        requestedSubscriptionId = requestedId;
+        if (requestedId != null && canceled.get() && subscriptionId == null) {
+            LOG.debug("Cancelling subscription request: " + requestedId);
+            subscriptionEndpoint.cancelSubscriptionRequest(requestedId);
+        }
+    }
+
     @Override
     public synchronized void cancel() {
         if (subscriptionId != null && !canceled.get()) {
@@ -106,7 +118,14 @@ final class SubscriptionOperation<T> extends GraphQLOperation<T> {
             } catch (ApiException exception) {
                 onSubscriptionError.accept(exception);
             }
-        } else if (subscriptionFuture != null && subscriptionFuture.cancel(true)) {
+        } else if (requestedSubscriptionId != null && !canceled.get()) {
+            canceled.set(true);
+            LOG.debug("Cancelling subscription request: " + requestedSubscriptionId);
+            subscriptionEndpoint.cancelSubscriptionRequest(requestedSubscriptionId);
+        } else if (subscriptionFuture != null && !subscriptionFuture.isDone()) {
+            // The subscription is still being requested. It is let go once its ID is known.
+            canceled.set(true);
+            subscriptionFuture.cancel(false);
             LOG.debug("Subscription attempt was canceled.");
         } else {
             LOG.debug("Nothing to cancel. Subscription not yet created, or already cancelled.");
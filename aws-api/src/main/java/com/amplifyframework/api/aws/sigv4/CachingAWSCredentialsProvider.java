@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.amplifyframework.api.ApiException;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.CognitoCredentialsProvider;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link AWSCredentialsProvider} which reuses the credentials vended by another provider,
+ * so that signing a request does not contend on the other provider.
+ *
+ * When the other provider is a {@link CognitoCredentialsProvider}, such as the one behind the
+ * AWSCognitoAuthPlugin, the credentials are reused until shortly before the expiration of its
+ * session credentials, and replacements are fetched in the background ahead of it, as the
+ * {@link CachingCognitoUserPoolsAuthProvider} does for tokens. {@link AWSCredentials} do not
+ * otherwise say when they expire, so those of any other provider are only reused for a minute,
+ * and that provider remains responsible for refreshing them before they expire.
+ */
+public final class CachingAWSCredentialsProvider implements AWSCredentialsProvider {
+    private static final long REFRESH_AHEAD_MS = TimeUnit.MINUTES.toMillis(5);
+    // Credentials that are about to expire are not handed out, to allow for clock skew.
+    private static final long MIN_REMAINING_VALIDITY_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long REUSE_DURATION_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final AWSCredentialsProvider delegate;
+    private final RefreshingCache<AWSCredentials> credentialsCache;
+
+    /**
+     * Constructs a provider which caches the credentials of another provider.
+     * @param delegate Provider of fresh credentials
+     */
+    public CachingAWSCredentialsProvider(@NonNull AWSCredentialsProvider delegate) {
+        this(delegate, RefreshingCache.SHARED_BACKGROUND_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    CachingAWSCredentialsProvider(@NonNull AWSCredentialsProvider delegate, @NonNull Executor backgroundExecutor) {
+        this.delegate = Objects.requireNonNull(delegate);
+        if (delegate instanceof CognitoCredentialsProvider) {
+            CognitoCredentialsProvider cognitoDelegate = (CognitoCredentialsProvider) delegate;
+            this.credentialsCache = new RefreshingCache<>(
+                delegate::getCredentials,
+                credentials -> readExpiration(cognitoDelegate),
+                REFRESH_AHEAD_MS,
+                MIN_REMAINING_VALIDITY_MS,
+                backgroundExecutor
+            );
+        } else {
+            // Credentials are never refreshed ahead of time, so the executor is never used.
+            this.credentialsCache = new RefreshingCache<>(
+                delegate::getCredentials,
+                credentials -> System.currentTimeMillis() + REUSE_DURATION_MS,
+                0,
+                0,
+                backgroundExecutor
+            );
+        }
+    }
+
+    @Override
+    public AWSCredentials getCredentials() {
+        try {
+            return credentialsCache.get();
+        } catch (ApiException failure) {
+            throw new AmazonClientException(failure.getMessage(), failure);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        credentialsCache.invalidate();
+        delegate.refresh();
+    }
+
+    /**
+     * Discards the cached credentials, for example after the user signs out, so that
+     * the next request gets them from the other provider again.
+     */
+    public void invalidate() {
+        credentialsCache.invalidate();
+    }
+
+    // Read just after the credentials were fetched, so that it is their expiration.
+    // Credentials whose expiration is unknown are not reused.
+    private static long readExpiration(CognitoCredentialsProvider provider) {
+        Date expiration = provider.getSessionCredentitalsExpiration();
+        return expiration != null ? expiration.getTime() : 0;
+    }
+}
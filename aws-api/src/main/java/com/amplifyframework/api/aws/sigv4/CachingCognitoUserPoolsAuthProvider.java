@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.amplifyframework.api.ApiException;
+
+import com.amazonaws.mobileconnectors.cognitoidentityprovider.exceptions.CognitoParameterInvalidException;
+import com.amazonaws.mobileconnectors.cognitoidentityprovider.util.CognitoJWTParser;
+import org.json.JSONException;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CognitoUserPoolsAuthProvider} which remembers the token vended by another provider
+ * until shortly before the token expires, as read from its "exp" claim. A replacement token is
+ * fetched in the background ahead of expiry, so that requests do not wait on it.
+ */
+public final class CachingCognitoUserPoolsAuthProvider implements CognitoUserPoolsAuthProvider {
+    private static final long REFRESH_AHEAD_MS = TimeUnit.MINUTES.toMillis(5);
+    // Tokens that are about to expire are not handed out, to allow for clock skew.
+    private static final long MIN_REMAINING_VALIDITY_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final CognitoUserPoolsAuthProvider delegate;
+    private final RefreshingCache<String> tokenCache;
+
+    /**
+     * Constructs a provider which caches the tokens of another provider.
+     * @param delegate Provider of fresh tokens
+     */
+    public CachingCognitoUserPoolsAuthProvider(@NonNull CognitoUserPoolsAuthProvider delegate) {
+        this(delegate, RefreshingCache.SHARED_BACKGROUND_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    CachingCognitoUserPoolsAuthProvider(
+            @NonNull CognitoUserPoolsAuthProvider delegate,
+            @NonNull Executor backgroundExecutor) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.tokenCache = new RefreshingCache<>(
+            delegate::getLatestAuthToken,
+            CachingCognitoUserPoolsAuthProvider::readExpiry,
+            REFRESH_AHEAD_MS,
+            MIN_REMAINING_VALIDITY_MS,
+            backgroundExecutor
+        );
+    }
+
+    @Override
+    public String getLatestAuthToken() throws ApiException {
+        return tokenCache.get();
+    }
+
+    @Override
+    public String getUsername() {
+        return delegate.getUsername();
+    }
+
+    /**
+     * Discards the cached token, for example after the user signs out, so that
+     * the next request fetches a new one.
+     */
+    public void invalidate() {
+        tokenCache.invalidate();
+    }
+
+    // A token whose expiry can't be read is not reused.
+    private static long readExpiry(String token) {
+        try {
+            return TimeUnit.SECONDS.toMillis(CognitoJWTParser.getPayload(token).getLong("exp"));
+        } catch (JSONException | CognitoParameterInvalidException unreadableToken) {
+            return 0;
+        }
+    }
+}
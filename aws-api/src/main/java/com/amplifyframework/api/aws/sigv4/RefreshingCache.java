@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.ApiException;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Holds on to a value which expires, such as an auth token, so that it does not need to be
+ * fetched for every request.
+ *
+ * While the value is valid, it is returned straight from the cache. Once the value enters its
+ * refresh window, shortly before it expires, it is still returned from the cache, but a new value
+ * is fetched in the background. When there is no valid value, the caller waits for a new one.
+ * At most one fetch is in flight at a time; callers that need a value while it is in flight share
+ * its result. A fetch that was started before the cache was invalidated does not fill the cache,
+ * since its value may belong to a user who has since signed out.
+ * @param <T> Type of value being cached
+ */
+final class RefreshingCache<T> {
+    /**
+     * Runs the fetches that are started ahead of expiry, one at a time, for all of the caches.
+     * Its thread is a daemon, so that it does not keep the process alive.
+     */
+    static final Executor SHARED_BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "amplify-api-auth-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Source<T> source;
+    private final Expiry<T> expiry;
+    private final long refreshAheadMs;
+    private final long minRemainingValidityMs;
+    private final Executor backgroundExecutor;
+
+    private T value;
+    private long expiresAtMs;
+    private FutureTask<T> inFlightFetch;
+    // Incremented by each invalidation, so that the fetches started before it can be told apart.
+    private long generation;
+
+    /**
+     * Constructs a new RefreshingCache.
+     * @param source Fetches a new value
+     * @param expiry Reads the time at which a value expires
+     * @param refreshAheadMs How long before a value expires to start fetching its replacement
+     * @param minRemainingValidityMs A value is no longer handed out once it has less than this
+     *                               much time left before it expires
+     * @param backgroundExecutor Runs the fetches that are started ahead of expiry
+     */
+    RefreshingCache(
+            @NonNull Source<T> source,
+            @NonNull Expiry<T> expiry,
+            long refreshAheadMs,
+            long minRemainingValidityMs,
+            @NonNull Executor backgroundExecutor) {
+        this.source = Objects.requireNonNull(source);
+        this.expiry = Objects.requireNonNull(expiry);
+        this.refreshAheadMs = refreshAheadMs;
+        this.minRemainingValidityMs = minRemainingValidityMs;
+        this.backgroundExecutor = Objects.requireNonNull(backgroundExecutor);
+    }
+
+    /**
+     * Gets a valid value, fetching a new one if needed.
+     * @return A valid value
+     * @throws ApiException If a new value was needed, and could not be fetched
+     */
+    @NonNull
+    T get() throws ApiException {
+        final FutureTask<T> fetch;
+        final boolean isOwnFetch;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (value != null && now < expiresAtMs - minRemainingValidityMs) {
+                if (now >= expiresAtMs - refreshAheadMs && inFlightFetch == null) {
+                    inFlightFetch = newFetch();
+                    backgroundExecutor.execute(inFlightFetch);
+                }
+                return value;
+            }
+            isOwnFetch = inFlightFetch == null;
+            if (isOwnFetch) {
+                inFlightFetch = newFetch();
+            }
+            fetch = inFlightFetch;
+        }
+        if (isOwnFetch) {
+            fetch.run();
+        }
+        return await(fetch);
+    }
+
+    /**
+     * Discards the cached value, so that the next call to {@link #get()} fetches a new one.
+     * A fetch which is already in flight is not shared with the calls made after this one.
+     */
+    synchronized void invalidate() {
+        value = null;
+        inFlightFetch = null;
+        generation++;
+    }
+
+    // Must be called while holding the lock.
+    private FutureTask<T> newFetch() {
+        final long fetchGeneration = generation;
+        return new FutureTask<>(() -> {
+            try {
+                T fresh = Objects.requireNonNull(source.fetch());
+                long freshExpiresAtMs = expiry.expiresAtMs(fresh);
+                synchronized (RefreshingCache.this) {
+                    if (fetchGeneration == generation) {
+                        value = fresh;
+                        expiresAtMs = freshExpiresAtMs;
+                    }
+                }
+                return fresh;
+            } finally {
+                synchronized (RefreshingCache.this) {
+                    if (fetchGeneration == generation) {
+                        inFlightFetch = null;
+                    }
+                }
+            }
+        });
+    }
+
+    private T await(FutureTask<T> fetch) throws ApiException {
+        try {
+            return fetch.get();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(
+                "Interrupted while waiting for a fresh auth token.",
+                interrupted,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            );
+        } catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApiException(
+                "Failed to fetch a fresh auth token.",
+                cause,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            );
+        }
+    }
+
+    /**
+     * Fetches a new value for the cache.
+     * @param <T> Type of value
+     */
+    interface Source<T> {
+        /**
+         * Fetches a new value.
+         * @return A new value
+         * @throws ApiException If a value could not be fetched
+         */
+        @NonNull
+        T fetch() throws ApiException;
+    }
+
+    /**
+     * Reads the time at which a cached value expires.
+     * @param <T> Type of value
+     */
+    interface Expiry<T> {
+        /**
+         * Gets the time at which a value expires.
+         * @param value A value that was just fetched
+         * @return Time of expiry, in milliseconds since the epoch. A value whose expiry
+         *         is unknown may return 0, so that it is never reused.
+         */
+        long expiresAtMs(@NonNull T value);
+    }
+}
@@ -43,6 +43,8 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests the {@link AppSyncGraphQLRequestFactory}.
@@ -92,6 +94,20 @@ public final class AppSyncGraphQLRequestFactoryTest {
         );
     }
 
+    /**
+     * Queries for the same model which only differ in their filter share one document,
+     * and each request renders its document only once.
+     */
+    @Test
+    public void queriesWithDifferentFiltersShareTheirDocument() {
+        GraphQLRequest<Person> adults = AppSyncGraphQLRequestFactory.buildQuery(Person.class, Person.AGE.ge(18));
+        GraphQLRequest<Person> children = AppSyncGraphQLRequestFactory.buildQuery(Person.class, Person.AGE.lt(18));
+
+        assertSame(adults.getQuery(), adults.getQuery());
+        assertEquals(adults.getQuery(), children.getQuery());
+        assertNotEquals(adults.getContent(), children.getContent());
+    }
+
     /**
      * Validates construction of a mutation query from a Person instance, a predicate,
      * and an {@link MutationType}.
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.aws.auth.FakeJWTToken;
+import com.amplifyframework.api.aws.sigv4.CognitoUserPoolsAuthProvider;
+import com.amplifyframework.auth.AuthChannelEventName;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.HubEvent;
+import com.amplifyframework.testutils.Sleep;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the caches built by {@link CachingAuthProviders} are emptied when
+ * the user signs in or out, or their session expires.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class CachingAuthProvidersTest {
+    private static final long HUB_DELIVERY_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private AtomicInteger tokenFetchCount;
+    private AtomicInteger credentialsFetchCount;
+    private CachingAuthProviders cachingAuthProviders;
+    private ApiAuthProviders providers;
+
+    /**
+     * Builds caching providers in front of providers that count how many times
+     * they were asked for a token or for credentials.
+     * @throws ApiException On failure to build the providers
+     */
+    @Before
+    public void setup() throws ApiException {
+        tokenFetchCount = new AtomicInteger();
+        credentialsFetchCount = new AtomicInteger();
+        ApiAuthProviders overrides = ApiAuthProviders.builder()
+            .cognitoUserPoolsAuthProvider(new CognitoUserPoolsAuthProvider() {
+                @Override
+                public String getLatestAuthToken() {
+                    long expiry = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3_600;
+                    return FakeJWTToken.builder()
+                        .putPayload("exp", expiry)
+                        .putPayload("sub", "user-" + tokenFetchCount.incrementAndGet())
+                        .build()
+                        .asString();
+                }
+
+                @Override
+                public String getUsername() {
+                    return "username";
+                }
+            })
+            .awsCredentialsProvider(new AWSCredentialsProvider() {
+                @Override
+                public AWSCredentials getCredentials() {
+                    credentialsFetchCount.incrementAndGet();
+                    return new BasicAWSCredentials("accessKey", "secretKey");
+                }
+
+                @Override
+                public void refresh() {}
+            })
+            .build();
+        cachingAuthProviders = CachingAuthProviders.forApis(overrides, Collections.emptyList());
+        providers = cachingAuthProviders.getProviders();
+    }
+
+    /**
+     * Stops the caches from listening for auth events.
+     */
+    @After
+    public void teardown() {
+        cachingAuthProviders.dispose();
+    }
+
+    /**
+     * Credentials are reused until a sign-out is published on the Hub, after which
+     * they are fetched again.
+     */
+    @Test
+    public void credentialsAreFetchedAgainAfterSignOut() {
+        providers.getAWSCredentialsProvider().getCredentials();
+        providers.getAWSCredentialsProvider().getCredentials();
+        assertEquals(1, credentialsFetchCount.get());
+
+        Amplify.Hub.publish(HubChannel.AUTH, HubEvent.create(AuthChannelEventName.SIGNED_OUT));
+        awaitFetch(credentialsFetchCount, 2, () -> providers.getAWSCredentialsProvider().getCredentials());
+        assertEquals(2, credentialsFetchCount.get());
+    }
+
+    /**
+     * A Cognito User Pools token is reused until a sign-in, sign-out or session expiry
+     * is published on the Hub, after each of which it is fetched again.
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void tokenIsFetchedAgainAfterEachAuthEvent() throws ApiException {
+        CognitoUserPoolsAuthProvider cognitoProvider = providers.getCognitoUserPoolsAuthProvider();
+        cognitoProvider.getLatestAuthToken();
+        cognitoProvider.getLatestAuthToken();
+        assertEquals(1, tokenFetchCount.get());
+        int expectedFetchCount = 1;
+        for (AuthChannelEventName eventName : AuthChannelEventName.values()) {
+            Amplify.Hub.publish(HubChannel.AUTH, HubEvent.create(eventName));
+            expectedFetchCount++;
+            awaitFetch(tokenFetchCount, expectedFetchCount, () -> {
+                try {
+                    cognitoProvider.getLatestAuthToken();
+                } catch (ApiException exception) {
+                    throw new RuntimeException(exception);
+                }
+            });
+        }
+        assertEquals(expectedFetchCount, tokenFetchCount.get());
+    }
+
+    // Hub events are delivered on another thread, so keep making requests until one of
+    // them misses the cache.
+    private static void awaitFetch(AtomicInteger fetchCount, int expectedCount, Runnable request) {
+        long deadline = System.currentTimeMillis() + HUB_DELIVERY_TIMEOUT_MS;
+        while (fetchCount.get() < expectedCount) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Cache was not invalidated after the auth event.");
+            }
+            request.run();
+            Sleep.milliseconds(POLL_INTERVAL_MS);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+/**
+ * A {@link WebSocket.Factory} which makes no real connections. The messages sent on each of its
+ * web sockets are recorded, and the test plays the part of the endpoint, by calling the listener
+ * of the web socket through its {@link FakeWebSocket}.
+ */
+final class FakeWebSocketFactory implements WebSocket.Factory {
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final int SWITCHING_PROTOCOLS = 101;
+
+    private final BlockingQueue<FakeWebSocket> newSockets;
+    private final AtomicInteger socketCount;
+
+    FakeWebSocketFactory() {
+        this.newSockets = new LinkedBlockingQueue<>();
+        this.socketCount = new AtomicInteger(0);
+    }
+
+    @NonNull
+    @Override
+    public WebSocket newWebSocket(@NonNull Request request, @NonNull WebSocketListener listener) {
+        FakeWebSocket socket = new FakeWebSocket(request, listener);
+        socketCount.incrementAndGet();
+        newSockets.add(socket);
+        return socket;
+    }
+
+    /**
+     * Waits for the next web socket to be made.
+     * @return The next web socket
+     * @throws AssertionError If no web socket is made within a few seconds
+     */
+    @NonNull
+    FakeWebSocket awaitSocket() {
+        FakeWebSocket socket = poll(newSockets, TIMEOUT_MS);
+        if (socket == null) {
+            throw new AssertionError("No web socket was made.");
+        }
+        return socket;
+    }
+
+    /**
+     * Gets the number of web sockets made so far.
+     * @return Number of web sockets
+     */
+    int getSocketCount() {
+        return socketCount.get();
+    }
+
+    @Nullable
+    private static <T> T poll(BlockingQueue<T> queue, long timeoutMs) {
+        try {
+            return queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException interruptedException) {
+            throw new AssertionError(interruptedException);
+        }
+    }
+
+    /**
+     * A web socket whose messages are recorded, and whose endpoint is played by the test.
+     */
+    static final class FakeWebSocket implements WebSocket {
+        private final Request request;
+        private final WebSocketListener listener;
+        private final BlockingQueue<JSONObject> sentMessages;
+        private volatile boolean closed;
+
+        FakeWebSocket(Request request, WebSocketListener listener) {
+            this.request = request;
+            this.listener = listener;
+            this.sentMessages = new LinkedBlockingQueue<>();
+            this.closed = false;
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public long queueSize() {
+            return 0;
+        }
+
+        @Override
+        public boolean send(@NonNull String text) {
+            try {
+                sentMessages.add(new JSONObject(text));
+            } catch (JSONException jsonException) {
+                throw new AssertionError("Sent a message which is not JSON: " + text, jsonException);
+            }
+            return !closed;
+        }
+
+        @Override
+        public boolean send(@NonNull ByteString bytes) {
+            throw new AssertionError("Only text messages are expected.");
+        }
+
+        @Override
+        public boolean close(int code, @Nullable String reason) {
+            closed = true;
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            closed = true;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Opens the web socket, as the endpoint would.
+         */
+        void open() {
+            listener.onOpen(this, new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(SWITCHING_PROTOCOLS)
+                .message("Switching Protocols")
+                .build());
+        }
+
+        /**
+         * Acknowledges the connection, as the endpoint would once it has been initialized.
+         */
+        void acknowledgeConnection() {
+            receive("{\"type\": \"connection_ack\", \"payload\": {\"connectionTimeoutMs\": \"300000\"}}");
+        }
+
+        /**
+         * Acknowledges the start of a subscription, as the endpoint would.
+         * @param subscriptionId ID of the subscription
+         */
+        void acknowledgeStart(String subscriptionId) {
+            receive("{\"type\": \"start_ack\", \"id\": \"" + subscriptionId + "\"}");
+        }
+
+        /**
+         * Delivers a message from the endpoint.
+         * @param message The message
+         */
+        void receive(String message) {
+            listener.onMessage(this, message);
+        }
+
+        /**
+         * Fails the web socket, as when the network is lost.
+         * @param failure Cause of the failure
+         */
+        void fail(Throwable failure) {
+            listener.onFailure(this, failure, null);
+        }
+
+        /**
+         * Waits for a message of the given type to be sent. Messages of other types which
+         * were sent before it are skipped.
+         * @param type Type of the message, such as "start"
+         * @return The message
+         * @throws AssertionError If no such message is sent within a few seconds
+         */
+        @NonNull
+        JSONObject awaitSentMessage(String type) {
+            while (true) {
+                JSONObject message = poll(sentMessages, TIMEOUT_MS);
+                if (message == null) {
+                    throw new AssertionError("No " + type + " message was sent.");
+                }
+                if (type.equals(message.optString("type"))) {
+                    return message;
+                }
+            }
+        }
+
+        /**
+         * Checks that no message of the given type has been sent, since the messages which
+         * have already been awaited.
+         * @param type Type of the message, such as "start"
+         * @return True if no such message has been sent
+         */
+        boolean hasNotSent(String type) {
+            for (JSONObject message : sentMessages) {
+                if (type.equals(message.optString("type"))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -444,6 +445,49 @@ public final class GsonGraphQLResponseFactoryTest {
         assertEquals(expectedMeetings, actualMeetings);
     }
 
+    /**
+     * A response read from a stream is the same as the response read from the whole JSON string.
+     * @throws ApiException On failure to build a response
+     */
+    @Test
+    public void responseReadFromStreamMatchesResponseReadFromString() throws ApiException {
+        final String partialResponseJson = Resources.readAsString("partial-gql-response.json");
+        Type responseType = TypeMaker.getParameterizedType(PaginatedResult.class, Todo.class);
+        GraphQLRequest<PaginatedResult<Todo>> request = buildDummyRequest(responseType);
+
+        GraphQLResponse<PaginatedResult<Todo>> fromString =
+            responseFactory.buildResponse(request, partialResponseJson);
+        GraphQLResponse<PaginatedResult<Todo>> fromStream =
+            responseFactory.buildResponse(request, new StringReader(partialResponseJson));
+
+        assertEquals(fromString, fromStream);
+    }
+
+    /**
+     * The adapters which read responses are shared by all requests of a type, but the request
+     * for a next page is still built from the request which the response answers.
+     * @throws AmplifyException On failure to build a request, or a response
+     */
+    @Test
+    public void requestForNextPageIsBuiltFromEachRequest() throws AmplifyException {
+        final String partialResponseJson = Resources.readAsString("partial-gql-response.json");
+        Type responseType = TypeMaker.getParameterizedType(PaginatedResult.class, Todo.class);
+        AppSyncGraphQLRequest<PaginatedResult<Todo>> firstRequest = buildDummyRequest(responseType);
+        AppSyncGraphQLRequest<PaginatedResult<Todo>> secondRequest = firstRequest.newBuilder()
+            .variable("limit", "Int", 10)
+            .build();
+
+        PaginatedResult<Todo> firstResult = responseFactory.buildResponse(firstRequest, partialResponseJson).getData();
+        PaginatedResult<Todo> secondResult =
+            responseFactory.buildResponse(secondRequest, new StringReader(partialResponseJson)).getData();
+
+        String nextToken = "eyJ2ZXJzaW9uIjoyLCJ0b2tlbiI6IkFRSUNBSGg5OUIvN3BjWU41eE96NDZJMW5GeGM4";
+        assertEquals(firstRequest.newBuilder().variable("nextToken", "String", nextToken).build(),
+            firstResult.getRequestForNextResult());
+        assertEquals(secondRequest.newBuilder().variable("nextToken", "String", nextToken).build(),
+            secondResult.getRequestForNextResult());
+    }
+
     private <T> AppSyncGraphQLRequest<T> buildDummyRequest(Type responseType) throws ApiException {
         try {
             return AppSyncGraphQLRequest.builder()
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.events.ApiChannelEventName;
+import com.amplifyframework.api.events.SubscriptionHandshakeEvent;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.SimpleGraphQLRequest;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.HubEvent;
+import com.amplifyframework.testutils.HubAccumulator;
+import com.amplifyframework.testutils.Latch;
+
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the handshakes of the {@link SubscriptionEndpoint}: the acknowledgement of the connection,
+ * and of the start of each subscription.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SubscriptionEndpointHandshakeTest {
+    private static final long START_ACKNOWLEDGEMENT_TIMEOUT_MS = 200;
+
+    private FakeWebSocketFactory webSocketFactory;
+    private SubscriptionEndpoint subscriptionEndpoint;
+    private AtomicInteger startedCount;
+    private List<ApiException> errors;
+    private CountDownLatch errorReported;
+
+    /**
+     * Creates a {@link SubscriptionEndpoint} whose web sockets are faked, and which waits
+     * only briefly for the start of a subscription to be acknowledged.
+     */
+    @Before
+    public void setup() {
+        ApiConfiguration apiConfiguration = ApiConfiguration.builder()
+            .endpoint("https://example.appsync-api.us-east-1.amazonaws.com/graphql")
+            .region("us-east-1")
+            .authorizationType(AuthorizationType.OPENID_CONNECT)
+            .build();
+        ApiAuthProviders authProviders = ApiAuthProviders.builder()
+            .oidcAuthProvider(() -> "token")
+            .build();
+        webSocketFactory = new FakeWebSocketFactory();
+        subscriptionEndpoint = new SubscriptionEndpoint(
+            apiConfiguration,
+            new GsonGraphQLResponseFactory(),
+            new SubscriptionAuthorizer(apiConfiguration, authProviders),
+            webSocketFactory,
+            START_ACKNOWLEDGEMENT_TIMEOUT_MS
+        );
+        startedCount = new AtomicInteger(0);
+        errors = Collections.synchronizedList(new ArrayList<>());
+        errorReported = new CountDownLatch(1);
+    }
+
+    /**
+     * A subscription is reported as started once its start is acknowledged, and the
+     * handshake is published on the Hub.
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void subscriptionIsStartedWhenAcknowledged() throws JSONException {
+        HubAccumulator handshakes = HubAccumulator.create(
+            HubChannel.API, ApiChannelEventName.SUBSCRIPTION_HANDSHAKE_COMPLETED, 1
+        ).start();
+        String subscriptionId = requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        socket.awaitSentMessage("connection_init");
+        socket.acknowledgeConnection();
+        assertEquals(subscriptionId, socket.awaitSentMessage("start").getString("id"));
+        assertEquals(0, startedCount.get());
+
+        socket.acknowledgeStart(subscriptionId);
+
+        assertEquals(1, startedCount.get());
+        List<HubEvent<?>> events = handshakes.await(5, TimeUnit.SECONDS);
+        SubscriptionHandshakeEvent event = (SubscriptionHandshakeEvent) events.get(0).getData();
+        assertEquals(subscriptionId, event.getSubscriptionId());
+        assertTrue(event.isAcknowledged());
+        assertTrue(errors.isEmpty());
+    }
+
+    /**
+     * Starts requested before the connection is acknowledged are held, and then all sent
+     * once it is. Their acknowledgements are matched up by ID, in whichever order they come.
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void startsRequestedBeforeConnectionAckAreSentOnceAcknowledged() throws JSONException {
+        String firstId = requestSubscription();
+        String secondId = requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        socket.awaitSentMessage("connection_init");
+        assertTrue(socket.hasNotSent("start"));
+
+        socket.acknowledgeConnection();
+        assertEquals(firstId, socket.awaitSentMessage("start").getString("id"));
+        assertEquals(secondId, socket.awaitSentMessage("start").getString("id"));
+        socket.acknowledgeStart(secondId);
+        socket.acknowledgeStart(firstId);
+
+        assertEquals(2, startedCount.get());
+        assertEquals(1, webSocketFactory.getSocketCount());
+        assertTrue(errors.isEmpty());
+    }
+
+    /**
+     * A subscription whose start is never acknowledged fails, once the timeout has passed.
+     */
+    @Test
+    public void subscriptionFailsWhenStartIsNotAcknowledged() {
+        requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        socket.acknowledgeConnection();
+        socket.awaitSentMessage("start");
+
+        Latch.await(errorReported);
+
+        assertEquals(1, errors.size());
+        assertEquals("Timed out waiting for subscription start_ack.", errors.get(0).getMessage());
+        assertEquals(0, startedCount.get());
+    }
+
+    /**
+     * A subscription which is cancelled before its start is acknowledged is stopped, and is
+     * not reported as started when the acknowledgement comes in late. Once it was the last
+     * subscription, the connection is closed and its timer is shut down, so the timeout for
+     * the start does not fire either.
+     * @throws InterruptedException If interrupted while waiting out the timeout
+     */
+    @Test
+    public void subscriptionCancelledBeforeAcknowledgementIsNotStarted() throws InterruptedException {
+        String subscriptionId = requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        socket.acknowledgeConnection();
+        socket.awaitSentMessage("start");
+        assertTrue(subscriptionEndpoint.isAcknowledgementTimerRunning());
+
+        subscriptionEndpoint.cancelSubscriptionRequest(subscriptionId);
+        socket.awaitSentMessage("stop");
+        assertTrue(socket.isClosed());
+        assertFalse(subscriptionEndpoint.isAcknowledgementTimerRunning());
+
+        socket.acknowledgeStart(subscriptionId);
+        assertFalse(errorReported.await(START_ACKNOWLEDGEMENT_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS));
+        assertEquals(0, startedCount.get());
+        assertTrue(errors.isEmpty());
+    }
+
+    /**
+     * The timer is kept while any subscription is left, and shut down with the last one.
+     */
+    @Test
+    public void timerIsShutDownWithLastSubscription() {
+        String firstId = requestSubscription();
+        String secondId = requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        assertTrue(subscriptionEndpoint.isAcknowledgementTimerRunning());
+
+        subscriptionEndpoint.cancelSubscriptionRequest(firstId);
+        assertTrue(subscriptionEndpoint.isAcknowledgementTimerRunning());
+        assertFalse(socket.isClosed());
+
+        subscriptionEndpoint.cancelSubscriptionRequest(secondId);
+        assertFalse(subscriptionEndpoint.isAcknowledgementTimerRunning());
+        assertTrue(socket.isClosed());
+        assertTrue(socket.hasNotSent("start"));
+    }
+
+    /**
+     * The start of one subscription is acknowledged while another is being released, and is
+     * waiting for the endpoint to complete it. Neither is held up by the other: the release
+     * ends once the completion arrives, without reporting that it was not acknowledged.
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void startIsAcknowledgedWhileAnotherSubscriptionIsReleased() throws JSONException {
+        String releasedId = requestSubscription();
+        FakeWebSocketFactory.FakeWebSocket socket = webSocketFactory.awaitSocket();
+        socket.open();
+        socket.acknowledgeConnection();
+        socket.awaitSentMessage("start");
+        socket.acknowledgeStart(releasedId);
+        String startingId = requestSubscription();
+        assertEquals(startingId, socket.awaitSentMessage("start").getString("id"));
+
+        CountDownLatch released = new CountDownLatch(1);
+        new Thread(() -> {
+            try {
+                subscriptionEndpoint.releaseSubscription(releasedId);
+            } catch (ApiException exception) {
+                errors.add(exception);
+            }
+            released.countDown();
+        }).start();
+        assertEquals(releasedId, socket.awaitSentMessage("stop").getString("id"));
+
+        // This thread plays the one which reads the WebSocket.
+        socket.acknowledgeStart(startingId);
+        socket.receive("{\"type\": \"complete\", \"id\": \"" + releasedId + "\"}");
+
+        Latch.await(released);
+        assertEquals(2, startedCount.get());
+        assertTrue(errors.isEmpty());
+    }
+
+    // Requests a subscription whose starts and errors are recorded.
+    private String requestSubscription() {
+        GraphQLRequest<String> request = new SimpleGraphQLRequest<>(
+            "subscription OnCreateTodo { onCreateTodo { id } }", String.class, new GsonVariablesSerializer()
+        );
+        String subscriptionId = subscriptionEndpoint.requestSubscription(
+            request,
+            id -> startedCount.incrementAndGet(),
+            item -> { },
+            error -> {
+                errors.add(error);
+                errorReported.countDown();
+            },
+            () -> { }
+        );
+        assertNotNull(subscriptionId);
+        return subscriptionId;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.events.ApiChannelEventName;
+import com.amplifyframework.api.events.SubscriptionReconnectedEvent;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.SimpleGraphQLRequest;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.HubEvent;
+import com.amplifyframework.testutils.HubAccumulator;
+import com.amplifyframework.testutils.Sleep;
+
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link SubscriptionEndpoint} connects again, and starts its subscriptions again,
+ * when its connection is lost.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SubscriptionEndpointReconnectionTest {
+    private static final long FIRST_RECONNECT_MAX_DELAY_MS = 1_000;
+    private static final long START_ACKNOWLEDGEMENT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private FakeWebSocketFactory webSocketFactory;
+    private AtomicBoolean failNextToken;
+    private SubscriptionEndpoint subscriptionEndpoint;
+    private AtomicInteger startedCount;
+    private List<ApiException> errors;
+    private FakeWebSocketFactory.FakeWebSocket firstSocket;
+
+    /**
+     * Creates a {@link SubscriptionEndpoint} whose web sockets are faked.
+     */
+    @Before
+    public void setup() {
+        ApiConfiguration apiConfiguration = ApiConfiguration.builder()
+            .endpoint("https://example.appsync-api.us-east-1.amazonaws.com/graphql")
+            .region("us-east-1")
+            .authorizationType(AuthorizationType.OPENID_CONNECT)
+            .build();
+        failNextToken = new AtomicBoolean(false);
+        ApiAuthProviders authProviders = ApiAuthProviders.builder()
+            .oidcAuthProvider(() -> {
+                if (failNextToken.getAndSet(false)) {
+                    throw new ApiException("Token unavailable.", AmplifyException.TODO_RECOVERY_SUGGESTION);
+                }
+                return "token";
+            })
+            .build();
+        webSocketFactory = new FakeWebSocketFactory();
+        subscriptionEndpoint = new SubscriptionEndpoint(
+            apiConfiguration,
+            new GsonGraphQLResponseFactory(),
+            new SubscriptionAuthorizer(apiConfiguration, authProviders),
+            webSocketFactory,
+            START_ACKNOWLEDGEMENT_TIMEOUT_MS
+        );
+        startedCount = new AtomicInteger(0);
+        errors = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * The delay before each attempt to connect again doubles, up to a limit, and only its
+     * lower half varies with the jitter.
+     */
+    @Test
+    public void reconnectDelayGrowsExponentiallyUpToLimit() {
+        assertEquals(500, SubscriptionEndpoint.reconnectDelayMs(0, 0.0));
+        assertEquals(750, SubscriptionEndpoint.reconnectDelayMs(0, 0.5));
+        assertEquals(1_000, SubscriptionEndpoint.reconnectDelayMs(1, 0.0));
+        assertEquals(2_000, SubscriptionEndpoint.reconnectDelayMs(2, 0.0));
+        assertEquals(8_000, SubscriptionEndpoint.reconnectDelayMs(4, 0.0));
+        assertEquals(15_000, SubscriptionEndpoint.reconnectDelayMs(5, 0.0));
+        assertEquals(29_999, SubscriptionEndpoint.reconnectDelayMs(5, 0.99999));
+        // Does not overflow, however many attempts have been made.
+        assertEquals(15_000, SubscriptionEndpoint.reconnectDelayMs(Integer.MAX_VALUE, 0.0));
+    }
+
+    /**
+     * When the connection is lost, a new one is made, and the subscription is started again
+     * under the same ID. Its consumer is neither told of the loss, nor told a second time that
+     * it has started; instead, the reconnection is published on the Hub.
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void subscriptionIsStartedAgainAfterConnectionIsLost() throws JSONException {
+        HubAccumulator reconnections = HubAccumulator.create(
+            HubChannel.API, ApiChannelEventName.SUBSCRIPTION_CONNECTION_RESTORED, 1
+        ).start();
+        String subscriptionId = startSubscription();
+
+        // Act: the connection is lost, and then made again.
+        firstSocket.fail(new IOException("Network lost."));
+        FakeWebSocketFactory.FakeWebSocket secondSocket = webSocketFactory.awaitSocket();
+        secondSocket.open();
+        secondSocket.acknowledgeConnection();
+        assertEquals(subscriptionId, secondSocket.awaitSentMessage("start").getString("id"));
+        secondSocket.acknowledgeStart(subscriptionId);
+
+        // Assert: the reconnection is reported on the Hub, and not to the subscription.
+        List<HubEvent<?>> events = reconnections.await(5, TimeUnit.SECONDS);
+        SubscriptionReconnectedEvent event = (SubscriptionReconnectedEvent) events.get(0).getData();
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getDisconnectedAtMs() <= event.getReconnectedAtMs());
+        assertEquals(1, startedCount.get());
+        assertTrue(errors.isEmpty());
+    }
+
+    /**
+     * When a connection can not even be requested while reconnecting, another attempt is
+     * scheduled, rather than failing the subscriptions.
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void failedReconnectionIsAttemptedAgain() throws JSONException {
+        HubAccumulator reconnections = HubAccumulator.create(
+            HubChannel.API, ApiChannelEventName.SUBSCRIPTION_CONNECTION_RESTORED, 1
+        ).start();
+        String subscriptionId = startSubscription();
+
+        // Act: the connection is lost, and the first attempt fails to authorize a new one.
+        failNextToken.set(true);
+        firstSocket.fail(new IOException("Network lost."));
+        FakeWebSocketFactory.FakeWebSocket nextSocket = webSocketFactory.awaitSocket();
+        nextSocket.open();
+        nextSocket.acknowledgeConnection();
+        assertEquals(subscriptionId, nextSocket.awaitSentMessage("start").getString("id"));
+        nextSocket.acknowledgeStart(subscriptionId);
+
+        // Assert: the second attempt restored the subscription.
+        List<HubEvent<?>> events = reconnections.await(5, TimeUnit.SECONDS);
+        assertEquals(2, ((SubscriptionReconnectedEvent) events.get(0).getData()).getAttempts());
+        assertEquals(2, webSocketFactory.getSocketCount());
+        assertTrue(errors.isEmpty());
+    }
+
+    /**
+     * When the subscriptions are released while waiting to reconnect, no new connection is made,
+     * and the timer which would have made it is shut down.
+     * @throws ApiException On failure to release the subscription
+     * @throws JSONException On failure to read a sent message
+     */
+    @Test
+    public void noReconnectionOnceSubscriptionsAreReleased() throws ApiException, JSONException {
+        String subscriptionId = startSubscription();
+
+        // Act: the connection is lost, and the subscription is released during the delay.
+        firstSocket.fail(new IOException("Network lost."));
+        subscriptionEndpoint.releaseSubscription(subscriptionId);
+        assertFalse(subscriptionEndpoint.isAcknowledgementTimerRunning());
+        Sleep.milliseconds(FIRST_RECONNECT_MAX_DELAY_MS * 2);
+
+        // Assert: only the first connection was made.
+        assertEquals(1, webSocketFactory.getSocketCount());
+        assertTrue(errors.isEmpty());
+    }
+
+    // Requests a subscription, and plays the endpoint up to its acknowledgement.
+    private String startSubscription() throws JSONException {
+        GraphQLRequest<String> request = new SimpleGraphQLRequest<>(
+            "subscription OnCreateTodo { onCreateTodo { id } }", String.class, new GsonVariablesSerializer()
+        );
+        String subscriptionId = subscriptionEndpoint.requestSubscription(
+            request,
+            id -> startedCount.incrementAndGet(),
+            item -> { },
+            errors::add,
+            () -> { }
+        );
+        assertNotNull(subscriptionId);
+        firstSocket = webSocketFactory.awaitSocket();
+        firstSocket.open();
+        firstSocket.awaitSentMessage("connection_init");
+        firstSocket.acknowledgeConnection();
+        assertEquals(subscriptionId, firstSocket.awaitSentMessage("start").getString("id"));
+        firstSocket.acknowledgeStart(subscriptionId);
+        assertEquals(1, startedCount.get());
+        return subscriptionId;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.auth.CognitoCredentialsProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the {@link CachingAWSCredentialsProvider}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class CachingAWSCredentialsProviderTest {
+    private static final AWSCredentials EXPIRING_CREDENTIALS =
+        new BasicSessionCredentials("expiringKey", "expiringSecret", "expiringToken");
+    private static final AWSCredentials FRESH_CREDENTIALS =
+        new BasicSessionCredentials("freshKey", "freshSecret", "freshToken");
+
+    private List<Runnable> backgroundTasks;
+    private CognitoCredentialsProvider cognitoProvider;
+    private CachingAWSCredentialsProvider provider;
+
+    /**
+     * Sets up a caching provider in front of a Cognito credentials provider.
+     * Background refreshes are held until the test runs them.
+     */
+    @Before
+    public void setup() {
+        backgroundTasks = new ArrayList<>();
+        cognitoProvider = mock(CognitoCredentialsProvider.class);
+        provider = new CachingAWSCredentialsProvider(cognitoProvider, backgroundTasks::add);
+    }
+
+    /**
+     * Session credentials which are far from their expiration are fetched once, and then reused.
+     */
+    @Test
+    public void validSessionCredentialsAreReused() {
+        when(cognitoProvider.getCredentials()).thenReturn(FRESH_CREDENTIALS);
+        when(cognitoProvider.getSessionCredentitalsExpiration()).thenReturn(expiringIn(TimeUnit.HOURS.toMillis(1)));
+
+        assertSame(FRESH_CREDENTIALS, provider.getCredentials());
+        assertSame(FRESH_CREDENTIALS, provider.getCredentials());
+        verify(cognitoProvider, times(1)).getCredentials();
+        assertEquals(0, backgroundTasks.size());
+    }
+
+    /**
+     * Session credentials which are close to their expiration are still returned, while new
+     * credentials are fetched in the background. Once those arrive, they are used.
+     */
+    @Test
+    public void sessionCredentialsNearExpirationAreRefreshedInBackground() {
+        when(cognitoProvider.getCredentials()).thenReturn(EXPIRING_CREDENTIALS, FRESH_CREDENTIALS);
+        when(cognitoProvider.getSessionCredentitalsExpiration())
+            .thenReturn(expiringIn(TimeUnit.MINUTES.toMillis(2)), expiringIn(TimeUnit.HOURS.toMillis(1)));
+
+        assertSame(EXPIRING_CREDENTIALS, provider.getCredentials());
+        assertSame(EXPIRING_CREDENTIALS, provider.getCredentials());
+        // Only one refresh is started, no matter how many requests are made.
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.get(0).run();
+        assertSame(FRESH_CREDENTIALS, provider.getCredentials());
+        verify(cognitoProvider, times(2)).getCredentials();
+    }
+
+    /**
+     * Session credentials which have expired, or whose expiration is unknown, are never reused.
+     */
+    @Test
+    public void expiredOrUndatedSessionCredentialsAreNotReused() {
+        when(cognitoProvider.getCredentials()).thenReturn(FRESH_CREDENTIALS);
+        when(cognitoProvider.getSessionCredentitalsExpiration())
+            .thenReturn(expiringIn(-TimeUnit.MINUTES.toMillis(1)), expiringIn(-TimeUnit.MINUTES.toMillis(1)), null);
+
+        provider.getCredentials();
+        provider.getCredentials();
+        provider.getCredentials();
+        verify(cognitoProvider, times(3)).getCredentials();
+    }
+
+    /**
+     * The credentials of a provider which does not say when they expire are reused for a while.
+     */
+    @Test
+    public void credentialsOfOtherProviderAreReused() {
+        AWSCredentialsProvider otherProvider = mock(AWSCredentialsProvider.class);
+        when(otherProvider.getCredentials()).thenReturn(FRESH_CREDENTIALS);
+        CachingAWSCredentialsProvider cachingOtherProvider =
+            new CachingAWSCredentialsProvider(otherProvider, backgroundTasks::add);
+
+        assertSame(FRESH_CREDENTIALS, cachingOtherProvider.getCredentials());
+        assertSame(FRESH_CREDENTIALS, cachingOtherProvider.getCredentials());
+        verify(otherProvider, times(1)).getCredentials();
+        assertEquals(0, backgroundTasks.size());
+    }
+
+    private static Date expiringIn(long durationMs) {
+        return new Date(System.currentTimeMillis() + durationMs);
+    }
+}
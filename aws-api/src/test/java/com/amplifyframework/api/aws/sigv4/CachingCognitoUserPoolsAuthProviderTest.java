@@ -0,0 +1,264 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.aws.auth.FakeJWTToken;
+import com.amplifyframework.testutils.Latch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link CachingCognitoUserPoolsAuthProvider}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class CachingCognitoUserPoolsAuthProviderTest {
+    private List<Runnable> backgroundTasks;
+    private List<String> tokensToVend;
+    private AtomicInteger fetchCount;
+    private CachingCognitoUserPoolsAuthProvider provider;
+
+    /**
+     * Sets up a caching provider in front of a provider that vends tokens from a list,
+     * and that counts how many times it was asked for a token. Background refreshes
+     * are held until the test runs them.
+     */
+    @Before
+    public void setup() {
+        backgroundTasks = new ArrayList<>();
+        tokensToVend = new ArrayList<>();
+        fetchCount = new AtomicInteger();
+        provider = new CachingCognitoUserPoolsAuthProvider(new CognitoUserPoolsAuthProvider() {
+            @Override
+            public String getLatestAuthToken() {
+                return tokensToVend.get(Math.min(fetchCount.getAndIncrement(), tokensToVend.size() - 1));
+            }
+
+            @Override
+            public String getUsername() {
+                return "username";
+            }
+        }, backgroundTasks::add);
+    }
+
+    /**
+     * A token that is far from its expiry is fetched once, and then reused.
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void validTokenIsReused() throws ApiException {
+        String token = tokenExpiringIn(TimeUnit.HOURS.toMillis(1));
+        tokensToVend.add(token);
+
+        assertEquals(token, provider.getLatestAuthToken());
+        assertEquals(token, provider.getLatestAuthToken());
+        assertEquals(token, provider.getLatestAuthToken());
+        assertEquals(1, fetchCount.get());
+        assertEquals(0, backgroundTasks.size());
+    }
+
+    /**
+     * A token that is close to its expiry is still returned, while a new
+     * token is fetched in the background. Once that new token arrives, it is used.
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void tokenNearExpiryIsRefreshedInBackground() throws ApiException {
+        String expiringToken = tokenExpiringIn(TimeUnit.MINUTES.toMillis(2));
+        String freshToken = tokenExpiringIn(TimeUnit.HOURS.toMillis(1));
+        tokensToVend.add(expiringToken);
+        tokensToVend.add(freshToken);
+
+        assertEquals(expiringToken, provider.getLatestAuthToken());
+        assertEquals(expiringToken, provider.getLatestAuthToken());
+        assertEquals(expiringToken, provider.getLatestAuthToken());
+        // Only one refresh is started, no matter how many requests are made.
+        assertEquals(1, backgroundTasks.size());
+        assertEquals(1, fetchCount.get());
+
+        backgroundTasks.get(0).run();
+        assertEquals(freshToken, provider.getLatestAuthToken());
+        assertEquals(2, fetchCount.get());
+    }
+
+    /**
+     * Expired tokens, and tokens whose expiry can't be read, are never reused.
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void expiredOrUnreadableTokenIsNotReused() throws ApiException {
+        tokensToVend.add(tokenExpiringIn(-TimeUnit.MINUTES.toMillis(1)));
+        provider.getLatestAuthToken();
+        provider.getLatestAuthToken();
+        assertEquals(2, fetchCount.get());
+
+        tokensToVend.clear();
+        tokensToVend.add("not-a-jwt");
+        provider.getLatestAuthToken();
+        provider.getLatestAuthToken();
+        assertEquals(4, fetchCount.get());
+    }
+
+    /**
+     * Requests which need a token while one is already being fetched share the
+     * result of that fetch, rather than each fetching their own.
+     * @throws InterruptedException If interrupted while waiting for the other thread
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void concurrentRequestsShareOneFetch() throws InterruptedException, ApiException {
+        String token = tokenExpiringIn(TimeUnit.HOURS.toMillis(1));
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch fetchMayFinish = new CountDownLatch(1);
+        AtomicInteger slowFetchCount = new AtomicInteger();
+        CachingCognitoUserPoolsAuthProvider slowProvider =
+            new CachingCognitoUserPoolsAuthProvider(new CognitoUserPoolsAuthProvider() {
+                @Override
+                public String getLatestAuthToken() {
+                    slowFetchCount.incrementAndGet();
+                    fetchStarted.countDown();
+                    Latch.await(fetchMayFinish);
+                    return token;
+                }
+
+                @Override
+                public String getUsername() {
+                    return "username";
+                }
+            }, Runnable::run);
+
+        AtomicReference<String> otherThreadToken = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> {
+            try {
+                otherThreadToken.set(slowProvider.getLatestAuthToken());
+            } catch (ApiException exception) {
+                throw new RuntimeException(exception);
+            }
+        });
+        otherThread.start();
+        Latch.await(fetchStarted);
+
+        AtomicReference<String> thisThreadToken = new AtomicReference<>();
+        Thread waitingThread = new Thread(() -> {
+            try {
+                thisThreadToken.set(slowProvider.getLatestAuthToken());
+            } catch (ApiException exception) {
+                throw new RuntimeException(exception);
+            }
+        });
+        waitingThread.start();
+        fetchMayFinish.countDown();
+        otherThread.join();
+        waitingThread.join();
+
+        assertEquals(token, otherThreadToken.get());
+        assertEquals(token, thisThreadToken.get());
+        assertEquals(token, slowProvider.getLatestAuthToken());
+        assertEquals(1, slowFetchCount.get());
+    }
+
+    /**
+     * Once invalidated, a token is fetched again, even though it has not expired.
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void invalidatedTokenIsFetchedAgain() throws ApiException {
+        String firstUserToken = tokenExpiringIn(TimeUnit.HOURS.toMillis(1));
+        String secondUserToken = tokenExpiringIn(TimeUnit.HOURS.toMillis(2));
+        tokensToVend.add(firstUserToken);
+        tokensToVend.add(secondUserToken);
+
+        assertEquals(firstUserToken, provider.getLatestAuthToken());
+        provider.invalidate();
+        assertEquals(secondUserToken, provider.getLatestAuthToken());
+        assertEquals(secondUserToken, provider.getLatestAuthToken());
+        assertEquals(2, fetchCount.get());
+    }
+
+    /**
+     * A fetch which was started before the cache was invalidated does not fill the cache,
+     * and is not shared with the requests made after the invalidation.
+     * @throws InterruptedException If interrupted while waiting for the other thread
+     * @throws ApiException On failure to get a token
+     */
+    @Test
+    public void fetchStartedBeforeInvalidationDoesNotFillCache() throws InterruptedException, ApiException {
+        String staleToken = tokenExpiringIn(TimeUnit.HOURS.toMillis(1));
+        String freshToken = tokenExpiringIn(TimeUnit.HOURS.toMillis(2));
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch fetchMayFinish = new CountDownLatch(1);
+        AtomicInteger slowFetchCount = new AtomicInteger();
+        CachingCognitoUserPoolsAuthProvider slowProvider =
+            new CachingCognitoUserPoolsAuthProvider(new CognitoUserPoolsAuthProvider() {
+                @Override
+                public String getLatestAuthToken() {
+                    if (slowFetchCount.incrementAndGet() > 1) {
+                        return freshToken;
+                    }
+                    fetchStarted.countDown();
+                    Latch.await(fetchMayFinish);
+                    return staleToken;
+                }
+
+                @Override
+                public String getUsername() {
+                    return "username";
+                }
+            }, Runnable::run);
+
+        AtomicReference<String> otherThreadToken = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> {
+            try {
+                otherThreadToken.set(slowProvider.getLatestAuthToken());
+            } catch (ApiException exception) {
+                throw new RuntimeException(exception);
+            }
+        });
+        otherThread.start();
+        Latch.await(fetchStarted);
+
+        // The user signs out while the first fetch is in flight.
+        slowProvider.invalidate();
+        assertEquals(freshToken, slowProvider.getLatestAuthToken());
+        fetchMayFinish.countDown();
+        otherThread.join();
+
+        assertEquals(staleToken, otherThreadToken.get());
+        assertEquals(freshToken, slowProvider.getLatestAuthToken());
+        assertEquals(2, slowFetchCount.get());
+    }
+
+    private static String tokenExpiringIn(long millisFromNow) {
+        long expiry = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() + millisFromNow);
+        return FakeJWTToken.builder()
+            .putPayload("exp", expiry)
+            .putPayload("sub", "user-" + expiry)
+            .build()
+            .asString();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.StrictMode;
+import com.amplifyframework.datastore.appsync.ModelConverter;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+import com.amplifyframework.util.GsonFactory;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time taken to build models out of a query cursor with the
+ * {@link SQLiteModelMaterializer}, against the previous approach of building a
+ * {@link java.util.Map} per row and round-tripping it through JSON.
+ */
+public final class SQLiteModelMaterializerBenchmarkTest {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore:test");
+    private static final int ROW_COUNT = 5_000;
+    private static final int ITERATIONS = 5;
+
+    private SynchronousStorageAdapter adapter;
+    private SQLiteDatabase database;
+    private ModelSchemaRegistry modelSchemaRegistry;
+
+    /**
+     * Enables Android Strict Mode, to help catch common errors while using
+     * SQLite, such as forgetting to close the database.
+     */
+    @BeforeClass
+    public static void enableStrictMode() {
+        StrictMode.enable();
+    }
+
+    /**
+     * Creates a storage adapter and fills it with posts, each of which
+     * belongs to a blog, which in turn belongs to a blog owner.
+     * @throws DataStoreException On failure to save a model
+     */
+    @Before
+    public void setup() throws DataStoreException {
+        TestStorageAdapter.cleanup();
+        adapter = TestStorageAdapter.create(AmplifyModelProvider.getInstance());
+        modelSchemaRegistry = ModelSchemaRegistry.instance();
+
+        BlogOwner owner = BlogOwner.builder()
+            .name("Benchmark Owner")
+            .build();
+        adapter.save(owner);
+        Blog blog = Blog.builder()
+            .name("Benchmark Blog")
+            .owner(owner)
+            .build();
+        adapter.save(blog);
+        for (int index = 0; index < ROW_COUNT; index++) {
+            adapter.save(Post.builder()
+                .title("Post " + index)
+                .status(PostStatus.ACTIVE)
+                .rating(index % 5)
+                .blog(blog)
+                .build());
+        }
+
+        Context context = ApplicationProvider.getApplicationContext();
+        database = SQLiteDatabase.openDatabase(
+            context.getDatabasePath(SQLiteStorageAdapter.DATABASE_NAME).getPath(),
+            null,
+            SQLiteDatabase.OPEN_READONLY
+        );
+    }
+
+    /**
+     * Closes the database and cleans up the storage adapter.
+     */
+    @After
+    public void teardown() {
+        if (database != null) {
+            database.close();
+        }
+        TestStorageAdapter.cleanup(adapter);
+    }
+
+    /**
+     * Reads every post with both the JSON round-trip and the materializer. The
+     * resulting models must be equal, and the timings of each approach are logged.
+     * @throws DataStoreException On failure to read the models
+     */
+    @Test
+    public void materializerIsEquivalentToJsonRoundTrip() throws DataStoreException {
+        final Gson gson = GsonFactory.instance();
+        final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(Post.class);
+        final SQLiteModelMaterializer<Post> materializer =
+            SQLiteModelMaterializer.create(Post.class, schema, modelSchemaRegistry, gson);
+
+        List<Post> viaJson = readWithJsonRoundTrip(schema, gson);
+        List<Post> viaMaterializer = readWithMaterializer(schema, materializer);
+        assertEquals(ROW_COUNT, viaMaterializer.size());
+        assertEquals(viaJson, viaMaterializer);
+
+        long jsonNanos = 0;
+        long materializerNanos = 0;
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            readWithJsonRoundTrip(schema, gson);
+            jsonNanos += SystemClock.elapsedRealtimeNanos() - start;
+
+            start = SystemClock.elapsedRealtimeNanos();
+            readWithMaterializer(schema, materializer);
+            materializerNanos += SystemClock.elapsedRealtimeNanos() - start;
+        }
+        LOG.info(String.format(
+            "Read %d rows: JSON round-trip %.2f ms, materializer %.2f ms (averaged over %d iterations)",
+            ROW_COUNT, jsonNanos / 1e6 / ITERATIONS, materializerNanos / 1e6 / ITERATIONS, ITERATIONS
+        ));
+    }
+
+    private List<Post> readWithJsonRoundTrip(ModelSchema schema, Gson gson) throws DataStoreException {
+        final SQLiteModelFieldTypeConverter converter =
+            new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson, StorageTemporalEncoding.TEXT);
+        final List<Post> posts = new ArrayList<>();
+        try (Cursor cursor = queryAll(schema)) {
+            if (cursor.moveToFirst()) {
+                do {
+                    posts.add(ModelConverter.fromMap(converter.buildMapForModel(cursor), Post.class));
+                } while (cursor.moveToNext());
+            }
+        }
+        return posts;
+    }
+
+    private List<Post> readWithMaterializer(ModelSchema schema, SQLiteModelMaterializer<Post> materializer)
+            throws DataStoreException {
+        final List<Post> posts = new ArrayList<>();
+        try (Cursor cursor = queryAll(schema)) {
+            if (cursor.moveToFirst()) {
+                SQLiteModelMaterializer.RowReader<Post> rowReader = materializer.bind(cursor);
+                do {
+                    posts.add(rowReader.read(cursor));
+                } while (cursor.moveToNext());
+            }
+        }
+        return posts;
+    }
+
+    private Cursor queryAll(ModelSchema schema) throws DataStoreException {
+        SqlCommand sqlCommand = new SQLiteCommandFactory(modelSchemaRegistry).queryFor(schema, Where.matchesAll());
+        return database.rawQuery(sqlCommand.sqlStatement(), sqlCommand.getBindingsAsArray());
+    }
+}
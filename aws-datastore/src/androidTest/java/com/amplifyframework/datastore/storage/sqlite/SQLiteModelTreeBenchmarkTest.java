@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.os.SystemClock;
+
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.StrictMode;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Comment;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the time taken to delete a model along with all of its descendants, which
+ * the {@link SQLiteModelTree} finds. The trees are large enough that finding the
+ * descendants of one level with a single bound parameter per parent would exceed
+ * SQLite's limit on the number of bound parameters.
+ */
+public final class SQLiteModelTreeBenchmarkTest {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore:test");
+    private static final int WIDE_POST_COUNT = 5_000;
+    private static final int DEEP_BLOG_COUNT = 20;
+    private static final int POSTS_PER_BLOG = 50;
+    private static final int COMMENTS_PER_POST = 5;
+
+    private SynchronousStorageAdapter adapter;
+
+    /**
+     * Enables Android Strict Mode, to help catch common errors while using
+     * SQLite, such as forgetting to close the database.
+     */
+    @BeforeClass
+    public static void enableStrictMode() {
+        StrictMode.enable();
+    }
+
+    /**
+     * Creates a storage adapter for the blog models.
+     */
+    @Before
+    public void setup() {
+        TestStorageAdapter.cleanup();
+        adapter = TestStorageAdapter.create(AmplifyModelProvider.getInstance());
+    }
+
+    /**
+     * Cleans up the storage adapter.
+     */
+    @After
+    public void teardown() {
+        TestStorageAdapter.cleanup(adapter);
+    }
+
+    /**
+     * Deletes a blog owner with one blog, which has many posts.
+     * @throws DataStoreException On failure to save or delete the models
+     */
+    @Test
+    public void deleteWideTree() throws DataStoreException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Benchmark Owner")
+            .build();
+        Blog blog = Blog.builder()
+            .name("Benchmark Blog")
+            .owner(owner)
+            .build();
+        adapter.save(owner);
+        adapter.save(blog);
+        List<Post> posts = new ArrayList<>();
+        for (int index = 0; index < WIDE_POST_COUNT; index++) {
+            posts.add(post(index, blog));
+        }
+        adapter.saveAll(posts);
+
+        timeDeletion("wide", owner, 1 + 1 + WIDE_POST_COUNT);
+    }
+
+    /**
+     * Deletes a blog owner with many blogs, each of which has many posts,
+     * each of which has a few comments.
+     * @throws DataStoreException On failure to save or delete the models
+     */
+    @Test
+    public void deleteDeepTree() throws DataStoreException {
+        BlogOwner owner = BlogOwner.builder()
+            .name("Benchmark Owner")
+            .build();
+        adapter.save(owner);
+        List<Blog> blogs = new ArrayList<>();
+        List<Post> posts = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int blogIndex = 0; blogIndex < DEEP_BLOG_COUNT; blogIndex++) {
+            Blog blog = Blog.builder()
+                .name("Blog " + blogIndex)
+                .owner(owner)
+                .build();
+            blogs.add(blog);
+            for (int postIndex = 0; postIndex < POSTS_PER_BLOG; postIndex++) {
+                Post post = post(postIndex, blog);
+                posts.add(post);
+                for (int commentIndex = 0; commentIndex < COMMENTS_PER_POST; commentIndex++) {
+                    comments.add(Comment.builder()
+                        .content("Comment " + commentIndex)
+                        .post(post)
+                        .build());
+                }
+            }
+        }
+        adapter.saveAll(blogs);
+        adapter.saveAll(posts);
+        adapter.saveAll(comments);
+
+        timeDeletion("deep", owner, 1 + blogs.size() + posts.size() + comments.size());
+    }
+
+    // Deletes the root, and checks that a deletion is published for it and every descendant,
+    // and that none of the descendants remain.
+    private void timeDeletion(String shape, BlogOwner owner, int expectedDeletions) throws DataStoreException {
+        TestObserver<StorageItemChange<? extends Model>> deletions = adapter.observe()
+            .filter(change -> StorageItemChange.Type.DELETE.equals(change.type()))
+            .test();
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        adapter.delete(owner);
+        long elapsedNanos = SystemClock.elapsedRealtimeNanos() - start;
+        LOG.info(String.format(
+            "Deleted a %s tree of %d models in %.2f ms", shape, expectedDeletions, elapsedNanos / 1e6
+        ));
+
+        deletions.awaitCount(expectedDeletions).assertValueCount(expectedDeletions);
+        deletions.dispose();
+        assertTrue(adapter.query(Blog.class).isEmpty());
+        assertTrue(adapter.query(Post.class).isEmpty());
+        assertTrue(adapter.query(Comment.class).isEmpty());
+        assertEquals(0, adapter.query(BlogOwner.class).size());
+    }
+
+    private static Post post(int index, Blog blog) {
+        return Post.builder()
+            .title("Post " + index)
+            .status(PostStatus.ACTIVE)
+            .rating(index % 5)
+            .blog(blog)
+            .build();
+    }
+}
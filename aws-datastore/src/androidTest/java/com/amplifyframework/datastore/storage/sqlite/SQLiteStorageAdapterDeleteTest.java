@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -92,6 +93,40 @@ public final class SQLiteStorageAdapterDeleteTest {
         assertTrue(adapter.query(BlogOwner.class).isEmpty());
     }
 
+    /**
+     * Assert that deleteAll deletes every model of a batch, along with the models which
+     * they cascade to, and publishes a deletion for each of them.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void deleteAllDeletesDataAndCascades() throws DataStoreException {
+        final BlogOwner alan = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        final BlogOwner grace = BlogOwner.builder()
+            .name("Grace Hopper")
+            .build();
+        final Blog blog = Blog.builder()
+            .name("Grace's Blog")
+            .owner(grace)
+            .build();
+        adapter.saveAll(Arrays.asList(alan, grace, blog));
+
+        // Observe deletions
+        Set<String> deleted = new HashSet<>();
+        adapter.observe()
+                .filter(change -> StorageItemChange.Type.DELETE.equals(change.type()))
+                .map(StorageItemChange::item)
+                .subscribe(model -> deleted.add(model.getId()));
+
+        List<StorageItemChange<BlogOwner>> changes = adapter.deleteAll(Arrays.asList(alan, grace));
+
+        assertEquals(2, changes.size());
+        assertEquals(new HashSet<>(Arrays.asList(alan.getId(), grace.getId(), blog.getId())), deleted);
+        assertTrue(adapter.query(BlogOwner.class).isEmpty());
+        assertTrue(adapter.query(Blog.class).isEmpty());
+    }
+
     /**
      * Assert that delete deletes item in the SQLite database without
      * violating foreign key constraints.
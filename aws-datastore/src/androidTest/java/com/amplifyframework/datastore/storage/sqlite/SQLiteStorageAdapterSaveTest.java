@@ -35,6 +35,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -195,6 +196,60 @@ public final class SQLiteStorageAdapterSaveTest {
         assertThat(Log.getStackTraceString(actualError), containsString(expectedError));
     }
 
+    /**
+     * Assert that saveAll inserts new models and updates existing ones, returning
+     * a change of the matching type for each of them.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void saveAllInsertsAndUpdatesData() throws DataStoreException {
+        final BlogOwner raphael = BlogOwner.builder()
+            .name("Raphael Kim")
+            .build();
+        adapter.save(raphael);
+
+        final BlogOwner raph = raphael.copyOfBuilder()
+            .name("Raph Kim")
+            .build();
+        final BlogOwner alan = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        final Blog blog = Blog.builder()
+            .name("Alan's Blog")
+            .owner(alan)
+            .build();
+        List<StorageItemChange<Model>> changes = adapter.saveAll(Arrays.<Model>asList(raph, alan, blog));
+
+        assertEquals(3, changes.size());
+        assertEquals(StorageItemChange.Type.UPDATE, changes.get(0).type());
+        assertEquals(StorageItemChange.Type.CREATE, changes.get(1).type());
+        assertEquals(StorageItemChange.Type.CREATE, changes.get(2).type());
+        assertEquals(new HashSet<>(Arrays.asList(raph, alan)), new HashSet<>(adapter.query(BlogOwner.class)));
+        assertEquals(Collections.singletonList(blog), adapter.query(Blog.class));
+    }
+
+    /**
+     * Assert that when one model in a batch fails to save, none of the batch is saved.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void saveAllIsAtomic() throws DataStoreException {
+        final BlogOwner alan = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        final Blog blog = Blog.builder()
+            .name("Susan's Blog")
+            .owner(BlogOwner.builder()
+                .name("Susan Swanson") // Never saved
+                .build())
+            .build();
+        Throwable actualError = adapter.saveAllExpectingError(Arrays.asList(alan, blog));
+
+        assertThat(Log.getStackTraceString(actualError), containsString("FOREIGN KEY constraint failed"));
+        assertTrue(adapter.query(BlogOwner.class).isEmpty());
+        assertTrue(adapter.query(Blog.class).isEmpty());
+    }
+
     /**
      * Test save with SQL injection.
      * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelProvider;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.datastore.storage.LocalStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.datastore.storage.sqlite.SQLiteStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link PersistentMutationOutbox} can be written to by the sync engine, while
+ * the {@link SQLiteStorageAdapter} is enqueuing mutations for changes made through the DataStore API.
+ */
+public final class MutationOutboxConcurrencyInstrumentationTest {
+    private static final String DATABASE_NAME = "AmplifyDatastore.db";
+    private static final int MUTATION_COUNT = 50;
+    private static final long OPERATIONS_TIMEOUT_SECONDS = 10;
+
+    private LocalStorageAdapter localStorageAdapter;
+    private SynchronousStorageAdapter storage;
+    private PersistentMutationOutbox mutationOutbox;
+    private StorageObserver storageObserver;
+
+    /**
+     * Prepares an {@link SQLiteStorageAdapter}, and hooks a {@link PersistentMutationOutbox} into its
+     * transactions, as the sync engine does.
+     * @throws AmplifyException On failure to initialize the storage adapter,
+     *                          or on failure to load model schema into registry
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        getApplicationContext().deleteDatabase(DATABASE_NAME);
+        ModelProvider modelProvider = SimpleModelProvider.withRandomVersion(BlogOwner.class);
+        ModelSchemaRegistry modelSchemaRegistry = ModelSchemaRegistry.instance();
+        modelSchemaRegistry.clear();
+        modelSchemaRegistry.register(modelProvider.models());
+
+        localStorageAdapter = SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider);
+        storage = SynchronousStorageAdapter.delegatingTo(localStorageAdapter);
+        storage.initialize(getApplicationContext());
+
+        mutationOutbox = new PersistentMutationOutbox(localStorageAdapter);
+        storageObserver = new StorageObserver(localStorageAdapter, mutationOutbox);
+        storageObserver.startObservingStorageChanges(() -> { });
+    }
+
+    /**
+     * Stops enqueuing mutations, terminates the storage adapter and deletes the database.
+     * @throws DataStoreException On failure to terminate use of storage adapter
+     */
+    @After
+    public void teardown() throws DataStoreException {
+        storageObserver.stopObservingStorageChanges();
+        storage.terminate();
+        getApplicationContext().deleteDatabase(DATABASE_NAME);
+    }
+
+    /**
+     * Published mutations are removed from the outbox while models are being saved through
+     * the DataStore API. Every removal and every save completes, and the outbox ends up
+     * holding exactly the mutations of the new saves.
+     * @throws DataStoreException On failure to save the initial models
+     * @throws InterruptedException If interrupted while waiting for the operations
+     */
+    @Test
+    public void removalsAndSavesRunConcurrently() throws DataStoreException, InterruptedException {
+        // Arrange some mutations which have been published, and are ready to be removed.
+        for (int index = 0; index < MUTATION_COUNT; index++) {
+            storage.save(BlogOwner.builder().name("Published " + index).build());
+        }
+        List<PendingMutation<? extends Model>> published = mutationOutbox.peek(MUTATION_COUNT);
+        assertEquals(MUTATION_COUNT, published.size());
+        for (PendingMutation<? extends Model> mutation : published) {
+            mutationOutbox.markInFlight(mutation.getMutationId()).blockingAwait();
+        }
+
+        // Act: remove them, while saving other models.
+        CountDownLatch removed = new CountDownLatch(MUTATION_COUNT);
+        CountDownLatch saved = new CountDownLatch(MUTATION_COUNT);
+        for (int index = 0; index < MUTATION_COUNT; index++) {
+            mutationOutbox.remove(published.get(index).getMutationId())
+                .subscribeOn(Schedulers.io())
+                .subscribe(removed::countDown, failure -> { });
+            localStorageAdapter.save(
+                BlogOwner.builder().name("Unpublished " + index).build(),
+                StorageItemChange.Initiator.DATA_STORE_API,
+                QueryPredicates.all(),
+                change -> saved.countDown(),
+                failure -> { }
+            );
+        }
+
+        // Assert: nothing is left waiting.
+        assertTrue(removed.await(OPERATIONS_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(saved.await(OPERATIONS_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        List<PendingMutation<? extends Model>> remaining = mutationOutbox.peek(MUTATION_COUNT * 2);
+        assertEquals(MUTATION_COUNT, remaining.size());
+        assertEquals(MUTATION_COUNT, storage.query(PendingMutation.PersistentRecord.class).size());
+    }
+}
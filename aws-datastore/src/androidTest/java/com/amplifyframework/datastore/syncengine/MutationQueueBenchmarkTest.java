@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import android.os.SystemClock;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Measures the {@link MutationQueue}'s lookups by model id in an outbox of 50,000 mutations:
+ * a creation, and then an update, of each of 25,000 models. The Merger makes such a lookup
+ * for every item that a sync brings in, and the mutation processor keeps the index up to
+ * date as it drains the outbox.
+ */
+public final class MutationQueueBenchmarkTest {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore:test");
+    private static final int MODEL_COUNT = 25_000;
+    // Walking the queue for every model would take minutes; only the models at its back are sampled.
+    private static final int WALKED_LOOKUPS = 200;
+
+    private MutationQueue mutationQueue;
+    private List<PendingMutation<BlogOwner>> creations;
+    private List<PendingMutation<BlogOwner>> updates;
+
+    /**
+     * Fills a queue with the creations of every model, followed by their updates.
+     * @throws AmplifyException On failure to build the model schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        mutationQueue = new MutationQueue();
+        creations = new ArrayList<>(MODEL_COUNT);
+        updates = new ArrayList<>(MODEL_COUNT);
+        for (int index = 0; index < MODEL_COUNT; index++) {
+            BlogOwner owner = BlogOwner.builder()
+                .name("Owner " + index)
+                .build();
+            creations.add(PendingMutation.creation(owner, schema));
+            updates.add(PendingMutation.update(owner.copyOfBuilder().name("Renamed " + index).build(), schema));
+        }
+        for (PendingMutation<BlogOwner> creation : creations) {
+            mutationQueue.add(creation);
+        }
+        for (PendingMutation<BlogOwner> update : updates) {
+            mutationQueue.add(update);
+        }
+    }
+
+    /**
+     * The index gives the creation of each model as its next mutation, and the update as
+     * its last. A walk of the queue, as the outbox used to make, agrees with it.
+     */
+    @Test
+    public void lookupOfEveryModelInLargeOutbox() {
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int index = 0; index < MODEL_COUNT; index++) {
+            String modelId = creations.get(index).getMutatedItem().getId();
+            assertSame(creations.get(index), mutationQueue.nextMutationForModelId(modelId));
+            assertSame(updates.get(index), mutationQueue.lastMutationForModelId(modelId));
+        }
+        long indexedNanos = SystemClock.elapsedRealtimeNanos() - start;
+        assertNull(mutationQueue.nextMutationForModelId("not-in-the-outbox"));
+
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int index = MODEL_COUNT - WALKED_LOOKUPS; index < MODEL_COUNT; index++) {
+            String modelId = creations.get(index).getMutatedItem().getId();
+            assertSame(creations.get(index), firstInQueueOrder(modelId));
+        }
+        long walkedNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        LOG.info(String.format(
+            "Looked up the mutations of %d models among %d: %.2f us per model with the index, " +
+                "%.2f us per model with a walk of the queue",
+            MODEL_COUNT, mutationQueue.size(), indexedNanos / 1e3 / MODEL_COUNT, walkedNanos / 1e3 / WALKED_LOOKUPS
+        ));
+    }
+
+    /**
+     * While the outbox is drained from its head, the index moves on from each creation to
+     * the update of the same model, and forgets the model once the update is drained too.
+     */
+    @Test
+    public void drainOfLargeOutbox() {
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int index = 0; index < MODEL_COUNT; index++) {
+            PendingMutation<BlogOwner> creation = creations.get(index);
+            assertSame(creation, mutationQueue.peek());
+            mutationQueue.remove(creation);
+            assertSame(updates.get(index), mutationQueue.nextMutationForModelId(creation.getMutatedItem().getId()));
+        }
+        for (PendingMutation<BlogOwner> update : updates) {
+            assertSame(update, mutationQueue.peek());
+            mutationQueue.remove(update);
+            assertNull(mutationQueue.nextMutationForModelId(update.getMutatedItem().getId()));
+        }
+        long drainNanos = SystemClock.elapsedRealtimeNanos() - start;
+        assertEquals(0, mutationQueue.size());
+
+        LOG.info(String.format(
+            "Drained an outbox of %d mutations in %.2f ms", 2 * MODEL_COUNT, drainNanos / 1e6
+        ));
+    }
+
+    private PendingMutation<BlogOwner> firstInQueueOrder(String modelId) {
+        for (PendingMutation<BlogOwner> creation : creations) {
+            if (creation.getMutatedItem().getId().equals(modelId)) {
+                return creation;
+            }
+        }
+        return null;
+    }
+}
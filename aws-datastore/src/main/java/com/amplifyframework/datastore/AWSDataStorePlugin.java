@@ -29,6 +29,7 @@ import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.InitializationStatus;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
@@ -40,6 +41,8 @@ import com.amplifyframework.datastore.appsync.AppSyncClient;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.model.ModelProviderLocator;
 import com.amplifyframework.datastore.storage.ItemChangeMapper;
+import com.amplifyframework.datastore.storage.ItemChangeObservers;
+import com.amplifyframework.datastore.storage.LiveQuery;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.datastore.storage.sqlite.SQLiteStorageAdapter;
@@ -49,7 +52,9 @@ import com.amplifyframework.logging.Logger;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +73,9 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
     // manages the persistence of data on-device.
     private final LocalStorageAdapter sqliteStorageAdapter;
 
+    // Observers of the local storage adapter, indexed by the model they observe.
+    private final ItemChangeObservers itemChangeObservers;
+
     // A component which synchronizes data state between the
     // local storage adapter, and a remote API
     private final Orchestrator orchestrator;
@@ -87,7 +95,9 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
             @NonNull ApiCategory api,
             @Nullable DataStoreConfiguration userProvidedConfiguration) {
-        this.sqliteStorageAdapter = SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider);
+        this.sqliteStorageAdapter =
+            SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider, () -> pluginConfiguration);
+        this.itemChangeObservers = new ItemChangeObservers(sqliteStorageAdapter);
         this.categoryInitializationsPending = new CountDownLatch(1);
         // Used to interrogate plugins, to understand if sync should be automatically turned on
         this.orchestrator = new Orchestrator(
@@ -233,6 +243,15 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         ));
     }
 
+    private static <T extends Model> List<DataStoreItemChange<T>> mapAll(
+            List<StorageItemChange<T>> storageItemChanges) throws DataStoreException {
+        List<DataStoreItemChange<T>> dataStoreItemChanges = new ArrayList<>(storageItemChanges.size());
+        for (StorageItemChange<T> storageItemChange : storageItemChanges) {
+            dataStoreItemChanges.add(ItemChangeMapper.map(storageItemChange));
+        }
+        return dataStoreItemChanges;
+    }
+
     private Completable waitForInitialization() {
         return Completable.fromAction(() -> categoryInitializationsPending.await())
             .timeout(LIFECYCLE_TIMEOUT_MS, TimeUnit.MILLISECONDS)
@@ -336,6 +355,28 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         ), onFailureToSave);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave) {
+        start(() -> sqliteStorageAdapter.saveAll(
+            items,
+            StorageItemChange.Initiator.DATA_STORE_API,
+            itemSaves -> {
+                try {
+                    onItemsSaved.accept(mapAll(itemSaves));
+                } catch (DataStoreException dataStoreException) {
+                    onFailureToSave.accept(dataStoreException);
+                }
+            },
+            onFailureToSave
+        ), onFailureToSave);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -347,6 +388,28 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         delete(item, QueryPredicates.all(), onItemDeleted, onFailureToDelete);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsDeleted,
+            @NonNull Consumer<DataStoreException> onFailureToDelete) {
+        start(() -> sqliteStorageAdapter.deleteAll(
+            items,
+            StorageItemChange.Initiator.DATA_STORE_API,
+            itemDeletions -> {
+                try {
+                    onItemsDeleted.accept(mapAll(itemDeletions));
+                } catch (DataStoreException dataStoreException) {
+                    onFailureToDelete.accept(dataStoreException);
+                }
+            },
+            onFailureToDelete
+        ), onFailureToDelete);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -436,13 +499,24 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         start(() -> sqliteStorageAdapter.query(itemClass, options, onQueryResults, onQueryFailure), onQueryFailure);
     }
 
+    @Override
+    public <T extends Model> void stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<CancelableIterator<T>> onQueryResults,
+            @NonNull Consumer<DataStoreException> onQueryFailure) {
+        start(() -> sqliteStorageAdapter.stream(itemClass, options, onQueryResults, onQueryFailure), onQueryFailure);
+    }
+
     @Override
     public void observe(
             @NonNull Consumer<Cancelable> onObservationStarted,
             @NonNull Consumer<DataStoreItemChange<? extends Model>> onDataStoreItemChange,
             @NonNull Consumer<DataStoreException> onObservationFailure,
             @NonNull Action onObservationCompleted) {
-        start(() -> onObservationStarted.accept(sqliteStorageAdapter.observe(
+        start(() -> onObservationStarted.accept(itemChangeObservers.observe(
+            null,
+            QueryPredicates.all(),
             itemChange -> {
                 try {
                     onDataStoreItemChange.accept(ItemChangeMapper.map(itemChange));
@@ -462,21 +536,8 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull Consumer<DataStoreItemChange<T>> onDataStoreItemChange,
             @NonNull Consumer<DataStoreException> onObservationFailure,
             @NonNull Action onObservationCompleted) {
-        start(() -> onObservationStarted.accept(sqliteStorageAdapter.observe(
-            itemChange -> {
-                try {
-                    if (itemChange.modelSchema().getName().equals(itemClass.getSimpleName())) {
-                        @SuppressWarnings("unchecked") // This was just checked, right above.
-                        StorageItemChange<T> typedChange = (StorageItemChange<T>) itemChange;
-                        onDataStoreItemChange.accept(ItemChangeMapper.map(typedChange));
-                    }
-                } catch (DataStoreException dataStoreException) {
-                    onObservationFailure.accept(dataStoreException);
-                }
-            },
-            onObservationFailure,
-            onObservationCompleted
-        )), onObservationFailure);
+        observe(itemClass, QueryPredicates.all(), onObservationStarted, onDataStoreItemChange,
+            onObservationFailure, onObservationCompleted);
     }
 
     /**
@@ -495,16 +556,13 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull Consumer<DataStoreItemChange<? extends Model>> onDataStoreItemChange,
             @NonNull Consumer<DataStoreException> onObservationFailure,
             @NonNull Action onObservationCompleted) {
-        start(() -> onObservationStarted.accept(sqliteStorageAdapter.observe(
+        start(() -> onObservationStarted.accept(itemChangeObservers.observe(
+            modelName,
+            QueryPredicates.all(),
             itemChange -> {
                 try {
                     if (itemChange.modelSchema().getModelClass().equals(SerializedModel.class)) {
-                        if (((SerializedModel) itemChange.item()).getModelName().equals(modelName)) {
-                            @SuppressWarnings("unchecked") // This was just checked, right above.
-                            StorageItemChange<SerializedModel> typedChange =
-                                    (StorageItemChange<SerializedModel>) itemChange;
-                            onDataStoreItemChange.accept(ItemChangeMapper.map(itemChange));
-                        }
+                        onDataStoreItemChange.accept(ItemChangeMapper.map(itemChange));
                     }
                 } catch (DataStoreException dataStoreException) {
                     onObservationFailure.accept(dataStoreException);
@@ -523,12 +581,13 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull Consumer<DataStoreItemChange<T>> onDataStoreItemChange,
             @NonNull Consumer<DataStoreException> onObservationFailure,
             @NonNull Action onObservationCompleted) {
-        start(() -> onObservationStarted.accept(sqliteStorageAdapter.observe(
+        start(() -> onObservationStarted.accept(itemChangeObservers.observe(
+            itemClass.getSimpleName(),
+            QueryPredicates.all(),
             itemChange -> {
                 try {
-                    if (itemChange.modelSchema().getName().equals(itemClass.getSimpleName()) &&
-                            itemChange.item().getId().equals(uniqueId)) {
-                        @SuppressWarnings("unchecked") // itemClass() was just inspected above. This is safe.
+                    if (itemChange.item().getId().equals(uniqueId)) {
+                        @SuppressWarnings("unchecked") // Only changes to the itemClass model are observed.
                         StorageItemChange<T> typedChange = (StorageItemChange<T>) itemChange;
                         onDataStoreItemChange.accept(ItemChangeMapper.map(typedChange));
                     }
@@ -549,6 +608,77 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
             @NonNull Consumer<DataStoreItemChange<T>> onDataStoreItemChange,
             @NonNull Consumer<DataStoreException> onObservationFailure,
             @NonNull Action onObservationCompleted) {
-        onObservationFailure.accept(new DataStoreException("Not implemented yet, buster!", "Check back later!"));
+        Objects.requireNonNull(selectionCriteria);
+        start(() -> onObservationStarted.accept(itemChangeObservers.observe(
+            itemClass.getSimpleName(),
+            selectionCriteria,
+            itemChange -> {
+                try {
+                    @SuppressWarnings("unchecked") // Only changes to the itemClass model are observed.
+                    StorageItemChange<T> typedChange = (StorageItemChange<T>) itemChange;
+                    onDataStoreItemChange.accept(ItemChangeMapper.map(typedChange));
+                } catch (DataStoreException dataStoreException) {
+                    onObservationFailure.accept(dataStoreException);
+                }
+            },
+            onObservationFailure,
+            onObservationCompleted
+        )), onObservationFailure);
+    }
+
+    /**
+     * Observe the result of a query, as it changes. A snapshot of the result is emitted once the
+     * query has first run, and then again whenever a change to the DataStore alters it. The result
+     * is kept up to date in memory, so the query is not run again for each change.
+     * NOTE: This method is specific to this plugin, and is not part of the {@link DataStoreCategory} spec.
+     * @param itemClass The class of the items to query
+     * @param options Filtering, sorting, and paging of the result
+     * @param onObservationStarted Called when observation begins
+     * @param onQuerySnapshot Called with the whole result, in order, each time that it changes
+     * @param onObservationFailure Called if observation of the DataStore terminates
+     *                             with a non-recoverable failure
+     * @param onObservationCompleted Called when observation completes gracefully
+     * @param <T> The type of the items to query
+     */
+    public <T extends Model> void observeQuery(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onObservationStarted,
+            @NonNull Consumer<List<T>> onQuerySnapshot,
+            @NonNull Consumer<DataStoreException> onObservationFailure,
+            @NonNull Action onObservationCompleted) {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(options);
+        start(() -> {
+            final LiveQuery<T> liveQuery;
+            try {
+                liveQuery = new LiveQuery<>(options, onQuerySnapshot);
+            } catch (IllegalArgumentException malformedToken) {
+                onObservationFailure.accept(new DataStoreException(
+                    "Failed to read the continuation token of a keyset page.", malformedToken,
+                    "Pass the token made by ContinuationToken.of() from the last item of the previous page."
+                ));
+                return;
+            }
+            // Changes are observed before the query runs, so that none is missed in between.
+            Cancelable observation = itemChangeObservers.observe(
+                itemClass.getSimpleName(),
+                QueryPredicates.all(),
+                itemChange -> {
+                    @SuppressWarnings("unchecked") // Only changes to the itemClass model are observed.
+                    StorageItemChange<T> typedChange = (StorageItemChange<T>) itemChange;
+                    liveQuery.apply(typedChange);
+                },
+                onObservationFailure,
+                onObservationCompleted
+            );
+            QueryPredicate predicate =
+                options.getQueryPredicate() != null ? options.getQueryPredicate() : QueryPredicates.all();
+            sqliteStorageAdapter.query(itemClass, Where.matches(predicate), liveQuery::load, failure -> {
+                observation.cancel();
+                onObservationFailure.accept(failure);
+            });
+            onObservationStarted.accept(observation);
+        }, onObservationFailure);
     }
 }
@@ -43,21 +43,61 @@ public final class DataStoreConfiguration {
     static final int DEFAULT_SYNC_MAX_RECORDS = 10_000;
     @VisibleForTesting 
     static final int DEFAULT_SYNC_PAGE_SIZE = 1_000;
+    @VisibleForTesting
+    static final int DEFAULT_SYNC_PREFETCH_DEPTH = 1;
+    @VisibleForTesting
+    static final int DEFAULT_SYNC_MAX_CONCURRENT_MODELS = 4;
+    @VisibleForTesting
+    static final int DEFAULT_SYNC_MAX_CONCURRENT_MUTATIONS = 1;
+    @VisibleForTesting
+    static final boolean DEFAULT_STORAGE_WRITE_AHEAD_LOGGING = true;
+    @VisibleForTesting
+    static final StorageSynchronousMode DEFAULT_STORAGE_SYNCHRONOUS_MODE = StorageSynchronousMode.NORMAL;
+    @VisibleForTesting
+    static final int DEFAULT_STORAGE_CACHE_SIZE_KB = 2_000;
+    @VisibleForTesting
+    static final long DEFAULT_STORAGE_MMAP_SIZE_BYTES = 0L;
+    @VisibleForTesting
+    static final int DEFAULT_STORAGE_MAX_CONCURRENT_READS = 4;
+    @VisibleForTesting
+    static final StorageTemporalEncoding DEFAULT_STORAGE_TEMPORAL_ENCODING = StorageTemporalEncoding.TEXT;
+    @VisibleForTesting
+    static final StorageQueryDiagnostics DEFAULT_STORAGE_QUERY_DIAGNOSTICS = StorageQueryDiagnostics.OFF;
 
     private final DataStoreErrorHandler errorHandler;
     private final DataStoreConflictHandler conflictHandler;
     private final Integer syncMaxRecords;
     private final Integer syncPageSize;
+    private final Integer syncPrefetchDepth;
+    private final Integer syncMaxConcurrentModels;
+    private final Integer syncMaxConcurrentMutations;
     private final Map<String, DataStoreSyncExpression> syncExpressions;
     private final Long syncIntervalInMinutes;
+    private final Boolean storageWriteAheadLogging;
+    private final StorageSynchronousMode storageSynchronousMode;
+    private final Integer storageCacheSizeKb;
+    private final Long storageMmapSizeBytes;
+    private final Integer storageMaxConcurrentReads;
+    private final StorageTemporalEncoding storageTemporalEncoding;
+    private final StorageQueryDiagnostics storageQueryDiagnostics;
 
     private DataStoreConfiguration(Builder builder) {
         this.errorHandler = builder.errorHandler;
         this.conflictHandler = builder.conflictHandler;
         this.syncMaxRecords = builder.syncMaxRecords;
         this.syncPageSize = builder.syncPageSize;
+        this.syncPrefetchDepth = builder.syncPrefetchDepth;
+        this.syncMaxConcurrentModels = builder.syncMaxConcurrentModels;
+        this.syncMaxConcurrentMutations = builder.syncMaxConcurrentMutations;
         this.syncIntervalInMinutes = builder.syncIntervalInMinutes;
         this.syncExpressions = builder.syncExpressions;
+        this.storageWriteAheadLogging = builder.storageWriteAheadLogging;
+        this.storageSynchronousMode = builder.storageSynchronousMode;
+        this.storageCacheSizeKb = builder.storageCacheSizeKb;
+        this.storageMmapSizeBytes = builder.storageMmapSizeBytes;
+        this.storageMaxConcurrentReads = builder.storageMaxConcurrentReads;
+        this.storageTemporalEncoding = builder.storageTemporalEncoding;
+        this.storageQueryDiagnostics = builder.storageQueryDiagnostics;
     }
 
     /**
@@ -111,6 +151,16 @@ public final class DataStoreConfiguration {
             .syncInterval(DEFAULT_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
             .syncPageSize(DEFAULT_SYNC_PAGE_SIZE)
             .syncMaxRecords(DEFAULT_SYNC_MAX_RECORDS)
+            .syncPrefetchDepth(DEFAULT_SYNC_PREFETCH_DEPTH)
+            .syncMaxConcurrentModels(DEFAULT_SYNC_MAX_CONCURRENT_MODELS)
+            .syncMaxConcurrentMutations(DEFAULT_SYNC_MAX_CONCURRENT_MUTATIONS)
+            .storageWriteAheadLogging(DEFAULT_STORAGE_WRITE_AHEAD_LOGGING)
+            .storageSynchronousMode(DEFAULT_STORAGE_SYNCHRONOUS_MODE)
+            .storageCacheSizeKb(DEFAULT_STORAGE_CACHE_SIZE_KB)
+            .storageMmapSizeBytes(DEFAULT_STORAGE_MMAP_SIZE_BYTES)
+            .storageMaxConcurrentReads(DEFAULT_STORAGE_MAX_CONCURRENT_READS)
+            .storageTemporalEncoding(DEFAULT_STORAGE_TEMPORAL_ENCODING)
+            .storageQueryDiagnostics(DEFAULT_STORAGE_QUERY_DIAGNOSTICS)
             .build();
     }
 
@@ -174,6 +224,37 @@ public final class DataStoreConfiguration {
         return this.syncPageSize;
     }
 
+    /**
+     * Gets the number of sync pages that may wait to be merged into the local store,
+     * while the next page is being fetched from AppSync. At most this many pages are
+     * held in memory, in addition to the page being merged and the page being fetched.
+     * @return Number of pages that may be fetched ahead of the page being merged
+     */
+    @IntRange(from = 1)
+    public Integer getSyncPrefetchDepth() {
+        return this.syncPrefetchDepth;
+    }
+
+    /**
+     * Gets the maximum number of models that may be synced at the same time. A model is
+     * always synced after the models that it belongs to.
+     * @return Max number of models that are synced concurrently
+     */
+    @IntRange(from = 1)
+    public Integer getSyncMaxConcurrentModels() {
+        return this.syncMaxConcurrentModels;
+    }
+
+    /**
+     * Gets the maximum number of local changes that may be published to AppSync at the same
+     * time. The changes to any one model are always published one after another, in order.
+     * @return Max number of mutations that are published concurrently
+     */
+    @IntRange(from = 1)
+    public Integer getSyncMaxConcurrentMutations() {
+        return this.syncMaxConcurrentMutations;
+    }
+
     /**
      * Returns the Map of all {@link DataStoreSyncExpression}s used to filter data received from AppSync, either during
      * a sync or over the real-time subscription.
@@ -184,6 +265,69 @@ public final class DataStoreConfiguration {
         return this.syncExpressions;
     }
 
+    /**
+     * Gets whether the local store uses write-ahead logging. With write-ahead logging,
+     * queries can read the local store while it is being written.
+     * @return True if the local store uses write-ahead logging
+     */
+    public Boolean getStorageWriteAheadLogging() {
+        return this.storageWriteAheadLogging;
+    }
+
+    /**
+     * Gets how often the local store waits for its writes to reach the disk.
+     * @return The synchronous mode of the local store
+     */
+    public StorageSynchronousMode getStorageSynchronousMode() {
+        return this.storageSynchronousMode;
+    }
+
+    /**
+     * Gets the amount of memory that the local store may use to cache pages of its database.
+     * @return Size of the page cache, in kibibytes
+     */
+    @IntRange(from = 0)
+    public Integer getStorageCacheSizeKb() {
+        return this.storageCacheSizeKb;
+    }
+
+    /**
+     * Gets the number of bytes of the database which the local store may map into memory,
+     * in place of reading them. Zero turns memory-mapping off.
+     * @return Maximum number of bytes which are memory-mapped
+     */
+    @IntRange(from = 0)
+    public Long getStorageMmapSizeBytes() {
+        return this.storageMmapSizeBytes;
+    }
+
+    /**
+     * Gets the maximum number of queries that may read the local store at the same time.
+     * Writes to the local store are always made one at a time.
+     * @return Max number of concurrent queries
+     */
+    @IntRange(from = 1)
+    public Integer getStorageMaxConcurrentReads() {
+        return this.storageMaxConcurrentReads;
+    }
+
+    /**
+     * Gets how the local store encodes the values of date, date-time and time fields.
+     * @return The encoding of temporal values in the local store
+     */
+    public StorageTemporalEncoding getStorageTemporalEncoding() {
+        return this.storageTemporalEncoding;
+    }
+
+    /**
+     * Gets whether the query plans of the local store are diagnosed, and whether indexes are
+     * created for the queries which need them.
+     * @return The query diagnostics of the local store
+     */
+    public StorageQueryDiagnostics getStorageQueryDiagnostics() {
+        return this.storageQueryDiagnostics;
+    }
+
     @Override
     public boolean equals(@Nullable Object thatObject) {
         if (this == thatObject) {
@@ -205,12 +349,42 @@ public final class DataStoreConfiguration {
         if (!ObjectsCompat.equals(getSyncPageSize(), that.getSyncPageSize())) {
             return false;
         }
+        if (!ObjectsCompat.equals(getSyncPrefetchDepth(), that.getSyncPrefetchDepth())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncMaxConcurrentModels(), that.getSyncMaxConcurrentModels())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncMaxConcurrentMutations(), that.getSyncMaxConcurrentMutations())) {
+            return false;
+        }
         if (!ObjectsCompat.equals(getSyncIntervalInMinutes(), that.getSyncIntervalInMinutes())) {
             return false;
         }
         if (!ObjectsCompat.equals(getSyncExpressions(), that.getSyncExpressions())) {
             return false;
         }
+        if (!ObjectsCompat.equals(getStorageWriteAheadLogging(), that.getStorageWriteAheadLogging())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageSynchronousMode(), that.getStorageSynchronousMode())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageCacheSizeKb(), that.getStorageCacheSizeKb())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageMmapSizeBytes(), that.getStorageMmapSizeBytes())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageMaxConcurrentReads(), that.getStorageMaxConcurrentReads())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageTemporalEncoding(), that.getStorageTemporalEncoding())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getStorageQueryDiagnostics(), that.getStorageQueryDiagnostics())) {
+            return false;
+        }
         return true;
     }
 
@@ -220,8 +394,23 @@ public final class DataStoreConfiguration {
         result = 31 * result + (getConflictHandler() != null ? getConflictHandler().hashCode() : 0);
         result = 31 * result + (getSyncMaxRecords() != null ? getSyncMaxRecords().hashCode() : 0);
         result = 31 * result + (getSyncPageSize() != null ? getSyncPageSize().hashCode() : 0);
+        result = 31 * result + (getSyncPrefetchDepth() != null ? getSyncPrefetchDepth().hashCode() : 0);
+        result = 31 * result + (getSyncMaxConcurrentModels() != null ? getSyncMaxConcurrentModels().hashCode() : 0);
+        result = 31 * result +
+            (getSyncMaxConcurrentMutations() != null ? getSyncMaxConcurrentMutations().hashCode() : 0);
         result = 31 * result + (getSyncIntervalInMinutes() != null ? getSyncIntervalInMinutes().hashCode() : 0);
         result = 31 * result + (getSyncExpressions() != null ? getSyncExpressions().hashCode() : 0);
+        result = 31 * result +
+            (getStorageWriteAheadLogging() != null ? getStorageWriteAheadLogging().hashCode() : 0);
+        result = 31 * result + (getStorageSynchronousMode() != null ? getStorageSynchronousMode().hashCode() : 0);
+        result = 31 * result + (getStorageCacheSizeKb() != null ? getStorageCacheSizeKb().hashCode() : 0);
+        result = 31 * result + (getStorageMmapSizeBytes() != null ? getStorageMmapSizeBytes().hashCode() : 0);
+        result = 31 * result +
+            (getStorageMaxConcurrentReads() != null ? getStorageMaxConcurrentReads().hashCode() : 0);
+        result = 31 * result +
+            (getStorageTemporalEncoding() != null ? getStorageTemporalEncoding().hashCode() : 0);
+        result = 31 * result +
+            (getStorageQueryDiagnostics() != null ? getStorageQueryDiagnostics().hashCode() : 0);
         return result;
     }
 
@@ -232,8 +421,18 @@ public final class DataStoreConfiguration {
             ", conflictHandler=" + conflictHandler +
             ", syncMaxRecords=" + syncMaxRecords +
             ", syncPageSize=" + syncPageSize +
+            ", syncPrefetchDepth=" + syncPrefetchDepth +
+            ", syncMaxConcurrentModels=" + syncMaxConcurrentModels +
+            ", syncMaxConcurrentMutations=" + syncMaxConcurrentMutations +
             ", syncIntervalInMinutes=" + syncIntervalInMinutes +
             ", syncExpressions=" + syncExpressions +
+            ", storageWriteAheadLogging=" + storageWriteAheadLogging +
+            ", storageSynchronousMode=" + storageSynchronousMode +
+            ", storageCacheSizeKb=" + storageCacheSizeKb +
+            ", storageMmapSizeBytes=" + storageMmapSizeBytes +
+            ", storageMaxConcurrentReads=" + storageMaxConcurrentReads +
+            ", storageTemporalEncoding=" + storageTemporalEncoding +
+            ", storageQueryDiagnostics=" + storageQueryDiagnostics +
             '}';
     }
 
@@ -247,7 +446,17 @@ public final class DataStoreConfiguration {
         private Long syncIntervalInMinutes;
         private Integer syncMaxRecords;
         private Integer syncPageSize;
+        private Integer syncPrefetchDepth;
+        private Integer syncMaxConcurrentModels;
+        private Integer syncMaxConcurrentMutations;
         private Map<String, DataStoreSyncExpression> syncExpressions;
+        private Boolean storageWriteAheadLogging;
+        private StorageSynchronousMode storageSynchronousMode;
+        private Integer storageCacheSizeKb;
+        private Long storageMmapSizeBytes;
+        private Integer storageMaxConcurrentReads;
+        private StorageTemporalEncoding storageTemporalEncoding;
+        private StorageQueryDiagnostics storageQueryDiagnostics;
         private boolean ensureDefaults;
         private JSONObject pluginJson;
         private DataStoreConfiguration userProvidedConfiguration;
@@ -324,6 +533,46 @@ public final class DataStoreConfiguration {
             return Builder.this;
         }
 
+        /**
+         * Sets the number of sync pages that may wait to be merged into the local store, while
+         * the next page is fetched. Higher values keep the network busy while a slow merge is in
+         * progress, at the cost of holding more pages in memory.
+         * @param syncPrefetchDepth Number of pages that may be fetched ahead of the page being merged
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncPrefetchDepth(@IntRange(from = 1) Integer syncPrefetchDepth) {
+            this.syncPrefetchDepth = syncPrefetchDepth;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of models that may be synced at the same time. Models which
+         * do not depend on each other are synced concurrently, up to this limit. A model which
+         * belongs to another is still synced after it.
+         * @param syncMaxConcurrentModels Max number of models that are synced concurrently
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncMaxConcurrentModels(@IntRange(from = 1) Integer syncMaxConcurrentModels) {
+            this.syncMaxConcurrentModels = syncMaxConcurrentModels;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of local changes that may be published to AppSync at the same time.
+         * Changes to different models are published concurrently, up to this limit, while the changes
+         * to any one model are still published in order. With a value greater than 1, changes to
+         * different models may reach AppSync in a different order than they were made.
+         * @param syncMaxConcurrentMutations Max number of mutations that are published concurrently
+         * @return Current builder
+         */
+        @NonNull
+        public Builder syncMaxConcurrentMutations(@IntRange(from = 1) Integer syncMaxConcurrentMutations) {
+            this.syncMaxConcurrentMutations = syncMaxConcurrentMutations;
+            return Builder.this;
+        }
+
         /**
          * Sets a sync expression for a particular model to filter which data is synced locally.  The expression
          * is evaluated each time DataStore is started.  The QueryPredicate is applied on both sync and subscriptions.
@@ -341,6 +590,99 @@ public final class DataStoreConfiguration {
             return Builder.this;
         }
 
+        /**
+         * Sets whether the local store uses write-ahead logging. With write-ahead logging, queries
+         * read the local store while it is being written, instead of waiting for the write to finish.
+         * @param storageWriteAheadLogging True to use write-ahead logging
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageWriteAheadLogging(Boolean storageWriteAheadLogging) {
+            this.storageWriteAheadLogging = storageWriteAheadLogging;
+            return Builder.this;
+        }
+
+        /**
+         * Sets how often the local store waits for its writes to reach the disk. With write-ahead
+         * logging, {@link StorageSynchronousMode#NORMAL} can not corrupt the database, though the
+         * most recent writes may be lost if the device loses power.
+         * @param storageSynchronousMode The synchronous mode of the local store
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageSynchronousMode(StorageSynchronousMode storageSynchronousMode) {
+            this.storageSynchronousMode = storageSynchronousMode;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the amount of memory that the local store may use to cache pages of its database.
+         * This is the cache of the connection which writes to the database. With write-ahead
+         * logging, the extra connections which only read keep SQLite's default cache size.
+         * @param storageCacheSizeKb Size of the page cache, in kibibytes
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageCacheSizeKb(@IntRange(from = 0) Integer storageCacheSizeKb) {
+            this.storageCacheSizeKb = storageCacheSizeKb;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the number of bytes of the database which the local store may map into memory,
+         * in place of reading them. Memory-mapping is off by default. Like the cache size, this
+         * applies to the connection which writes to the database, and not to the extra
+         * connections which only read.
+         * @param storageMmapSizeBytes Maximum number of bytes to memory-map, or zero for none
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageMmapSizeBytes(@IntRange(from = 0) Long storageMmapSizeBytes) {
+            this.storageMmapSizeBytes = storageMmapSizeBytes;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of queries that may read the local store at the same time.
+         * Queries beyond this limit wait for one of the others to finish.
+         * @param storageMaxConcurrentReads Max number of concurrent queries
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageMaxConcurrentReads(@IntRange(from = 1) Integer storageMaxConcurrentReads) {
+            this.storageMaxConcurrentReads = storageMaxConcurrentReads;
+            return Builder.this;
+        }
+
+        /**
+         * Sets how the local store encodes the values of date, date-time and time fields. With
+         * {@link StorageTemporalEncoding#SORTABLE_BINARY}, range queries and sorting on these fields
+         * compare instants, and values are not parsed again when read. Values which are already
+         * stored are converted to the new encoding when the local store is next opened.
+         * @param storageTemporalEncoding The encoding of temporal values in the local store
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageTemporalEncoding(StorageTemporalEncoding storageTemporalEncoding) {
+            this.storageTemporalEncoding = storageTemporalEncoding;
+            return Builder.this;
+        }
+
+        /**
+         * Sets whether the query plans of the local store are diagnosed. Diagnosed queries are
+         * published on the {@link com.amplifyframework.hub.HubChannel#DATASTORE} channel, and
+         * queries which scan a whole table or sort their results without an index are logged.
+         * With {@link StorageQueryDiagnostics#AUTO_INDEX}, indexes are also created for such
+         * queries once they are run often. Diagnostics are off by default.
+         * @param storageQueryDiagnostics The query diagnostics of the local store
+         * @return Current builder
+         */
+        @NonNull
+        public Builder storageQueryDiagnostics(StorageQueryDiagnostics storageQueryDiagnostics) {
+            this.storageQueryDiagnostics = storageQueryDiagnostics;
+            return Builder.this;
+        }
+
         private void populateSettingsFromJson() throws DataStoreException {
             if (pluginJson == null) {
                 return;
@@ -369,10 +711,48 @@ public final class DataStoreConfiguration {
                         case SYNC_PAGE_SIZE:
                             this.syncPageSize(pluginJson.getInt(ConfigKey.SYNC_PAGE_SIZE.toString()));
                             break;
+                        case SYNC_PREFETCH_DEPTH:
+                            this.syncPrefetchDepth(pluginJson.getInt(ConfigKey.SYNC_PREFETCH_DEPTH.toString()));
+                            break;
+                        case SYNC_MAX_CONCURRENT_MODELS:
+                            this.syncMaxConcurrentModels(
+                                pluginJson.getInt(ConfigKey.SYNC_MAX_CONCURRENT_MODELS.toString()));
+                            break;
+                        case SYNC_MAX_CONCURRENT_MUTATIONS:
+                            this.syncMaxConcurrentMutations(
+                                pluginJson.getInt(ConfigKey.SYNC_MAX_CONCURRENT_MUTATIONS.toString()));
+                            break;
+                        case STORAGE_WRITE_AHEAD_LOGGING:
+                            this.storageWriteAheadLogging(
+                                pluginJson.getBoolean(ConfigKey.STORAGE_WRITE_AHEAD_LOGGING.toString()));
+                            break;
+                        case STORAGE_SYNCHRONOUS_MODE:
+                            this.storageSynchronousMode(StorageSynchronousMode.fromString(
+                                pluginJson.getString(ConfigKey.STORAGE_SYNCHRONOUS_MODE.toString())));
+                            break;
+                        case STORAGE_CACHE_SIZE_KB:
+                            this.storageCacheSizeKb(pluginJson.getInt(ConfigKey.STORAGE_CACHE_SIZE_KB.toString()));
+                            break;
+                        case STORAGE_MMAP_SIZE_BYTES:
+                            this.storageMmapSizeBytes(
+                                pluginJson.getLong(ConfigKey.STORAGE_MMAP_SIZE_BYTES.toString()));
+                            break;
+                        case STORAGE_MAX_CONCURRENT_READS:
+                            this.storageMaxConcurrentReads(
+                                pluginJson.getInt(ConfigKey.STORAGE_MAX_CONCURRENT_READS.toString()));
+                            break;
+                        case STORAGE_TEMPORAL_ENCODING:
+                            this.storageTemporalEncoding(StorageTemporalEncoding.fromString(
+                                pluginJson.getString(ConfigKey.STORAGE_TEMPORAL_ENCODING.toString())));
+                            break;
+                        case STORAGE_QUERY_DIAGNOSTICS:
+                            this.storageQueryDiagnostics(StorageQueryDiagnostics.fromString(
+                                pluginJson.getString(ConfigKey.STORAGE_QUERY_DIAGNOSTICS.toString())));
+                            break;
                         default:
                             throw new IllegalArgumentException("Unsupported config key = " + configKey.toString());
                     }
-                } catch (JSONException jsonException) {
+                } catch (JSONException | IllegalArgumentException jsonException) {
                     throw new DataStoreException(
                         "Issue encountered while parsing configuration JSON",
                         jsonException, "Ensure your amplifyconfiguration.json is valid."
@@ -392,7 +772,37 @@ public final class DataStoreConfiguration {
                 syncIntervalInMinutes);
             syncMaxRecords = getValueOrDefault(userProvidedConfiguration.getSyncMaxRecords(), syncMaxRecords);
             syncPageSize = getValueOrDefault(userProvidedConfiguration.getSyncPageSize(), syncPageSize);
+            syncPrefetchDepth = getValueOrDefault(
+                userProvidedConfiguration.getSyncPrefetchDepth(),
+                syncPrefetchDepth);
+            syncMaxConcurrentModels = getValueOrDefault(
+                userProvidedConfiguration.getSyncMaxConcurrentModels(),
+                syncMaxConcurrentModels);
+            syncMaxConcurrentMutations = getValueOrDefault(
+                userProvidedConfiguration.getSyncMaxConcurrentMutations(),
+                syncMaxConcurrentMutations);
             syncExpressions = userProvidedConfiguration.getSyncExpressions();
+            storageWriteAheadLogging = getValueOrDefault(
+                userProvidedConfiguration.getStorageWriteAheadLogging(),
+                storageWriteAheadLogging);
+            storageSynchronousMode = getValueOrDefault(
+                userProvidedConfiguration.getStorageSynchronousMode(),
+                storageSynchronousMode);
+            storageCacheSizeKb = getValueOrDefault(
+                userProvidedConfiguration.getStorageCacheSizeKb(),
+                storageCacheSizeKb);
+            storageMmapSizeBytes = getValueOrDefault(
+                userProvidedConfiguration.getStorageMmapSizeBytes(),
+                storageMmapSizeBytes);
+            storageMaxConcurrentReads = getValueOrDefault(
+                userProvidedConfiguration.getStorageMaxConcurrentReads(),
+                storageMaxConcurrentReads);
+            storageTemporalEncoding = getValueOrDefault(
+                userProvidedConfiguration.getStorageTemporalEncoding(),
+                storageTemporalEncoding);
+            storageQueryDiagnostics = getValueOrDefault(
+                userProvidedConfiguration.getStorageQueryDiagnostics(),
+                storageQueryDiagnostics);
         }
 
         private static <T> T getValueOrDefault(T value, T defaultValue) {
@@ -419,6 +829,23 @@ public final class DataStoreConfiguration {
                 syncIntervalInMinutes = getValueOrDefault(syncIntervalInMinutes, DEFAULT_SYNC_INTERVAL_MINUTES);
                 syncMaxRecords = getValueOrDefault(syncMaxRecords, DEFAULT_SYNC_MAX_RECORDS);
                 syncPageSize = getValueOrDefault(syncPageSize, DEFAULT_SYNC_PAGE_SIZE);
+                syncPrefetchDepth = getValueOrDefault(syncPrefetchDepth, DEFAULT_SYNC_PREFETCH_DEPTH);
+                syncMaxConcurrentModels =
+                    getValueOrDefault(syncMaxConcurrentModels, DEFAULT_SYNC_MAX_CONCURRENT_MODELS);
+                syncMaxConcurrentMutations =
+                    getValueOrDefault(syncMaxConcurrentMutations, DEFAULT_SYNC_MAX_CONCURRENT_MUTATIONS);
+                storageWriteAheadLogging =
+                    getValueOrDefault(storageWriteAheadLogging, DEFAULT_STORAGE_WRITE_AHEAD_LOGGING);
+                storageSynchronousMode =
+                    getValueOrDefault(storageSynchronousMode, DEFAULT_STORAGE_SYNCHRONOUS_MODE);
+                storageCacheSizeKb = getValueOrDefault(storageCacheSizeKb, DEFAULT_STORAGE_CACHE_SIZE_KB);
+                storageMmapSizeBytes = getValueOrDefault(storageMmapSizeBytes, DEFAULT_STORAGE_MMAP_SIZE_BYTES);
+                storageMaxConcurrentReads =
+                    getValueOrDefault(storageMaxConcurrentReads, DEFAULT_STORAGE_MAX_CONCURRENT_READS);
+                storageTemporalEncoding =
+                    getValueOrDefault(storageTemporalEncoding, DEFAULT_STORAGE_TEMPORAL_ENCODING);
+                storageQueryDiagnostics =
+                    getValueOrDefault(storageQueryDiagnostics, DEFAULT_STORAGE_QUERY_DIAGNOSTICS);
             }
             return new DataStoreConfiguration(this);
         }
@@ -438,7 +865,47 @@ public final class DataStoreConfiguration {
          * Number of records that the client wants to process, while it is requesting
          * a base/delta sync operation from AppSync.
          */
-        SYNC_MAX_RECORDS("syncMaxRecords");
+        SYNC_MAX_RECORDS("syncMaxRecords"),
+        /**
+         * Number of sync pages that may wait to be merged, while the next page is fetched.
+         */
+        SYNC_PREFETCH_DEPTH("syncPrefetchDepth"),
+        /**
+         * Maximum number of models that are synced at the same time.
+         */
+        SYNC_MAX_CONCURRENT_MODELS("syncMaxConcurrentModels"),
+        /**
+         * Maximum number of local changes that are published to AppSync at the same time.
+         */
+        SYNC_MAX_CONCURRENT_MUTATIONS("syncMaxConcurrentMutations"),
+        /**
+         * Whether the local store uses write-ahead logging.
+         */
+        STORAGE_WRITE_AHEAD_LOGGING("storageWriteAheadLogging"),
+        /**
+         * How often the local store waits for its writes to reach the disk.
+         */
+        STORAGE_SYNCHRONOUS_MODE("storageSynchronousMode"),
+        /**
+         * Size of the page cache of the local store, in kibibytes.
+         */
+        STORAGE_CACHE_SIZE_KB("storageCacheSizeKb"),
+        /**
+         * Number of bytes of the local store which may be memory-mapped.
+         */
+        STORAGE_MMAP_SIZE_BYTES("storageMmapSizeBytes"),
+        /**
+         * Maximum number of queries that read the local store at the same time.
+         */
+        STORAGE_MAX_CONCURRENT_READS("storageMaxConcurrentReads"),
+        /**
+         * How the local store encodes the values of date, date-time and time fields.
+         */
+        STORAGE_TEMPORAL_ENCODING("storageTemporalEncoding"),
+        /**
+         * Whether the query plans of the local store are diagnosed, and indexes created for them.
+         */
+        STORAGE_QUERY_DIAGNOSTICS("storageQueryDiagnostics");
 
         private final String key;
 
@@ -466,4 +933,109 @@ public final class DataStoreConfiguration {
             throw new IllegalArgumentException(anything + " is not a config key.");
         }
     }
+
+    /**
+     * How often the local store waits for its writes to reach the disk, as set by SQLite's
+     * synchronous pragma.
+     */
+    public enum StorageSynchronousMode {
+        /**
+         * Writes are handed to the operating system without waiting for them to reach the disk.
+         */
+        OFF,
+        /**
+         * Waits at the most critical moments only. With write-ahead logging, this is durable
+         * against application crashes, though not against the loss of power.
+         */
+        NORMAL,
+        /**
+         * Waits for every transaction to reach the disk before it is committed.
+         */
+        FULL;
+
+        /**
+         * Looks up a synchronous mode by name, ignoring case.
+         * @param name Name of a synchronous mode, such as "normal"
+         * @return The synchronous mode of that name
+         * @throws IllegalArgumentException If there is no synchronous mode of that name
+         */
+        @NonNull
+        static StorageSynchronousMode fromString(@Nullable String name) {
+            for (StorageSynchronousMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException(name + " is not a storage synchronous mode.");
+        }
+    }
+
+    /**
+     * How the local store encodes the values of date, date-time and time fields.
+     */
+    public enum StorageTemporalEncoding {
+        /**
+         * Values are stored as ISO-8601 text, as they are sent to AppSync. Text is compared
+         * character by character, so values with different offsets do not sort by instant.
+         */
+        TEXT,
+        /**
+         * Values are stored as a binary encoding of the instant since the epoch, followed by the
+         * offset, whose byte order is the order of the instants.
+         */
+        SORTABLE_BINARY;
+
+        /**
+         * Looks up a temporal encoding by name, ignoring case.
+         * @param name Name of a temporal encoding, such as "sortable_binary"
+         * @return The temporal encoding of that name
+         * @throws IllegalArgumentException If there is no temporal encoding of that name
+         */
+        @NonNull
+        static StorageTemporalEncoding fromString(@Nullable String name) {
+            for (StorageTemporalEncoding encoding : values()) {
+                if (encoding.name().equalsIgnoreCase(name)) {
+                    return encoding;
+                }
+            }
+            throw new IllegalArgumentException(name + " is not a storage temporal encoding.");
+        }
+    }
+
+    /**
+     * Whether the query plans of the local store are diagnosed, and what is done about the
+     * queries which scan a whole table or sort their results without an index.
+     */
+    public enum StorageQueryDiagnostics {
+        /**
+         * Queries are not diagnosed.
+         */
+        OFF,
+        /**
+         * The plan, row count and time of each query are recorded and published, and queries
+         * which scan a whole table or sort without an index are logged.
+         */
+        REPORT,
+        /**
+         * As with {@link #REPORT}, and an index is also created for each query which scans a
+         * whole table or sorts without an index, once it has been run often.
+         */
+        AUTO_INDEX;
+
+        /**
+         * Looks up a query diagnostics setting by name, ignoring case.
+         * @param name Name of a query diagnostics setting, such as "report"
+         * @return The query diagnostics setting of that name
+         * @throws IllegalArgumentException If there is no query diagnostics setting of that name
+         */
+        @NonNull
+        static StorageQueryDiagnostics fromString(@Nullable String name) {
+            for (StorageQueryDiagnostics diagnostics : values()) {
+                if (diagnostics.name().equalsIgnoreCase(name)) {
+                    return diagnostics;
+                }
+            }
+            throw new IllegalArgumentException(name + " is not a storage query diagnostics setting.");
+        }
+    }
 }
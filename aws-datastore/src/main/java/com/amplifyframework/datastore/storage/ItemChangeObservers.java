@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.Action;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.CompiledPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.DataStoreException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Fans the changes of a {@link LocalStorageAdapter} out to many observers, through a single
+ * subscription to the adapter. Observers are indexed by the name of the model they observe,
+ * so that a change is only offered to the observers of its model, and each of those evaluates
+ * its own {@link QueryPredicate} against the changed item. Each observer compiles its predicate
+ * once for each model, rather than looking up the fields it compares on every change.
+ */
+public final class ItemChangeObservers {
+    private final LocalStorageAdapter localStorageAdapter;
+    // Observers of a single model, by model name.
+    private final Map<String, Set<Observer>> observersByModelName;
+    // Observers of every model.
+    private final Set<Observer> observersOfAllModels;
+
+    // The subscription to the storage adapter, while there are observers.
+    private Cancelable upstream;
+    private boolean subscribed;
+
+    /**
+     * Constructs a set of observers of a storage adapter. The adapter is not
+     * observed until the first observer is added.
+     * @param localStorageAdapter Storage adapter whose changes are observed
+     */
+    public ItemChangeObservers(@NonNull LocalStorageAdapter localStorageAdapter) {
+        this.localStorageAdapter = Objects.requireNonNull(localStorageAdapter);
+        this.observersByModelName = new ConcurrentHashMap<>();
+        this.observersOfAllModels = new CopyOnWriteArraySet<>();
+    }
+
+    /**
+     * Observes the changes to the items of a model, or of all models, which match a predicate.
+     * The predicate is evaluated against the changed item. Deletions of many items by predicate
+     * only carry the IDs of the deleted items, so a predicate on other fields does not match them.
+     * @param modelName Name of the model to observe, or null to observe every model
+     * @param predicate Changes to items which do not match this predicate are not passed on
+     * @param onItemChanged Called with each matching change
+     * @param onObservationError Called if the storage adapter can no longer be observed,
+     *                           or if the predicate can not be evaluated against a change
+     * @param onObservationComplete Called when the storage adapter completes its changes
+     * @return A Cancelable which stops the observation
+     */
+    @NonNull
+    public Cancelable observe(
+            @Nullable String modelName,
+            @NonNull QueryPredicate predicate,
+            @NonNull Consumer<StorageItemChange<? extends Model>> onItemChanged,
+            @NonNull Consumer<DataStoreException> onObservationError,
+            @NonNull Action onObservationComplete) {
+        final Observer observer = new Observer(
+            modelName,
+            Objects.requireNonNull(predicate),
+            Objects.requireNonNull(onItemChanged),
+            Objects.requireNonNull(onObservationError),
+            Objects.requireNonNull(onObservationComplete)
+        );
+        synchronized (this) {
+            observersFor(modelName).add(observer);
+            if (!subscribed) {
+                subscribed = true;
+                // The adapter may complete right away, within this call, if it has already terminated.
+                Cancelable subscription = localStorageAdapter.observe(this::dispatch, this::fail, this::complete);
+                if (subscribed) {
+                    upstream = subscription;
+                }
+            }
+        }
+        return () -> remove(observer);
+    }
+
+    private synchronized void remove(Observer observer) {
+        observersFor(observer.modelName).remove(observer);
+        if (observer.modelName != null && observersByModelName.get(observer.modelName).isEmpty()) {
+            observersByModelName.remove(observer.modelName);
+        }
+        if (observersByModelName.isEmpty() && observersOfAllModels.isEmpty() && upstream != null) {
+            upstream.cancel();
+            upstream = null;
+            subscribed = false;
+        }
+    }
+
+    private synchronized Set<Observer> observersFor(@Nullable String modelName) {
+        if (modelName == null) {
+            return observersOfAllModels;
+        }
+        Set<Observer> observers = observersByModelName.get(modelName);
+        if (observers == null) {
+            observers = new CopyOnWriteArraySet<>();
+            observersByModelName.put(modelName, observers);
+        }
+        return observers;
+    }
+
+    private void dispatch(StorageItemChange<? extends Model> change) {
+        Set<Observer> observersOfModel = observersByModelName.get(change.modelSchema().getName());
+        if (observersOfModel != null) {
+            for (Observer observer : observersOfModel) {
+                observer.offer(change);
+            }
+        }
+        for (Observer observer : observersOfAllModels) {
+            observer.offer(change);
+        }
+    }
+
+    private void fail(DataStoreException error) {
+        for (Observer observer : detachAll()) {
+            observer.onObservationError.accept(error);
+        }
+    }
+
+    private void complete() {
+        for (Observer observer : detachAll()) {
+            observer.onObservationComplete.call();
+        }
+    }
+
+    // Once the adapter has ended its changes, the current observers are let go. A later observer
+    // subscribes to the adapter anew, and so learns how it ended.
+    private synchronized List<Observer> detachAll() {
+        List<Observer> observers = new ArrayList<>(observersOfAllModels);
+        for (Set<Observer> observersOfModel : observersByModelName.values()) {
+            observers.addAll(observersOfModel);
+        }
+        observersOfAllModels.clear();
+        observersByModelName.clear();
+        upstream = null;
+        subscribed = false;
+        return observers;
+    }
+
+    private static final class Observer {
+        private final String modelName;
+        private final QueryPredicate predicate;
+        private final Consumer<StorageItemChange<? extends Model>> onItemChanged;
+        private final Consumer<DataStoreException> onObservationError;
+        private final Action onObservationComplete;
+        // The predicate, compiled for each model that has changed, by model name.
+        private final Map<String, CompiledPredicate> compiledPredicates;
+
+        Observer(
+                String modelName,
+                QueryPredicate predicate,
+                Consumer<StorageItemChange<? extends Model>> onItemChanged,
+                Consumer<DataStoreException> onObservationError,
+                Action onObservationComplete) {
+            this.modelName = modelName;
+            this.predicate = predicate;
+            this.onItemChanged = onItemChanged;
+            this.onObservationError = onObservationError;
+            this.onObservationComplete = onObservationComplete;
+            this.compiledPredicates = new ConcurrentHashMap<>();
+        }
+
+        void offer(StorageItemChange<? extends Model> change) {
+            final boolean matches;
+            try {
+                matches = compiledFor(change.modelSchema()).evaluate(change.item());
+            } catch (IllegalArgumentException evaluationFailure) {
+                onObservationError.accept(new DataStoreException(
+                    "Unable to evaluate the observation predicate against a change to " +
+                        change.modelSchema().getName() + ".",
+                    evaluationFailure,
+                    "Check that the predicate only refers to fields of the observed model."
+                ));
+                return;
+            }
+            if (matches) {
+                onItemChanged.accept(change);
+            }
+        }
+
+        private CompiledPredicate compiledFor(ModelSchema modelSchema) {
+            CompiledPredicate compiled = compiledPredicates.get(modelSchema.getName());
+            if (compiled == null || compiled.getModelSchema() != modelSchema) {
+                compiled = CompiledPredicate.compile(predicate, modelSchema);
+                compiledPredicates.put(modelSchema.getName(), compiled);
+            }
+            return compiled;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.ContinuationToken;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QueryPaginationInput;
+import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
+import com.amplifyframework.core.model.query.predicate.CompiledPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.datastore.storage.sqlite.SortableTemporalCodec;
+import com.amplifyframework.util.FieldFinder;
+import com.amplifyframework.util.Immutable;
+
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The result of a query, kept up to date as the queried items change. Rather than running the
+ * query again after every change, the result is held in memory, in the order requested by the
+ * {@link QueryOptions}, and each change is applied to it in place. A snapshot of the result is
+ * emitted whenever it changes.
+ *
+ * Changes which arrive before the initial result has been loaded are held back, and applied on
+ * top of it. Applying a change is idempotent, so it does not matter whether the initial result
+ * already included them.
+ *
+ * Items are ordered by their positions, in the same form as a {@link ContinuationToken} holds
+ * them, so that a keyset page starts exactly where its token says. As in the local store, enums
+ * sort by name. Dates, date-times and times sort by the instants they represent, as they do in
+ * the {@link SortableTemporalCodec}, rather than by their ISO-8601 form, which a token holds.
+ *
+ * @param <T> Type of item queried
+ */
+public final class LiveQuery<T extends Model> {
+    private final QueryPredicate predicate;
+    // The predicate, compiled for the model of the first change.
+    private CompiledPredicate compiledPredicate;
+    private final QueryPaginationInput paginationInput;
+    // For a keyset page, the position of the item which the page starts after.
+    private final ContinuationToken startAfter;
+    private final List<QuerySortBy> sortBy;
+    private final Consumer<List<T>> onSnapshot;
+
+    // All of the matching items, in order, along with their positions; and their positions by ID.
+    private final List<T> items;
+    private final List<Position> positions;
+    private final Map<String, Position> positionsById;
+    // Changes that arrived before the initial result.
+    private List<StorageItemChange<T>> pendingChanges;
+
+    /**
+     * Constructs a live query.
+     * @param options Predicate, sort order, and page of the query. If a page is requested,
+     *                the snapshots contain only that window of the result.
+     * @param onSnapshot Called with a snapshot of the result, whenever it changes
+     * @throws IllegalArgumentException If a keyset page has a malformed continuation token
+     */
+    public LiveQuery(@NonNull QueryOptions options, @NonNull Consumer<List<T>> onSnapshot) {
+        Objects.requireNonNull(options);
+        this.predicate = options.getQueryPredicate() != null ? options.getQueryPredicate() : QueryPredicates.all();
+        this.paginationInput = options.getPaginationInput();
+        this.startAfter = paginationInput != null && paginationInput.getContinuationToken() != null
+            ? Position.of(ContinuationToken.parse(paginationInput.getContinuationToken()))
+            : null;
+        this.sortBy = options.getSortBy() != null ? options.getSortBy() : Collections.emptyList();
+        this.onSnapshot = Objects.requireNonNull(onSnapshot);
+        this.items = new ArrayList<>();
+        this.positions = new ArrayList<>();
+        this.positionsById = new HashMap<>();
+        this.pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Loads the initial result of the query, applies any changes which arrived before it,
+     * and emits the first snapshot.
+     * @param results Items which match the predicate of the query, in any order
+     */
+    public synchronized void load(@NonNull Iterator<T> results) {
+        while (results.hasNext()) {
+            upsert(results.next());
+        }
+        List<StorageItemChange<T>> changes = pendingChanges;
+        pendingChanges = null;
+        for (StorageItemChange<T> change : changes) {
+            applyToResult(change);
+        }
+        emitSnapshot();
+    }
+
+    /**
+     * Applies a change to one of the queried items. A snapshot is emitted if the change
+     * affected the result.
+     * @param change A change to an item of the queried model
+     */
+    public synchronized void apply(@NonNull StorageItemChange<T> change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        } else if (applyToResult(change)) {
+            emitSnapshot();
+        }
+    }
+
+    private boolean applyToResult(StorageItemChange<T> change) {
+        T item = change.item();
+        if (StorageItemChange.Type.DELETE.equals(change.type()) || !compiledFor(change).evaluate(item)) {
+            return remove(item.getId());
+        }
+        upsert(item);
+        return true;
+    }
+
+    private CompiledPredicate compiledFor(StorageItemChange<T> change) {
+        if (compiledPredicate == null || compiledPredicate.getModelSchema() != change.modelSchema()) {
+            compiledPredicate = CompiledPredicate.compile(predicate, change.modelSchema());
+        }
+        return compiledPredicate;
+    }
+
+    private void upsert(T item) {
+        remove(item.getId());
+        Position position = Position.of(item, sortBy);
+        int index = firstIndexAfter(position);
+        items.add(index, item);
+        positions.add(index, position);
+        positionsById.put(item.getId(), position);
+    }
+
+    private boolean remove(String id) {
+        Position position = positionsById.remove(id);
+        if (position == null) {
+            return false;
+        }
+        // Positions end with the ID, so the item is the last one at or before its own position.
+        // It is found there even if its fields have since been changed in place.
+        int index = firstIndexAfter(position) - 1;
+        items.remove(index);
+        positions.remove(index);
+        return true;
+    }
+
+    private void emitSnapshot() {
+        List<T> window = items;
+        if (paginationInput != null) {
+            int from = startAfter != null
+                ? firstIndexAfter(startAfter)
+                : Math.min(items.size(), paginationInput.getPage() * paginationInput.getLimit());
+            int to = Math.min(items.size(), from + paginationInput.getLimit());
+            window = items.subList(from, to);
+        }
+        onSnapshot.accept(Immutable.of(new ArrayList<>(window)));
+    }
+
+    // Finds the index of the first item after a position. Both items and continuation tokens are
+    // placed by this one search, so that they are ordered alike.
+    private int firstIndexAfter(Position position) {
+        int low = 0;
+        int high = positions.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparePositions(positions.get(middle), position) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Orders by the requested fields, and then by ID, so that every item has a single place.
+    private int comparePositions(Position one, Position other) {
+        for (int index = 0; index < Math.min(one.sortKeyValues.size(), other.sortKeyValues.size()); index++) {
+            int comparison = compareValues(one.sortKeyValues.get(index), other.sortKeyValues.get(index));
+            if (comparison != 0) {
+                return QuerySortOrder.DESCENDING.equals(sortBy.get(index).getSortOrder()) ? -comparison : comparison;
+            }
+        }
+        return one.id.compareTo(other.id);
+    }
+
+    // As in SQLite, null sorts before numbers, and numbers before text. A temporal value is
+    // compared to the ISO-8601 form of another, as read from a token, as a value of its own type.
+    private static int compareValues(Object one, Object other) {
+        int oneClass = storageClassOf(one);
+        int otherClass = storageClassOf(other);
+        if (oneClass != otherClass) {
+            return Integer.compare(oneClass, otherClass);
+        } else if (one == null) {
+            return 0;
+        } else if (one instanceof TemporalKey || other instanceof TemporalKey) {
+            TemporalKey oneKey = one instanceof TemporalKey ? (TemporalKey) one : null;
+            TemporalKey otherKey = other instanceof TemporalKey ? (TemporalKey) other : null;
+            oneKey = oneKey != null ? oneKey : otherKey.parse(one.toString());
+            otherKey = otherKey != null ? otherKey : oneKey.parse(other.toString());
+            if (oneKey != null && otherKey != null && oneKey.type == otherKey.type) {
+                return SortableTemporalCodec.compare(oneKey.encoded, otherKey.encoded);
+            }
+        } else if (one instanceof Long && other instanceof Long) {
+            return Long.compare((Long) one, (Long) other);
+        } else if (one instanceof Number) {
+            return Double.compare(((Number) one).doubleValue(), ((Number) other).doubleValue());
+        }
+        return one.toString().compareTo(other.toString());
+    }
+
+    private static int storageClassOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number ? 1 : 2;
+    }
+
+    /**
+     * A date, date-time or time, in its sortable encoding, along with its ISO-8601 form.
+     */
+    private static final class TemporalKey {
+        private final Class<?> type;
+        private final byte[] encoded;
+        private final String text;
+
+        private TemporalKey(Class<?> type, byte[] encoded, String text) {
+            this.type = type;
+            this.encoded = encoded;
+            this.text = text;
+        }
+
+        static TemporalKey of(Temporal.Date date) {
+            return new TemporalKey(Temporal.Date.class, SortableTemporalCodec.encode(date), date.format());
+        }
+
+        static TemporalKey of(Temporal.DateTime dateTime) {
+            return new TemporalKey(Temporal.DateTime.class, SortableTemporalCodec.encode(dateTime), dateTime.format());
+        }
+
+        static TemporalKey of(Temporal.Time time) {
+            return new TemporalKey(Temporal.Time.class, SortableTemporalCodec.encode(time), time.format());
+        }
+
+        // Reads the ISO-8601 form of a value of the same type as this one, or returns null if it
+        // is not one.
+        TemporalKey parse(String text) {
+            try {
+                if (type == Temporal.Date.class) {
+                    return of(new Temporal.Date(text));
+                } else if (type == Temporal.DateTime.class) {
+                    return of(new Temporal.DateTime(text));
+                }
+                return of(new Temporal.Time(text));
+            } catch (IllegalArgumentException | DateTimeException notOfThisType) {
+                return null;
+            }
+        }
+
+        // The ISO-8601 form is used where the value can not be compared as a temporal value.
+        @NonNull
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * The position of an item: the values of its sort fields, in the same form as a
+     * {@link ContinuationToken} holds them, followed by its ID.
+     */
+    private static final class Position {
+        private final List<Object> sortKeyValues;
+        private final String id;
+
+        private Position(List<Object> sortKeyValues, String id) {
+            this.sortKeyValues = sortKeyValues;
+            this.id = id;
+        }
+
+        static Position of(ContinuationToken token) {
+            List<Object> sortKeyValues = new ArrayList<>(token.getSortKeyValues().size());
+            for (Object value : token.getSortKeyValues()) {
+                sortKeyValues.add(sortKeyValueOf(value));
+            }
+            return new Position(sortKeyValues, token.getId());
+        }
+
+        static Position of(Model item, List<QuerySortBy> sortBy) {
+            List<Object> sortKeyValues = new ArrayList<>(sortBy.size());
+            for (QuerySortBy sortField : sortBy) {
+                sortKeyValues.add(sortKeyValueOf(fieldValue(item, sortField.getField())));
+            }
+            return new Position(sortKeyValues, item.getId());
+        }
+
+        private static Object fieldValue(Model item, String fieldName) {
+            if (item instanceof SerializedModel) {
+                return ((SerializedModel) item).getSerializedData().get(fieldName);
+            }
+            try {
+                return FieldFinder.extractFieldValue(item, fieldName);
+            } catch (NoSuchFieldException noSuchField) {
+                return null;
+            }
+        }
+
+        // Converts a field value, or a value read from a token, to the form in which ContinuationToken
+        // holds it: timestamps in seconds, and enums by name. Like the local store, booleans are kept
+        // as numbers. Dates, date-times and times are kept in their sortable encoding; a token holds
+        // them in their ISO-8601 form, which is read when it is compared to one of them.
+        private static Object sortKeyValueOf(Object value) {
+            if (value instanceof Enum) {
+                return ((Enum<?>) value).name();
+            } else if (value instanceof Temporal.Date) {
+                return TemporalKey.of((Temporal.Date) value);
+            } else if (value instanceof Temporal.DateTime) {
+                return TemporalKey.of((Temporal.DateTime) value);
+            } else if (value instanceof Temporal.Time) {
+                return TemporalKey.of((Temporal.Time) value);
+            } else if (value instanceof Temporal.Timestamp) {
+                return ((Temporal.Timestamp) value).getSecondsSinceEpoch();
+            } else if (value instanceof Boolean) {
+                return ((Boolean) value) ? 1L : 0L;
+            } else if (value instanceof Float || value instanceof Double) {
+                return ((Number) value).doubleValue();
+            } else if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            return value;
+        }
+    }
+}
@@ -17,10 +17,12 @@ package com.amplifyframework.datastore.storage;
 
 import android.content.Context;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
@@ -30,6 +32,7 @@ import com.amplifyframework.datastore.DataStoreException;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * A LocalStorageAdapter provides a simple set of interactions to
@@ -84,6 +87,66 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Save a batch of items into local storage, within a single transaction. Either every
+     * item is saved, or none are. Each item is inserted if it does not yet exist, and
+     * updated otherwise. The {@link StorageItemChange}s are only published to observers
+     * after the transaction has been committed.
+     * @param <T> The type of the items being stored
+     * @param items the items to save into the repository
+     * @param initiator An identification of the actor who initiated this save
+     * @param onSuccess A callback that will be invoked with one change per item, in order, if the save succeeds
+     * @param onError A callback that will be invoked if the save fails with an error
+     */
+    <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
+    /**
+     * Applies a batch of saves and deletions to local storage, in order, within a single
+     * transaction. Either every operation is applied, or none are. Each operation behaves as
+     * an unconditional {@link #save(Model, StorageItemChange.Initiator, QueryPredicate, Consumer, Consumer)}
+     * or {@link #delete(Model, StorageItemChange.Initiator, QueryPredicate, Consumer, Consumer)}
+     * would. The {@link StorageItemChange}s are only published to observers after the
+     * transaction has been committed.
+     * @param operations Saves and deletions to apply
+     * @param initiator An identification of the actor who initiated these writes
+     * @param onSuccess A callback that will be invoked with one change per operation, in order,
+     *                  if the batch is applied
+     * @param onError A callback that will be invoked if the batch fails with an error
+     */
+    void batch(
+            @NonNull List<StorageOperation<? extends Model>> operations,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
+    /**
+     * Applies a batch of saves and deletions, as {@link #batch(List, StorageItemChange.Initiator,
+     * Consumer, Consumer)} does, except that the operations are only decided when the batch is
+     * about to be applied. Writes are applied one after another, so the operations are decided
+     * after every write requested before them has been applied, and before any write requested
+     * after them. A caller that keeps state in step with its writes can lock that state while
+     * deciding, and unlock it from the callbacks, without holding the lock while it waits for
+     * earlier writes.
+     * @param operations Decides the saves and deletions to apply. If it throws, nothing is written,
+     *                   and the error is passed to onError.
+     * @param initiator An identification of the actor who initiated these writes
+     * @param onSuccess A callback that will be invoked with one change per operation, in order,
+     *                  if the batch is applied
+     * @param onError A callback that will be invoked if the batch fails with an error
+     */
+    void deferredBatch(
+            @NonNull Callable<List<StorageOperation<? extends Model>>> operations,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Query the storage for items of a given type with specific conditions.
      * @param itemClass Items that have this class will be solicited
@@ -99,6 +162,23 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Query the storage for items of a given type with specific conditions, reading
+     * each item from storage only as it is requested from the returned iterator.
+     * The iterator holds storage resources open until it is exhausted or canceled.
+     * @param itemClass Items that have this class will be solicited
+     * @param options options, such as predicates, pagination to apply to query
+     * @param onSuccess A callback that will be notified once the query has started
+     * @param onError A callback that will be notified if the query fails to start
+     * @param <T> Type type of the items that are being queried
+     */
+    <T extends Model> void stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<CancelableIterator<T>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Query the storage for items of a given type with specific conditions.
      * @param modelName name of the Model to query
@@ -132,6 +212,25 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Deletes a batch of items from storage, within a single transaction. Either every
+     * item is deleted, or none are. Items that do not exist are skipped, as with
+     * {@link #delete(Model, StorageItemChange.Initiator, QueryPredicate, Consumer, Consumer)}.
+     * The {@link StorageItemChange}s for the deleted items, and for any items deleted by cascade,
+     * are only published to observers after the transaction has been committed.
+     * @param <T> The type of items being deleted
+     * @param items Items to delete
+     * @param initiator An identification of the actor who initiated this deletion
+     * @param onSuccess A callback that will be invoked with one change per item, in order, when deletion succeeds
+     * @param onError A callback that will be invoked when deletion fails with an error
+     */
+    <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    );
+
     /**
      * Deletes all items of a given type from storage that meet the
      * specific conditions. A {@link Consumer} will be invoked when the
@@ -169,6 +268,15 @@ public interface LocalStorageAdapter {
             @NonNull Action onObservationComplete
     );
 
+    /**
+     * Sets a hook which takes part in every transaction that writes changes initiated
+     * through the DataStore API, replacing any hook that was set before.
+     * @param transactionHook A hook, or null to remove the current hook
+     * @return true if the adapter will call the hook; false if this adapter does not
+     *         support transaction hooks, in which case the hook is ignored
+     */
+    boolean setTransactionHook(@Nullable StorageTransactionHook transactionHook);
+
     /**
      * Terminate use of the local storage.
      * This should release all resources used by the implementation.
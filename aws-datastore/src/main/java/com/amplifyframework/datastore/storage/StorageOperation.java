@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import androidx.annotation.NonNull;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.core.model.Model;
+
+import java.util.Objects;
+
+/**
+ * A single write that is part of a batch, applied by
+ * {@link LocalStorageAdapter#batch(java.util.List, StorageItemChange.Initiator,
+ * com.amplifyframework.core.Consumer, com.amplifyframework.core.Consumer)}.
+ * An operation either saves (creates or updates) an item, or deletes it.
+ * @param <T> The type of item being written
+ */
+public final class StorageOperation<T extends Model> {
+    private final T item;
+    private final boolean isDelete;
+
+    private StorageOperation(T item, boolean isDelete) {
+        this.item = item;
+        this.isDelete = isDelete;
+    }
+
+    /**
+     * Creates an operation which saves an item. The item is inserted if it does not
+     * yet exist, and is updated otherwise.
+     * @param item Item to save
+     * @param <T> Type of item
+     * @return An operation to save the item
+     */
+    @NonNull
+    public static <T extends Model> StorageOperation<T> save(@NonNull T item) {
+        return new StorageOperation<>(Objects.requireNonNull(item), false);
+    }
+
+    /**
+     * Creates an operation which deletes an item, if it exists.
+     * @param item Item to delete
+     * @param <T> Type of item
+     * @return An operation to delete the item
+     */
+    @NonNull
+    public static <T extends Model> StorageOperation<T> delete(@NonNull T item) {
+        return new StorageOperation<>(Objects.requireNonNull(item), true);
+    }
+
+    /**
+     * Gets the item being written.
+     * @return Item being written
+     */
+    @NonNull
+    public T item() {
+        return item;
+    }
+
+    /**
+     * Checks if this operation deletes its item.
+     * @return true if the item is deleted, false if it is saved
+     */
+    public boolean isDelete() {
+        return isDelete;
+    }
+
+    @Override
+    public boolean equals(Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        StorageOperation<?> that = (StorageOperation<?>) thatObject;
+        return isDelete == that.isDelete && ObjectsCompat.equals(item, that.item);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = item.hashCode();
+        result = 31 * result + (isDelete ? 1 : 0);
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "StorageOperation{" +
+            "item=" + item +
+            ", isDelete=" + isDelete +
+            '}';
+    }
+}
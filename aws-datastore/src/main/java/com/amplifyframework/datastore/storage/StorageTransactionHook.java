@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+
+import java.util.List;
+
+/**
+ * Takes part in the transactions of a {@link LocalStorageAdapter} which write changes initiated
+ * through the DataStore API, so that records which must stay in step with those changes are
+ * committed along with them, or not at all.
+ *
+ * For each such transaction, {@link #onBegin()} is called before the transaction starts, then
+ * {@link #onChange(StorageItemChange)} is called for each change that the transaction makes,
+ * and finally exactly one of {@link #onCommit()} or {@link #onRollback()} is called.
+ */
+public interface StorageTransactionHook {
+    /**
+     * Called before a transaction begins. Any lock that the hook needs for the length
+     * of the transaction should be taken here, before the storage itself is locked.
+     * @throws DataStoreException If the hook can not take part in the transaction,
+     *         in which case the write fails
+     */
+    void onBegin() throws DataStoreException;
+
+    /**
+     * Called within the transaction, once for each change that it makes, in order. This includes
+     * deletions which cascade from another deletion. The hook must not call back into the storage
+     * adapter; instead, it returns the writes it needs, which the adapter applies in the same
+     * transaction.
+     * @param change A change which has been written, but not yet committed
+     * @return Additional writes to apply within the transaction
+     * @throws DataStoreException If the change can not be accepted, in which case
+     *         the transaction is rolled back
+     */
+    @NonNull
+    List<StorageOperation<? extends Model>> onChange(@NonNull StorageItemChange<? extends Model> change)
+            throws DataStoreException;
+
+    /**
+     * Called after the transaction, including the writes returned by the hook, has been committed.
+     */
+    void onCommit();
+
+    /**
+     * Called after the transaction has been rolled back. None of its writes were applied.
+     */
+    void onRollback();
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates empty instances of a model class, whose fields are then assigned by reflection.
+ *
+ * Generated model classes have no constructor without arguments; their only constructor takes a
+ * value for each field, and assigns it. So, the constructor with the fewest parameters is called
+ * with the default value of each parameter type: null, or zero for a primitive. The constructor,
+ * and the model's ID field, are looked up once per model class.
+ *
+ * @param <T> Type of model being instantiated
+ */
+final class ModelInstantiator<T extends Model> {
+    private static final Map<Class<?>, ModelInstantiator<?>> INSTANTIATORS = new ConcurrentHashMap<>();
+
+    private final Constructor<T> constructor;
+    private final Object[] arguments;
+    private final Field idField;
+
+    private ModelInstantiator(Constructor<T> constructor, Object[] arguments, Field idField) {
+        this.constructor = constructor;
+        this.arguments = arguments;
+        this.idField = idField;
+    }
+
+    /**
+     * Gets the instantiator of a model class.
+     * @param modelClass Class of model to instantiate
+     * @param <T> Type of model
+     * @return The instantiator of the model class
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    static <T extends Model> ModelInstantiator<T> of(@NonNull Class<T> modelClass) {
+        Objects.requireNonNull(modelClass);
+        ModelInstantiator<?> instantiator = INSTANTIATORS.get(modelClass);
+        if (instantiator == null) {
+            instantiator = create(modelClass);
+            INSTANTIATORS.putIfAbsent(modelClass, instantiator);
+        }
+        return (ModelInstantiator<T>) instantiator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Model> ModelInstantiator<T> create(Class<T> modelClass) {
+        Constructor<T> shortest = null;
+        for (Constructor<?> constructor : modelClass.getDeclaredConstructors()) {
+            if (shortest == null || constructor.getParameterTypes().length < shortest.getParameterTypes().length) {
+                shortest = (Constructor<T>) constructor;
+            }
+        }
+        // Every class declares at least one constructor.
+        Objects.requireNonNull(shortest).setAccessible(true);
+        Class<?>[] parameterTypes = shortest.getParameterTypes();
+        Object[] arguments = new Object[parameterTypes.length];
+        for (int index = 0; index < parameterTypes.length; index++) {
+            if (parameterTypes[index].isPrimitive()) {
+                arguments[index] = Array.get(Array.newInstance(parameterTypes[index], 1), 0);
+            }
+        }
+        Field idField;
+        try {
+            idField = modelClass.getDeclaredField("id");
+            idField.setAccessible(true);
+        } catch (NoSuchFieldException noIdField) {
+            idField = null;
+        }
+        return new ModelInstantiator<>(shortest, arguments, idField);
+    }
+
+    /**
+     * Creates an instance of the model class, with every field left at the value which its
+     * constructor assigns from a default argument.
+     * @return A new instance of the model class
+     * @throws DataStoreException If the model class can not be instantiated
+     */
+    @NonNull
+    T newInstance() throws DataStoreException {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException | IllegalArgumentException instantiationFailure) {
+            throw new DataStoreException(
+                "Unable to instantiate " + constructor.getDeclaringClass().getSimpleName() + ".",
+                instantiationFailure,
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        }
+    }
+
+    /**
+     * Creates an instance of the model class which has only its ID set.
+     * @param id ID of the model
+     * @return A new instance of the model class, with the given ID
+     * @throws DataStoreException If the model class can not be instantiated, or has no ID field
+     */
+    @NonNull
+    T newInstanceWithId(@NonNull String id) throws DataStoreException {
+        final String modelName = constructor.getDeclaringClass().getSimpleName();
+        if (idField == null) {
+            throw new DataStoreException(
+                modelName + " has no id field.",
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        }
+        final T model = newInstance();
+        try {
+            idField.set(model, Objects.requireNonNull(id));
+        } catch (IllegalAccessException accessFailure) {
+            throw new DataStoreException(
+                "Unable to set the id of a " + modelName + ".", accessFailure,
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        }
+        return model;
+    }
+}
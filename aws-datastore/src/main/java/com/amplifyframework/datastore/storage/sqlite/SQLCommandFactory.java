@@ -58,6 +58,19 @@ interface SQLCommandFactory {
     SqlCommand queryFor(@NonNull ModelSchema modelSchema,
                         @NonNull QueryOptions options) throws DataStoreException;
 
+    /**
+     * Generates a command that checks whether any row of the model's table matches
+     * a predicate, along with a compiled prepared statement which yields 1 if so,
+     * and 0 otherwise, from {@link android.database.sqlite.SQLiteStatement#simpleQueryForLong()}.
+     *
+     * @param modelSchema schema of the model
+     * @param predicate condition that a matching row must satisfy
+     * @return the SQL command that encapsulates the existence check
+     */
+    @NonNull
+    SqlCommand existsFor(@NonNull ModelSchema modelSchema,
+                         @NonNull QueryPredicate predicate) throws DataStoreException;
+
     /**
      * Generates the INSERT INTO command in a raw string representation and a compiled
      * prepared statement that can be bound later with inputs.
@@ -88,4 +101,11 @@ interface SQLCommandFactory {
     @NonNull
     SqlCommand deleteFor(@NonNull ModelSchema modelSchema,
                          @NonNull QueryPredicate predicate) throws DataStoreException;
+
+    /**
+     * Releases the compiled statements held by the factory. This must be called
+     * before the database connection is closed. Commands produced earlier must
+     * not be executed afterwards.
+     */
+    void close();
 }
@@ -22,20 +22,25 @@ import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
 
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelIndex;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.PrimaryKey;
+import com.amplifyframework.core.model.query.ContinuationToken;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.QueryPaginationInput;
 import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLPredicate;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
 import com.amplifyframework.util.Empty;
+import com.amplifyframework.util.GsonFactory;
 import com.amplifyframework.util.Immutable;
 import com.amplifyframework.util.Wrap;
 
@@ -43,21 +48,44 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory that produces the SQLite commands for a given
  * {@link Model} and {@link ModelSchema}.
+ *
+ * Everything that depends only on the schema, such as the {@link SQLiteTable}, the joins of a
+ * query and the text of the insert statement, is built once per schema and then reused. The
+ * values in a {@link QueryPredicate} are always bound as arguments, so commands whose predicates
+ * have the same shape have the same SQL, and share one compiled statement.
  */
 final class SQLiteCommandFactory implements SQLCommandFactory {
+    /**
+     * The number of compiled statements which are kept for reuse. The database connection should
+     * keep at least as many prepared statements, so that reusing one does not prepare it again.
+     */
+    static final int COMPILED_STATEMENT_CACHE_SIZE = 100;
+
     private final ModelSchemaRegistry modelSchemaRegistry;
 
+    // How the values of temporal fields are encoded in predicates.
+    private final StorageTemporalEncoding temporalEncoding;
+
     // Connection handle to a SQLiteDatabase.
     private final SQLiteDatabase databaseConnectionHandle;
 
+    // The parts of each command which depend only on the schema, by model name.
+    private final Map<String, SchemaCommands> schemaCommands;
+
+    // Compiled statements, by their SQL, least recently used first.
+    private final Map<String, SQLiteStatement> compiledStatements;
+
     /**
      * Default constructor.
      */
@@ -72,8 +100,37 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     SQLiteCommandFactory(
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
             @Nullable SQLiteDatabase databaseConnectionHandle) {
+        this(modelSchemaRegistry, databaseConnectionHandle, StorageTemporalEncoding.TEXT);
+    }
+
+    /**
+     * Constructor with databaseConnectionHandle, for a database which encodes temporal values
+     * as configured.
+     * @param databaseConnectionHandle connection to a SQLiteDatabase.
+     * @param temporalEncoding encoding of temporal values in the database.
+     */
+    SQLiteCommandFactory(
+            @NonNull ModelSchemaRegistry modelSchemaRegistry,
+            @Nullable SQLiteDatabase databaseConnectionHandle,
+            @NonNull StorageTemporalEncoding temporalEncoding) {
         this.modelSchemaRegistry = Objects.requireNonNull(modelSchemaRegistry);
+        this.temporalEncoding = Objects.requireNonNull(temporalEncoding);
         this.databaseConnectionHandle = databaseConnectionHandle;
+        this.schemaCommands = new ConcurrentHashMap<>();
+        this.compiledStatements = new LinkedHashMap<String, SQLiteStatement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            // An evicted statement is closed. A command which is still using it holds a reference of
+            // its own, so the statement is only released once that reference is released too.
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SQLiteStatement> eldest) {
+                if (size() <= COMPILED_STATEMENT_CACHE_SIZE) {
+                    return false;
+                }
+                eldest.getValue().close();
+                return true;
+            }
+        };
     }
 
     /**
@@ -151,72 +208,50 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public SqlCommand queryFor(@NonNull ModelSchema modelSchema,
                                @NonNull QueryOptions options) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final String tableName = table.getName();
-        StringBuilder rawQuery = new StringBuilder();
-        StringBuilder selectColumns = new StringBuilder();
-        StringBuilder joinStatement = new StringBuilder();
+        final SchemaCommands commands = commandsFor(modelSchema);
+        final String tableName = commands.table.getName();
+        final StringBuilder rawQuery = new StringBuilder(commands.select);
         final List<Object> bindings = new ArrayList<>();
-
-        // Track the list of columns to return
-        List<SQLiteColumn> columns = new LinkedList<>(table.getSortedColumns());
-
-        // Joins the foreign keys
-        recursivelyBuildJoins(table, columns, joinStatement);
-
-        // Convert columns to comma-separated column names
-        Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final SQLiteColumn column = columnsIterator.next();
-            selectColumns.append(column.getQuotedColumnName());
-
-            // Alias primary keys to avoid duplicate column names
-            selectColumns.append(SqlKeyword.DELIMITER)
-                    .append(SqlKeyword.AS)
-                    .append(SqlKeyword.DELIMITER)
-                    .append(Wrap.inBackticks(column.getAliasedName()));
-
-            if (columnsIterator.hasNext()) {
-                selectColumns.append(",").append(SqlKeyword.DELIMITER);
-            }
-        }
-
-        // Start SELECT statement.
-        // SELECT columns FROM tableName
-        rawQuery.append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append(selectColumns.toString())
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.FROM)
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(tableName));
-
-        // Append join statements.
-        // INNER JOIN tableOne ON tableName.id=tableOne.foreignKey
-        // LEFT JOIN tableTwo ON tableName.id=tableTwo.foreignKey
-        if (!joinStatement.toString().isEmpty()) {
-            rawQuery.append(SqlKeyword.DELIMITER)
-                    .append(joinStatement.toString());
-        }
+        final List<QuerySortBy> sortByList = options.getSortBy();
+        final QueryPaginationInput paginationInput = options.getPaginationInput();
+        final boolean keyset = paginationInput != null && paginationInput.isKeyset();
+        final String continuationToken = keyset ? paginationInput.getContinuationToken() : null;
 
         // Append predicates.
         // WHERE condition
         final QueryPredicate predicate = options.getQueryPredicate();
-        if (!QueryPredicates.all().equals(predicate)) {
-            final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
-            bindings.addAll(sqlPredicate.getBindings());
+        final boolean hasPredicate = !QueryPredicates.all().equals(predicate);
+        if (hasPredicate || continuationToken != null) {
             rawQuery.append(SqlKeyword.DELIMITER)
                     .append(SqlKeyword.WHERE)
-                    .append(SqlKeyword.DELIMITER)
-                    .append(sqlPredicate);
+                    .append(SqlKeyword.DELIMITER);
+        }
+        if (hasPredicate) {
+            final SQLPredicate sqlPredicate = sqlPredicateFor(modelSchema, predicate);
+            bindings.addAll(sqlPredicate.getBindings());
+            if (continuationToken != null) {
+                rawQuery.append("(")
+                        .append(sqlPredicate)
+                        .append(")")
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.AND)
+                        .append(SqlKeyword.DELIMITER);
+            } else {
+                rawQuery.append(sqlPredicate);
+            }
+        }
+        if (continuationToken != null) {
+            appendSeek(rawQuery, bindings, modelSchema, commands.table, sortByList, continuationToken);
         }
 
-        // Append order by
-        final List<QuerySortBy> sortByList = options.getSortBy();
-        if (sortByList != null) {
+        // Append order by. Keyset pagination needs a total order, so the primary key
+        // breaks ties between rows with the same sort keys.
+        if (sortByList != null || keyset) {
             rawQuery.append(SqlKeyword.DELIMITER)
                     .append(SqlKeyword.ORDER_BY)
                     .append(SqlKeyword.DELIMITER);
+        }
+        if (sortByList != null) {
             Iterator<QuerySortBy> sortByIterator = sortByList.iterator();
             while (sortByIterator.hasNext()) {
                 final QuerySortBy sortBy = sortByIterator.next();
@@ -230,31 +265,183 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
                         .append(SqlKeyword.DELIMITER)
                         .append(SqlKeyword.fromQuerySortOrder(sortBy.getSortOrder()));
 
-                if (sortByIterator.hasNext()) {
+                if (sortByIterator.hasNext() || keyset) {
                     rawQuery.append(",")
                             .append(SqlKeyword.DELIMITER);
                 }
             }
         }
+        if (keyset) {
+            rawQuery.append(commands.table.getPrimaryKeyColumnName())
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.ASC);
+        }
 
-        // Append pagination after order by
-        final QueryPaginationInput paginationInput = options.getPaginationInput();
+        // Append pagination after order by. A keyset page starts where the seek condition
+        // does, so it has no offset.
         if (paginationInput != null) {
             rawQuery.append(SqlKeyword.DELIMITER)
                 .append(SqlKeyword.LIMIT)
                 .append(SqlKeyword.DELIMITER)
-                .append("?")
-                .append(SqlKeyword.DELIMITER)
+                .append("?");
+            bindings.add(paginationInput.getLimit());
+        }
+        if (paginationInput != null && !keyset) {
+            rawQuery.append(SqlKeyword.DELIMITER)
                 .append(SqlKeyword.OFFSET)
                 .append(SqlKeyword.DELIMITER)
                 .append("?");
-            bindings.add(paginationInput.getLimit());
             bindings.add(paginationInput.getPage() * paginationInput.getLimit());
         }
 
         rawQuery.append(";");
         final String queryString = rawQuery.toString();
-        return new SqlCommand(table.getName(), queryString, columns, bindings);
+        return new SqlCommand(tableName, queryString, commands.selectColumns, bindings);
+    }
+
+    /**
+     * Appends the condition of a keyset page: that a row comes after the row of the continuation
+     * token, in the order of the sort keys and then of the primary key. Older versions of SQLite
+     * can not compare row values, so {@code (a, b) > (?, ?)} is expanded to
+     * {@code a > ? OR (a = ? AND b > ?)}, with nulls first in ascending order and last in
+     * descending order, as SQLite sorts them. The first key is also bounded on its own, so that
+     * SQLite can range-scan an index on it.
+     */
+    private void appendSeek(
+            StringBuilder rawQuery,
+            List<Object> bindings,
+            ModelSchema modelSchema,
+            SQLiteTable table,
+            @Nullable List<QuerySortBy> sortByList,
+            String continuationToken) throws DataStoreException {
+        final ContinuationToken token;
+        try {
+            token = ContinuationToken.parse(continuationToken);
+        } catch (IllegalArgumentException malformed) {
+            throw new DataStoreException("Failed to read the continuation token of a keyset page.", malformed,
+                "Pass the token made by ContinuationToken.of() from the last item of the previous page.");
+        }
+        final List<QuerySortBy> sortBys = sortByList != null ? sortByList : Collections.emptyList();
+        if (token.getSortKeyValues().size() != sortBys.size()) {
+            throw new DataStoreException("The continuation token was made for a query with a different sort order.",
+                "Query the next page with the same sort order as the page whose last item made the token.");
+        }
+
+        final List<String> columns = new ArrayList<>();
+        final List<Boolean> descending = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        for (int index = 0; index < sortBys.size(); index++) {
+            final QuerySortBy sortBy = sortBys.get(index);
+            if (sortBy.getModelName() != null && !sortBy.getModelName().equals(table.getName())) {
+                throw new DataStoreException("Keyset pagination can not sort by a field of " +
+                    sortBy.getModelName() + ".", "Sort only by fields of " + table.getName() + ".");
+            }
+            final ModelField field = modelSchema.getFields().get(sortBy.getField());
+            if (field == null) {
+                throw new DataStoreException(table.getName() + " has no field named " + sortBy.getField() + ".",
+                    "Sort only by fields of " + table.getName() + ".");
+            }
+            columns.add(Wrap.inBackticks(table.getName()) + "." + Wrap.inBackticks(sortBy.getField()));
+            descending.add(QuerySortOrder.DESCENDING.equals(sortBy.getSortOrder()));
+            values.add(SQLiteModelFieldTypeConverter.convertRawValueToTarget(token.getSortKeyValues().get(index),
+                TypeConverter.getJavaFieldType(field), GsonFactory.instance(), temporalEncoding));
+        }
+        columns.add(table.getPrimaryKeyColumnName());
+        descending.add(false);
+        values.add(token.getId());
+
+        rawQuery.append("(");
+        if (columns.size() > 1 && !descending.get(0) && values.get(0) != null) {
+            rawQuery.append(columns.get(0))
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.GREATER_OR_EQUAL)
+                    .append(SqlKeyword.DELIMITER)
+                    .append("?")
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.AND)
+                    .append(SqlKeyword.DELIMITER);
+            bindings.add(values.get(0));
+        }
+        rawQuery.append("(");
+        boolean firstTerm = true;
+        for (int index = 0; index < columns.size(); index++) {
+            final Object value = values.get(index);
+            // Nothing comes after a null in descending order.
+            if (descending.get(index) && value == null) {
+                continue;
+            }
+            if (!firstTerm) {
+                rawQuery.append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.OR)
+                        .append(SqlKeyword.DELIMITER);
+            }
+            firstTerm = false;
+            rawQuery.append("(");
+            for (int prefix = 0; prefix < index; prefix++) {
+                rawQuery.append(columns.get(prefix)).append(SqlKeyword.DELIMITER);
+                if (values.get(prefix) == null) {
+                    rawQuery.append(SqlKeyword.IS_NULL);
+                } else {
+                    rawQuery.append(SqlKeyword.EQUAL).append(SqlKeyword.DELIMITER).append("?");
+                    bindings.add(values.get(prefix));
+                }
+                rawQuery.append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.AND)
+                        .append(SqlKeyword.DELIMITER);
+            }
+            final String column = columns.get(index);
+            if (value == null) {
+                rawQuery.append(column).append(SqlKeyword.DELIMITER).append(SqlKeyword.IS_NOT_NULL);
+            } else if (descending.get(index)) {
+                rawQuery.append("(")
+                        .append(column)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.LESS_THAN)
+                        .append(SqlKeyword.DELIMITER)
+                        .append("?")
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.OR)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(column)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.IS_NULL)
+                        .append(")");
+                bindings.add(value);
+            } else {
+                rawQuery.append(column)
+                        .append(SqlKeyword.DELIMITER)
+                        .append(SqlKeyword.GREATER_THAN)
+                        .append(SqlKeyword.DELIMITER)
+                        .append("?");
+                bindings.add(value);
+            }
+            rawQuery.append(")");
+        }
+        rawQuery.append("))");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This method should be invoked from a worker thread and not from the main thread
+     * as this method calls {@link SQLiteDatabase#compileStatement(String)}.
+     */
+    @NonNull
+    @WorkerThread
+    @Override
+    public SqlCommand existsFor(@NonNull ModelSchema modelSchema,
+                                @NonNull QueryPredicate predicate) throws DataStoreException {
+        final SchemaCommands commands = commandsFor(modelSchema);
+        final SQLPredicate sqlPredicate = sqlPredicateFor(modelSchema, predicate);
+
+        final String preparedExistsStatement = commands.existsWhere + sqlPredicate + ");";
+        final SQLiteStatement compiledExistsStatement = compile(preparedExistsStatement);
+        return new SqlCommand(commands.table.getName(),
+                preparedExistsStatement,
+                Collections.emptyList(),
+                sqlPredicate.getBindings(),
+                compiledExistsStatement
+        );
     }
 
     /**
@@ -267,41 +454,9 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @WorkerThread
     @Override
     public SqlCommand insertFor(@NonNull ModelSchema modelSchema) {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("INSERT INTO")
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(table.getName()))
-                .append(SqlKeyword.DELIMITER)
-                .append("(");
-        final List<SQLiteColumn> columns = table.getSortedColumns();
-        final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final String columnName = columnsIterator.next().getName();
-            stringBuilder.append(Wrap.inBackticks(columnName));
-            if (columnsIterator.hasNext()) {
-                stringBuilder.append(",").append(SqlKeyword.DELIMITER);
-            }
-        }
-        stringBuilder.append(")")
-                .append(SqlKeyword.DELIMITER)
-                .append("VALUES")
-                .append(SqlKeyword.DELIMITER)
-                .append("(");
-        for (int i = 0; i < columns.size(); i++) {
-            if (i == columns.size() - 1) {
-                stringBuilder.append("?");
-            } else {
-                stringBuilder.append("?, ");
-            }
-        }
-        stringBuilder.append(")");
-        final String preparedInsertStatement = stringBuilder.toString();
-        final SQLiteStatement compiledInsertStatement =
-                databaseConnectionHandle == null ?
-                null : databaseConnectionHandle.compileStatement(preparedInsertStatement);
-        return new SqlCommand(table.getName(), preparedInsertStatement, columns,
-                Collections.emptyList(), compiledInsertStatement);
+        final SchemaCommands commands = commandsFor(modelSchema);
+        return new SqlCommand(commands.table.getName(), commands.insert, commands.table.getSortedColumns(),
+                Collections.emptyList(), compile(commands.insert));
     }
 
     /**
@@ -315,47 +470,13 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public SqlCommand updateFor(@NonNull ModelSchema modelSchema,
                                 @NonNull QueryPredicate predicate) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("UPDATE")
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(table.getName()))
-                .append(SqlKeyword.DELIMITER)
-                .append("SET")
-                .append(SqlKeyword.DELIMITER);
-
-        // Previously, we figured out the correct column names from the model schema.
-        // Instead of figuring out the correct column names again, just iterate
-        // over whatever is actually there (since it was "right".)
-        final List<SQLiteColumn> columns = table.getSortedColumns();
-        final Iterator<SQLiteColumn> columnsIterator = columns.iterator();
-        while (columnsIterator.hasNext()) {
-            final String columnName = columnsIterator.next().getName();
-            stringBuilder.append(Wrap.inBackticks(columnName))
-                    .append(SqlKeyword.DELIMITER)
-                    .append(SqlKeyword.EQUAL)
-                    .append(SqlKeyword.DELIMITER)
-                    .append("?");
-            if (columnsIterator.hasNext()) {
-                stringBuilder.append(", ");
-            }
-        }
-
-        // Append WHERE statement
-        SQLPredicate sqlPredicate = new SQLPredicate(predicate);
-        stringBuilder.append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.WHERE)
-                .append(SqlKeyword.DELIMITER)
-                .append(sqlPredicate)
-                .append(";");
-
-        final String preparedUpdateStatement = stringBuilder.toString();
-        final SQLiteStatement compiledUpdateStatement =
-                databaseConnectionHandle == null ?
-                null : databaseConnectionHandle.compileStatement(preparedUpdateStatement);
-        return new SqlCommand(table.getName(),
+        final SchemaCommands commands = commandsFor(modelSchema);
+        final SQLPredicate sqlPredicate = sqlPredicateFor(modelSchema, predicate);
+        final String preparedUpdateStatement = commands.updateWhere + sqlPredicate + ";";
+        final SQLiteStatement compiledUpdateStatement = compile(preparedUpdateStatement);
+        return new SqlCommand(commands.table.getName(),
                 preparedUpdateStatement,
-                columns,
+                commands.table.getSortedColumns(),
                 sqlPredicate.getBindings(),
                 compiledUpdateStatement
         );
@@ -368,22 +489,12 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     @Override
     public SqlCommand deleteFor(@NonNull ModelSchema modelSchema,
                                 @NonNull QueryPredicate predicate) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+        final SchemaCommands commands = commandsFor(modelSchema);
+        final SQLPredicate sqlPredicate = sqlPredicateFor(modelSchema, predicate);
 
-        final String preparedDeleteStatement =
-                "DELETE FROM" +
-                SqlKeyword.DELIMITER +
-                Wrap.inBackticks(table.getName()) +
-                SqlKeyword.DELIMITER +
-                SqlKeyword.WHERE +
-                SqlKeyword.DELIMITER +
-                sqlPredicate +
-                ";";
-        final SQLiteStatement compiledDeleteStatement =
-                databaseConnectionHandle == null ?
-                null : databaseConnectionHandle.compileStatement(preparedDeleteStatement);
-        return new SqlCommand(table.getName(),
+        final String preparedDeleteStatement = commands.deleteWhere + sqlPredicate + ";";
+        final SQLiteStatement compiledDeleteStatement = compile(preparedDeleteStatement);
+        return new SqlCommand(commands.table.getName(),
                 preparedDeleteStatement,
                 Collections.emptyList(),
                 sqlPredicate.getBindings(),
@@ -391,6 +502,150 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        synchronized (compiledStatements) {
+            for (SQLiteStatement statement : compiledStatements.values()) {
+                statement.close();
+            }
+            compiledStatements.clear();
+        }
+    }
+
+    private SQLPredicate sqlPredicateFor(ModelSchema modelSchema, QueryPredicate predicate) throws DataStoreException {
+        return new SQLPredicate(predicate, modelSchema, modelSchemaRegistry, temporalEncoding);
+    }
+
+    private SchemaCommands commandsFor(ModelSchema modelSchema) {
+        SchemaCommands commands = schemaCommands.get(modelSchema.getName());
+        if (commands == null) {
+            commands = buildCommandsFor(modelSchema);
+            schemaCommands.put(modelSchema.getName(), commands);
+        }
+        return commands;
+    }
+
+    /*
+     * Compiled statements are shared by every command with the same SQL. A SQLiteStatement
+     * holds its bindings, so the caller must bind and execute it without interleaving with
+     * another user of the same statement. Once more than COMPILED_STATEMENT_CACHE_SIZE other
+     * statements have been compiled, the statement may be evicted and closed; a caller which
+     * keeps it for longer than that must hold a reference of its own, with
+     * SQLiteStatement#acquireReference().
+     */
+    @Nullable
+    private SQLiteStatement compile(String sql) {
+        if (databaseConnectionHandle == null) {
+            return null;
+        }
+        synchronized (compiledStatements) {
+            SQLiteStatement statement = compiledStatements.get(sql);
+            if (statement == null) {
+                statement = databaseConnectionHandle.compileStatement(sql);
+                compiledStatements.put(sql, statement);
+            }
+            return statement;
+        }
+    }
+
+    private SchemaCommands buildCommandsFor(ModelSchema modelSchema) {
+        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final String tableName = Wrap.inBackticks(table.getName());
+
+        // SELECT columns FROM tableName
+        // INNER JOIN tableOne ON tableName.id=tableOne.foreignKey
+        // LEFT JOIN tableTwo ON tableName.id=tableTwo.foreignKey
+        final List<SQLiteColumn> selectColumns = new LinkedList<>(table.getSortedColumns());
+        final StringBuilder joinStatement = new StringBuilder();
+        recursivelyBuildJoins(table, selectColumns, joinStatement);
+        final StringBuilder select = new StringBuilder()
+                .append(SqlKeyword.SELECT)
+                .append(SqlKeyword.DELIMITER);
+        final Iterator<SQLiteColumn> selectIterator = selectColumns.iterator();
+        while (selectIterator.hasNext()) {
+            final SQLiteColumn column = selectIterator.next();
+            // Alias primary keys to avoid duplicate column names
+            select.append(column.getQuotedColumnName())
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.AS)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(Wrap.inBackticks(column.getAliasedName()));
+            if (selectIterator.hasNext()) {
+                select.append(",").append(SqlKeyword.DELIMITER);
+            }
+        }
+        select.append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.FROM)
+                .append(SqlKeyword.DELIMITER)
+                .append(tableName);
+        if (joinStatement.length() > 0) {
+            select.append(SqlKeyword.DELIMITER).append(joinStatement);
+        }
+
+        // INSERT INTO tableName (columns) VALUES (?, ?)
+        // UPDATE tableName SET column = ?, column = ? WHERE
+        final StringBuilder insert = new StringBuilder()
+                .append("INSERT INTO")
+                .append(SqlKeyword.DELIMITER)
+                .append(tableName)
+                .append(SqlKeyword.DELIMITER)
+                .append("(");
+        final StringBuilder values = new StringBuilder();
+        final StringBuilder update = new StringBuilder()
+                .append("UPDATE")
+                .append(SqlKeyword.DELIMITER)
+                .append(tableName)
+                .append(SqlKeyword.DELIMITER)
+                .append("SET")
+                .append(SqlKeyword.DELIMITER);
+        final Iterator<SQLiteColumn> columnsIterator = table.getSortedColumns().iterator();
+        while (columnsIterator.hasNext()) {
+            final String columnName = Wrap.inBackticks(columnsIterator.next().getName());
+            insert.append(columnName);
+            values.append("?");
+            update.append(columnName)
+                    .append(SqlKeyword.DELIMITER)
+                    .append(SqlKeyword.EQUAL)
+                    .append(SqlKeyword.DELIMITER)
+                    .append("?");
+            if (columnsIterator.hasNext()) {
+                insert.append(",").append(SqlKeyword.DELIMITER);
+                values.append(", ");
+                update.append(", ");
+            }
+        }
+        insert.append(")")
+                .append(SqlKeyword.DELIMITER)
+                .append("VALUES")
+                .append(SqlKeyword.DELIMITER)
+                .append("(")
+                .append(values)
+                .append(")");
+        update.append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.WHERE)
+                .append(SqlKeyword.DELIMITER);
+
+        final String delete = "DELETE FROM" +
+                SqlKeyword.DELIMITER +
+                tableName +
+                SqlKeyword.DELIMITER +
+                SqlKeyword.WHERE +
+                SqlKeyword.DELIMITER;
+        final String exists = "SELECT EXISTS(SELECT 1" +
+                SqlKeyword.DELIMITER +
+                SqlKeyword.FROM +
+                SqlKeyword.DELIMITER +
+                tableName +
+                SqlKeyword.DELIMITER +
+                SqlKeyword.WHERE +
+                SqlKeyword.DELIMITER;
+        return new SchemaCommands(table, Immutable.of(selectColumns), select.toString(),
+                insert.toString(), update.toString(), delete, exists);
+    }
+
     /**
      * Recursively build joins for multilevel nested joins.
      *
@@ -486,4 +741,29 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
         }
         return builder;
     }
+
+    /**
+     * The parts of the commands for a model which depend only on its schema. The statements
+     * which take a predicate end just before it.
+     */
+    private static final class SchemaCommands {
+        private final SQLiteTable table;
+        private final List<SQLiteColumn> selectColumns;
+        private final String select;
+        private final String insert;
+        private final String updateWhere;
+        private final String deleteWhere;
+        private final String existsWhere;
+
+        SchemaCommands(SQLiteTable table, List<SQLiteColumn> selectColumns, String select,
+                       String insert, String updateWhere, String deleteWhere, String existsWhere) {
+            this.table = table;
+            this.selectColumns = selectColumns;
+            this.select = select;
+            this.insert = insert;
+            this.updateWhere = updateWhere;
+            this.deleteWhere = deleteWhere;
+            this.existsWhere = existsWhere;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.async.CancelableIterator;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A {@link CancelableIterator} that builds each model from a SQLite {@link Cursor}
+ * only when it is requested. At most one cursor window of rows is held in memory
+ * at a time. The cursor is closed as soon as the last row has been read, when
+ * a row fails to be read, or when the iterator is canceled.
+ * @param <T> Type of model being read
+ */
+final class SQLiteCursorIterator<T extends Model> implements CancelableIterator<T> {
+    private final Cursor cursor;
+    private final SQLiteModelMaterializer.RowReader<T> rowReader;
+    private boolean hasRow;
+
+    private SQLiteCursorIterator(Cursor cursor, SQLiteModelMaterializer.RowReader<T> rowReader, boolean hasRow) {
+        this.cursor = cursor;
+        this.rowReader = rowReader;
+        this.hasRow = hasRow;
+    }
+
+    /**
+     * Creates an iterator over the rows of a freshly-opened cursor. The cursor is
+     * moved to its first row, so that the query is executed by the calling thread.
+     * The iterator takes ownership of the cursor.
+     * @param cursor A cursor which has not yet been moved
+     * @param materializer Materializer for the queried model
+     * @param <T> Type of model being read
+     * @return An iterator over the cursor's rows
+     * @throws DataStoreException If the cursor does not contain the model's columns
+     */
+    @NonNull
+    static <T extends Model> SQLiteCursorIterator<T> create(
+            @NonNull Cursor cursor,
+            @NonNull SQLiteModelMaterializer<T> materializer) throws DataStoreException {
+        Objects.requireNonNull(cursor);
+        Objects.requireNonNull(materializer);
+        try {
+            boolean hasRow = cursor.moveToFirst();
+            if (!hasRow) {
+                cursor.close();
+                return new SQLiteCursorIterator<>(cursor, null, false);
+            }
+            return new SQLiteCursorIterator<>(cursor, materializer.bind(cursor), true);
+        } catch (DataStoreException | RuntimeException failure) {
+            cursor.close();
+            throw failure;
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        return hasRow;
+    }
+
+    @Override
+    public synchronized T next() {
+        if (!hasRow) {
+            throw new NoSuchElementException("No more rows to read from the cursor.");
+        }
+        try {
+            T model = rowReader.read(cursor);
+            hasRow = cursor.moveToNext();
+            if (!hasRow) {
+                cursor.close();
+            }
+            return model;
+        } catch (DataStoreException | RuntimeException failure) {
+            cancel();
+            throw new IllegalStateException("Failed to read the next row from the cursor.", failure);
+        }
+    }
+
+    @Override
+    public synchronized void cancel() {
+        hasRow = false;
+        if (!cursor.isClosed()) {
+            cursor.close();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.temporal.Temporal;
 import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.model.ModelFieldTypeConverter;
@@ -54,21 +55,25 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
     private final ModelSchema parentSchema;
     private final ModelSchemaRegistry modelSchemaRegistry;
     private final Gson gson;
+    private final StorageTemporalEncoding temporalEncoding;
     private final Map<String, SQLiteColumn> columns;
 
     SQLiteModelFieldTypeConverter(
             @NonNull ModelSchema parentSchema,
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
-            @NonNull Gson gson
+            @NonNull Gson gson,
+            @NonNull StorageTemporalEncoding temporalEncoding
     ) {
         this.parentSchema = Objects.requireNonNull(parentSchema);
         this.modelSchemaRegistry = Objects.requireNonNull(modelSchemaRegistry);
         this.gson = Objects.requireNonNull(gson);
+        this.temporalEncoding = Objects.requireNonNull(temporalEncoding);
         this.columns = SQLiteTable.fromSchema(parentSchema).getColumns();
     }
 
     /**
      * Helper that converts a given value to a {@code fieldType} to the correct SQLite type.
+     * Temporal values are converted to text.
      *
      * @param value the field value
      * @param fieldType the field type as a enum
@@ -80,12 +85,50 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
             @Nullable final Object value,
             @NonNull final JavaFieldType fieldType,
             @NonNull Gson gson
+    ) {
+        return convertRawValueToTarget(value, fieldType, gson, StorageTemporalEncoding.TEXT);
+    }
+
+    /**
+     * Helper that converts a given value to a {@code fieldType} to the correct SQLite type.
+     * Dates, date-times and times are converted to text or to a sortable {@code byte[]},
+     * depending on the temporal encoding of the local store.
+     *
+     * @param value the field value
+     * @param fieldType the field type as a enum
+     * @param gson an optional {@code Gson} instance
+     * @param temporalEncoding the encoding of temporal values in the local store
+     * @return the converted value
+     * @see #convertValueFromSource(Cursor, ModelField)
+     */
+    public static Object convertRawValueToTarget(
+            @Nullable final Object value,
+            @NonNull final JavaFieldType fieldType,
+            @NonNull Gson gson,
+            @NonNull StorageTemporalEncoding temporalEncoding
     ) {
         if (value == null) {
             return null;
         }
         Objects.requireNonNull(fieldType);
         Objects.requireNonNull(gson);
+        Objects.requireNonNull(temporalEncoding);
+
+        if (StorageTemporalEncoding.SORTABLE_BINARY.equals(temporalEncoding)) {
+            switch (fieldType) {
+                case DATE:
+                    return SortableTemporalCodec.encode(
+                        value instanceof String ? new Temporal.Date((String) value) : value);
+                case DATE_TIME:
+                    return SortableTemporalCodec.encode(
+                        value instanceof String ? new Temporal.DateTime((String) value) : value);
+                case TIME:
+                    return SortableTemporalCodec.encode(
+                        value instanceof String ? new Temporal.Time((String) value) : value);
+                default:
+                    break;
+            }
+        }
 
         switch (fieldType) {
             case INTEGER:
@@ -152,10 +195,12 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
                 return null;
             }
 
-            final String valueAsString = cursor.getString(columnIndex);
+            // Temporal values are BLOBs in the sortable binary encoding, which can not be read as a String.
+            final boolean isBlob = cursor.getType(columnIndex) == Cursor.FIELD_TYPE_BLOB;
+            final String valueAsString = isBlob ? null : cursor.getString(columnIndex);
             LOGGER.verbose(String.format(
                     "Attempt to convert value \"%s\" from field %s of type %s in model %s",
-                    valueAsString, field.getName(), field.getTargetType(), parentSchema.getName()
+                    isBlob ? "<blob>" : valueAsString, field.getName(), field.getTargetType(), parentSchema.getName()
             ));
 
             switch (javaFieldType) {
@@ -178,11 +223,14 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
                 case LONG:
                     return cursor.getLong(columnIndex);
                 case DATE:
-                    return new Temporal.Date(valueAsString);
+                    return isBlob ? SortableTemporalCodec.decodeDate(cursor.getBlob(columnIndex))
+                        : new Temporal.Date(valueAsString);
                 case DATE_TIME:
-                    return new Temporal.DateTime(valueAsString);
+                    return isBlob ? SortableTemporalCodec.decodeDateTime(cursor.getBlob(columnIndex))
+                        : new Temporal.DateTime(valueAsString);
                 case TIME:
-                    return new Temporal.Time(valueAsString);
+                    return isBlob ? SortableTemporalCodec.decodeTime(cursor.getBlob(columnIndex))
+                        : new Temporal.Time(valueAsString);
                 case TIMESTAMP:
                     return new Temporal.Timestamp(cursor.getLong(columnIndex), TimeUnit.SECONDS);
                 default:
@@ -207,7 +255,7 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
         ModelSchema innerModelSchema =
             modelSchemaRegistry.getModelSchemaForModelClass(field.getTargetType());
         SQLiteModelFieldTypeConverter nestedModelConverter =
-            new SQLiteModelFieldTypeConverter(innerModelSchema, modelSchemaRegistry, gson);
+            new SQLiteModelFieldTypeConverter(innerModelSchema, modelSchemaRegistry, gson, temporalEncoding);
         return nestedModelConverter.buildMapForModel(cursor);
     }
 
@@ -238,6 +286,6 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
             return null;
         }
         final JavaFieldType javaFieldType = TypeConverter.getJavaFieldType(field);
-        return convertRawValueToTarget(fieldValue, javaFieldType, gson);
+        return convertRawValueToTarget(fieldValue, javaFieldType, gson, temporalEncoding);
     }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
+import com.amplifyframework.util.FieldFinder;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds instances of a strongly-typed {@link Model} directly from the rows of a SQLite {@link Cursor}.
+ *
+ * Previously, each row was first converted into a {@link Map} by the {@link SQLiteModelFieldTypeConverter},
+ * then serialized to a JSON string and parsed back into the model class by Gson. This class performs
+ * the reflective lookups once per {@link ModelSchema}, binds the cursor column indexes once per query,
+ * and then assigns the converted column values straight onto a new model instance.
+ *
+ * Model instances are created by the {@link ModelInstantiator}, through the model's own constructor,
+ * and then have every field with a column assigned, so the resulting objects are equal to those
+ * produced by the old JSON round-trip.
+ *
+ * @param <T> Type of model being materialized
+ */
+final class SQLiteModelMaterializer<T extends Model> {
+    private final ModelSchema modelSchema;
+    private final ModelInstantiator<T> instantiator;
+    private final List<FieldBinding> fieldBindings;
+
+    private SQLiteModelMaterializer(
+            ModelSchema modelSchema,
+            ModelInstantiator<T> instantiator,
+            List<FieldBinding> fieldBindings) {
+        this.modelSchema = modelSchema;
+        this.instantiator = instantiator;
+        this.fieldBindings = fieldBindings;
+    }
+
+    /**
+     * Creates a materializer for a model class. The model class must be the one that is
+     * described by the provided schema.
+     * @param modelClass Class of model to build
+     * @param modelSchema Schema of the model
+     * @param modelSchemaRegistry Registry used to look up the schema of associated models
+     * @param gson Gson instance used to parse custom-type columns, which are stored as JSON
+     * @param <T> Type of model
+     * @return A materializer for the model class
+     * @throws DataStoreException If the model class can not be inspected
+     */
+    @NonNull
+    static <T extends Model> SQLiteModelMaterializer<T> create(
+            @NonNull Class<T> modelClass,
+            @NonNull ModelSchema modelSchema,
+            @NonNull ModelSchemaRegistry modelSchemaRegistry,
+            @NonNull Gson gson) throws DataStoreException {
+        Objects.requireNonNull(modelClass);
+        Objects.requireNonNull(modelSchema);
+        Objects.requireNonNull(modelSchemaRegistry);
+        Objects.requireNonNull(gson);
+
+        final Map<String, Field> javaFields = new HashMap<>();
+        for (Field javaField : FieldFinder.findModelFieldsIn(modelClass)) {
+            javaFields.put(javaField.getName(), javaField);
+        }
+
+        final Map<String, SQLiteColumn> columns = SQLiteTable.fromSchema(modelSchema).getColumns();
+        final List<FieldBinding> fieldBindings = new ArrayList<>();
+        for (ModelField modelField : modelSchema.getFields().values()) {
+            final SQLiteColumn column = columns.get(modelField.getName());
+            final Field javaField = javaFields.get(modelField.getName());
+            // Fields with no column (e.g. HasMany) are left unset, as they were with Gson.
+            if (column == null || javaField == null) {
+                continue;
+            }
+            fieldBindings.add(FieldBinding.create(column, modelField, javaField, modelSchemaRegistry, gson));
+        }
+
+        return new SQLiteModelMaterializer<>(
+            modelSchema, ModelInstantiator.of(modelClass), Collections.unmodifiableList(fieldBindings));
+    }
+
+    /**
+     * Resolves the column indexes of this model (and of any eagerly-joined associated models)
+     * against the provided cursor. The returned reader may be used for every row of the cursor.
+     * @param cursor A cursor returned by a query built from the {@link SQLCommandFactory}
+     * @return A reader that builds models out of the cursor's rows
+     * @throws DataStoreException If an expected column is missing from the cursor
+     */
+    @NonNull
+    RowReader<T> bind(@NonNull Cursor cursor) throws DataStoreException {
+        Objects.requireNonNull(cursor);
+        final int[] columnIndexes = new int[fieldBindings.size()];
+        final RowReader<?>[] nestedReaders = new RowReader<?>[fieldBindings.size()];
+        for (int position = 0; position < fieldBindings.size(); position++) {
+            FieldBinding fieldBinding = fieldBindings.get(position);
+            try {
+                columnIndexes[position] = cursor.getColumnIndexOrThrow(fieldBinding.columnAlias);
+            } catch (IllegalArgumentException missingColumn) {
+                throw new DataStoreException(
+                    "Column " + fieldBinding.columnAlias + " not found in query for " + modelSchema.getName(),
+                    missingColumn,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+            }
+            if (fieldBinding.nestedMaterializer != null) {
+                nestedReaders[position] = fieldBinding.nestedMaterializer.bind(cursor);
+            }
+        }
+        return new RowReader<>(this, columnIndexes, nestedReaders);
+    }
+
+    /**
+     * Reads the rows of a cursor into model instances, using column indexes
+     * that were resolved once, up-front.
+     * @param <T> Type of model being read
+     */
+    static final class RowReader<T extends Model> {
+        private final SQLiteModelMaterializer<T> materializer;
+        private final int[] columnIndexes;
+        private final RowReader<?>[] nestedReaders;
+
+        private RowReader(
+                SQLiteModelMaterializer<T> materializer,
+                int[] columnIndexes,
+                RowReader<?>[] nestedReaders) {
+            this.materializer = materializer;
+            this.columnIndexes = columnIndexes;
+            this.nestedReaders = nestedReaders;
+        }
+
+        /**
+         * Builds a model out of the row at the cursor's current position.
+         * @param cursor Cursor that was passed to {@link SQLiteModelMaterializer#bind(Cursor)}
+         * @return A model instance
+         * @throws DataStoreException If a column value can not be converted to its field type
+         */
+        @NonNull
+        T read(@NonNull Cursor cursor) throws DataStoreException {
+            final T model = materializer.instantiator.newInstance();
+            final List<FieldBinding> fieldBindings = materializer.fieldBindings;
+            for (int position = 0; position < columnIndexes.length; position++) {
+                final FieldBinding fieldBinding = fieldBindings.get(position);
+                try {
+                    final Object value = fieldBinding.isModel()
+                        ? readAssociatedModel(cursor, position)
+                        : fieldBinding.readValue(cursor, columnIndexes[position]);
+                    // Primitives are left at their default value, as Gson does for a null JSON value.
+                    if (value != null || !fieldBinding.javaField.getType().isPrimitive()) {
+                        fieldBinding.javaField.set(model, value);
+                    }
+                } catch (Exception exception) {
+                    throw new DataStoreException(
+                        String.format("Error converting field \"%s\" from model \"%s\"",
+                            fieldBinding.modelField.getName(), materializer.modelSchema.getName()),
+                        exception,
+                        AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                    );
+                }
+            }
+            return model;
+        }
+
+        private Object readAssociatedModel(Cursor cursor, int position) throws DataStoreException {
+            // The foreign key column is null when there is no associated model.
+            if (cursor.isNull(columnIndexes[position])) {
+                return null;
+            }
+            return nestedReaders[position].read(cursor);
+        }
+    }
+
+    /**
+     * Pre-resolved information needed to copy a single column value onto a model field.
+     */
+    private static final class FieldBinding {
+        private final String columnAlias;
+        private final ModelField modelField;
+        private final Field javaField;
+        private final JavaFieldType javaFieldType;
+        private final TypeAdapter<?> customTypeAdapter;
+        private final SQLiteModelMaterializer<?> nestedMaterializer;
+
+        private FieldBinding(
+                String columnAlias,
+                ModelField modelField,
+                Field javaField,
+                JavaFieldType javaFieldType,
+                TypeAdapter<?> customTypeAdapter,
+                SQLiteModelMaterializer<?> nestedMaterializer) {
+            this.columnAlias = columnAlias;
+            this.modelField = modelField;
+            this.javaField = javaField;
+            this.javaFieldType = javaFieldType;
+            this.customTypeAdapter = customTypeAdapter;
+            this.nestedMaterializer = nestedMaterializer;
+        }
+
+        @SuppressWarnings("unchecked")
+        static FieldBinding create(
+                SQLiteColumn column,
+                ModelField modelField,
+                Field javaField,
+                ModelSchemaRegistry modelSchemaRegistry,
+                Gson gson) throws DataStoreException {
+            javaField.setAccessible(true);
+            final JavaFieldType javaFieldType = TypeConverter.getJavaFieldType(modelField);
+            TypeAdapter<?> customTypeAdapter = null;
+            SQLiteModelMaterializer<?> nestedMaterializer = null;
+            if (JavaFieldType.CUSTOM_TYPE.equals(javaFieldType)) {
+                customTypeAdapter = gson.getAdapter(TypeToken.get(javaField.getGenericType()));
+            } else if (JavaFieldType.MODEL.equals(javaFieldType)) {
+                ModelSchema associatedSchema =
+                    modelSchemaRegistry.getModelSchemaForModelClass(modelField.getTargetType());
+                nestedMaterializer = SQLiteModelMaterializer.create(
+                    (Class<? extends Model>) javaField.getType(), associatedSchema, modelSchemaRegistry, gson);
+            }
+            return new FieldBinding(
+                column.getAliasedName(),
+                modelField,
+                javaField,
+                javaFieldType,
+                customTypeAdapter,
+                nestedMaterializer
+            );
+        }
+
+        boolean isModel() {
+            return nestedMaterializer != null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object readValue(Cursor cursor, int columnIndex) throws Exception {
+            // This check is necessary, because primitive values will return 0 even when null
+            if (cursor.isNull(columnIndex)) {
+                return null;
+            }
+            switch (javaFieldType) {
+                case STRING:
+                    return cursor.getString(columnIndex);
+                case ENUM:
+                    Class<Enum> enumClass = (Class<Enum>) javaField.getType();
+                    return Enum.valueOf(enumClass, cursor.getString(columnIndex));
+                case CUSTOM_TYPE:
+                    return customTypeAdapter.fromJson(cursor.getString(columnIndex));
+                case INTEGER:
+                    return cursor.getInt(columnIndex);
+                case BOOLEAN:
+                    return cursor.getInt(columnIndex) != 0;
+                case FLOAT:
+                    return cursor.getFloat(columnIndex);
+                case DOUBLE:
+                    return cursor.getDouble(columnIndex);
+                case LONG:
+                    return cursor.getLong(columnIndex);
+                case DATE:
+                    return cursor.getType(columnIndex) == Cursor.FIELD_TYPE_BLOB
+                        ? SortableTemporalCodec.decodeDate(cursor.getBlob(columnIndex))
+                        : new Temporal.Date(cursor.getString(columnIndex));
+                case DATE_TIME:
+                    return cursor.getType(columnIndex) == Cursor.FIELD_TYPE_BLOB
+                        ? SortableTemporalCodec.decodeDateTime(cursor.getBlob(columnIndex))
+                        : new Temporal.DateTime(cursor.getString(columnIndex));
+                case TIME:
+                    return cursor.getType(columnIndex) == Cursor.FIELD_TYPE_BLOB
+                        ? SortableTemporalCodec.decodeTime(cursor.getBlob(columnIndex))
+                        : new Temporal.Time(cursor.getString(columnIndex));
+                case TIMESTAMP:
+                    return new Temporal.Timestamp(cursor.getLong(columnIndex), TimeUnit.SECONDS);
+                default:
+                    return null;
+            }
+        }
+    }
+}
@@ -16,171 +16,203 @@
 package com.amplifyframework.datastore.storage.sqlite;
 
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelAssociation;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
-import com.amplifyframework.core.model.query.QueryOptions;
-import com.amplifyframework.core.model.query.Where;
-import com.amplifyframework.core.model.query.predicate.QueryField;
-import com.amplifyframework.core.model.query.predicate.QueryPredicate;
-import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.Empty;
-import com.amplifyframework.util.GsonFactory;
-
-import com.google.gson.Gson;
+import com.amplifyframework.util.Wrap;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
  * Utility class to help traverse a tree of models by relationship.
+ *
+ * The tree is walked one level at a time, with set-based SQL. The IDs of the models found so far
+ * are kept in a temporary table, and each level is found with one INSERT ... SELECT per association,
+ * which joins the child table to the IDs of the level above. So, the number of statements depends
+ * on the depth of the tree and the number of associations, and not on the number of models in it.
  */
 final class SQLiteModelTree {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final String TARGETS_TABLE = "temp.cascade_targets";
+    private static final String CREATE_TARGETS_TABLE = "CREATE TEMP TABLE IF NOT EXISTS cascade_targets (" +
+        "model TEXT NOT NULL, " +
+        "id TEXT NOT NULL, " +
+        "depth INTEGER NOT NULL, " +
+        "PRIMARY KEY (model, id))";
+    private static final String INSERT_ROOT = "INSERT OR IGNORE INTO " + TARGETS_TABLE +
+        " (model, id, depth) VALUES (?, ?, 0)";
+    private static final String SELECT_DESCENDANTS = "SELECT model, id FROM " + TARGETS_TABLE +
+        " WHERE depth > 0 ORDER BY rowid";
+    private static final String CLEAR_TARGETS = "DELETE FROM " + TARGETS_TABLE;
 
     private final ModelSchemaRegistry registry;
-    private final SQLCommandFactory commandFactory;
     private final SQLiteDatabase database;
-    private final Gson gson;
 
     /**
      * Constructs a model family tree traversing utility.
      * @param registry model registry to search schema from
-     * @param commandFactory SQL command factory
      * @param database SQLite database connection handle
      */
     SQLiteModelTree(ModelSchemaRegistry registry,
-                    SQLCommandFactory commandFactory,
                     SQLiteDatabase database) {
         this.registry = registry;
-        this.commandFactory = commandFactory;
         this.database = database;
-        this.gson = GsonFactory.instance();
     }
 
     /**
      * Returns a map of descendants of a set of models (of same type).
      * A model is a child of its parent if it uses its parent's ID as foreign key.
+     * This must be called from within a transaction, since the temporary table
+     * belongs to the connection which holds the transaction.
      * @param root Collection of models to query its descendants of.
      * @return List of models that are descendants of given models. These models will
      *          have the correct model type and ID, but no other field will be populated.
+     * @throws DataStoreException On failure to query the descendants
      */
-    <T extends Model> List<Model> descendantsOf(Collection<T> root) {
+    <T extends Model> List<Model> descendantsOf(Collection<T> root) throws DataStoreException {
         if (Empty.check(root)) {
             return new ArrayList<>();
         }
-        Map<ModelSchema, Set<String>> modelMap = new LinkedHashMap<>();
         Model rootModel = root.iterator().next();
         ModelSchema rootSchema = registry.getModelSchemaForModelClass(getModelName(rootModel));
-        Set<String> rootIds = new HashSet<>();
-        for (T model : root) {
-            rootIds.add(model.getId());
-        }
-        recurseTree(modelMap, rootSchema, rootIds);
+        boolean serialized = rootModel.getClass() == SerializedModel.class;
+        try {
+            database.execSQL(CREATE_TARGETS_TABLE);
+            database.execSQL(CLEAR_TARGETS);
+            try (SQLiteStatement insertRoot = database.compileStatement(INSERT_ROOT)) {
+                for (T model : root) {
+                    insertRoot.bindString(1, rootSchema.getName());
+                    insertRoot.bindString(2, model.getId());
+                    insertRoot.executeInsert();
+                }
+            }
+            collectDescendants(rootSchema);
 
-        List<Model> descendants = new ArrayList<>();
-        for (Map.Entry<ModelSchema, Set<String>> entry : modelMap.entrySet()) {
-            ModelSchema schema = entry.getKey();
-            for (String id : entry.getValue()) {
-                if (rootModel.getClass() == SerializedModel.class) {
-                    SerializedModel dummyItem = SerializedModel.builder()
-                            .serializedData(Collections.singletonMap("id", id))
-                            .modelSchema(schema)
-                            .build();
-                    descendants.add(dummyItem);
-                } else {
-                    // Create dummy model instance using just the ID and model type
-                    String dummyJson = gson.toJson(Collections.singletonMap("id", id));
-                    Model dummyItem = gson.fromJson(dummyJson, schema.getModelClass());
-                    descendants.add(dummyItem);
+            List<Model> descendants = new ArrayList<>();
+            try (Cursor cursor = database.rawQuery(SELECT_DESCENDANTS, null)) {
+                while (cursor.moveToNext()) {
+                    ModelSchema schema = registry.getModelSchemaForModelClass(cursor.getString(0));
+                    descendants.add(stubOf(schema, cursor.getString(1), serialized));
                 }
             }
+            return descendants;
+        } catch (SQLException sqlException) {
+            throw new DataStoreException(
+                "Failed to query descendants of deleted model(s).", sqlException,
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        } finally {
+            database.execSQL(CLEAR_TARGETS);
         }
-        return descendants;
     }
 
-    private void recurseTree(
-            Map<ModelSchema, Set<String>> map,
-            ModelSchema modelSchema,
-            Collection<String> parentIds
-    ) {
-        SQLiteTable parentTable = SQLiteTable.fromSchema(modelSchema);
-        final String parentTableName = parentTable.getName();
-        final String parentPrimaryKeyName = parentTable.getPrimaryKey().getName();
-        for (ModelAssociation association : modelSchema.getAssociations().values()) {
-            switch (association.getName()) {
-                case "HasOne":
-                case "HasMany":
-                    String childModel = association.getAssociatedType(); // model name
-                    ModelSchema childSchema = registry.getModelSchemaForModelClass(childModel);
-                    SQLiteTable childTable = SQLiteTable.fromSchema(childSchema);
-                    String childPrimaryKey = childTable.getPrimaryKey().getAliasedName();
-                    QueryField queryField = QueryField.field(parentTableName, parentPrimaryKeyName);
-
-                    // Chain predicates with OR operator.
-                    QueryPredicate predicate = QueryPredicates.none();
-                    for (String parentId : parentIds) {
-                        QueryPredicate operation = queryField.eq(parentId);
-                        predicate = predicate.or(operation);
+    // Adds each level of descendants to the targets table, until a level adds none.
+    private void collectDescendants(ModelSchema rootSchema) {
+        Set<ModelSchema> level = Collections.singleton(rootSchema);
+        int depth = 0;
+        while (!level.isEmpty()) {
+            Set<ModelSchema> nextLevel = new LinkedHashSet<>();
+            for (ModelSchema parentSchema : level) {
+                for (ModelAssociation association : parentSchema.getAssociations().values()) {
+                    switch (association.getName()) {
+                        case "HasOne":
+                        case "HasMany":
+                            ModelSchema childSchema =
+                                registry.getModelSchemaForModelClass(association.getAssociatedType());
+                            if (insertChildren(parentSchema, childSchema, association, depth) > 0) {
+                                nextLevel.add(childSchema);
+                            }
+                            break;
+                        case "BelongsTo":
+                        default:
+                            // Ignore other relationships
                     }
+                }
+            }
+            level = nextLevel;
+            depth++;
+        }
+    }
 
-                    // Collect every children one level deeper than current level
-                    // SELECT * FROM <CHILD_TABLE> WHERE <PARENT> = <ID_1> OR <PARENT> = <ID_2> OR ...
-                    QueryOptions options = Where.matches(predicate);
-                    Set<String> childrenIds = new HashSet<>();
-                    try (Cursor cursor = queryAll(childModel, options)) {
-                        if (cursor != null && cursor.moveToFirst()) {
-                            int index = cursor.getColumnIndexOrThrow(childPrimaryKey);
-                            do {
-                                childrenIds.add(cursor.getString(index));
-                            } while (cursor.moveToNext());
-                        }
-                    } catch (DataStoreException exception) {
-                        // Don't cut the search short. Populate rest of the tree.
-                        LOG.error("Failed to query children of deleted model(s).", exception);
-                    }
+    /*
+     * INSERT OR IGNORE INTO cascade_targets (model, id, depth)
+     * SELECT <CHILD>, <CHILD>.id, <DEPTH> + 1 FROM <CHILD>
+     * INNER JOIN cascade_targets ON <CHILD>.<FOREIGN_KEY> = cascade_targets.id
+     * WHERE cascade_targets.model = <PARENT> AND cascade_targets.depth = <DEPTH>
+     *
+     * A model which has already been found is ignored, so the walk ends even if the relationships loop.
+     */
+    private int insertChildren(ModelSchema parentSchema, ModelSchema childSchema,
+                               ModelAssociation association, int depth) {
+        SQLiteTable childTable = SQLiteTable.fromSchema(childSchema);
+        SQLiteColumn foreignKey = foreignKeyOf(childTable, parentSchema, association);
+        if (foreignKey == null) {
+            LOG.warn("No foreign key to " + parentSchema.getName() + " found in " + childSchema.getName());
+            return 0;
+        }
+        String sql = "INSERT OR IGNORE INTO " + TARGETS_TABLE + " (model, id, depth) " +
+            "SELECT ?, " + childTable.getPrimaryKey().getQuotedColumnName() + ", ? " +
+            "FROM " + Wrap.inBackticks(childTable.getName()) + " " +
+            "INNER JOIN " + TARGETS_TABLE + " ON " + foreignKey.getQuotedColumnName() + " = cascade_targets.id " +
+            "WHERE cascade_targets.model = ? AND cascade_targets.depth = ?";
+        try (SQLiteStatement statement = database.compileStatement(sql)) {
+            statement.bindString(1, childSchema.getName());
+            statement.bindLong(2, depth + 1);
+            statement.bindString(3, parentSchema.getName());
+            statement.bindLong(4, depth);
+            return statement.executeUpdateDelete();
+        }
+    }
 
-                    // Add queried result to the map
-                    if (!childrenIds.isEmpty()) {
-                        if (!map.containsKey(childSchema)) {
-                            map.put(childSchema, childrenIds);
-                        } else {
-                            map.get(childSchema).addAll(childrenIds);
-                        }
-                        recurseTree(map, childSchema, childrenIds);
-                    }
-                    break;
-                case "BelongsTo":
-                default:
-                    // Ignore other relationships
+    // The column of the child's table which holds the ID of its parent.
+    @Nullable
+    private static SQLiteColumn foreignKeyOf(SQLiteTable childTable, ModelSchema parentSchema,
+                                             ModelAssociation association) {
+        SQLiteColumn column = association.getAssociatedName() != null
+            ? childTable.getColumns().get(association.getAssociatedName())
+            : null;
+        if (column != null && column.isForeignKey()) {
+            return column;
+        }
+        for (SQLiteColumn foreignKey : childTable.getForeignKeys()) {
+            if (parentSchema.getName().equals(foreignKey.getOwnedType())) {
+                return foreignKey;
             }
         }
+        return null;
     }
 
-    private Cursor queryAll(
-            @NonNull String tableName,
-            @NonNull QueryOptions options
-    ) throws DataStoreException {
-        final ModelSchema schema = registry.getModelSchemaForModelClass(tableName);
-        final SqlCommand sqlCommand = commandFactory.queryFor(schema, options);
-        final String rawQuery = sqlCommand.sqlStatement();
-        final String[] bindings = sqlCommand.getBindingsAsArray();
-        return database.rawQuery(rawQuery, bindings);
+    // Builds a model which has only its ID set. It is a SerializedModel of the schema if the models
+    // being deleted are themselves serialized, or else an instance of the model class, created the
+    // same way as the models which are read from a query.
+    private Model stubOf(ModelSchema schema, String id, boolean serialized) throws DataStoreException {
+        if (serialized) {
+            return SerializedModel.builder()
+                .serializedData(Collections.singletonMap("id", id))
+                .modelSchema(schema)
+                .build();
+        }
+        return ModelInstantiator.of(schema.getModelClass()).newInstanceWithId(id);
     }
 
     private String getModelName(@NonNull Model model) {
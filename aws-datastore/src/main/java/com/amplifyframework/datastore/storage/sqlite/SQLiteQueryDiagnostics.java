@@ -0,0 +1,453 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.QuerySortBy;
+import com.amplifyframework.core.model.query.QuerySortOrder;
+import com.amplifyframework.core.model.query.predicate.QueryOperator;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageQueryDiagnostics;
+import com.amplifyframework.datastore.events.QueryDiagnosticsEvent;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.util.Wrap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diagnoses the queries of the local store. Queries with the same SQL, which differ only in the
+ * values bound to them, have one shape. The first time a shape is run, its plan is read with
+ * EXPLAIN QUERY PLAN, and a shape which scans a whole table or sorts in a temporary B-tree is
+ * logged. The rows read and the time taken by each run are added to the totals of its shape,
+ * which are published on the {@link HubChannel#DATASTORE} channel after the 1st, 2nd, 4th, 8th
+ * ... run.
+ *
+ * When indexes are created automatically, a shape which scans or sorts its table is indexed once
+ * it has been run {@link #AUTO_INDEX_EXECUTIONS} times. The index leads with the columns that the
+ * predicate compares for equality, followed by the sort columns or else by one range column, so
+ * that SQLite can both find and order the rows with it. The shape is then explained again, so
+ * that the event which reports the index carries the plan which uses it.
+ */
+final class SQLiteQueryDiagnostics {
+    /**
+     * The number of runs after which a shape that scans or sorts its table is indexed.
+     */
+    @VisibleForTesting
+    static final int AUTO_INDEX_EXECUTIONS = 20;
+
+    // Shapes beyond this number are not diagnosed, so that the totals take bounded memory.
+    private static final int MAX_SHAPES = 500;
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final String EXPLAIN_QUERY_PLAN = "EXPLAIN QUERY PLAN ";
+    private static final String TEMP_SORT = "USE TEMP B-TREE FOR ORDER BY";
+
+    private final SQLiteDatabase database;
+    private final Executor writer;
+    private final boolean autoIndex;
+    private final Map<String, QueryShape> shapes;
+
+    /**
+     * Constructs the diagnostics of a local store.
+     * @param database Connection to the local store
+     * @param writer Runs the statements which create indexes, with the other writes to the local store
+     * @param diagnostics Whether indexes are created, as well as queries diagnosed
+     */
+    SQLiteQueryDiagnostics(
+            @NonNull SQLiteDatabase database,
+            @NonNull Executor writer,
+            @NonNull StorageQueryDiagnostics diagnostics) {
+        this.database = Objects.requireNonNull(database);
+        this.writer = Objects.requireNonNull(writer);
+        this.autoIndex = StorageQueryDiagnostics.AUTO_INDEX.equals(Objects.requireNonNull(diagnostics));
+        this.shapes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Diagnoses a query which is being run, and wraps its cursor, so that the rows read and
+     * the time taken are recorded when the cursor is closed.
+     * @param modelSchema Schema of the queried model
+     * @param options Options of the query
+     * @param sql SQL of the query, without its bindings
+     * @param cursor Cursor over the results of the query
+     * @return A cursor which records the query when it is closed
+     */
+    @NonNull
+    Cursor track(@NonNull ModelSchema modelSchema,
+                 @NonNull QueryOptions options,
+                 @NonNull String sql,
+                 @NonNull Cursor cursor) {
+        QueryShape shape = shapes.get(sql);
+        if (shape == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                return cursor;
+            }
+            final QueryShape newShape = new QueryShape(modelSchema.getName(), sql);
+            shape = shapes.putIfAbsent(sql, newShape);
+            if (shape == null) {
+                shape = newShape;
+                explain(shape, modelSchema, options);
+            }
+        }
+        return new TrackedCursor(cursor, shape);
+    }
+
+    private void explain(QueryShape shape, ModelSchema modelSchema, QueryOptions options) {
+        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final QueryPlan plan = readPlan(shape.sql);
+        if (plan == null) {
+            return;
+        }
+        shape.fullScan = plan.fullScan;
+        shape.tempSort = plan.tempSort;
+        if (plan.scannedTables.contains(table.getName()) || plan.tempSort) {
+            shape.index = indexFor(table, modelSchema, options);
+        }
+        // Set last, since the rest of the diagnosis is read once the plan is seen.
+        shape.plan = plan.steps;
+        if (plan.fullScan || plan.tempSort) {
+            LOG.warn("Query of " + shape.model + (plan.fullScan ? " scans a whole table" : "") +
+                (plan.fullScan && plan.tempSort ? " and" : "") + (plan.tempSort ? " sorts without an index" : "") +
+                ": " + shape.sql + " Plan: " + plan.steps);
+        }
+    }
+
+    // Reads the plan of a shape, or returns null if it can not be explained.
+    @Nullable
+    private QueryPlan readPlan(String sql) {
+        final List<String> steps = new ArrayList<>();
+        final Set<String> scannedTables = new HashSet<>();
+        boolean tempSort = false;
+        // Unbound parameters are null. Without statistics on the values of columns, the plan
+        // does not depend on the values bound, so it is the plan of every run of the shape.
+        try (Cursor cursor = database.rawQuery(EXPLAIN_QUERY_PLAN + sql, null)) {
+            final int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                final String detail = cursor.getString(detailColumn);
+                steps.add(detail);
+                final String scanned = scannedTable(detail);
+                if (scanned != null) {
+                    scannedTables.add(scanned);
+                }
+                tempSort |= detail.contains(TEMP_SORT);
+            }
+        } catch (SQLException | IllegalArgumentException explainFailure) {
+            LOG.warn("Failed to explain the query plan of " + sql, explainFailure);
+            return null;
+        }
+        return new QueryPlan(Collections.unmodifiableList(steps), scannedTables, tempSort);
+    }
+
+    // Finds the table which a step of a plan reads every row of, if it does not use an index.
+    @Nullable
+    private static String scannedTable(String detail) {
+        final String scanned;
+        if (detail.startsWith("SCAN TABLE ")) {
+            scanned = detail.substring("SCAN TABLE ".length());
+        } else if (detail.startsWith("SCAN ")) {
+            scanned = detail.substring("SCAN ".length());
+        } else {
+            return null;
+        }
+        if (scanned.contains(" USING ") || scanned.startsWith("SUBQUERY") || scanned.startsWith("CONSTANT ROW")) {
+            return null;
+        }
+        final int end = scanned.indexOf(' ');
+        return end < 0 ? scanned : scanned.substring(0, end);
+    }
+
+    // Chooses the columns of an index for the shape of a query, or null if it compares or sorts
+    // by none of its table's own columns.
+    @Nullable
+    private static IndexRecommendation indexFor(SQLiteTable table, ModelSchema modelSchema, QueryOptions options) {
+        final List<QueryPredicateOperation<?>> conjuncts = new ArrayList<>();
+        collectConjuncts(options.getQueryPredicate(), conjuncts);
+        // Column name to whether it is descending, in index order.
+        final Map<String, Boolean> columns = new LinkedHashMap<>();
+        for (QueryPredicateOperation<?> operation : conjuncts) {
+            final String column = columnOf(table, modelSchema, operation.modelName(), operation.field());
+            if (column != null && QueryOperator.Type.EQUAL.equals(operation.operator().type())) {
+                columns.put(column, false);
+            }
+        }
+        final List<QuerySortBy> sortBy = options.getSortBy();
+        if (sortBy != null) {
+            for (QuerySortBy sort : sortBy) {
+                final String column = columnOf(table, modelSchema, sort.getModelName(), sort.getField());
+                if (column == null) {
+                    // A sort which the index can not serve in full is not served at all.
+                    break;
+                }
+                if (!columns.containsKey(column)) {
+                    columns.put(column, QuerySortOrder.DESCENDING.equals(sort.getSortOrder()));
+                }
+            }
+        } else {
+            for (QueryPredicateOperation<?> operation : conjuncts) {
+                final String column = columnOf(table, modelSchema, operation.modelName(), operation.field());
+                if (column != null && isRange(operation.operator().type())) {
+                    columns.put(column, false);
+                    break;
+                }
+            }
+        }
+        if (columns.isEmpty()) {
+            return null;
+        }
+        final StringBuilder name = new StringBuilder("auto_").append(table.getName());
+        final StringBuilder indexedColumns = new StringBuilder();
+        for (Map.Entry<String, Boolean> column : columns.entrySet()) {
+            name.append('_').append(column.getKey());
+            if (indexedColumns.length() > 0) {
+                indexedColumns.append(",").append(SqlKeyword.DELIMITER);
+            }
+            indexedColumns.append(Wrap.inBackticks(column.getKey()))
+                .append(SqlKeyword.DELIMITER)
+                .append(column.getValue() ? SqlKeyword.DESC : SqlKeyword.ASC);
+        }
+        final String statement = "CREATE INDEX IF NOT EXISTS " + Wrap.inBackticks(name.toString()) +
+            " ON " + Wrap.inBackticks(table.getName()) + " (" + indexedColumns + ");";
+        return new IndexRecommendation(name.toString(), statement);
+    }
+
+    // Collects the operations which every result must satisfy, which are those joined by AND.
+    private static void collectConjuncts(QueryPredicate predicate, List<QueryPredicateOperation<?>> conjuncts) {
+        if (predicate instanceof QueryPredicateOperation) {
+            conjuncts.add((QueryPredicateOperation<?>) predicate);
+        } else if (predicate instanceof QueryPredicateGroup &&
+                QueryPredicateGroup.Type.AND.equals(((QueryPredicateGroup) predicate).type())) {
+            for (QueryPredicate member : ((QueryPredicateGroup) predicate).predicates()) {
+                collectConjuncts(member, conjuncts);
+            }
+        }
+    }
+
+    @Nullable
+    private static String columnOf(SQLiteTable table, ModelSchema modelSchema, String modelName, String field) {
+        if (modelName != null && !modelName.equals(modelSchema.getName())) {
+            return null;
+        }
+        final SQLiteColumn column = table.getColumns().get(field);
+        return column != null ? column.getName() : null;
+    }
+
+    private static boolean isRange(QueryOperator.Type type) {
+        switch (type) {
+            case LESS_THAN:
+            case LESS_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_OR_EQUAL:
+            case BETWEEN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void record(QueryShape shape, long rowsRead, long elapsedNanos) {
+        shape.rowsRead.addAndGet(rowsRead);
+        shape.totalTimeNanos.addAndGet(elapsedNanos);
+        final long executions = shape.executions.incrementAndGet();
+        if (shape.plan == null) {
+            return;
+        }
+        if (autoIndex && shape.index != null && executions >= AUTO_INDEX_EXECUTIONS &&
+                shape.indexing.compareAndSet(false, true)) {
+            try {
+                writer.execute(() -> createIndex(shape));
+            } catch (RejectedExecutionException terminated) {
+                // The local store has been closed, so there is nothing to index.
+            }
+        } else if (Long.bitCount(executions) == 1) {
+            publish(shape, null);
+        }
+    }
+
+    private void createIndex(QueryShape shape) {
+        try {
+            database.execSQL(shape.index.statement);
+        } catch (SQLException indexFailure) {
+            LOG.warn("Failed to create an index for " + shape.sql, indexFailure);
+            return;
+        }
+        LOG.info("Created index " + shape.index.name + " for a query of " + shape.model +
+            ", which was run " + shape.executions.get() + " times: " + shape.sql);
+        // The plan read before the index existed no longer applies. It is cleared while the
+        // shape is explained again, so that no run publishes it in the meantime.
+        final List<String> stalePlan = shape.plan;
+        shape.plan = null;
+        final QueryPlan plan = readPlan(shape.sql);
+        if (plan != null) {
+            shape.fullScan = plan.fullScan;
+            shape.tempSort = plan.tempSort;
+            shape.plan = plan.steps;
+        } else {
+            shape.plan = stalePlan;
+        }
+        publish(shape, shape.index.name);
+    }
+
+    private static void publish(QueryShape shape, @Nullable String createdIndex) {
+        Amplify.Hub.publish(HubChannel.DATASTORE, new QueryDiagnosticsEvent(
+            shape.model,
+            shape.sql,
+            shape.plan,
+            shape.fullScan,
+            shape.tempSort,
+            shape.executions.get(),
+            shape.rowsRead.get(),
+            TimeUnit.NANOSECONDS.toMillis(shape.totalTimeNanos.get()),
+            createdIndex
+        ).toHubEvent());
+    }
+
+    /**
+     * The running totals and the plan of the queries with the same SQL.
+     */
+    private static final class QueryShape {
+        private final String model;
+        private final String sql;
+        private final AtomicLong executions;
+        private final AtomicLong rowsRead;
+        private final AtomicLong totalTimeNanos;
+        private final AtomicBoolean indexing;
+        // Set by the thread which first runs the shape, and again once an index is created for it.
+        private volatile List<String> plan;
+        private volatile boolean fullScan;
+        private volatile boolean tempSort;
+        private volatile IndexRecommendation index;
+
+        QueryShape(String model, String sql) {
+            this.model = model;
+            this.sql = sql;
+            this.executions = new AtomicLong();
+            this.rowsRead = new AtomicLong();
+            this.totalTimeNanos = new AtomicLong();
+            this.indexing = new AtomicBoolean();
+        }
+    }
+
+    /**
+     * The steps of a query plan, and the costly ones among them.
+     */
+    private static final class QueryPlan {
+        private final List<String> steps;
+        private final Set<String> scannedTables;
+        private final boolean fullScan;
+        private final boolean tempSort;
+
+        QueryPlan(List<String> steps, Set<String> scannedTables, boolean tempSort) {
+            this.steps = steps;
+            this.scannedTables = scannedTables;
+            this.fullScan = !scannedTables.isEmpty();
+            this.tempSort = tempSort;
+        }
+    }
+
+    /**
+     * An index which would let a shape of query find and order its rows.
+     */
+    private static final class IndexRecommendation {
+        private final String name;
+        private final String statement;
+
+        IndexRecommendation(String name, String statement) {
+            this.name = name;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * A cursor which records the rows read from it, and the time from running its query
+     * until it is closed, in the totals of the query's shape.
+     */
+    private final class TrackedCursor extends CursorWrapper {
+        private final QueryShape shape;
+        private final long startNanos;
+        private int lastPosition;
+        private boolean closed;
+
+        TrackedCursor(Cursor cursor, QueryShape shape) {
+            super(cursor);
+            this.shape = shape;
+            this.startNanos = System.nanoTime();
+            this.lastPosition = -1;
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            return moved(super.moveToFirst());
+        }
+
+        @Override
+        public boolean moveToNext() {
+            return moved(super.moveToNext());
+        }
+
+        @Override
+        public boolean moveToPosition(int position) {
+            return moved(super.moveToPosition(position));
+        }
+
+        @Override
+        public boolean moveToLast() {
+            return moved(super.moveToLast());
+        }
+
+        private boolean moved(boolean moved) {
+            if (moved) {
+                lastPosition = Math.max(lastPosition, getPosition());
+            }
+            return moved;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            if (!closed) {
+                closed = true;
+                record(shape, lastPosition + 1, System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
@@ -18,9 +18,11 @@ package com.amplifyframework.datastore.storage.sqlite;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.SQLException;
+import android.database.sqlite.SQLiteCursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
@@ -29,6 +31,7 @@ import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelProvider;
@@ -39,13 +42,18 @@ import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageQueryDiagnostics;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
 import com.amplifyframework.datastore.DataStoreException;
-import com.amplifyframework.datastore.appsync.ModelConverter;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.model.CompoundModelProvider;
 import com.amplifyframework.datastore.model.SystemModelsProviderFactory;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.StorageOperation;
+import com.amplifyframework.datastore.storage.StorageTransactionHook;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
 import com.amplifyframework.logging.Logger;
@@ -58,17 +66,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Completable;
-import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -95,13 +105,22 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // based on Model class name lookup mechanism.
     private final ModelSchemaRegistry modelSchemaRegistry;
 
-    // ThreadPool for SQLite operations.
-    private ExecutorService threadPool;
+    // Makes all writes to SQLite, one at a time, on a single thread.
+    private ExecutorService writerThread;
+
+    // Runs queries against SQLite. With write-ahead logging, these read while a write is under way.
+    private ExecutorService readerPool;
+
+    // Provides the settings of the database, and of the reader pool, when the adapter is initialized.
+    private final DataStoreConfigurationProvider configurationProvider;
 
     // Data is read from SQLite and de-serialized using GSON
     // into a strongly typed Java object.
     private final Gson gson;
 
+    // How the values of date, date-time and time fields are written, as configured when initialized.
+    private StorageTemporalEncoding temporalEncoding;
+
     // Used to publish events to the observables subscribed.
     private final Subject<StorageItemChange<? extends Model>> itemChangeSubject;
 
@@ -117,12 +136,21 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // Factory that produces SQL commands.
     private SQLCommandFactory sqlCommandFactory;
 
+    // Diagnoses the plans of queries, if configured to. Null when diagnostics are off.
+    private SQLiteQueryDiagnostics queryDiagnostics;
+
     // The helper object to iterate through associated models of a given model.
     private SQLiteModelTree sqliteModelTree;
 
     // Stores the reference to disposable objects for cleanup
     private final CompositeDisposable toBeDisposed;
 
+    // Builds typed models straight from query cursors; one per model class.
+    private final Map<Class<? extends Model>, SQLiteModelMaterializer<? extends Model>> materializers;
+
+    // Takes part in the transactions which write changes initiated through the DataStore API.
+    private volatile StorageTransactionHook transactionHook;
+
     // Need to keep a reference to the app context so we can
     // re-initialize the adapter after deleting the file in the clear() method
     private Context context;
@@ -132,16 +160,20 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
      * @param modelSchemaRegistry A registry of schema for all models used by the system
      * @param userModelsProvider Provides the models that will be usable by the DataStore
      * @param systemModelsProvider Provides the models that are used by the DataStore system internally
+     * @param configurationProvider Provides the settings of the database, when the adapter is initialized
      */
     private SQLiteStorageAdapter(
             ModelSchemaRegistry modelSchemaRegistry,
             ModelProvider userModelsProvider,
-            ModelProvider systemModelsProvider) {
+            ModelProvider systemModelsProvider,
+            DataStoreConfigurationProvider configurationProvider) {
         this.modelSchemaRegistry = modelSchemaRegistry;
+        this.configurationProvider = configurationProvider;
         this.modelsProvider = CompoundModelProvider.of(systemModelsProvider, userModelsProvider);
         this.gson = GsonFactory.instance();
         this.itemChangeSubject = PublishSubject.<StorageItemChange<? extends Model>>create().toSerialized();
         this.toBeDisposed = new CompositeDisposable();
+        this.materializers = new ConcurrentHashMap<>();
     }
 
     /**
@@ -154,10 +186,28 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     public static SQLiteStorageAdapter forModels(
             @NonNull ModelSchemaRegistry modelSchemaRegistry,
             @NonNull ModelProvider userModelsProvider) {
+        return forModels(modelSchemaRegistry, userModelsProvider, DataStoreConfiguration::defaults);
+    }
+
+    /**
+     * Gets a SQLiteStorageAdapter that can be initialized to use the provided models, with the
+     * storage settings of a {@link DataStoreConfiguration}. The configuration is read each time
+     * the adapter is initialized.
+     * @param modelSchemaRegistry Registry of schema for all models in the system
+     * @param userModelsProvider A provider of models that will be represented in SQL
+     * @param configurationProvider Provides the storage settings
+     * @return A SQLiteStorageAdapter that will host the provided models in SQL tables
+     */
+    @NonNull
+    public static SQLiteStorageAdapter forModels(
+            @NonNull ModelSchemaRegistry modelSchemaRegistry,
+            @NonNull ModelProvider userModelsProvider,
+            @NonNull DataStoreConfigurationProvider configurationProvider) {
         return new SQLiteStorageAdapter(
             modelSchemaRegistry,
             Objects.requireNonNull(userModelsProvider),
-            SystemModelsProviderFactory.create()
+            SystemModelsProviderFactory.create(),
+            Objects.requireNonNull(configurationProvider)
         );
     }
 
@@ -172,14 +222,24 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(context);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        this.threadPool = Executors.newCachedThreadPool();
+        final DataStoreConfiguration configuration;
+        try {
+            configuration = getConfiguration();
+        } catch (DataStoreException configurationError) {
+            onError.accept(configurationError);
+            return;
+        }
+        this.temporalEncoding = configuration.getStorageTemporalEncoding();
+        this.writerThread = Executors.newSingleThreadExecutor();
+        this.readerPool = Executors.newFixedThreadPool(configuration.getStorageMaxConcurrentReads());
         this.context = context;
-        threadPool.submit(() -> {
+        writerThread.submit(() -> {
             try {
                 /*
                  * Start with a fresh registry.
                  */
                 modelSchemaRegistry.clear();
+                materializers.clear();
                 /*
                  * Create {@link ModelSchema} objects for the corresponding {@link Model}.
                  * Any exception raised during this when inspecting the Model classes
@@ -198,7 +258,8 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                         context,
                         DATABASE_NAME,
                         DATABASE_VERSION,
-                        createSqlCommands);
+                        createSqlCommands,
+                        configuration);
 
                 /*
                  * Create and/or open a database. This also invokes
@@ -215,14 +276,30 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                  * All database operations will happen through this handle.
                  */
                 databaseConnectionHandle = sqliteStorageHelper.getWritableDatabase();
-                this.sqlCommandFactory = new SQLiteCommandFactory(modelSchemaRegistry, databaseConnectionHandle);
+                databaseConnectionHandle.setMaxSqlCacheSize(SQLiteCommandFactory.COMPILED_STATEMENT_CACHE_SIZE);
+                this.sqlCommandFactory =
+                    new SQLiteCommandFactory(modelSchemaRegistry, databaseConnectionHandle, temporalEncoding);
+
+                /*
+                 * Convert the stored values of temporal fields, if the temporal encoding
+                 * has been changed since they were written.
+                 */
+                new TemporalEncodingMigration(modelSchemaRegistry, databaseConnectionHandle)
+                    .migrateTo(temporalEncoding);
+
+                /*
+                 * Diagnose the plans of queries, if configured to.
+                 */
+                final StorageQueryDiagnostics diagnostics = configuration.getStorageQueryDiagnostics();
+                this.queryDiagnostics = StorageQueryDiagnostics.OFF.equals(diagnostics)
+                    ? null
+                    : new SQLiteQueryDiagnostics(databaseConnectionHandle, writerThread, diagnostics);
 
                 /*
                  * Create helper instance that can traverse through model relations.
                  */
                 this.sqliteModelTree = new SQLiteModelTree(
                     modelSchemaRegistry,
-                    sqlCommandFactory,
                     databaseConnectionHandle
                 );
 
@@ -264,55 +341,58 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        writerThread.submit(() -> {
             try {
                 final String modelName = getModelName(item);
                 final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
-
-                final StorageItemChange.Type writeType;
-                SerializedModel patchItem = null;
-                if (modelExists(item, QueryPredicates.all())) {
-                    // if data exists already, then UPDATE the row
-                    writeType = StorageItemChange.Type.UPDATE;
-
-                    // Check if existing data meets the condition
-                    if (!modelExists(item, predicate)) {
+                StorageItemChange<T> change = writeInTransaction(initiator, publishableChanges -> {
+                    final StorageItemChange.Type writeType;
+                    SerializedModel patchItem = null;
+                    if (modelExists(item, QueryPredicates.all())) {
+                        // if data exists already, then UPDATE the row
+                        writeType = StorageItemChange.Type.UPDATE;
+
+                        // Check if existing data meets the condition
+                        if (!modelExists(item, predicate)) {
+                            throw new DataStoreException(
+                                "Save failed because condition did not match existing model instance.",
+                                "The save will continue to fail until the model instance is updated."
+                            );
+                        }
+                        if (initiator == StorageItemChange.Initiator.DATA_STORE_API) {
+                            // When saving items via the DataStore API, compute a SerializedModel containing only
+                            // the fields that differ from the model currently in the local storage.  This is not
+                            // necessary when save is initiated by the sync engine, so skip it for optimization to
+                            // avoid the extra SQL query.
+                            patchItem = SerializedModel.difference(item, findById(item), modelSchema);
+                        }
+                    } else if (!QueryPredicates.all().equals(predicate)) {
+                        // insert not permitted with a condition
                         throw new DataStoreException(
-                            "Save failed because condition did not match existing model instance.",
-                            "The save will continue to fail until the model instance is updated."
+                            "Conditional update must be performed against an already existing data. " +
+                                "Insertion is not permitted while using a predicate.",
+                            "Please save without specifying a predicate."
                         );
+                    } else {
+                        // if data doesn't exist yet, then INSERT a new row
+                        writeType = StorageItemChange.Type.CREATE;
                     }
-                    if (initiator == StorageItemChange.Initiator.DATA_STORE_API) {
-                        // When saving items via the DataStore API, compute a SerializedModel containing only the fields
-                        // that differ from the model currently in the local storage.  This is not necessary when save
-                        // is initiated by the sync engine, so skip it for optimization to avoid the extra SQL query.
-                        patchItem = SerializedModel.difference(item, query(item), modelSchema);
-                    }
-                } else if (!QueryPredicates.all().equals(predicate)) {
-                    // insert not permitted with a condition
-                    throw new DataStoreException(
-                        "Conditional update must be performed against an already existing data. " +
-                            "Insertion is not permitted while using a predicate.",
-                        "Please save without specifying a predicate."
-                    );
-                } else {
-                    // if data doesn't exist yet, then INSERT a new row
-                    writeType = StorageItemChange.Type.CREATE;
-                }
 
-                // execute local save
-                writeData(item, writeType);
+                    // execute local save
+                    writeData(item, writeType);
 
-                // publish successful save
-                StorageItemChange<T> change = StorageItemChange.<T>builder()
-                        .item(item)
-                        .patchItem(patchItem != null ? patchItem : SerializedModel.create(item, modelSchema))
-                        .modelSchema(modelSchema)
-                        .type(writeType)
-                        .predicate(predicate)
-                        .initiator(initiator)
-                        .build();
-                itemChangeSubject.onNext(change);
+                    // publish successful save, once committed
+                    StorageItemChange<T> savedChange = StorageItemChange.<T>builder()
+                            .item(item)
+                            .patchItem(patchItem != null ? patchItem : SerializedModel.create(item, modelSchema))
+                            .modelSchema(modelSchema)
+                            .type(writeType)
+                            .predicate(predicate)
+                            .initiator(initiator)
+                            .build();
+                    publishableChanges.add(savedChange);
+                    return savedChange;
+                });
                 onSuccess.accept(change);
             } catch (DataStoreException dataStoreException) {
                 onError.accept(dataStoreException);
@@ -327,6 +407,92 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked") // Each change holds the item of its operation, which is a T.
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(items);
+        final List<StorageOperation<? extends Model>> operations = new ArrayList<>();
+        for (T item : items) {
+            operations.add(StorageOperation.save(item));
+        }
+        batch(operations, initiator, changes -> onSuccess.accept((List<StorageItemChange<T>>) (List<?>) changes),
+            onError);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void batch(
+            @NonNull List<StorageOperation<? extends Model>> operations,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(operations);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        writerThread.submit(() -> {
+            final List<StorageItemChange<? extends Model>> changes;
+            try {
+                // changes are published only once the whole batch has been committed
+                changes = writeInTransaction(initiator, publishableChanges -> {
+                    final List<StorageItemChange<? extends Model>> batchChanges = new ArrayList<>();
+                    try (BatchStatements statements = new BatchStatements()) {
+                        writeBatch(operations, initiator, statements, batchChanges, publishableChanges);
+                    }
+                    return batchChanges;
+                });
+            } catch (Exception exception) {
+                // the transaction has been rolled back; nothing was written.
+                onError.accept(toDataStoreException("Error in writing the batch of models.", exception));
+                return;
+            }
+            onSuccess.accept(changes);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deferredBatch(
+            @NonNull Callable<List<StorageOperation<? extends Model>>> operations,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(operations);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        writerThread.submit(() -> {
+            final List<StorageItemChange<? extends Model>> changes;
+            try {
+                // decided on the writer thread, so no other write can come between deciding and writing
+                final List<StorageOperation<? extends Model>> decidedOperations = operations.call();
+                changes = writeInTransaction(initiator, publishableChanges -> {
+                    final List<StorageItemChange<? extends Model>> batchChanges = new ArrayList<>();
+                    try (BatchStatements statements = new BatchStatements()) {
+                        writeBatch(decidedOperations, initiator, statements, batchChanges, publishableChanges);
+                    }
+                    return batchChanges;
+                });
+            } catch (Exception exception) {
+                // the transaction has been rolled back; nothing was written.
+                onError.accept(toDataStoreException("Error in writing the batch of models.", exception));
+                return;
+            }
+            onSuccess.accept(changes);
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -340,15 +506,12 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(options);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        readerPool.submit(() -> {
             try (Cursor cursor = getQueryAllCursor(itemClass.getSimpleName(), options)) {
                 LOG.debug("Querying item for: " + itemClass.getSimpleName());
 
                 final List<T> models = new ArrayList<>();
-                final ModelSchema modelSchema =
-                    modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
-                final SQLiteModelFieldTypeConverter converter =
-                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+                final SQLiteModelMaterializer<T> materializer = getMaterializer(itemClass);
 
                 if (cursor == null) {
                     onError.accept(new DataStoreException(
@@ -358,9 +521,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                 }
 
                 if (cursor.moveToFirst()) {
+                    final SQLiteModelMaterializer.RowReader<T> rowReader = materializer.bind(cursor);
                     do {
-                        Map<String, Object> map = converter.buildMapForModel(cursor);
-                        models.add(ModelConverter.fromMap(map, itemClass));
+                        models.add(rowReader.read(cursor));
                     } while (cursor.moveToNext());
                 }
 
@@ -377,7 +540,42 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Model> void stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<CancelableIterator<T>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        readerPool.submit(() -> {
+            try {
+                LOG.debug("Streaming items for: " + itemClass.getSimpleName());
+                final SQLiteModelMaterializer<T> materializer = getMaterializer(itemClass);
+                final Cursor cursor = getQueryAllCursor(itemClass.getSimpleName(), options);
+                if (cursor == null) {
+                    onError.accept(new DataStoreException(
+                        "Error in getting a cursor to the table for class: " + itemClass.getSimpleName(),
+                        AmplifyException.TODO_RECOVERY_SUGGESTION
+                    ));
+                    return;
+                }
+                // The iterator now owns the cursor, and closes it once exhausted or canceled.
+                onSuccess.accept(SQLiteCursorIterator.create(cursor, materializer));
+            } catch (Exception exception) {
+                onError.accept(new DataStoreException(
+                    "Error in querying the model.", exception,
+                    "See attached exception for details."
+                ));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public void query(
             @NonNull String modelName,
@@ -389,7 +587,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
+        readerPool.submit(() -> {
             try (Cursor cursor = getQueryAllCursor(modelName, options)) {
                 LOG.debug("Querying item for: " + modelName);
 
@@ -397,7 +595,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                 final ModelSchema modelSchema =
                         modelSchemaRegistry.getModelSchemaForModelClass(modelName);
                 final SQLiteModelFieldTypeConverter converter =
-                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson, temporalEncoding);
 
                 if (cursor == null) {
                     onError.accept(new DataStoreException(
@@ -409,27 +607,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
 
                 if (cursor.moveToFirst()) {
                     do {
-                        final Map<String, Object> serializedData = new HashMap<>();
-                        for (Map.Entry<String, Object> entry : converter.buildMapForModel(cursor).entrySet()) {
-                            ModelField field = modelSchema.getFields().get(entry.getKey());
-                            if (field == null || entry.getValue() == null) {
-                                // Skip it
-                            } else if (field.isModel()) {
-                                String id = (String) ((Map<String, Object>) entry.getValue()).get("id");
-                                serializedData.put(entry.getKey(), SerializedModel.builder()
-                                    .serializedData(Collections.singletonMap("id", id))
-                                    .modelSchema(null)
-                                    .build()
-                                );
-                            } else {
-                                serializedData.put(entry.getKey(), entry.getValue());
-                            }
-                        }
-                        SerializedModel model = SerializedModel.builder()
-                            .serializedData(serializedData)
-                            .modelSchema(modelSchema)
-                            .build();
-                        models.add(model);
+                        models.add(toSerializedModel(cursor, converter, modelSchema));
                     } while (cursor.moveToNext());
                 }
                 onSuccess.accept(models.iterator());
@@ -459,63 +637,49 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
+        writerThread.submit(() -> {
             try {
                 final String modelName = getModelName(item);
                 final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
 
-                // Check if data being deleted exists; "Succeed" deletion in that case.
-                if (!modelExists(item, QueryPredicates.all())) {
-                    LOG.verbose(modelName + " model with id = " + item.getId() + " does not exist.");
-                    // Pass back item change instance without publishing it.
-                    onSuccess.accept(StorageItemChange.<T>builder()
+                StorageItemChange<T> change = writeInTransaction(initiator, publishableChanges -> {
+                    StorageItemChange<T> deletedChange = StorageItemChange.<T>builder()
                         .item(item)
                         .patchItem(SerializedModel.create(item, modelSchema))
                         .modelSchema(modelSchema)
                         .type(StorageItemChange.Type.DELETE)
                         .predicate(predicate)
                         .initiator(initiator)
-                        .build());
-                    return;
-                }
+                        .build();
 
-                // Check if existing data meets the condition
-                if (!modelExists(item, predicate)) {
-                    throw new DataStoreException(
-                        "Deletion failed because condition did not match existing model instance.",
-                        "The deletion will continue to fail until the model instance is updated."
-                    );
-                }
+                    // Check if data being deleted exists; "Succeed" deletion in that case.
+                    if (!modelExists(item, QueryPredicates.all())) {
+                        LOG.verbose(modelName + " model with id = " + item.getId() + " does not exist.");
+                        // Pass back item change instance without publishing it.
+                        return deletedChange;
+                    }
 
-                // identify items affected by cascading delete before deleting them
-                List<Model> cascadedModels = sqliteModelTree.descendantsOf(Collections.singleton(item));
+                    // Check if existing data meets the condition
+                    if (!modelExists(item, predicate)) {
+                        throw new DataStoreException(
+                            "Deletion failed because condition did not match existing model instance.",
+                            "The deletion will continue to fail until the model instance is updated."
+                        );
+                    }
 
-                // execute local deletion
-                writeData(item, StorageItemChange.Type.DELETE);
+                    // identify items affected by cascading delete before deleting them
+                    List<Model> cascadedModels = sqliteModelTree.descendantsOf(Collections.singleton(item));
 
-                // publish cascaded deletions
-                for (Model cascadedModel : cascadedModels) {
-                    ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(cascadedModel));
-                    itemChangeSubject.onNext(StorageItemChange.builder()
-                        .item(cascadedModel)
-                        .patchItem(SerializedModel.create(cascadedModel, schema))
-                        .modelSchema(schema)
-                        .type(StorageItemChange.Type.DELETE)
-                        .predicate(QueryPredicates.all())
-                        .initiator(initiator)
-                        .build());
-                }
+                    // execute local deletion
+                    writeData(item, StorageItemChange.Type.DELETE);
 
-                // publish successful deletion of top-level item
-                StorageItemChange<T> change = StorageItemChange.<T>builder()
-                        .item(item)
-                        .patchItem(SerializedModel.create(item, modelSchema))
-                        .modelSchema(modelSchema)
-                        .type(StorageItemChange.Type.DELETE)
-                        .predicate(predicate)
-                        .initiator(initiator)
-                        .build();
-                itemChangeSubject.onNext(change);
+                    // publish cascaded deletions, then the deletion of the top-level item, once committed
+                    for (Model cascadedModel : cascadedModels) {
+                        publishableChanges.add(deletionOf(cascadedModel, initiator));
+                    }
+                    publishableChanges.add(deletedChange);
+                    return deletedChange;
+                });
                 onSuccess.accept(change);
             } catch (DataStoreException dataStoreException) {
                 onError.accept(dataStoreException);
@@ -529,6 +693,26 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked") // Each change holds the item of its operation, which is a T.
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError
+    ) {
+        Objects.requireNonNull(items);
+        final List<StorageOperation<? extends Model>> operations = new ArrayList<>();
+        for (T item : items) {
+            operations.add(StorageOperation.delete(item));
+        }
+        batch(operations, initiator, changes -> onSuccess.accept((List<StorageItemChange<T>>) (List<?>) changes),
+            onError);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -546,45 +730,42 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
-            try (Cursor cursor = getQueryAllCursor(itemClass.getSimpleName(), Where.matches(predicate))) {
-                final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass);
-                final SQLiteTable sqliteTable = SQLiteTable.fromSchema(modelSchema);
-                final String primaryKeyName = sqliteTable.getPrimaryKey().getAliasedName();
+        writerThread.submit(() -> {
+            try {
+                writeInTransaction(initiator, publishableChanges -> {
+                    final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass);
+                    final SQLiteTable sqliteTable = SQLiteTable.fromSchema(modelSchema);
+                    final String primaryKeyName = sqliteTable.getPrimaryKey().getAliasedName();
+
+                    // identify items that meet the predicate
+                    List<T> items = new ArrayList<>();
+                    try (Cursor cursor = getQueryAllCursor(itemClass.getSimpleName(), Where.matches(predicate))) {
+                        if (cursor != null && cursor.moveToFirst()) {
+                            int index = cursor.getColumnIndexOrThrow(primaryKeyName);
+                            do {
+                                String id = cursor.getString(index);
+                                String dummyJson = gson.toJson(Collections.singletonMap("id", id));
+                                T dummyItem = gson.fromJson(dummyJson, itemClass);
+                                items.add(dummyItem);
+                            } while (cursor.moveToNext());
+                        }
+                    }
 
-                // identify items that meet the predicate
-                List<T> items = new ArrayList<>();
-                if (cursor != null && cursor.moveToFirst()) {
-                    int index = cursor.getColumnIndexOrThrow(primaryKeyName);
-                    do {
-                        String id = cursor.getString(index);
-                        String dummyJson = gson.toJson(Collections.singletonMap("id", id));
-                        T dummyItem = gson.fromJson(dummyJson, itemClass);
-                        items.add(dummyItem);
-                    } while (cursor.moveToNext());
-                }
+                    // identify every model to delete as a result of this operation
+                    List<Model> modelsToDelete = new ArrayList<>(items);
+                    List<Model> cascadedModels = sqliteModelTree.descendantsOf(items);
+                    modelsToDelete.addAll(cascadedModels);
 
-                // identify every model to delete as a result of this operation
-                List<Model> modelsToDelete = new ArrayList<>(items);
-                List<Model> cascadedModels = sqliteModelTree.descendantsOf(items);
-                modelsToDelete.addAll(cascadedModels);
-
-                // execute local deletions
-                SqlCommand sqlCommand = sqlCommandFactory.deleteFor(modelSchema, predicate);
-                executeStatement(sqlCommand.getCompiledSqlStatement(), sqlCommand.getBindings());
-
-                // publish every deletion
-                for (Model model : modelsToDelete) {
-                    ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(model));
-                    itemChangeSubject.onNext(StorageItemChange.builder()
-                            .item(model)
-                            .patchItem(SerializedModel.create(model, schema))
-                            .modelSchema(schema)
-                            .type(StorageItemChange.Type.DELETE)
-                            .predicate(QueryPredicates.all())
-                            .initiator(initiator)
-                            .build());
-                }
+                    // execute local deletions
+                    SqlCommand sqlCommand = sqlCommandFactory.deleteFor(modelSchema, predicate);
+                    executeStatement(sqlCommand.getCompiledSqlStatement(), sqlCommand.getBindings());
+
+                    // publish every deletion, once committed
+                    for (Model model : modelsToDelete) {
+                        publishableChanges.add(deletionOf(model, initiator));
+                    }
+                    return modelsToDelete;
+                });
                 onSuccess.call();
             } catch (DataStoreException dataStoreException) {
                 onError.accept(dataStoreException);
@@ -628,6 +809,15 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         return disposable::dispose;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean setTransactionHook(@Nullable StorageTransactionHook transactionHook) {
+        this.transactionHook = transactionHook;
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -640,8 +830,14 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
             if (itemChangeSubject != null) {
                 itemChangeSubject.onComplete();
             }
-            if (threadPool != null) {
-                threadPool.shutdown();
+            if (writerThread != null) {
+                writerThread.shutdown();
+            }
+            if (readerPool != null) {
+                readerPool.shutdown();
+            }
+            if (sqlCommandFactory != null) {
+                sqlCommandFactory.close();
             }
             if (databaseConnectionHandle != null) {
                 databaseConnectionHandle.close();
@@ -662,15 +858,20 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     public synchronized void clear(@NonNull Action onComplete,
                                    @NonNull Consumer<DataStoreException> onError) {
         try {
-            LOG.debug("Shutting down thread pool for the storage adapter.");
-            threadPool.shutdown();
-            if (!threadPool.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
-                threadPool.shutdownNow();
+            LOG.debug("Shutting down thread pools for the storage adapter.");
+            writerThread.shutdown();
+            readerPool.shutdown();
+            if (!writerThread.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                writerThread.shutdownNow();
+            }
+            if (!readerPool.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                readerPool.shutdownNow();
             }
-            LOG.debug("Storage adapter thread pool shutdown.");
+            LOG.debug("Storage adapter thread pools shutdown.");
         } catch (InterruptedException exception) {
             LOG.warn("Storage adapter thread pool was interrupted during shutdown.", exception);
         }
+        sqlCommandFactory.close();
         sqliteStorageHelper.close();
         databaseConnectionHandle.close();
         LOG.debug("Clearing DataStore.");
@@ -692,6 +893,12 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         );
     }
 
+    // The plugin's configuration is not available until it has been configured.
+    private DataStoreConfiguration getConfiguration() throws DataStoreException {
+        final DataStoreConfiguration configuration = configurationProvider.getConfiguration();
+        return configuration != null ? configuration : DataStoreConfiguration.defaults();
+    }
+
     private CreateSqlCommands getCreateCommands(@NonNull Set<String> modelNames) {
         final Set<SqlCommand> createTableCommands = new HashSet<>();
         final Set<SqlCommand> createIndexCommands = new HashSet<>();
@@ -704,13 +911,202 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         return new CreateSqlCommands(createTableCommands, createIndexCommands);
     }
 
+    /*
+     * Runs the body in a transaction, and publishes the changes that it made once they have been
+     * committed. If the changes were initiated through the DataStore API and a transaction hook is set,
+     * the hook takes part in the transaction, and the writes it asks for are committed with the changes.
+     */
+    private <R> R writeInTransaction(StorageItemChange.Initiator initiator, TransactionBody<R> body)
+            throws DataStoreException {
+        final StorageTransactionHook hook =
+            StorageItemChange.Initiator.DATA_STORE_API.equals(initiator) ? transactionHook : null;
+        final List<StorageItemChange<? extends Model>> publishableChanges = new ArrayList<>();
+        final R result;
+        boolean committed = false;
+        // The hook may take locks of its own, so it is called before the database is locked.
+        if (hook != null) {
+            hook.onBegin();
+        }
+        try {
+            databaseConnectionHandle.beginTransaction();
+            try {
+                result = body.write(publishableChanges);
+                if (hook != null) {
+                    for (StorageItemChange<? extends Model> change : publishableChanges) {
+                        for (StorageOperation<? extends Model> operation : hook.onChange(change)) {
+                            writeHookOperation(operation);
+                        }
+                    }
+                }
+                databaseConnectionHandle.setTransactionSuccessful();
+            } finally {
+                databaseConnectionHandle.endTransaction();
+            }
+            committed = true;
+        } finally {
+            if (hook != null) {
+                if (committed) {
+                    hook.onCommit();
+                } else {
+                    hook.onRollback();
+                }
+            }
+        }
+
+        for (StorageItemChange<? extends Model> change : publishableChanges) {
+            itemChangeSubject.onNext(change);
+        }
+        return result;
+    }
+
+    // Writes made on behalf of a transaction hook are not published.
+    private void writeHookOperation(StorageOperation<? extends Model> operation) throws DataStoreException {
+        final Model item = operation.item();
+        if (operation.isDelete()) {
+            writeData(item, StorageItemChange.Type.DELETE);
+        } else if (modelExists(item, QueryPredicates.all())) {
+            writeData(item, StorageItemChange.Type.UPDATE);
+        } else {
+            writeData(item, StorageItemChange.Type.CREATE);
+        }
+    }
+
+    private StorageItemChange<? extends Model> deletionOf(Model model, StorageItemChange.Initiator initiator) {
+        final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(model));
+        return StorageItemChange.builder()
+            .item(model)
+            .patchItem(SerializedModel.create(model, schema))
+            .modelSchema(schema)
+            .type(StorageItemChange.Type.DELETE)
+            .predicate(QueryPredicates.all())
+            .initiator(initiator)
+            .build();
+    }
+
+    /*
+     * Applies each operation of a batch, in order, to the database. This must be called from
+     * within a transaction. The changes for every operation are added to the changes list, while
+     * those which should be published (including cascaded deletions) are added to publishableChanges.
+     */
+    private void writeBatch(
+            List<StorageOperation<? extends Model>> operations,
+            StorageItemChange.Initiator initiator,
+            BatchStatements statements,
+            List<StorageItemChange<? extends Model>> changes,
+            List<StorageItemChange<? extends Model>> publishableChanges) throws DataStoreException {
+        // IDs of the models whose deletion has been published, so that none is published twice.
+        final Set<String> deletedIds = new HashSet<>();
+        int position = 0;
+        while (position < operations.size()) {
+            final StorageOperation<? extends Model> operation = operations.get(position);
+            if (!operation.isDelete()) {
+                StorageItemChange<? extends Model> change = saveInBatch(operation.item(), initiator, statements);
+                changes.add(change);
+                publishableChanges.add(change);
+                position++;
+                continue;
+            }
+
+            // Consecutive deletions of the same model are grouped, so that their cascades are found together.
+            final String modelName = getModelName(operation.item());
+            final List<Model> deletions = new ArrayList<>();
+            while (position < operations.size() && operations.get(position).isDelete() &&
+                    modelName.equals(getModelName(operations.get(position).item()))) {
+                deletions.add(operations.get(position).item());
+                position++;
+            }
+            deleteInBatch(deletions, initiator, statements, deletedIds, changes, publishableChanges);
+        }
+    }
+
+    private StorageItemChange<? extends Model> saveInBatch(
+            Model item,
+            StorageItemChange.Initiator initiator,
+            BatchStatements statements) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(item));
+        final StorageItemChange.Type writeType;
+        SerializedModel patchItem = null;
+        if (statements.exists(item)) {
+            writeType = StorageItemChange.Type.UPDATE;
+            if (initiator == StorageItemChange.Initiator.DATA_STORE_API) {
+                // Only the fields that differ from the stored model belong in the patch, as for save().
+                patchItem = SerializedModel.difference(item, findById(item), modelSchema);
+            }
+        } else {
+            writeType = StorageItemChange.Type.CREATE;
+        }
+        statements.write(item, writeType);
+        return StorageItemChange.builder()
+            .item(item)
+            .patchItem(patchItem != null ? patchItem : SerializedModel.create(item, modelSchema))
+            .modelSchema(modelSchema)
+            .type(writeType)
+            .predicate(QueryPredicates.all())
+            .initiator(initiator)
+            .build();
+    }
+
+    private void deleteInBatch(
+            List<Model> items,
+            StorageItemChange.Initiator initiator,
+            BatchStatements statements,
+            Set<String> deletedIds,
+            List<StorageItemChange<? extends Model>> changes,
+            List<StorageItemChange<? extends Model>> publishableChanges) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(items.get(0)));
+
+        // Items that don't exist "succeed" deletion, but their changes are not published.
+        final List<Model> existingItems = new ArrayList<>();
+        for (Model item : items) {
+            if (statements.exists(item)) {
+                existingItems.add(item);
+                deletedIds.add(item.getId());
+            } else {
+                LOG.verbose(modelSchema.getName() + " model with id = " + item.getId() + " does not exist.");
+            }
+        }
+
+        // identify items affected by cascading delete before deleting them
+        for (Model cascadedModel : sqliteModelTree.descendantsOf(existingItems)) {
+            if (deletedIds.add(cascadedModel.getId())) {
+                ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(getModelName(cascadedModel));
+                publishableChanges.add(StorageItemChange.builder()
+                    .item(cascadedModel)
+                    .patchItem(SerializedModel.create(cascadedModel, schema))
+                    .modelSchema(schema)
+                    .type(StorageItemChange.Type.DELETE)
+                    .predicate(QueryPredicates.all())
+                    .initiator(initiator)
+                    .build());
+            }
+        }
+
+        for (Model item : items) {
+            if (statements.existed(item)) {
+                statements.write(item, StorageItemChange.Type.DELETE);
+            }
+            StorageItemChange<? extends Model> change = StorageItemChange.builder()
+                .item(item)
+                .patchItem(SerializedModel.create(item, modelSchema))
+                .modelSchema(modelSchema)
+                .type(StorageItemChange.Type.DELETE)
+                .predicate(QueryPredicates.all())
+                .initiator(initiator)
+                .build();
+            changes.add(change);
+            if (statements.existed(item)) {
+                publishableChanges.add(change);
+            }
+        }
+    }
+
     // extract model field values to save in database
     private List<Object> extractFieldValues(@NonNull Model model) throws DataStoreException {
         final String modelName = getModelName(model);
         final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
         final SQLiteTable table = SQLiteTable.fromSchema(schema);
         final SQLiteModelFieldTypeConverter converter =
-                new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson);
+                new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson, temporalEncoding);
         final Map<String, ModelField> modelFields = schema.getFields();
         final List<Object> bindings = new ArrayList<>();
         for (SQLiteColumn column : table.getSortedColumns()) {
@@ -822,6 +1218,8 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
             statement.bindDouble(columnIndex, (Float) value);
         } else if (value instanceof Double) {
             statement.bindDouble(columnIndex, (Double) value);
+        } else if (value instanceof byte[]) {
+            statement.bindBlob(columnIndex, (byte[]) value);
         } else {
             throw new DataStoreException(
                     "Failed to bind " + value + " to SQL statement. " +
@@ -847,25 +1245,64 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
 
     /**
      * Helper method to synchronously query for a single model instance.  Used before any save initiated by
-     * DATASTORE_API in order to determine which fields have changed.
+     * DATASTORE_API in order to determine which fields have changed. The query is run on the calling thread,
+     * so that it may be used from within a transaction which is open on that thread.
      * @param model a Model that we want to query for the same type and id in SQLite.
      * @return the Model instance from SQLite, if it exists, otherwise null.
+     * @throws DataStoreException On failure to read the model
      */
-    private Model query(Model model) {
+    private Model findById(Model model) throws DataStoreException {
         final String modelName = getModelName(model);
         final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
         final SQLiteTable table = SQLiteTable.fromSchema(schema);
         final String primaryKeyName = table.getPrimaryKey().getName();
         final QueryPredicate matchId = QueryField.field(modelName, primaryKeyName).eq(model.getId());
 
-        Iterator<? extends Model> result = Single.<Iterator<? extends Model>>create(emitter -> {
+        try (Cursor cursor = getQueryAllCursor(modelName, Where.matches(matchId))) {
+            if (cursor == null || !cursor.moveToFirst()) {
+                return null;
+            }
             if (model instanceof SerializedModel) {
-                query(modelName, Where.matches(matchId), emitter::onSuccess, emitter::onError);
+                return toSerializedModel(cursor,
+                    new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson, temporalEncoding), schema);
+            }
+            return getMaterializer(model.getClass()).bind(cursor).read(cursor);
+        }
+    }
+
+    // builds a SerializedModel out of the row at the cursor's current position
+    @SuppressWarnings("unchecked")
+    private SerializedModel toSerializedModel(
+            Cursor cursor,
+            SQLiteModelFieldTypeConverter converter,
+            ModelSchema modelSchema) throws DataStoreException {
+        final Map<String, Object> serializedData = new HashMap<>();
+        for (Map.Entry<String, Object> entry : converter.buildMapForModel(cursor).entrySet()) {
+            ModelField field = modelSchema.getFields().get(entry.getKey());
+            if (field == null || entry.getValue() == null) {
+                // Skip it
+            } else if (field.isModel()) {
+                String id = (String) ((Map<String, Object>) entry.getValue()).get("id");
+                serializedData.put(entry.getKey(), SerializedModel.builder()
+                    .serializedData(Collections.singletonMap("id", id))
+                    .modelSchema(null)
+                    .build()
+                );
             } else {
-                query(model.getClass(), Where.matches(matchId), emitter::onSuccess, emitter::onError);
+                serializedData.put(entry.getKey(), entry.getValue());
             }
-        }).blockingGet();
-        return result.hasNext() ? result.next() : null;
+        }
+        return SerializedModel.builder()
+            .serializedData(serializedData)
+            .modelSchema(modelSchema)
+            .build();
+    }
+
+    private static DataStoreException toDataStoreException(String message, Exception exception) {
+        if (exception instanceof DataStoreException) {
+            return (DataStoreException) exception;
+        }
+        return new DataStoreException(message, exception, "See attached exception for details.");
     }
 
     /*
@@ -893,6 +1330,19 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         }).ignoreElement();
     }
 
+    @SuppressWarnings("unchecked") // Each materializer is keyed by the class of model it builds.
+    private <T extends Model> SQLiteModelMaterializer<T> getMaterializer(@NonNull Class<T> itemClass)
+            throws DataStoreException {
+        SQLiteModelMaterializer<T> materializer = (SQLiteModelMaterializer<T>) materializers.get(itemClass);
+        if (materializer == null) {
+            final ModelSchema modelSchema =
+                modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+            materializer = SQLiteModelMaterializer.create(itemClass, modelSchema, modelSchemaRegistry, gson);
+            materializers.put(itemClass, materializer);
+        }
+        return materializer;
+    }
+
     private String getModelName(@NonNull Model model) {
         if (model.getClass() == SerializedModel.class) {
             return ((SerializedModel) model).getModelName();
@@ -908,7 +1358,147 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(tableName);
         final SqlCommand sqlCommand = sqlCommandFactory.queryFor(schema, options);
         final String rawQuery = sqlCommand.sqlStatement();
-        final String[] bindings = sqlCommand.getBindingsAsArray();
-        return this.databaseConnectionHandle.rawQuery(rawQuery, bindings);
+        final Cursor cursor = rawQuery(rawQuery, sqlCommand);
+        return queryDiagnostics != null ? queryDiagnostics.track(schema, options, rawQuery, cursor) : cursor;
+    }
+
+    private Cursor rawQuery(String rawQuery, SqlCommand sqlCommand) {
+        final List<Object> bindings = sqlCommand.getBindings();
+        if (!containsBlob(bindings)) {
+            return this.databaseConnectionHandle.rawQuery(rawQuery, sqlCommand.getBindingsAsArray());
+        }
+        // Temporal values in the sortable binary encoding must be bound as BLOBs, which the String
+        // arguments of rawQuery() can not carry. So, they are bound to the query before its cursor is made.
+        return this.databaseConnectionHandle.rawQueryWithFactory((database, driver, editTable, query) -> {
+            int index = 1;
+            for (Object value : bindings) {
+                if (value instanceof byte[]) {
+                    query.bindBlob(index++, (byte[]) value);
+                } else {
+                    query.bindString(index++, value.toString());
+                }
+            }
+            return new SQLiteCursor(driver, editTable, query);
+        }, rawQuery, null, null);
+    }
+
+    private static boolean containsBlob(List<Object> bindings) {
+        for (Object value : bindings) {
+            if (value instanceof byte[]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes to the database, from within a transaction.
+     * @param <R> Type of result of the writes
+     */
+    private interface TransactionBody<R> {
+        /**
+         * Makes the writes.
+         * @param publishableChanges Changes to publish once the writes have been committed
+         * @return Result of the writes
+         * @throws DataStoreException On failure to write, in which case the transaction is rolled back
+         */
+        R write(List<StorageItemChange<? extends Model>> publishableChanges) throws DataStoreException;
+    }
+
+    /**
+     * Commands which are reused across the items of a single batch write, keyed by model name.
+     * The existence check and the writes are bound with each item's ID, in place of building
+     * a new command per item. The compiled statements belong to the {@link SQLCommandFactory},
+     * which may close them while the batch is written, so a reference to each one is held
+     * until the batch is closed.
+     */
+    private final class BatchStatements implements AutoCloseable {
+        private static final String EXISTS = "EXISTS";
+        private final Map<String, SqlCommand> commands = new HashMap<>();
+        private final Set<Model> existingItems = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        boolean exists(Model item) throws DataStoreException {
+            final SQLiteStatement statement =
+                commandFor(EXISTS, item).getCompiledSqlStatement();
+            final boolean exists;
+            synchronized (SQLiteStorageAdapter.this) {
+                bindValuesToStatement(statement, Collections.singletonList(item.getId()));
+                exists = statement.simpleQueryForLong() > 0;
+            }
+            if (exists) {
+                existingItems.add(item);
+            }
+            return exists;
+        }
+
+        boolean existed(Model item) {
+            return existingItems.contains(item);
+        }
+
+        void write(Model item, StorageItemChange.Type writeType) throws DataStoreException {
+            final SqlCommand sqlCommand;
+            final List<Object> bindings;
+            switch (writeType) {
+                case CREATE:
+                    sqlCommand = commandFor(writeType.name(), item);
+                    bindings = extractFieldValues(item); // VALUES clause
+                    break;
+                case UPDATE:
+                    sqlCommand = commandFor(writeType.name(), item);
+                    bindings = extractFieldValues(item); // SET clause
+                    bindings.add(item.getId()); // WHERE clause
+                    break;
+                case DELETE:
+                    sqlCommand = commandFor(writeType.name(), item);
+                    bindings = Collections.singletonList(item.getId()); // WHERE clause
+                    break;
+                default:
+                    throw new DataStoreException(
+                        "Unexpected change was requested: " + writeType.name(),
+                        "Valid storage changes are CREATE, UPDATE, and DELETE."
+                    );
+            }
+            executeStatement(sqlCommand.getCompiledSqlStatement(), bindings);
+        }
+
+        // The ID bound into the predicates here is a placeholder; each use re-binds the item's ID.
+        private SqlCommand commandFor(String kind, Model item) throws DataStoreException {
+            final String modelName = getModelName(item);
+            final String key = kind + ":" + modelName;
+            SqlCommand sqlCommand = commands.get(key);
+            if (sqlCommand != null) {
+                return sqlCommand;
+            }
+            final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
+            final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+            final String primaryKeyName = table.getPrimaryKey().getName();
+            if (EXISTS.equals(kind)) {
+                sqlCommand = sqlCommandFactory.existsFor(modelSchema,
+                    QueryField.field(table.getName(), primaryKeyName).eq(item.getId()));
+            } else if (StorageItemChange.Type.CREATE.name().equals(kind)) {
+                sqlCommand = sqlCommandFactory.insertFor(modelSchema);
+            } else if (StorageItemChange.Type.UPDATE.name().equals(kind)) {
+                sqlCommand = sqlCommandFactory.updateFor(modelSchema,
+                    QueryField.field(modelName, primaryKeyName).eq(item.getId()));
+            } else {
+                sqlCommand = sqlCommandFactory.deleteFor(modelSchema,
+                    QueryField.field(modelName, primaryKeyName).eq(item.getId()));
+            }
+            if (sqlCommand.hasCompiledSqlStatement()) {
+                sqlCommand.getCompiledSqlStatement().acquireReference();
+            }
+            commands.put(key, sqlCommand);
+            return sqlCommand;
+        }
+
+        @Override
+        public void close() {
+            for (SqlCommand sqlCommand : commands.values()) {
+                if (sqlCommand.hasCompiledSqlStatement()) {
+                    sqlCommand.getCompiledSqlStatement().releaseReference();
+                }
+            }
+            commands.clear();
+        }
     }
 }
@@ -21,9 +21,11 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.os.Build;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.core.Amplify;
+import com.amplifyframework.datastore.DataStoreConfiguration;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.Empty;
 import com.amplifyframework.util.Wrap;
@@ -45,14 +47,24 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
     // Contains all create table and create index commands.
     private final CreateSqlCommands createSqlCommands;
 
+    // Settings of the database connection. When null, SQLite's own defaults are kept.
+    private final DataStoreConfiguration configuration;
+
     private SQLiteStorageHelper(@NonNull Context context,
                                 @NonNull String databaseName,
                                 int databaseVersion,
-                                @NonNull CreateSqlCommands createSqlCommands) {
+                                @NonNull CreateSqlCommands createSqlCommands,
+                                @Nullable DataStoreConfiguration configuration) {
         // Passing null to CursorFactory which is used to create cursor objects
         // as there is no need for a CursorFactory so far.
         super(context, databaseName, null, databaseVersion);
         this.createSqlCommands = createSqlCommands;
+        this.configuration = configuration;
+        if (configuration != null && Boolean.TRUE.equals(configuration.getStorageWriteAheadLogging())) {
+            // Also lets the database keep a pool of connections, so that reads
+            // on other threads are not held up by a write.
+            setWriteAheadLoggingEnabled(true);
+        }
     }
 
     /**
@@ -68,13 +80,39 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
             @NonNull String databaseName,
             int databaseVersion,
             @NonNull CreateSqlCommands createSqlCommands) {
-        return new SQLiteStorageHelper(context, databaseName, databaseVersion, createSqlCommands);
+        return new SQLiteStorageHelper(context, databaseName, databaseVersion, createSqlCommands, null);
+    }
+
+    /**
+     * Creates an instance of the SQLiteStorageHelper, which configures its database
+     * with the storage settings of a {@link DataStoreConfiguration}.
+     * @param context Android context
+     * @param databaseName name of the database
+     * @param databaseVersion version of the database
+     * @param createSqlCommands set of create table and create index sql commands
+     * @param configuration storage settings, such as write-ahead logging and the cache size
+     * @return A new instance of the SQLiteStorageHelper
+     */
+    static SQLiteStorageHelper getInstance(
+            @NonNull Context context,
+            @NonNull String databaseName,
+            int databaseVersion,
+            @NonNull CreateSqlCommands createSqlCommands,
+            @NonNull DataStoreConfiguration configuration) {
+        return new SQLiteStorageHelper(context, databaseName, databaseVersion, createSqlCommands,
+            Objects.requireNonNull(configuration));
     }
 
     /**
      * Configure the {@link SQLiteDatabase} when being created.
      * Called when the database connection is being configured, to enable features
-     * such as foreign key support.
+     * such as foreign key support, and to apply the storage settings of the
+     * {@link DataStoreConfiguration}, if any.
+     *
+     * These pragmas are settings of a single connection. They are run on the primary
+     * connection, which makes every write. With write-ahead logging, the database opens
+     * further connections for reads as they are needed; Android gives no way to configure
+     * those, so they keep SQLite's default cache size and do not memory-map the database.
      *
      * @param sqliteDatabase the connection handle to the database.
      */
@@ -84,6 +122,25 @@ final class SQLiteStorageHelper extends SQLiteOpenHelper implements ModelUpdateS
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
             sqliteDatabase.setForeignKeyConstraintsEnabled(true);
         }
+        if (configuration == null) {
+            return;
+        }
+        final DataStoreConfiguration.StorageSynchronousMode synchronousMode =
+            configuration.getStorageSynchronousMode();
+        if (synchronousMode != null) {
+            sqliteDatabase.execSQL("PRAGMA synchronous = " + synchronousMode.name() + ";");
+        }
+        if (configuration.getStorageCacheSizeKb() != null) {
+            // A negative cache size is a number of kibibytes, rather than of pages.
+            sqliteDatabase.execSQL("PRAGMA cache_size = -" + configuration.getStorageCacheSizeKb() + ";");
+        }
+        if (configuration.getStorageMmapSizeBytes() != null) {
+            // Unlike the other pragmas, this one returns the new value, so it must be run as a query.
+            try (Cursor cursor = sqliteDatabase.rawQuery(
+                    "PRAGMA mmap_size = " + configuration.getStorageMmapSizeBytes() + ";", null)) {
+                cursor.moveToFirst();
+            }
+        }
     }
 
     /**
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.model.temporal.Temporal;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Encodes {@link Temporal.Date}, {@link Temporal.DateTime} and {@link Temporal.Time} values
+ * into 16 bytes, whose unsigned byte order is the order of the instants they represent.
+ * SQLite compares BLOBs with memcmp(), so range predicates and ORDER BY clauses on encoded
+ * columns compare instants, and values are read back without parsing any text.
+ * <p>
+ * The bytes are, in big-endian order:
+ * <ul>
+ *     <li>8 bytes: seconds since the epoch, with the sign bit flipped</li>
+ *     <li>4 bytes: nanoseconds within the second</li>
+ *     <li>4 bytes: offset from UTC in seconds with the sign bit flipped, or zero if there is none</li>
+ * </ul>
+ * As in the comparison of the temporal types, a date is the instant of its start, and a time is
+ * its instant on the first day of the epoch. A value without an offset is taken to be in UTC.
+ * <p>
+ * Live queries order temporal values in memory by the same encoding, so that they agree with
+ * the local store.
+ */
+public final class SortableTemporalCodec {
+    private static final int ENCODED_LENGTH = 16;
+    private static final int NO_OFFSET = 0;
+
+    private SortableTemporalCodec() {}
+
+    /**
+     * Encodes a date, a date-time or a time.
+     * @param value A {@link Temporal.Date}, {@link Temporal.DateTime} or {@link Temporal.Time}
+     * @return The sortable encoding of the value
+     * @throws IllegalArgumentException If the value is not of a temporal type stored by this codec
+     */
+    @NonNull
+    public static byte[] encode(@NonNull Object value) {
+        if (value instanceof Temporal.DateTime) {
+            OffsetDateTime offsetDateTime = ((Temporal.DateTime) value).toOffsetDateTime();
+            return encode(offsetDateTime.toEpochSecond(), offsetDateTime.getNano(), offsetDateTime.getOffset());
+        } else if (value instanceof Temporal.Date) {
+            Temporal.Date date = (Temporal.Date) value;
+            ZoneOffset zoneOffset = date.getZoneOffset();
+            long epochSecond = date.toLocalDate()
+                .atStartOfDay()
+                .toEpochSecond(zoneOffset != null ? zoneOffset : ZoneOffset.UTC);
+            return encode(epochSecond, 0, zoneOffset);
+        } else if (value instanceof Temporal.Time) {
+            Temporal.Time time = (Temporal.Time) value;
+            ZoneOffset zoneOffset = time.getZoneOffset();
+            LocalTime localTime = time.toLocalTime();
+            long epochSecond = LocalDateTime.of(LocalDate.ofEpochDay(0), localTime)
+                .toEpochSecond(zoneOffset != null ? zoneOffset : ZoneOffset.UTC);
+            return encode(epochSecond, localTime.getNano(), zoneOffset);
+        }
+        throw new IllegalArgumentException("Can not encode a value of type " + value.getClass().getName());
+    }
+
+    /**
+     * Compares two encodings as SQLite compares BLOBs, by their unsigned bytes.
+     * @param one An encoded value
+     * @param other Another encoded value
+     * @return A negative number, zero, or a positive number, as the first value represents an
+     *         earlier, the same, or a later instant than the second
+     */
+    public static int compare(@NonNull byte[] one, @NonNull byte[] other) {
+        for (int index = 0; index < Math.min(one.length, other.length); index++) {
+            int comparison = Integer.compare(one[index] & 0xff, other[index] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(one.length, other.length);
+    }
+
+    /**
+     * Decodes a date.
+     * @param bytes Encoding of a date
+     * @return The date
+     */
+    @NonNull
+    static Temporal.Date decodeDate(@NonNull byte[] bytes) {
+        ByteBuffer buffer = wrap(bytes);
+        long epochSecond = buffer.getLong() ^ Long.MIN_VALUE;
+        buffer.getInt();
+        ZoneOffset zoneOffset = readOffset(buffer);
+        LocalDate localDate = LocalDateTime
+            .ofEpochSecond(epochSecond, 0, zoneOffset != null ? zoneOffset : ZoneOffset.UTC)
+            .toLocalDate();
+        return new Temporal.Date(localDate, zoneOffset);
+    }
+
+    /**
+     * Decodes a date-time.
+     * @param bytes Encoding of a date-time
+     * @return The date-time
+     */
+    @NonNull
+    static Temporal.DateTime decodeDateTime(@NonNull byte[] bytes) {
+        ByteBuffer buffer = wrap(bytes);
+        long epochSecond = buffer.getLong() ^ Long.MIN_VALUE;
+        int nanos = buffer.getInt();
+        ZoneOffset zoneOffset = readOffset(buffer);
+        Instant instant = Instant.ofEpochSecond(epochSecond, nanos);
+        return new Temporal.DateTime(
+            OffsetDateTime.ofInstant(instant, zoneOffset != null ? zoneOffset : ZoneOffset.UTC));
+    }
+
+    /**
+     * Decodes a time.
+     * @param bytes Encoding of a time
+     * @return The time
+     */
+    @NonNull
+    static Temporal.Time decodeTime(@NonNull byte[] bytes) {
+        ByteBuffer buffer = wrap(bytes);
+        long epochSecond = buffer.getLong() ^ Long.MIN_VALUE;
+        int nanos = buffer.getInt();
+        ZoneOffset zoneOffset = readOffset(buffer);
+        LocalTime localTime = LocalDateTime
+            .ofEpochSecond(epochSecond, nanos, zoneOffset != null ? zoneOffset : ZoneOffset.UTC)
+            .toLocalTime();
+        return new Temporal.Time(localTime, zoneOffset);
+    }
+
+    private static byte[] encode(long epochSecond, int nanos, @Nullable ZoneOffset zoneOffset) {
+        return ByteBuffer.allocate(ENCODED_LENGTH)
+            .putLong(epochSecond ^ Long.MIN_VALUE)
+            .putInt(nanos)
+            .putInt(zoneOffset != null ? zoneOffset.getTotalSeconds() ^ Integer.MIN_VALUE : NO_OFFSET)
+            .array();
+    }
+
+    private static ByteBuffer wrap(byte[] bytes) {
+        if (bytes.length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Expected " + ENCODED_LENGTH + " bytes, but got " + bytes.length);
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    @Nullable
+    private static ZoneOffset readOffset(ByteBuffer buffer) {
+        int encodedOffset = buffer.getInt();
+        return encodedOffset == NO_OFFSET ? null : ZoneOffset.ofTotalSeconds(encodedOffset ^ Integer.MIN_VALUE);
+    }
+}
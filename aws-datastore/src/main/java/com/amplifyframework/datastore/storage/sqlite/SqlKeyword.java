@@ -142,6 +142,16 @@ public enum SqlKeyword {
      */
     AS("AS"),
 
+    /**
+     * SQL keyword to check that a value is null.
+     */
+    IS_NULL("IS NULL"),
+
+    /**
+     * SQL keyword to check that a value is not null.
+     */
+    IS_NOT_NULL("IS NOT NULL"),
+
     /**
      * SQL keyword to specify an offset of the result set (used for paginating results).
      */
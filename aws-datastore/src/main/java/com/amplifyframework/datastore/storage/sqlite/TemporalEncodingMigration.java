@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteColumn;
+import com.amplifyframework.datastore.storage.sqlite.adapter.SQLiteTable;
+import com.amplifyframework.logging.Logger;
+import com.amplifyframework.util.Wrap;
+
+import java.util.Objects;
+
+/**
+ * Converts the stored values of date, date-time and time fields to the temporal encoding
+ * of the local store, when it has been changed since the values were written.
+ *
+ * Values of either encoding are read correctly, but they do not compare correctly with each
+ * other, so every value is converted before the local store is used. The encoding is recorded
+ * in the store once its values have been converted, and the temporal columns are only searched
+ * for values of the other storage class when the encoding differs from the recorded one, or
+ * when none has been recorded yet.
+ */
+final class TemporalEncodingMigration {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    // Holds a single row, with the encoding of the stored temporal values. When the tables are
+    // dropped, so is this one, so that the (empty) temporal columns are searched again.
+    @VisibleForTesting
+    static final String ENCODING_TABLE = "PersistentTemporalEncoding";
+
+    private final ModelSchemaRegistry registry;
+    private final SQLiteDatabase database;
+
+    TemporalEncodingMigration(@NonNull ModelSchemaRegistry registry, @NonNull SQLiteDatabase database) {
+        this.registry = Objects.requireNonNull(registry);
+        this.database = Objects.requireNonNull(database);
+    }
+
+    /**
+     * Converts every stored temporal value which is not in the given encoding, and records
+     * the encoding, in one transaction. Nothing is searched if the encoding is already recorded.
+     * @param encoding The temporal encoding of the local store
+     * @return The number of values which were converted
+     * @throws DataStoreException If a value can not be converted, in which case none are
+     */
+    int migrateTo(@NonNull StorageTemporalEncoding encoding) throws DataStoreException {
+        final boolean toBinary = StorageTemporalEncoding.SORTABLE_BINARY.equals(Objects.requireNonNull(encoding));
+        int converted = 0;
+        database.beginTransaction();
+        try {
+            if (encoding.equals(readRecordedEncoding())) {
+                database.setTransactionSuccessful();
+                return 0;
+            }
+            for (ModelSchema schema : registry.getModelSchemaMap().values()) {
+                final SQLiteTable table = SQLiteTable.fromSchema(schema);
+                for (ModelField field : schema.getFields().values()) {
+                    final JavaFieldType fieldType = TypeConverter.getJavaFieldType(field);
+                    final SQLiteColumn column = table.getColumns().get(field.getName());
+                    if (column != null && isTemporal(fieldType)) {
+                        converted += migrateColumn(table.getName(), column.getName(), fieldType, toBinary);
+                    }
+                }
+            }
+            recordEncoding(encoding);
+            database.setTransactionSuccessful();
+        } catch (SQLException | IllegalArgumentException exception) {
+            throw new DataStoreException(
+                "Failed to convert the stored temporal values to the " + encoding + " encoding.",
+                exception, AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        } finally {
+            database.endTransaction();
+        }
+        if (converted > 0) {
+            LOG.info("Converted " + converted + " stored temporal values to the " + encoding + " encoding.");
+        }
+        return converted;
+    }
+
+    @Nullable
+    private StorageTemporalEncoding readRecordedEncoding() {
+        database.execSQL("CREATE TABLE IF NOT EXISTS " + Wrap.inBackticks(ENCODING_TABLE) +
+            " (id INTEGER PRIMARY KEY CHECK (id = 0), encoding TEXT NOT NULL)");
+        try (Cursor cursor = database.rawQuery(
+                "SELECT encoding FROM " + Wrap.inBackticks(ENCODING_TABLE) + " WHERE id = 0", null)) {
+            return cursor.moveToFirst() ? StorageTemporalEncoding.valueOf(cursor.getString(0)) : null;
+        }
+    }
+
+    private void recordEncoding(StorageTemporalEncoding encoding) {
+        try (SQLiteStatement insert = database.compileStatement(
+                "INSERT OR REPLACE INTO " + Wrap.inBackticks(ENCODING_TABLE) + " (id, encoding) VALUES (0, ?)")) {
+            insert.bindString(1, encoding.name());
+            insert.executeInsert();
+        }
+    }
+
+    private int migrateColumn(String tableName, String columnName, JavaFieldType fieldType, boolean toBinary) {
+        final String table = Wrap.inBackticks(tableName);
+        final String column = Wrap.inBackticks(columnName);
+        final String staleStorageClass = toBinary ? "text" : "blob";
+        int converted = 0;
+        try (Cursor cursor = database.rawQuery(
+                "SELECT rowid, " + column + " FROM " + table + " WHERE typeof(" + column + ") = ?",
+                new String[] {staleStorageClass});
+             SQLiteStatement update = database.compileStatement(
+                "UPDATE " + table + " SET " + column + " = ? WHERE rowid = ?")) {
+            while (cursor.moveToNext()) {
+                if (toBinary) {
+                    update.bindBlob(1, SortableTemporalCodec.encode(parse(cursor.getString(1), fieldType)));
+                } else {
+                    update.bindString(1, format(cursor.getBlob(1), fieldType));
+                }
+                update.bindLong(2, cursor.getLong(0));
+                update.executeUpdateDelete();
+                converted++;
+            }
+        }
+        return converted;
+    }
+
+    private static boolean isTemporal(JavaFieldType fieldType) {
+        return JavaFieldType.DATE.equals(fieldType) ||
+            JavaFieldType.DATE_TIME.equals(fieldType) ||
+            JavaFieldType.TIME.equals(fieldType);
+    }
+
+    private static Object parse(String text, JavaFieldType fieldType) {
+        switch (fieldType) {
+            case DATE:
+                return new Temporal.Date(text);
+            case DATE_TIME:
+                return new Temporal.DateTime(text);
+            case TIME:
+                return new Temporal.Time(text);
+            default:
+                throw new IllegalArgumentException("Not a temporal field type: " + fieldType);
+        }
+    }
+
+    private static String format(byte[] bytes, JavaFieldType fieldType) {
+        switch (fieldType) {
+            case DATE:
+                return SortableTemporalCodec.decodeDate(bytes).format();
+            case DATE_TIME:
+                return SortableTemporalCodec.decodeDateTime(bytes).format();
+            case TIME:
+                return SortableTemporalCodec.decodeTime(bytes).format();
+            default:
+                throw new IllegalArgumentException("Not a temporal field type: " + fieldType);
+        }
+    }
+}
@@ -52,7 +52,12 @@ public final class TypeConverter {
         JAVA_TO_SQL.put(JavaFieldType.CUSTOM_TYPE, SQLiteDataType.TEXT);
     }
 
-    static JavaFieldType getJavaFieldType(@NonNull ModelField field) {
+    /**
+     * Gets the {@link JavaFieldType} of the values of a field.
+     * @param field A field of a model
+     * @return the {@link JavaFieldType} of the values of the field
+     */
+    public static JavaFieldType getJavaFieldType(@NonNull ModelField field) {
         if (field.isModel()) {
             return JavaFieldType.MODEL;
         }
@@ -15,6 +15,13 @@
 
 package com.amplifyframework.datastore.storage.sqlite.adapter;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.query.predicate.BeginsWithQueryOperator;
 import com.amplifyframework.core.model.query.predicate.BetweenQueryOperator;
 import com.amplifyframework.core.model.query.predicate.ContainsQueryOperator;
@@ -31,6 +38,7 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
 import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.core.model.types.JavaFieldType;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.storage.sqlite.SQLiteModelFieldTypeConverter;
 import com.amplifyframework.datastore.storage.sqlite.SqlKeyword;
@@ -42,6 +50,7 @@ import com.amplifyframework.util.Wrap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * SQL Predicate adapter that adapts {@link QueryPredicate} to be
@@ -61,16 +70,47 @@ import java.util.List;
  *
  */
 public final class SQLPredicate {
+    private final ModelSchema modelSchema;
+    private final ModelSchemaRegistry modelSchemaRegistry;
+    private final StorageTemporalEncoding temporalEncoding;
     private final List<Object> bindings;
     private final String queryString;
 
     /**
      * Constructs an adapted instance of SQLPredicate
-     * from an instance of {@link QueryPredicate}.
+     * from an instance of {@link QueryPredicate}, for a local store
+     * which keeps temporal values as text.
      * @param predicate query predicate to adapt
      * @throws DataStoreException If unable to parse the predicate
      */
     public SQLPredicate(QueryPredicate predicate) throws DataStoreException {
+        this.modelSchema = null;
+        this.modelSchemaRegistry = null;
+        this.temporalEncoding = StorageTemporalEncoding.TEXT;
+        this.bindings = new LinkedList<>();
+        this.queryString = parsePredicate(predicate).toString();
+    }
+
+    /**
+     * Constructs an adapted instance of SQLPredicate from an instance of
+     * {@link QueryPredicate} on a model. The values compared against date,
+     * date-time and time fields are bound in the temporal encoding of the
+     * local store, whether they are given as temporal objects or as text.
+     * @param predicate query predicate to adapt
+     * @param modelSchema schema of the model that is queried
+     * @param modelSchemaRegistry registry of the schemas of joined models
+     * @param temporalEncoding encoding of temporal values in the local store
+     * @throws DataStoreException If unable to parse the predicate, or if the predicate
+     *         applies a text operator to a field whose values are not stored as text
+     */
+    public SQLPredicate(
+            @NonNull QueryPredicate predicate,
+            @NonNull ModelSchema modelSchema,
+            @NonNull ModelSchemaRegistry modelSchemaRegistry,
+            @NonNull StorageTemporalEncoding temporalEncoding) throws DataStoreException {
+        this.modelSchema = Objects.requireNonNull(modelSchema);
+        this.modelSchemaRegistry = Objects.requireNonNull(modelSchemaRegistry);
+        this.temporalEncoding = Objects.requireNonNull(temporalEncoding);
         this.bindings = new LinkedList<>();
         this.queryString = parsePredicate(predicate).toString();
     }
@@ -100,13 +140,67 @@ public final class SQLPredicate {
         return Immutable.of(bindings);
     }
 
-    private void addBinding(Object value) {
-        final JavaFieldType fieldType = TypeConverter.getJavaFieldTypeFromValue(value);
-        final Object sqlValue = SQLiteModelFieldTypeConverter.convertRawValueToTarget(
-                value, fieldType, GsonFactory.instance());
+    private void addBinding(Object value) throws DataStoreException {
+        addBinding(value, null);
+    }
+
+    // Binds a value compared against a column. A temporal column's type takes precedence over the type
+    // of the value, so that a value given as text is bound in the same encoding as the column's values.
+    private void addBinding(Object value, @Nullable JavaFieldType temporalColumnType) throws DataStoreException {
+        final JavaFieldType fieldType = temporalColumnType != null
+                ? temporalColumnType
+                : TypeConverter.getJavaFieldTypeFromValue(value);
+        final Object sqlValue;
+        try {
+            sqlValue = SQLiteModelFieldTypeConverter.convertRawValueToTarget(
+                    value, fieldType, GsonFactory.instance(), temporalEncoding);
+        } catch (IllegalArgumentException invalidTemporal) {
+            // Text compared against a temporal field must be parsed to be bound in the binary encoding.
+            throw new DataStoreException(
+                    "Tried to compare the " + fieldType + " field with " + value + ", which is not a valid " +
+                            fieldType + ".", invalidTemporal,
+                    "Compare the field with a value in the ISO-8601 format of its type."
+            );
+        }
         bindings.add(sqlValue);
     }
 
+    // Finds the type of a field whose values are stored in a binary encoding, if the operation is on one.
+    @Nullable
+    private JavaFieldType binaryTemporalColumnType(QueryPredicateOperation<?> operation) {
+        if (!StorageTemporalEncoding.SORTABLE_BINARY.equals(temporalEncoding) || modelSchema == null) {
+            return null;
+        }
+        final ModelSchema schema = operation.modelName() == null
+                ? modelSchema
+                : modelSchemaRegistry.getModelSchemaForModelClass(operation.modelName());
+        final ModelField field = schema == null ? null : schema.getFields().get(operation.field());
+        if (field == null) {
+            return null;
+        }
+        final JavaFieldType fieldType = TypeConverter.getJavaFieldType(field);
+        switch (fieldType) {
+            case DATE:
+            case DATE_TIME:
+            case TIME:
+                return fieldType;
+            default:
+                return null;
+        }
+    }
+
+    // Text operators can not be applied to values which are stored as BLOBs.
+    private static void requireTextColumn(QueryPredicateOperation<?> operation, @Nullable JavaFieldType temporalType)
+            throws DataStoreException {
+        if (temporalType != null) {
+            throw new DataStoreException(
+                    "Tried to apply " + operation.operator().type() + " to the " + temporalType +
+                            " field " + operation.field() + ", which is stored in a binary encoding.",
+                    "Compare the field with a range of values, or store temporal values as TEXT."
+            );
+        }
+    }
+
     // Utility method to recursively parse a given predicate.
     private StringBuilder parsePredicate(QueryPredicate queryPredicate) throws DataStoreException {
         if (QueryPredicates.all().equals(queryPredicate)) {
@@ -138,11 +232,12 @@ public final class SQLPredicate {
         final String field = Wrap.inBackticks(operation.field());
         final String column = model == null ? operation.field() : model + "." + field;
         final QueryOperator<?> op = operation.operator();
+        final JavaFieldType temporalType = binaryTemporalColumnType(operation);
         switch (op.type()) {
             case BETWEEN:
                 BetweenQueryOperator<?> betweenOp = (BetweenQueryOperator<?>) op;
-                addBinding(betweenOp.start());
-                addBinding(betweenOp.end());
+                addBinding(betweenOp.start(), temporalType);
+                addBinding(betweenOp.end(), temporalType);
                 return builder.append(column)
                         .append(SqlKeyword.DELIMITER)
                         .append(SqlKeyword.BETWEEN)
@@ -154,6 +249,7 @@ public final class SQLPredicate {
                         .append("?");
             case CONTAINS:
                 ContainsQueryOperator containsOp = (ContainsQueryOperator) op;
+                requireTextColumn(operation, temporalType);
                 addBinding(containsOp.value());
                 return builder.append("instr(")
                         .append(column)
@@ -167,6 +263,7 @@ public final class SQLPredicate {
 
             case NOT_CONTAINS:
                 NotContainsQueryOperator notContainsOp = (NotContainsQueryOperator) op;
+                requireTextColumn(operation, temporalType);
                 addBinding(notContainsOp.value());
                 return builder.append("instr(")
                         .append(column)
@@ -179,6 +276,7 @@ public final class SQLPredicate {
                         .append("0");
             case BEGINS_WITH:
                 BeginsWithQueryOperator beginsWithOp = (BeginsWithQueryOperator) op;
+                requireTextColumn(operation, temporalType);
                 addBinding(beginsWithOp.value() + "%");
                 return builder.append(column)
                         .append(SqlKeyword.DELIMITER)
@@ -191,7 +289,7 @@ public final class SQLPredicate {
             case GREATER_THAN:
             case LESS_OR_EQUAL:
             case GREATER_OR_EQUAL:
-                addBinding(getOperatorValue(op));
+                addBinding(getOperatorValue(op), temporalType);
                 return builder.append(column)
                         .append(SqlKeyword.DELIMITER)
                         .append(SqlKeyword.fromQueryOperator(op.type()))
@@ -215,6 +313,10 @@ public final class SQLPredicate {
                         .append(SqlKeyword.DELIMITER)
                         .append(parsePredicate(group.predicates().get(0)));
             case OR:
+                if (isEqualityOnSingleColumn(group)) {
+                    return parseAsInOperation(group);
+                }
+                // fall through
             case AND:
                 builder.append("(");
                 Iterator<QueryPredicate> predicateIterator = group.predicates().iterator();
@@ -236,6 +338,55 @@ public final class SQLPredicate {
         }
     }
 
+    // Checks if every predicate of a group is an equality check on the same column. When
+    // OR'd together, such a group is equivalent to a single IN operation.
+    private static boolean isEqualityOnSingleColumn(QueryPredicateGroup group) {
+        QueryPredicateOperation<?> first = null;
+        for (QueryPredicate predicate : group.predicates()) {
+            if (!(predicate instanceof QueryPredicateOperation)) {
+                return false;
+            }
+            QueryPredicateOperation<?> operation = (QueryPredicateOperation<?>) predicate;
+            if (!QueryOperator.Type.EQUAL.equals(operation.operator().type())) {
+                return false;
+            }
+            if (first == null) {
+                first = operation;
+            } else if (!ObjectsCompat.equals(first.modelName(), operation.modelName()) ||
+                    !ObjectsCompat.equals(first.field(), operation.field())) {
+                return false;
+            }
+        }
+        return first != null;
+    }
+
+    // Parses a group of equality checks on a single column as "column IN (?, ?, ...)". A long chain
+    // of ORs is parsed by SQLite into an expression tree as deep as the chain is long, while an IN
+    // is evaluated against its list of values directly.
+    private StringBuilder parseAsInOperation(QueryPredicateGroup group) throws DataStoreException {
+        final QueryPredicateOperation<?> first = (QueryPredicateOperation<?>) group.predicates().get(0);
+        final String model = Wrap.inBackticks(first.modelName());
+        final String field = Wrap.inBackticks(first.field());
+        final String column = model == null ? first.field() : model + "." + field;
+        final JavaFieldType temporalType = binaryTemporalColumnType(first);
+        final StringBuilder builder = new StringBuilder()
+                .append(column)
+                .append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.IN)
+                .append(SqlKeyword.DELIMITER)
+                .append("(");
+        Iterator<QueryPredicate> predicateIterator = group.predicates().iterator();
+        while (predicateIterator.hasNext()) {
+            addBinding(getOperatorValue(((QueryPredicateOperation<?>) predicateIterator.next()).operator()),
+                    temporalType);
+            builder.append("?");
+            if (predicateIterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append(")");
+    }
+
     // Utility method to extract the parameter value from a given operator.
     private Object getOperatorValue(QueryOperator<?> qOp) throws DataStoreException {
         switch (qOp.type()) {
@@ -28,14 +28,19 @@ import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.StorageOperation;
 import com.amplifyframework.datastore.utils.ErrorInspector;
 import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
 
 /**
  * The merger is responsible for merging cloud data back into the local store.
@@ -128,6 +133,97 @@ final class Merger {
 
     }
 
+    /**
+     * Merge a page of items back into the local store, using the same strategy as
+     * {@link #merge(ModelWithMetadata, Consumer)} applies to each item. Rather than looking up the
+     * local version of each item, and then writing the item and its metadata, one by one, the
+     * versions of the whole page are looked up at once, and every write is applied in a single
+     * transaction. If that transaction fails on a foreign key constraint violation, the page is
+     * merged again one item at a time, so that only the offending items are skipped.
+     * @param page A page of models, each combined with metadata about it
+     * @param changeTypeConsumer A callback invoked when the merge method saves or deletes a model.
+     * @param <T> Type of model
+     * @return A completable operation to merge the page of models
+     */
+    <T extends Model> Completable merge(
+            List<ModelWithMetadata<T>> page, Consumer<StorageItemChange.Type> changeTypeConsumer) {
+        return Completable.defer(() -> {
+            // Items that have a pending mutation in the outbox are not merged.
+            final List<ModelWithMetadata<T>> candidates = new ArrayList<>();
+            final List<T> candidateModels = new ArrayList<>();
+            for (ModelWithMetadata<T> modelWithMetadata : page) {
+                T model = modelWithMetadata.getModel();
+                if (mutationOutbox.hasPendingMutation(model.getId())) {
+                    LOG.info("Mutation outbox has pending mutation for " + model.getId() + ", refusing to merge.");
+                    continue;
+                }
+                candidates.add(modelWithMetadata);
+                candidateModels.add(model);
+            }
+            if (candidates.isEmpty()) {
+                return Completable.complete();
+            }
+
+            return versionRepository.findModelVersions(candidateModels)
+                .flatMapCompletable(currentVersions -> {
+                    final List<ModelWithMetadata<T>> mergeable = new ArrayList<>();
+                    for (ModelWithMetadata<T> candidate : candidates) {
+                        ModelMetadata metadata = candidate.getSyncMetadata();
+                        String modelId = candidate.getModel().getId();
+                        int incomingVersion = metadata.getVersion() == null ? -1 : metadata.getVersion();
+                        Integer currentVersion = currentVersions.get(modelId);
+                        // As for a single item, only strictly newer versions are merged.
+                        if (currentVersion == null || incomingVersion > currentVersion) {
+                            mergeable.add(candidate);
+                            currentVersions.put(modelId, incomingVersion);
+                        }
+                    }
+                    return writePage(mergeable, changeTypeConsumer);
+                })
+                .doOnError(failure ->
+                    LOG.warn("Failed to sync a page of remote models into local storage.", failure)
+                );
+        });
+    }
+
+    // Write every model of a page, along with its metadata, in a single transaction.
+    private <T extends Model> Completable writePage(
+            List<ModelWithMetadata<T>> page, Consumer<StorageItemChange.Type> changeTypeConsumer) {
+        if (page.isEmpty()) {
+            return Completable.complete();
+        }
+        final List<StorageOperation<? extends Model>> operations = new ArrayList<>();
+        for (ModelWithMetadata<T> modelWithMetadata : page) {
+            T model = modelWithMetadata.getModel();
+            boolean isDelete = Boolean.TRUE.equals(modelWithMetadata.getSyncMetadata().isDeleted());
+            operations.add(isDelete ? StorageOperation.delete(model) : StorageOperation.save(model));
+            operations.add(StorageOperation.save(modelWithMetadata.getSyncMetadata()));
+        }
+        return Single.<List<StorageItemChange<? extends Model>>>create(emitter ->
+            localStorageAdapter.batch(operations, StorageItemChange.Initiator.SYNC_ENGINE,
+                emitter::onSuccess, emitter::onError)
+        )
+            .doOnSuccess(changes -> {
+                // Each model's change is followed by the change to its metadata.
+                for (int index = 0; index < page.size(); index++) {
+                    changeTypeConsumer.accept(changes.get(index * 2).type());
+                    announceSuccessfulMerge(page.get(index));
+                }
+                LOG.debug("Page of " + page.size() + " remote models was sync'd down into local storage.");
+            })
+            .ignoreElement()
+            // Remote store may not always respect the foreign key constraint. The whole
+            // transaction has been rolled back, so merge each item on its own instead.
+            .onErrorResumeNext(failure -> {
+                if (!ErrorInspector.contains(failure, SQLiteConstraintException.class)) {
+                    return Completable.error(failure);
+                }
+                LOG.warn("Page merge failed on a constraint violation; merging items one at a time.", failure);
+                return Flowable.fromIterable(page)
+                    .concatMapCompletable(modelWithMetadata -> merge(modelWithMetadata, changeTypeConsumer));
+            });
+    }
+
     /**
      * Announce a successful merge over Hub.
      * @param modelWithMetadata Model with metadata that was successfully merged
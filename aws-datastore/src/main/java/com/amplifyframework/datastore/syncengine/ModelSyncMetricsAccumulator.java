@@ -15,12 +15,15 @@
 
 package com.amplifyframework.datastore.syncengine;
 
+import com.amplifyframework.datastore.events.ModelSyncPipelineEvent;
 import com.amplifyframework.datastore.events.ModelSyncedEvent;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.util.Time;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class that encapsulates the logic of keeping track of sync metrics
@@ -29,6 +32,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 final class ModelSyncMetricsAccumulator {
     private final Map<StorageItemChange.Type, AtomicInteger> syncMetrics;
     private final String modelClassName;
+    private final AtomicInteger pages;
+    private final AtomicLong fetchTimeMs;
+    private final AtomicLong mergeTimeMs;
+    private volatile long startTime;
 
     /**
      * Constructor that sets up an observer to watch for mutations
@@ -41,6 +48,9 @@ final class ModelSyncMetricsAccumulator {
         syncMetrics.put(StorageItemChange.Type.UPDATE, new AtomicInteger(0));
         syncMetrics.put(StorageItemChange.Type.DELETE, new AtomicInteger(0));
         this.modelClassName = modelClassName;
+        this.pages = new AtomicInteger(0);
+        this.fetchTimeMs = new AtomicLong(0);
+        this.mergeTimeMs = new AtomicLong(0);
     }
 
     /**
@@ -56,6 +66,45 @@ final class ModelSyncMetricsAccumulator {
                                     syncMetrics.get(StorageItemChange.Type.DELETE).get());
     }
 
+    /**
+     * Creates an instance of {@link ModelSyncPipelineEvent}, using the timings recorded
+     * since {@link #start()}.
+     * @param prefetchDepth The number of pages that were allowed to wait to be merged.
+     * @return An instance of {@link ModelSyncPipelineEvent}.
+     */
+    public ModelSyncPipelineEvent toModelSyncPipelineEvent(int prefetchDepth) {
+        return new ModelSyncPipelineEvent(modelClassName,
+                                          pages.get(),
+                                          prefetchDepth,
+                                          fetchTimeMs.get(),
+                                          mergeTimeMs.get(),
+                                          Time.now() - startTime);
+    }
+
+    /**
+     * Marks the beginning of the sync, from which the elapsed time is measured.
+     */
+    public void start() {
+        startTime = Time.now();
+    }
+
+    /**
+     * Records that a page was fetched from the network.
+     * @param durationMs Time taken to fetch the page, in milliseconds.
+     */
+    public void recordFetch(long durationMs) {
+        pages.incrementAndGet();
+        fetchTimeMs.addAndGet(durationMs);
+    }
+
+    /**
+     * Records that a page was merged into the local store.
+     * @param durationMs Time taken to merge the page, in milliseconds.
+     */
+    public void recordMerge(long durationMs) {
+        mergeTimeMs.addAndGet(durationMs);
+    }
+
     /**
      * Increments the counter for a given change type.
      * @param changeType The change type to increment.
@@ -21,6 +21,8 @@ import androidx.annotation.Nullable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.List;
+
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -72,6 +74,16 @@ interface MutationOutbox {
     @NonNull
     <T extends Model> Completable enqueue(@NonNull PendingMutation<T> incomingMutation);
 
+    /**
+     * Begins enqueueing mutations as part of a storage transaction, so that the records of the
+     * mutations are committed along with the local changes that they describe. The outbox stays
+     * locked until the returned transaction is committed or rolled back.
+     * @return A transaction in which to enqueue mutations
+     * @throws DataStoreException If interrupted while waiting for the outbox to be unlocked
+     */
+    @NonNull
+    OutboxTransaction beginTransaction() throws DataStoreException;
+
     /**
      * Remove an item from the outbox. The {@link SyncProcessor} calls this after it successfully
      * publishes an update over the network.
@@ -89,6 +101,18 @@ interface MutationOutbox {
     @Nullable
     PendingMutation<? extends Model> peek();
 
+    /**
+     * Take a peek at the next items in the outbox, which can be published at the same time.
+     * Each of the returned items is the next pending mutation of its model, and no two of them
+     * are for the same model. Publishing them concurrently keeps the order of each model's mutations.
+     * They end before any mutation of a model which belongs to a model mutated earlier in the outbox,
+     * so that a parent is always published before its children.
+     * @param maxMutations The maximum number of pending mutations to return
+     * @return Up to maxMutations pending mutations, in outbox order. Empty, if the outbox is empty.
+     */
+    @NonNull
+    List<PendingMutation<? extends Model>> peek(int maxMutations);
+
     /**
      * Marks a pending mutation as "in-flight." An in-flight mutation becomes
      * frozen to any further modifications, until it can be removed from the outbox, entirely.
@@ -23,6 +23,7 @@ import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.AppSync;
 import com.amplifyframework.datastore.appsync.AppSyncConflictUnhandledError;
@@ -33,6 +34,7 @@ import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +52,7 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 final class MutationProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
     private static final long ITEM_PROCESSING_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final int MIN_SYNC_MAX_CONCURRENT_MUTATIONS = 1;
 
     private final Merger merger;
     private final VersionRepository versionRepository;
@@ -57,6 +60,7 @@ final class MutationProcessor {
     private final MutationOutbox mutationOutbox;
     private final AppSync appSync;
     private final ConflictResolver conflictResolver;
+    private final DataStoreConfigurationProvider dataStoreConfigurationProvider;
     private final CompositeDisposable ongoingOperationsDisposable;
 
     private MutationProcessor(Builder builder) {
@@ -66,6 +70,7 @@ final class MutationProcessor {
         this.mutationOutbox = Objects.requireNonNull(builder.mutationOutbox);
         this.appSync = Objects.requireNonNull(builder.appSync);
         this.conflictResolver = Objects.requireNonNull(builder.conflictResolver);
+        this.dataStoreConfigurationProvider = Objects.requireNonNull(builder.dataStoreConfigurationProvider);
         this.ongoingOperationsDisposable = new CompositeDisposable();
     }
 
@@ -106,16 +111,31 @@ final class MutationProcessor {
         );
     }
 
-    private Completable drainMutationOutbox() {
-        PendingMutation<? extends Model> next;
+    /**
+     * Publishes the mutations in the outbox, until it is empty. Up to the configured maximum
+     * number of mutations are published at a time. Those are each the next mutation of a
+     * different model, so that the mutations of any one model are still published in order.
+     * @return A Completable which completes when the outbox is empty, or emits an error
+     *         if a mutation fails to be processed
+     * @throws DataStoreException On failure to obtain the DataStore configuration
+     */
+    private Completable drainMutationOutbox() throws DataStoreException {
+        final int maxConcurrentMutations = syncMaxConcurrentMutations();
+        List<PendingMutation<? extends Model>> next;
         do {
-            next = mutationOutbox.peek();
-            if (next == null) {
+            next = mutationOutbox.peek(maxConcurrentMutations);
+            if (next.isEmpty()) {
                 return Completable.complete();
             }
-            boolean itemFailedToProcess = !processOutboxItem(next)
-                .blockingAwait(ITEM_PROCESSING_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            if (itemFailedToProcess) {
+            List<Completable> publications = new ArrayList<>(next.size());
+            for (PendingMutation<? extends Model> mutation : next) {
+                publications.add(processOutboxItem(mutation));
+            }
+            // Let the other publications finish, even if one of them fails. The publications may
+            // not all be in flight at once, so each of them is given as long as a single one.
+            boolean itemsFailedToProcess = !Completable.mergeDelayError(publications)
+                .blockingAwait(ITEM_PROCESSING_TIMEOUT_MS * next.size(), TimeUnit.MILLISECONDS);
+            if (itemsFailedToProcess) {
                 return Completable.error(new DataStoreException(
                     "Failed to process " + next, "Check your internet connection."
                 ));
@@ -123,6 +143,16 @@ final class MutationProcessor {
         } while (true);
     }
 
+    // Configurations that are built without defaults may not specify a concurrency.
+    private int syncMaxConcurrentMutations() throws DataStoreException {
+        Integer syncMaxConcurrentMutations =
+            dataStoreConfigurationProvider.getConfiguration().getSyncMaxConcurrentMutations();
+        if (syncMaxConcurrentMutations == null) {
+            return MIN_SYNC_MAX_CONCURRENT_MUTATIONS;
+        }
+        return Math.max(MIN_SYNC_MAX_CONCURRENT_MUTATIONS, syncMaxConcurrentMutations);
+    }
+
     /**
      * Process an item in the mutation outbox.
      * @param mutationOutboxItem An item in the mutation outbox
@@ -388,6 +418,7 @@ final class MutationProcessor {
             BuilderSteps.MutationOutboxStep,
             BuilderSteps.AppSyncStep,
             BuilderSteps.ConflictResolverStep,
+            BuilderSteps.DataStoreConfigurationProviderStep,
             BuilderSteps.BuildStep {
         private Merger merger;
         private VersionRepository versionRepository;
@@ -395,6 +426,7 @@ final class MutationProcessor {
         private MutationOutbox mutationOutbox;
         private AppSync appSync;
         private ConflictResolver conflictResolver;
+        private DataStoreConfigurationProvider dataStoreConfigurationProvider;
 
         @NonNull
         @Override
@@ -433,11 +465,20 @@ final class MutationProcessor {
 
         @NonNull
         @Override
-        public BuilderSteps.BuildStep conflictResolver(@NonNull ConflictResolver conflictResolver) {
+        public BuilderSteps.DataStoreConfigurationProviderStep conflictResolver(
+                @NonNull ConflictResolver conflictResolver) {
             this.conflictResolver = Objects.requireNonNull(conflictResolver);
             return Builder.this;
         }
 
+        @NonNull
+        @Override
+        public BuilderSteps.BuildStep dataStoreConfigurationProvider(
+                @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider) {
+            this.dataStoreConfigurationProvider = Objects.requireNonNull(dataStoreConfigurationProvider);
+            return Builder.this;
+        }
+
         @NonNull
         @Override
         public MutationProcessor build() {
@@ -473,7 +514,13 @@ final class MutationProcessor {
 
         interface ConflictResolverStep {
             @NonNull
-            BuildStep conflictResolver(@NonNull ConflictResolver conflictResolver);
+            DataStoreConfigurationProviderStep conflictResolver(@NonNull ConflictResolver conflictResolver);
+        }
+
+        interface DataStoreConfigurationProviderStep {
+            @NonNull
+            BuildStep dataStoreConfigurationProvider(
+                    @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider);
         }
 
         interface BuildStep {
@@ -19,19 +19,33 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelAssociation;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.util.FieldFinder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The {@link MutationQueue} is a LinkedHashMap like container , the goal of using this container is to
  * achieve O(1) time complexity for both getting a {@link PendingMutation} and update an existing mutation with
  * valid id.
  * MutationQueue is implementing the Queue interface and provide most of the queue operations,
+ * The mutations are also indexed by the id of the model they mutate, so that finding the next
+ * mutation for a model does not require a walk of the whole queue.
  */
 public final class MutationQueue {
 
     private final Map<TimeBasedUuid, Node> mutationMap = new HashMap<>();
+    // Nodes of each model's mutations, in the same order as they are in the queue.
+    private final Map<String, Set<Node>> modelIdIndex = new HashMap<>();
     private final Node dummyHead;
     private final Node dummyTail;
 
@@ -52,16 +66,118 @@ public final class MutationQueue {
      * @return the {@link PendingMutation} instance
      */
     synchronized PendingMutation<? extends Model> nextMutationForModelId(String modelId) {
-        Node head = dummyHead.next;
-        if (head == dummyTail) {
+        Set<Node> nodesForModel = modelIdIndex.get(modelId);
+        if (nodesForModel == null) {
+            return null;
+        }
+        return nodesForModel.iterator().next().mutation;
+    }
+
+    /**
+     * Find the last Pending Mutation which its model has the same id.
+     *
+     * @param modelId the model id
+     * @return the {@link PendingMutation} instance
+     */
+    synchronized PendingMutation<? extends Model> lastMutationForModelId(String modelId) {
+        Set<Node> nodesForModel = modelIdIndex.get(modelId);
+        if (nodesForModel == null) {
             return null;
         }
-        while (head != dummyTail) {
-            if (head.mutation.getMutatedItem().getId().equals(modelId)) {
-                return head.mutation;
+        Node last = null;
+        for (Node node : nodesForModel) {
+            last = node;
+        }
+        return last.mutation;
+    }
+
+    /**
+     * Find all of the Pending Mutations which mutate the model with the given id.
+     *
+     * @param modelId the model id
+     * @return the mutations, in queue order; empty if there are none
+     */
+    @NonNull
+    synchronized List<PendingMutation<? extends Model>> mutationsForModelId(String modelId) {
+        List<PendingMutation<? extends Model>> mutations = new ArrayList<>();
+        Set<Node> nodesForModel = modelIdIndex.get(modelId);
+        if (nodesForModel != null) {
+            for (Node node : nodesForModel) {
+                mutations.add(node.mutation);
+            }
+        }
+        return mutations;
+    }
+
+    /**
+     * Get up to a given number of Pending Mutations from the head of the queue, which are each
+     * the next mutation of their model. A mutation which comes after another mutation of the same
+     * model is skipped, so that no two of the returned mutations are for the same model.
+     * The mutations stop at the first mutation of a model which belongs to a model that has a
+     * mutation earlier in the queue, since the child can not be published before its parent. They
+     * also stop at the first mutation of a model which an earlier mutation belongs to, such as
+     * the deletion of a parent after the deletion of its child, since the parent can not be
+     * published before its child either.
+     *
+     * @param maxMutations the maximum number of mutations to return
+     * @return the mutations, in queue order
+     */
+    @NonNull
+    synchronized List<PendingMutation<? extends Model>> nextMutationsForDistinctModels(int maxMutations) {
+        List<PendingMutation<? extends Model>> mutations = new ArrayList<>();
+        Set<String> seenModelIds = new HashSet<>();
+        Set<String> seenParentIds = new HashSet<>();
+        Node head = dummyHead.next;
+        while (head != dummyTail && mutations.size() < maxMutations) {
+            String modelId = head.mutation.getMutatedItem().getId();
+            Set<String> parentIds = parentIdsOf(head.mutation);
+            if (!Collections.disjoint(parentIds, seenModelIds) || seenParentIds.contains(modelId)) {
+                break;
+            }
+            if (seenModelIds.add(modelId)) {
+                mutations.add(head.mutation);
+                seenParentIds.addAll(parentIds);
             }
             head = head.next;
         }
+        return mutations;
+    }
+
+    // The ids of the models which the mutated model belongs to.
+    private static Set<String> parentIdsOf(PendingMutation<? extends Model> mutation) {
+        ModelSchema schema = mutation.getModelSchema();
+        Model item = mutation.getMutatedItem();
+        Set<String> parentIds = new HashSet<>();
+        for (Map.Entry<String, ModelAssociation> entry : schema.getAssociations().entrySet()) {
+            if (!entry.getValue().isOwner()) {
+                continue;
+            }
+            String parentId = parentId(item, entry.getKey());
+            if (parentId != null) {
+                parentIds.add(parentId);
+            }
+        }
+        return parentIds;
+    }
+
+    @Nullable
+    private static String parentId(Model item, String fieldName) {
+        Object parent;
+        if (item instanceof SerializedModel) {
+            parent = ((SerializedModel) item).getSerializedData().get(fieldName);
+        } else {
+            try {
+                parent = FieldFinder.extractFieldValue(item, fieldName);
+            } catch (NoSuchFieldException noSuchField) {
+                return null;
+            }
+        }
+        if (parent instanceof Model) {
+            return ((Model) parent).getId();
+        } else if (parent instanceof Map) {
+            Object parentId = ((Map<?, ?>) parent).get("id");
+            return parentId == null ? null : parentId.toString();
+        }
         return null;
     }
 
@@ -81,6 +197,7 @@ public final class MutationQueue {
         Node removingNext = removingNode.next;
         //remove from map
         mutationMap.remove(timeBasedUuid);
+        removeFromModelIdIndex(removingNode);
         //remove from current linkedlist
         removingPrev.next = removingNext;
         removingNext.prev = removingPrev;
@@ -106,9 +223,32 @@ public final class MutationQueue {
         pendingNode.next = dummyTail;
         //put the mutation into the mutationmap
         mutationMap.put(pendingMutation.getMutationId(), pendingNode);
+        addToModelIdIndex(pendingNode);
         return true;
     }
 
+    private void addToModelIdIndex(Node node) {
+        String modelId = node.mutation.getMutatedItem().getId();
+        Set<Node> nodesForModel = modelIdIndex.get(modelId);
+        if (nodesForModel == null) {
+            nodesForModel = new LinkedHashSet<>();
+            modelIdIndex.put(modelId, nodesForModel);
+        }
+        nodesForModel.add(node);
+    }
+
+    private void removeFromModelIdIndex(Node node) {
+        String modelId = node.mutation.getMutatedItem().getId();
+        Set<Node> nodesForModel = modelIdIndex.get(modelId);
+        if (nodesForModel == null) {
+            return;
+        }
+        nodesForModel.remove(node);
+        if (nodesForModel.isEmpty()) {
+            modelIdIndex.remove(modelId);
+        }
+    }
+
     /**
      * Replace an existing {@link PendingMutation} inside the Queue.
      *
@@ -120,7 +260,15 @@ public final class MutationQueue {
         // If there is already a mutation with same ID in the queue,
         // we'll go find it, and then update it, with this contents.
         if (mutationMap.containsKey(timeBasedUuid)) {
-            mutationMap.get(timeBasedUuid).mutation = pendingMutation;
+            Node existingNode = mutationMap.get(timeBasedUuid);
+            String existingModelId = existingNode.mutation.getMutatedItem().getId();
+            if (existingModelId.equals(pendingMutation.getMutatedItem().getId())) {
+                existingNode.mutation = pendingMutation;
+            } else {
+                removeFromModelIdIndex(existingNode);
+                existingNode.mutation = pendingMutation;
+                addToModelIdIndex(existingNode);
+            }
         } else {
             // Otherwise, just add it to the end of the queue.
             addToTail(pendingMutation);
@@ -194,6 +342,7 @@ public final class MutationQueue {
         dummyHead.next = dummyTail;
         dummyTail.prev = dummyHead;
         mutationMap.clear();
+        modelIdIndex.clear();
     }
 
     /**
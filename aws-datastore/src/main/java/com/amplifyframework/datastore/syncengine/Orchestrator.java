@@ -20,6 +20,8 @@ import androidx.annotation.NonNull;
 import androidx.core.util.Supplier;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.events.ApiChannelEventName;
+import com.amplifyframework.api.events.SubscriptionReconnectedEvent;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
@@ -32,6 +34,7 @@ import com.amplifyframework.datastore.events.NetworkStatusEvent;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
+import com.amplifyframework.hub.SubscriptionToken;
 import com.amplifyframework.logging.Logger;
 
 import org.json.JSONObject;
@@ -67,6 +70,7 @@ public final class Orchestrator {
     private final CompositeDisposable disposables;
     private final long adjustedTimeoutSeconds;
     private final Semaphore startStopSemaphore;
+    private SubscriptionToken reconnectionToken;
 
     /**
      * Constructs a new Orchestrator.
@@ -111,6 +115,7 @@ public final class Orchestrator {
             .mutationOutbox(mutationOutbox)
             .appSync(appSync)
             .conflictResolver(conflictResolver)
+            .dataStoreConfigurationProvider(dataStoreConfigurationProvider)
             .build();
         this.syncProcessor = SyncProcessor.builder()
             .modelProvider(modelProvider)
@@ -127,6 +132,7 @@ public final class Orchestrator {
                 .merger(merger)
                 .queryPredicateProvider(queryPredicateProvider)
                 .onFailure(this::onApiSyncFailure)
+                .onBufferOverflow(this::restartSubscriptionsAfterOverflow)
                 .build();
         this.storageObserver = new StorageObserver(localStorageAdapter, mutationOutbox);
         this.currentState = new AtomicReference<>(State.STOPPED);
@@ -333,6 +339,7 @@ public final class Orchestrator {
                 mutationProcessor.startDrainingMutationOutbox();
 
                 subscriptionProcessor.startDrainingMutationBuffer();
+                startCatchingUpAfterReconnection();
 
                 emitter.onComplete();
             })
@@ -347,6 +354,71 @@ public final class Orchestrator {
         );
     }
 
+    /**
+     * When the subscriptions' connection is restored, the changes that were published while it was
+     * lost are synced, instead of starting the whole API sync again.
+     */
+    private synchronized void startCatchingUpAfterReconnection() {
+        if (reconnectionToken != null) {
+            return;
+        }
+        reconnectionToken = Amplify.Hub.subscribe(HubChannel.API,
+            event -> ApiChannelEventName.SUBSCRIPTION_CONNECTION_RESTORED.toString().equals(event.getName()),
+            event -> {
+                if (!State.SYNC_VIA_API.equals(currentState.get())) {
+                    return;
+                }
+                final SubscriptionReconnectedEvent reconnection;
+                try {
+                    reconnection = SubscriptionReconnectedEvent.from(event);
+                } catch (AmplifyException exception) {
+                    LOG.warn("Unable to read subscription reconnection event.", exception);
+                    return;
+                }
+                // Each model is caught up from the later of its last sync and the disconnection.
+                LOG.info("Subscriptions reconnected after " + reconnection.getAttempts() + " attempt(s). " +
+                    "Syncing the changes made since they were disconnected.");
+                disposables.add(syncProcessor.catchUp(SyncTime.at(reconnection.getDisconnectedAtMs()))
+                    .subscribeOn(Schedulers.io())
+                    .subscribe(
+                        () -> LOG.info("Synced the changes missed while subscriptions were disconnected."),
+                        failure -> LOG.warn("Failed to sync the changes missed while disconnected.", failure)
+                    ));
+            });
+    }
+
+    /**
+     * When subscription events arrive faster than they can be merged, the subscriptions are
+     * started again with an empty buffer, and the events which were missed are synced, instead
+     * of stopping the whole API sync.
+     */
+    private void restartSubscriptionsAfterOverflow() {
+        if (!State.SYNC_VIA_API.equals(currentState.get())) {
+            return;
+        }
+        disposables.add(Completable.fromAction(() -> {
+                subscriptionProcessor.stopAllSubscriptionActivity();
+                subscriptionProcessor.startSubscriptions();
+                subscriptionProcessor.startDrainingMutationBuffer();
+            })
+            // If the subscriptions can't be started again, API sync fails as it would at its start.
+            .doOnError(this::onApiSyncFailure)
+            .andThen(syncProcessor.catchUp()
+                .doOnError(failure -> LOG.warn("Failed to sync the subscription events that were missed.", failure)))
+            .subscribeOn(Schedulers.io())
+            .subscribe(
+                () -> LOG.info("Synced the subscription events that were missed."),
+                failure -> LOG.debug("Recovery from the subscription buffer overflow ended with a failure.")
+            ));
+    }
+
+    private synchronized void stopCatchingUpAfterReconnection() {
+        if (reconnectionToken != null) {
+            Amplify.Hub.unsubscribe(reconnectionToken);
+            reconnectionToken = null;
+        }
+    }
+
     private void publishNetworkStatusEvent(boolean active) {
         Amplify.Hub.publish(HubChannel.DATASTORE,
                 HubEvent.create(DataStoreChannelEventName.NETWORK_STATUS, new NetworkStatusEvent(active)));
@@ -374,6 +446,7 @@ public final class Orchestrator {
     private void stopApiSync() {
         LOG.info("Setting currentState to LOCAL_ONLY");
         currentState.set(State.LOCAL_ONLY);
+        stopCatchingUpAfterReconnection();
         disposables.clear();
         subscriptionProcessor.stopAllSubscriptionActivity();
         mutationProcessor.stopDrainingMutationOutbox();
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.storage.StorageOperation;
+
+import java.util.List;
+
+/**
+ * A set of mutations being enqueued to the {@link MutationOutbox} as part of a storage transaction.
+ * The outbox does not write its records itself; instead, it hands back the writes to make, so that
+ * they can be committed along with the local changes that the mutations describe. The outbox is
+ * locked until the transaction is either committed or rolled back.
+ */
+interface OutboxTransaction {
+    /**
+     * Stages a mutation to be enqueued, resolving it against the mutations already in the outbox,
+     * and those staged earlier in this transaction.
+     * @param incomingMutation A mutation to enqueue
+     * @param <T> The type of model to which the mutation refers
+     * @return Writes of {@link PendingMutation.PersistentRecord}s, which must be committed along
+     *         with the mutation
+     * @throws DataStoreException If the mutation can not be enqueued
+     */
+    @NonNull
+    <T extends Model> List<StorageOperation<? extends Model>> enqueue(@NonNull PendingMutation<T> incomingMutation)
+            throws DataStoreException;
+
+    /**
+     * Applies the staged mutations to the outbox, once the writes for them have been committed,
+     * and unlocks the outbox.
+     */
+    void commit();
+
+    /**
+     * Discards the staged mutations, since the writes for them were not committed,
+     * and unlocks the outbox.
+     */
+    void rollback();
+}
@@ -30,16 +30,23 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.events.OutboxStatusEvent;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.StorageOperation;
 import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.core.Completable;
-import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subjects.Subject;
@@ -72,7 +79,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
                              @NonNull MutationQueue mutationQueue) {
         this.storage = Objects.requireNonNull(localStorageAdapter);
         this.mutationQueue = mutationQueue;
-        this.inFlightMutations = new HashSet<>();
+        this.inFlightMutations = Collections.synchronizedSet(new HashSet<>());
         this.converter = new GsonPendingMutationConverter();
         this.events = PublishSubject.<OutboxEvent>create().toSerialized();
         this.semaphore = new Semaphore(1);
@@ -88,63 +95,54 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @Override
     public <T extends Model> Completable enqueue(@NonNull PendingMutation<T> incomingMutation) {
         Objects.requireNonNull(incomingMutation);
-        return Completable.defer(() -> {
-            // If there is no existing mutation for the model, then just apply the incoming
-            // mutation, and be done with this.
+        return write(() -> {
             String modelId = incomingMutation.getMutatedItem().getId();
             @SuppressWarnings("unchecked")
-            PendingMutation<T> existingMutation = (PendingMutation<T>) mutationQueue.nextMutationForModelId(modelId);
-            if (existingMutation == null || inFlightMutations.contains(existingMutation.getMutationId())) {
-                return save(incomingMutation)
-                    .andThen(notifyContentAvailable());
-            } else {
-                return resolveConflict(existingMutation, incomingMutation);
-            }
-        })
-        .doOnSubscribe(disposable -> semaphore.acquire())
-        .doOnTerminate(semaphore::release);
+            PendingMutation<T> existingMutation = (PendingMutation<T>) mutationQueue.lastMutationForModelId(modelId);
+            return resolveWrites(existingMutation, incomingMutation);
+        });
+    }
+
+    @NonNull
+    @Override
+    public OutboxTransaction beginTransaction() throws DataStoreException {
+        lock();
+        return new StagedTransaction();
+    }
+
+    private void lock() throws DataStoreException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreException(
+                "Interrupted while waiting to enqueue mutations to the outbox.", interrupted,
+                "Retry the operation."
+            );
+        }
     }
 
-    private <T extends Model> Completable resolveConflict(@NonNull PendingMutation<T> existingMutation,
-                                                          @NonNull PendingMutation<T> incomingMutation) {
+    /*
+     * If there is no existing mutation for the model, then the incoming mutation is just saved.
+     * Otherwise, the incoming mutation is coalesced with the last mutation of the model,
+     * unless that one has already left the device.
+     */
+    private <T extends Model> List<OutboxWrite> resolveWrites(@Nullable PendingMutation<T> existingMutation,
+                                                              @NonNull PendingMutation<T> incomingMutation)
+            throws DataStoreException {
+        if (existingMutation == null || inFlightMutations.contains(existingMutation.getMutationId())) {
+            return Collections.singletonList(OutboxWrite.save(incomingMutation));
+        }
         IncomingMutationConflictHandler<T> mutationConflictHandler =
             new IncomingMutationConflictHandler<>(existingMutation, incomingMutation);
         return mutationConflictHandler.resolve();
     }
 
-    private <T extends Model> Completable save(PendingMutation<T> pendingMutation) {
-        return Completable.create(emitter -> storage.save(
-            converter.toRecord(pendingMutation),
-            StorageItemChange.Initiator.SYNC_ENGINE,
-            QueryPredicates.all(),
-            saved -> {
-                // The return value is StorageItemChange, referring to a PersistentRecord
-                // that was saved. We could "unwrap" a PendingMutation from that PersistentRecord,
-                // to get identically the thing that was saved. But we know the save succeeded.
-                // So, let's skip the unwrapping, and use the thing that was enqueued,
-                // the pendingMutation, directly.
-                mutationQueue.updateExistingQueueItemOrAppendNew(pendingMutation.getMutationId(), pendingMutation);
-                LOG.info("Successfully enqueued " + pendingMutation);
-                announceEventEnqueued(pendingMutation);
-                publishCurrentOutboxStatus();
-                emitter.onComplete();
-            },
-            emitter::onError
-        ));
-    }
-
     @NonNull
     @Override
     public Completable remove(@NonNull TimeBasedUuid pendingMutationId) {
-        return removeNotLocking(pendingMutationId)
-            .doOnSubscribe(disposable -> semaphore.acquire())
-            .doOnTerminate(semaphore::release);
-    }
-
-    @NonNull
-    private Completable removeNotLocking(@NonNull TimeBasedUuid pendingMutationId) {
         Objects.requireNonNull(pendingMutationId);
-        return Completable.defer(() -> {
+        return write(() -> {
             PendingMutation<? extends Model> pendingMutation = mutationQueue.getMutationById(pendingMutationId);
             if (pendingMutation == null) {
                 throw new DataStoreException(
@@ -153,29 +151,81 @@ final class PersistentMutationOutbox implements MutationOutbox {
                     AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
                 );
             }
-            return Maybe.<OutboxEvent>create(subscriber -> {
-                storage.delete(
-                    converter.toRecord(pendingMutation),
-                    StorageItemChange.Initiator.SYNC_ENGINE,
-                    QueryPredicates.all(),
-                    ignored -> {
-                        mutationQueue.removeById(pendingMutation.getMutationId());
-                        inFlightMutations.remove(pendingMutationId);
-                        LOG.info("Successfully removed from mutations outbox" + pendingMutation);
-                        final boolean contentAvailable = !mutationQueue.isEmpty();
-                        if (contentAvailable) {
-                            subscriber.onSuccess(OutboxEvent.CONTENT_AVAILABLE);
-                        } else {
-                            subscriber.onComplete();
-                        }
-                    },
-                    subscriber::onError
-                );
-            })
-            .flatMapCompletable(contentAvailable -> notifyContentAvailable());
+            return Collections.singletonList(OutboxWrite.remove(pendingMutation));
+        });
+    }
+
+    /*
+     * Makes the writes to the outbox which are decided by the given decision. Storage transactions
+     * which enqueue mutations lock the outbox on the storage adapter's writer, so the outbox must
+     * never be locked while waiting for that writer. Instead, the writes are decided once the
+     * adapter is about to apply them, and the outbox is locked from then until they are applied.
+     */
+    private Completable write(OutboxWriteDecision decision) {
+        return Completable.create(emitter -> {
+            final List<OutboxWrite> writes = new ArrayList<>();
+            final AtomicBoolean locked = new AtomicBoolean(false);
+            storage.deferredBatch(
+                () -> {
+                    lock();
+                    locked.set(true);
+                    writes.addAll(decision.decide());
+                    final List<StorageOperation<? extends Model>> operations = new ArrayList<>();
+                    for (OutboxWrite write : writes) {
+                        PendingMutation.PersistentRecord record = converter.toRecord(write.mutation());
+                        operations.add(write.isRemoval()
+                            ? StorageOperation.delete(record)
+                            : StorageOperation.save(record));
+                    }
+                    return operations;
+                },
+                StorageItemChange.Initiator.SYNC_ENGINE,
+                changes -> {
+                    try {
+                        applyWrites(writes);
+                    } finally {
+                        unlock(locked);
+                    }
+                    emitter.onComplete();
+                },
+                failure -> {
+                    unlock(locked);
+                    emitter.onError(failure);
+                }
+            );
         });
     }
 
+    private void unlock(AtomicBoolean locked) {
+        if (locked.compareAndSet(true, false)) {
+            semaphore.release();
+        }
+    }
+
+    // Applies writes to the queue, once they have been written to storage.
+    private void applyWrites(List<OutboxWrite> writes) {
+        for (OutboxWrite write : writes) {
+            PendingMutation<? extends Model> pendingMutation = write.mutation();
+            if (write.isRemoval()) {
+                mutationQueue.removeById(pendingMutation.getMutationId());
+                inFlightMutations.remove(pendingMutation.getMutationId());
+                LOG.info("Successfully removed from mutations outbox" + pendingMutation);
+                if (!mutationQueue.isEmpty()) {
+                    events.onNext(OutboxEvent.CONTENT_AVAILABLE);
+                }
+            } else {
+                // We could "unwrap" a PendingMutation from the PersistentRecord that was saved, to
+                // get identically the thing that was saved. But we know the save succeeded.
+                // So, let's skip the unwrapping, and use the thing that was enqueued directly.
+                mutationQueue.updateExistingQueueItemOrAppendNew(pendingMutation.getMutationId(), pendingMutation);
+                LOG.info("Successfully enqueued " + pendingMutation);
+                announceEventEnqueued(pendingMutation);
+                publishCurrentOutboxStatus();
+                events.onNext(OutboxEvent.CONTENT_AVAILABLE);
+            }
+        }
+    }
+
     @NonNull
     @Override
     public Completable load() {
@@ -199,6 +249,8 @@ final class PersistentMutationOutbox implements MutationOutbox {
                 emitter::onError
             );
         })
+        // Unlike writes, the query does not wait for the storage adapter's writer, which may be waiting
+        // for this lock, so the outbox can stay locked until the queue has been rebuilt.
         .doOnSubscribe(disposable -> semaphore.acquire())
         .doOnTerminate(semaphore::release);
     }
@@ -209,16 +261,18 @@ final class PersistentMutationOutbox implements MutationOutbox {
         return events;
     }
 
-    private Completable notifyContentAvailable() {
-        return Completable.fromAction(() -> events.onNext(OutboxEvent.CONTENT_AVAILABLE));
-    }
-
     @Nullable
     @Override
     public PendingMutation<? extends Model> peek() {
         return mutationQueue.peek();
     }
 
+    @NonNull
+    @Override
+    public List<PendingMutation<? extends Model>> peek(int maxMutations) {
+        return mutationQueue.nextMutationsForDistinctModels(maxMutations);
+    }
+
     @NonNull
     @Override
     public Completable markInFlight(@NonNull TimeBasedUuid pendingMutationId) {
@@ -257,6 +311,128 @@ final class PersistentMutationOutbox implements MutationOutbox {
         );
     }
 
+    /**
+     * Decides the writes to make to the outbox, while it is locked.
+     */
+    private interface OutboxWriteDecision {
+        List<OutboxWrite> decide() throws DataStoreException;
+    }
+
+    /**
+     * A write to make to the outbox: either a mutation to save, replacing any mutation
+     * with the same ID, or an existing mutation to remove.
+     */
+    private static final class OutboxWrite {
+        private final PendingMutation<? extends Model> mutation;
+        private final boolean isRemoval;
+
+        private OutboxWrite(PendingMutation<? extends Model> mutation, boolean isRemoval) {
+            this.mutation = mutation;
+            this.isRemoval = isRemoval;
+        }
+
+        static OutboxWrite save(@NonNull PendingMutation<? extends Model> mutation) {
+            return new OutboxWrite(mutation, false);
+        }
+
+        static OutboxWrite remove(@NonNull PendingMutation<? extends Model> mutation) {
+            return new OutboxWrite(mutation, true);
+        }
+
+        PendingMutation<? extends Model> mutation() {
+            return mutation;
+        }
+
+        boolean isRemoval() {
+            return isRemoval;
+        }
+    }
+
+    /**
+     * Mutations enqueued as part of a storage transaction. Until the transaction is committed,
+     * the writes are only staged here, along with the mutations of each model that they touch,
+     * so that several mutations of one model in the same transaction are coalesced in order.
+     */
+    private final class StagedTransaction implements OutboxTransaction {
+        private final Map<String, List<PendingMutation<? extends Model>>> mutationsByModelId = new HashMap<>();
+        private final List<OutboxWrite> stagedWrites = new ArrayList<>();
+
+        @NonNull
+        @Override
+        public <T extends Model> List<StorageOperation<? extends Model>> enqueue(
+                @NonNull PendingMutation<T> incomingMutation) throws DataStoreException {
+            Objects.requireNonNull(incomingMutation);
+            String modelId = incomingMutation.getMutatedItem().getId();
+            List<PendingMutation<? extends Model>> mutations = mutationsByModelId.get(modelId);
+            if (mutations == null) {
+                mutations = mutationQueue.mutationsForModelId(modelId);
+                mutationsByModelId.put(modelId, mutations);
+            }
+            @SuppressWarnings("unchecked")
+            PendingMutation<T> existingMutation =
+                mutations.isEmpty() ? null : (PendingMutation<T>) mutations.get(mutations.size() - 1);
+
+            List<StorageOperation<? extends Model>> operations = new ArrayList<>();
+            for (OutboxWrite write : resolveWrites(existingMutation, incomingMutation)) {
+                int position = indexOf(mutations, write.mutation().getMutationId());
+                if (write.isRemoval()) {
+                    mutations.remove(position);
+                    operations.add(StorageOperation.delete(converter.toRecord(write.mutation())));
+                } else {
+                    if (position >= 0) {
+                        mutations.set(position, write.mutation());
+                    } else {
+                        mutations.add(write.mutation());
+                    }
+                    operations.add(StorageOperation.save(converter.toRecord(write.mutation())));
+                }
+                stagedWrites.add(write);
+            }
+            return operations;
+        }
+
+        @Override
+        public void commit() {
+            try {
+                for (OutboxWrite write : stagedWrites) {
+                    PendingMutation<? extends Model> pendingMutation = write.mutation();
+                    if (write.isRemoval()) {
+                        mutationQueue.removeById(pendingMutation.getMutationId());
+                        inFlightMutations.remove(pendingMutation.getMutationId());
+                        LOG.info("Successfully removed from mutations outbox" + pendingMutation);
+                    } else {
+                        mutationQueue.updateExistingQueueItemOrAppendNew(
+                            pendingMutation.getMutationId(), pendingMutation);
+                        LOG.info("Successfully enqueued " + pendingMutation);
+                        announceEventEnqueued(pendingMutation);
+                    }
+                }
+                if (!stagedWrites.isEmpty()) {
+                    publishCurrentOutboxStatus();
+                    if (!mutationQueue.isEmpty()) {
+                        events.onNext(OutboxEvent.CONTENT_AVAILABLE);
+                    }
+                }
+            } finally {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public void rollback() {
+            semaphore.release();
+        }
+
+        private int indexOf(List<PendingMutation<? extends Model>> mutations, TimeBasedUuid mutationId) {
+            for (int index = 0; index < mutations.size(); index++) {
+                if (mutations.get(index).getMutationId().equals(mutationId)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+
     /**
      * Encapsulate the logic to determine which actions to take based on incoming and existing
      * mutations. Non-static so we can access instance methods of the outer class. Private because
@@ -280,9 +456,10 @@ final class PersistentMutationOutbox implements MutationOutbox {
 
         /**
          * Handle the conflict based on the incoming mutation type.
-         * @return A completable with the actions to resolve the conflict.
+         * @return The writes needed to resolve the conflict, in the order they are to be made
+         * @throws DataStoreException If the incoming mutation can not follow the existing one
          */
-        Completable resolve() {
+        List<OutboxWrite> resolve() throws DataStoreException {
             switch (incoming.getMutationType()) {
                 case CREATE:
                     return handleIncomingCreate();
@@ -291,125 +468,123 @@ final class PersistentMutationOutbox implements MutationOutbox {
                 case DELETE:
                     return handleIncomingDelete();
                 default:
-                    return unknownMutationType(existing.getMutationType());
+                    throw unknownMutationType(existing.getMutationType());
             }
         }
 
         /**
          * Determine which action to take when the incoming mutation type is {@linkplain PendingMutation.Type#CREATE}.
-         * @return A completable with the actions needed to resolve the conflict
+         * @return The writes needed to resolve the conflict
+         * @throws DataStoreException Always, since a creation can't follow another mutation of the model
          */
-        private Completable handleIncomingCreate() {
+        private List<OutboxWrite> handleIncomingCreate() throws DataStoreException {
             switch (existing.getMutationType()) {
                 case CREATE:
                     // Double create, return an different error than in the default block of the switch
                     // statement. This way, we can differentiate between an incoming create being processed
                     // multiple times (this case), versus outgoing mutations being processed out of order.
-                    return conflictingCreationError();
+                    throw conflictingCreationError();
                 case DELETE:
                 case UPDATE:
                 default:
                     // A create mutation should never show up after an update or delete for the same modelId.
-                    return unexpectedMutationScenario();
+                    throw unexpectedMutationScenario();
             }
         }
 
         /**
          * Determine which action to take when the incoming mutation type is {@linkplain PendingMutation.Type#UPDATE}.
-         * @return A completable with the actions needed to resolve the conflict
+         * @return The writes needed to resolve the conflict
+         * @throws DataStoreException If the model is already scheduled for deletion
          */
-        private Completable handleIncomingUpdate() {
+        private List<OutboxWrite> handleIncomingUpdate() throws DataStoreException {
             switch (existing.getMutationType()) {
                 case CREATE:
                     // Update after the create -> replace item of the create mutation (and keep it as a create).
                     // No condition needs to be provided, because as far as the remote store is concerned,
                     // we're simply performing the create (with the updated item item contents)
-                    return overwriteExistingAndNotify(PendingMutation.Type.CREATE, QueryPredicates.all());
+                    return overwriteExisting(PendingMutation.Type.CREATE, QueryPredicates.all());
                 case UPDATE:
                     if (QueryPredicates.all().equals(incoming.getPredicate())) {
                         // If the incoming update does not have a condition, we want to delete any
                         // existing mutations for the modelId before saving the incoming one.
-                        return removeNotLocking(existing.getMutationId()).andThen(saveIncomingAndNotify());
+                        return Arrays.asList(OutboxWrite.remove(existing), OutboxWrite.save(incoming));
                     } else {
                         // If it has a condition, we want to just add it to the queue
-                        return saveIncomingAndNotify();
+                        return Collections.singletonList(OutboxWrite.save(incoming));
                     }
                 case DELETE:
                     // Incoming update after a delete -> throw exception
-                    return modelAlreadyScheduledForDeletion();
+                    throw modelAlreadyScheduledForDeletion();
                 default:
-                    return unexpectedMutationScenario();
+                    throw unexpectedMutationScenario();
             }
         }
 
         /**
          * Determine which action to take when the incoming mutation type is {@linkplain PendingMutation.Type#DELETE}.
-         * @return A completable with the actions needed to resolve the conflict
+         * @return The writes needed to resolve the conflict
+         * @throws DataStoreException If the existing mutation is of an unexpected type
          */
-        private Completable handleIncomingDelete() {
+        private List<OutboxWrite> handleIncomingDelete() throws DataStoreException {
             switch (existing.getMutationType()) {
                 case CREATE:
                     //
                     if (inFlightMutations.contains(existing.getMutationId())) {
                         // Existing create is already in flight, then save the delete
-                        return save(incoming);
+                        return Collections.singletonList(OutboxWrite.save(incoming));
                     } else {
                         // The existing create mutation hasn't made it to the remote store, so we
                         // ignore the incoming and remove the existing create mutation from outbox.
-                        return removeNotLocking(existing.getMutationId());
+                        return Collections.singletonList(OutboxWrite.remove(existing));
                     }
                 case UPDATE:
                 case DELETE:
                     // If there's a pending update OR delete, we want to replace it with the incoming delete.
-                    return overwriteExistingAndNotify(PendingMutation.Type.DELETE, incoming.getPredicate());
+                    return overwriteExisting(PendingMutation.Type.DELETE, incoming.getPredicate());
                 default:
-                    return unexpectedMutationScenario();
+                    throw unexpectedMutationScenario();
             }
         }
 
-        private Completable overwriteExistingAndNotify(@NonNull PendingMutation.Type type,
-                                                       @NonNull QueryPredicate predicate) {
+        private List<OutboxWrite> overwriteExisting(@NonNull PendingMutation.Type type,
+                                                    @NonNull QueryPredicate predicate) {
             // Keep the old mutation ID, but update the contents of that mutation.
             // Now, it will have the contents of the incoming update mutation.
             TimeBasedUuid id = existing.getMutationId();
             T item = incoming.getMutatedItem();
             ModelSchema schema = incoming.getModelSchema();
-            return save(PendingMutation.instance(id, item, schema, type, predicate))
-                .andThen(notifyContentAvailable());
+            PendingMutation<T> overwritten = PendingMutation.instance(id, item, schema, type, predicate);
+            return Collections.singletonList(OutboxWrite.save(overwritten));
         }
 
-        private Completable saveIncomingAndNotify() {
-            return save(incoming)
-                .andThen(notifyContentAvailable());
-        }
-
-        private Completable conflictingCreationError() {
-            return Completable.error(new DataStoreException(
+        private DataStoreException conflictingCreationError() {
+            return new DataStoreException(
                 "Attempted to enqueue a model creation, but there is already a pending creation for that model ID.",
                 "Please report at https://github.com/aws-amplify/amplify-android/issues."
-            ));
+            );
         }
 
-        private Completable modelAlreadyScheduledForDeletion() {
-            return Completable.error(new DataStoreException(
+        private DataStoreException modelAlreadyScheduledForDeletion() {
+            return new DataStoreException(
                 "Attempted to enqueue a model mutation, but that model already had a delete mutation pending.",
                 "This should not be possible. Please report on GitHub issues."
-            ));
+            );
         }
 
-        private Completable unknownMutationType(PendingMutation.Type unknownType) {
-            return Completable.error(new DataStoreException(
+        private DataStoreException unknownMutationType(PendingMutation.Type unknownType) {
+            return new DataStoreException(
                 "Existing mutation of unknown type = " + unknownType,
                 "Please report at https://github.com/aws-amplify/amplify-android/issues."
-            ));
+            );
         }
 
-        private Completable unexpectedMutationScenario() {
-            return Completable.error(new DataStoreException(
+        private DataStoreException unexpectedMutationScenario() {
+            return new DataStoreException(
                 "Unable to handle existing mutation of type = " + existing.getMutationType() +
                 " and incoming mutation of type = " + incoming.getMutationType(),
                 "Please report at https://github.com/aws-amplify/amplify-android/issues."
-            ));
+            );
         }
     }
 }
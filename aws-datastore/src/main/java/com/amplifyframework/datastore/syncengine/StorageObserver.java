@@ -20,11 +20,15 @@ import androidx.annotation.NonNull;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.StorageOperation;
+import com.amplifyframework.datastore.storage.StorageTransactionHook;
 import com.amplifyframework.logging.Logger;
 
+import java.util.List;
 import java.util.Objects;
 
 import io.reactivex.rxjava3.core.Observable;
@@ -54,8 +58,16 @@ final class StorageObserver {
     /**
      * When a change is observed on the storage adapter, and that change wasn't caused
      * by the sync engine, then place that change into the mutation outbox.
+     * If the storage adapter supports transaction hooks, the mutations are instead
+     * enqueued within the same transactions as the changes, so that a change is never
+     * committed without its mutation, nor the other way around.
      */
     void startObservingStorageChanges(Action onStarted) {
+        if (localStorageAdapter.setTransactionHook(new OutboxTransactionHook())) {
+            LOG.info("Now hooked into local storage. Local changes will be enqueued to mutation outbox.");
+            onStarted.call();
+            return;
+        }
         ongoingOperationsDisposable.add(
             Observable.<StorageItemChange<? extends Model>>create(emitter -> {
                 localStorageAdapter.observe(emitter::onNext, emitter::onError, emitter::onComplete);
@@ -96,6 +108,45 @@ final class StorageObserver {
      * Stop observing changes in the storage adapter.
      */
     void stopObservingStorageChanges() {
+        localStorageAdapter.setTransactionHook(null);
         ongoingOperationsDisposable.clear();
     }
+
+    /**
+     * Enqueues a mutation for each change made in a storage transaction, as part of that transaction.
+     * The storage adapter only calls the hook for changes initiated through the DataStore API, so
+     * changes caused by the sync engine itself are never enqueued. The outbox stays locked from
+     * the start of a transaction until its end, so there is only ever one current transaction.
+     */
+    private final class OutboxTransactionHook implements StorageTransactionHook {
+        private OutboxTransaction transaction;
+
+        @Override
+        public void onBegin() throws DataStoreException {
+            transaction = mutationOutbox.beginTransaction();
+        }
+
+        @NonNull
+        @Override
+        public List<StorageOperation<? extends Model>> onChange(@NonNull StorageItemChange<? extends Model> change)
+                throws DataStoreException {
+            return transaction.enqueue(toPendingMutation(change));
+        }
+
+        @Override
+        public void onCommit() {
+            OutboxTransaction finished = transaction;
+            // Cleared before the outbox is unlocked, when the next transaction may begin.
+            transaction = null;
+            finished.commit();
+        }
+
+        @Override
+        public void onRollback() {
+            OutboxTransaction finished = transaction;
+            // Cleared before the outbox is unlocked, when the next transaction may begin.
+            transaction = null;
+            finished.rollback();
+        }
+    }
 }
@@ -24,10 +24,12 @@ import com.amplifyframework.api.graphql.SubscriptionType;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.NoOpConsumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.CompiledPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.AmplifyDisposables;
 import com.amplifyframework.datastore.DataStoreChannelEventName;
@@ -41,40 +43,60 @@ import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.Empty;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import io.reactivex.rxjava3.subjects.ReplaySubject;
 
 /**
  * Observes mutations occurring on a remote {@link AppSync} system. The mutations arrive
  * over a long-lived subscription, as {@link SubscriptionEvent}s.
  * For every type of model provided by a {@link ModelProvider}, the SubscriptionProcessor
  * marries mutated models back into the local DataStore, through the {@link Merger}.
+ *
+ * Events are held in a bounded buffer until they are merged. They are merged in small batches,
+ * each in a single transaction, and a batch only holds the newest version of each model. If the
+ * buffer fills up, because events arrive faster than they can be merged, the subscriptions are
+ * stopped and the overflow is reported, so that they can be started again, and the events which
+ * were missed synced instead. If a batch fails to merge, its events are merged one at a time, so
+ * that only an event which fails on its own is skipped; it is synced the next time its model is.
  */
 final class SubscriptionProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
     private static final long TIMEOUT_SECONDS_PER_MODEL = 2;
     private static final long NETWORK_OP_TIMEOUT_SECONDS = 10;
+    @VisibleForTesting
+    static final int BUFFER_CAPACITY = 10_000;
+    @VisibleForTesting
+    static final int MAX_BATCH_SIZE = 100;
+    private static final long BATCH_WINDOW_MS = 50;
 
     private final AppSync appSync;
     private final ModelProvider modelProvider;
     private final Merger merger;
     private final QueryPredicateProvider queryPredicateProvider;
     private final Consumer<Throwable> onFailure;
+    private final Action onBufferOverflow;
     private final CompositeDisposable ongoingOperationsDisposable;
     private final long adjustedTimeoutSeconds;
-    private ReplaySubject<SubscriptionEvent<? extends Model>> buffer;
+    private BlockingQueue<SubscriptionEvent<? extends Model>> buffer;
 
     /**
      * Constructs a new SubscriptionProcessor.
@@ -86,6 +108,7 @@ final class SubscriptionProcessor {
         this.merger = builder.merger;
         this.queryPredicateProvider = builder.queryPredicateProvider;
         this.onFailure = builder.onFailure;
+        this.onBufferOverflow = builder.onBufferOverflow;
 
         this.ongoingOperationsDisposable = new CompositeDisposable();
 
@@ -115,8 +138,9 @@ final class SubscriptionProcessor {
         AbortableCountDownLatch<DataStoreException> latch = new AbortableCountDownLatch<>(subscriptionCount);
 
         // Need to create a new buffer so we can properly handle retries and stop/start scenarios.
-        // Re-using the same buffer has some unexpected results due to the replay aspect of the subject.
-        buffer = ReplaySubject.create();
+        // Events left over from a previous run must not be merged after the sync which follows it.
+        final BlockingQueue<SubscriptionEvent<? extends Model>> events = new LinkedBlockingQueue<>(BUFFER_CAPACITY);
+        buffer = events;
 
         Set<Observable<SubscriptionEvent<? extends Model>>> subscriptions = new HashSet<>();
         for (ModelSchema modelSchema : modelProvider.modelSchemas().values()) {
@@ -131,7 +155,22 @@ final class SubscriptionProcessor {
             .doOnSubscribe(disposable -> LOG.info("Starting processing subscription events."))
             .doOnError(failure -> LOG.warn("Reading subscription events has failed.", failure))
             .doOnComplete(() -> LOG.warn("Reading subscription events is completed."))
-            .subscribe(buffer::onNext, buffer::onError, buffer::onComplete)
+            .subscribe(
+                event -> {
+                    if (!events.offer(event)) {
+                        // The websocket can't be slowed down, so stop reading instead of dropping events.
+                        throw new MissingBackpressureException("Subscription event buffer is full.");
+                    }
+                },
+                failure -> {
+                    // Failures of the subscriptions themselves have already been logged, above.
+                    if (failure instanceof MissingBackpressureException) {
+                        LOG.warn("Buffered " + BUFFER_CAPACITY + " subscription events that have not been " +
+                            "merged. The subscriptions will be started again.", failure);
+                        onBufferOverflow.call();
+                    }
+                }
+            )
         );
 
         boolean subscriptionsStarted;
@@ -173,6 +212,9 @@ final class SubscriptionProcessor {
                                    SubscriptionType subscriptionType,
                                    AbortableCountDownLatch<DataStoreException> latch,
                                    ModelSchema modelSchema) {
+        // The predicates are resolved before the subscriptions start, and do not change while they run.
+        QueryPredicate predicate = queryPredicateProvider.getPredicate(modelSchema.getName());
+        CompiledPredicate syncExpression = CompiledPredicate.compile(predicate, modelSchema);
         return Observable.<GraphQLResponse<ModelWithMetadata<T>>>create(emitter -> {
             SubscriptionMethod method = subscriptionMethodFor(appSync, subscriptionType);
             AtomicReference<String> subscriptionId = new AtomicReference<>();
@@ -218,10 +260,7 @@ final class SubscriptionProcessor {
         .subscribeOn(Schedulers.io())
         .observeOn(Schedulers.io())
         .map(SubscriptionProcessor::unwrapResponse)
-        .filter(modelWithMetadata -> {
-            QueryPredicate predicate = queryPredicateProvider.getPredicate(modelSchema.getName());
-            return predicate.evaluate(modelWithMetadata.getModel());
-        })
+        .filter(modelWithMetadata -> syncExpression.evaluate(modelWithMetadata.getModel()))
         .map(modelWithMetadata -> SubscriptionEvent.<T>builder()
             .type(fromSubscriptionType(subscriptionType))
             .modelWithMetadata(modelWithMetadata)
@@ -235,17 +274,99 @@ final class SubscriptionProcessor {
      * This should be called after {@link #startSubscriptions()}.
      */
     void startDrainingMutationBuffer() {
+        final BlockingQueue<SubscriptionEvent<? extends Model>> events = buffer;
         ongoingOperationsDisposable.add(
-            buffer
-                .doOnSubscribe(disposable -> LOG.info("Starting processing subscription data buffer."))
-                .flatMapCompletable(this::mergeEvent)
+            // A batch is only taken from the buffer once the previous one has been merged.
+            Flowable.<List<SubscriptionEvent<? extends Model>>>generate(emitter -> {
+                List<SubscriptionEvent<? extends Model>> batch = takeBatch(events);
+                if (batch.isEmpty()) {
+                    emitter.onComplete();
+                } else {
+                    emitter.onNext(batch);
+                }
+            })
+                .subscribeOn(Schedulers.io())
+                .doOnSubscribe(subscription -> LOG.info("Starting processing subscription data buffer."))
+                .concatMapCompletable(this::mergeBatch, 1)
                 .doOnError(failure -> LOG.warn("Reading subscriptions buffer has failed.", failure))
-                .doOnComplete(() -> LOG.warn("Reading from subscriptions buffer is completed."))
+                .doOnComplete(() -> LOG.info("Reading from subscriptions buffer is completed."))
                 .subscribe()
         );
     }
 
-    private Completable mergeEvent(SubscriptionEvent<? extends Model> event) {
+    /**
+     * Takes the next batch of events from the buffer. Waits for the first event, and then for up to
+     * {@link #BATCH_WINDOW_MS} for more, unless the batch fills up before then.
+     * @param events The buffer of events
+     * @return A batch of events, which is empty if the wait was interrupted
+     */
+    private static List<SubscriptionEvent<? extends Model>> takeBatch(
+            BlockingQueue<SubscriptionEvent<? extends Model>> events) {
+        final List<SubscriptionEvent<? extends Model>> batch = new ArrayList<>();
+        try {
+            batch.add(events.take());
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_WINDOW_MS);
+            while (batch.size() < MAX_BATCH_SIZE) {
+                if (events.drainTo(batch, MAX_BATCH_SIZE - batch.size()) > 0) {
+                    continue;
+                }
+                SubscriptionEvent<? extends Model> next =
+                    events.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException interrupted) {
+            // Draining was stopped. Events which were already taken are dropped, along with the buffer.
+            Thread.currentThread().interrupt();
+            batch.clear();
+        }
+        return batch;
+    }
+
+    /**
+     * Merges a batch of events in a single transaction. When there are several events for the same
+     * model, only the one with the highest version is merged, since the Merger would skip the older
+     * versions once the newest one has been merged, anyway. If the batch fails to merge, each of
+     * its merges is tried again in a transaction of its own.
+     * @param batch A batch of events, in the order they arrived
+     * @return A completable operation to merge the batch
+     */
+    private Completable mergeBatch(List<SubscriptionEvent<? extends Model>> batch) {
+        final Map<String, ModelWithMetadata<Model>> newest = new LinkedHashMap<>();
+        for (SubscriptionEvent<? extends Model> event : batch) {
+            ModelWithMetadata<Model> incoming = toMergeable(event);
+            String key = event.modelSchema().getName() + "|" + incoming.getModel().getId();
+            ModelWithMetadata<Model> current = newest.get(key);
+            if (current == null || versionOf(incoming) >= versionOf(current)) {
+                newest.put(key, incoming);
+            }
+        }
+        if (newest.size() < batch.size()) {
+            LOG.verbose("Collapsed " + batch.size() + " subscription events into " + newest.size() + " merges.");
+        }
+        final List<ModelWithMetadata<Model>> merges = new ArrayList<>(newest.values());
+        if (merges.size() == 1) {
+            return mergeAlone(merges.get(0));
+        }
+        return merger.merge(merges, NoOpConsumer.create())
+            .onErrorResumeNext(failure -> {
+                LOG.warn("Failed to merge a batch of " + batch.size() + " subscription events. " +
+                    "Merging them one at a time.", failure);
+                return Flowable.fromIterable(merges).concatMapCompletable(this::mergeAlone, 1);
+            });
+    }
+
+    // Draining goes on after a failure; an event which fails to merge is synced the next time its model is.
+    private Completable mergeAlone(ModelWithMetadata<Model> modelWithMetadata) {
+        return merger.merge(Collections.singletonList(modelWithMetadata), NoOpConsumer.create())
+            .doOnError(failure -> LOG.warn("Failed to merge a subscription event for " +
+                modelWithMetadata.getModel().getId() + ". Skipping it.", failure))
+            .onErrorComplete();
+    }
+
+    private static ModelWithMetadata<Model> toMergeable(SubscriptionEvent<? extends Model> event) {
         ModelWithMetadata<? extends Model> original = event.modelWithMetadata();
         if (original.getModel() instanceof SerializedModel) {
             SerializedModel originalModel = (SerializedModel) original.getModel();
@@ -253,12 +374,17 @@ final class SubscriptionProcessor {
                     .serializedData(originalModel.getSerializedData())
                     .modelSchema(event.modelSchema())
                     .build();
-            return merger.merge(new ModelWithMetadata<>(newModel, original.getSyncMetadata()));
+            return new ModelWithMetadata<>(newModel, original.getSyncMetadata());
         } else {
-            return merger.merge(original);
+            return new ModelWithMetadata<>(original.getModel(), original.getSyncMetadata());
         }
     }
 
+    private static int versionOf(ModelWithMetadata<? extends Model> modelWithMetadata) {
+        Integer version = modelWithMetadata.getSyncMetadata().getVersion();
+        return version == null ? -1 : version;
+    }
+
     /**
      * Stop any active subscriptions, and stop draining the mutation buffer.
      */
@@ -331,12 +457,13 @@ final class SubscriptionProcessor {
      * Builds instances of {@link SubscriptionProcessor}s.
      */
     public static final class Builder implements AppSyncStep, ModelProviderStep, MergerStep,
-            QueryPredicateProviderStep, OnFailureStep, BuildStep {
+            QueryPredicateProviderStep, OnFailureStep, OnBufferOverflowStep, BuildStep {
         private AppSync appSync;
         private ModelProvider modelProvider;
         private Merger merger;
         private QueryPredicateProvider queryPredicateProvider;
         private Consumer<Throwable> onFailure;
+        private Action onBufferOverflow;
 
         @NonNull
         @Override
@@ -374,10 +501,17 @@ final class SubscriptionProcessor {
 
         @NonNull
         @Override
-        public BuildStep onFailure(Consumer<Throwable> onFailure) {
+        public OnBufferOverflowStep onFailure(Consumer<Throwable> onFailure) {
             this.onFailure = Objects.requireNonNull(onFailure);
             return Builder.this;
         }
+
+        @NonNull
+        @Override
+        public BuildStep onBufferOverflow(Action onBufferOverflow) {
+            this.onBufferOverflow = Objects.requireNonNull(onBufferOverflow);
+            return Builder.this;
+        }
     }
 
     interface AppSyncStep {
@@ -402,7 +536,12 @@ final class SubscriptionProcessor {
 
     interface OnFailureStep {
         @NonNull
-        BuildStep onFailure(Consumer<Throwable> onFailure);
+        OnBufferOverflowStep onFailure(Consumer<Throwable> onFailure);
+    }
+
+    interface OnBufferOverflowStep {
+        @NonNull
+        BuildStep onBufferOverflow(Action onBufferOverflow);
     }
 
     interface BuildStep {
@@ -16,6 +16,7 @@
 package com.amplifyframework.datastore.syncengine;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.PaginatedResult;
@@ -23,6 +24,7 @@ import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelAssociation;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
@@ -44,13 +46,20 @@ import com.amplifyframework.util.Time;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.processors.BehaviorProcessor;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
 
 /**
  * "Hydrates" the local DataStore, using model metadata receive from the
@@ -62,6 +71,10 @@ import io.reactivex.rxjava3.processors.BehaviorProcessor;
  */
 final class SyncProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final int MIN_SYNC_PREFETCH_DEPTH = 1;
+    private static final int MIN_SYNC_MAX_CONCURRENT_MODELS = 1;
+    @VisibleForTesting
+    static final long CATCH_UP_CLOCK_SKEW_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
 
     private final ModelProvider modelProvider;
     private final ModelSchemaRegistry modelSchemaRegistry;
@@ -96,22 +109,14 @@ final class SyncProcessor {
     /**
      * The task of hydrating the DataStore either succeeds (with no return value),
      * or it fails, with an explanation.
+     *
+     * Models are hydrated concurrently, up to the configured maximum number of concurrent
+     * models. A model is only hydrated after all of the models it belongs to, so that
+     * when it is saved, the references will exist.
      * @return An Rx {@link Completable} which can be used to perform the operation.
      */
     Completable hydrate() {
-        final List<Completable> hydrationTasks = new ArrayList<>();
-        List<ModelSchema> modelSchemas = new ArrayList<>(modelProvider.modelSchemas().values());
-
-        // And sort them all, according to their model's topological order,
-        // So that when we save them, the references will exist.
-        TopologicalOrdering ordering =
-            TopologicalOrdering.forRegisteredModels(modelSchemaRegistry, modelProvider);
-        Collections.sort(modelSchemas, ordering::compare);
-        for (ModelSchema schema : modelSchemas) {
-            hydrationTasks.add(createHydrationTask(schema));
-        }
-
-        return Completable.concat(hydrationTasks)
+        return syncAllModels(false, SyncTime.never())
             .doOnSubscribe(ignore -> {
                 // This is where we trigger the syncQueriesStarted event since
                 // doOnSubscribe means that all upstream hydration tasks
@@ -129,40 +134,113 @@ final class SyncProcessor {
             });
     }
 
-    private Completable createHydrationTask(ModelSchema schema) {
+    /**
+     * Syncs the changes made since each model was last synced, to models which have already been
+     * hydrated. This fills in the changes that the subscriptions may have missed while they were
+     * not receiving, without syncing all of each model again. A model which has never been synced
+     * is hydrated in full, as it would be by {@link #hydrate()}.
+     *
+     * The last sync time of a model is taken from the device's clock, so a margin is subtracted
+     * from it, so that a clock which runs ahead of the service's does not skip any changes.
+     * Changes which are synced again are merged as they were before, by their versions.
+     *
+     * Unlike hydration, catching up does not publish the sync queries events, since the
+     * DataStore has already been ready since the initial sync.
+     * @return An Rx {@link Completable} which can be used to perform the operation.
+     */
+    Completable catchUp() {
+        return syncAllModels(true, SyncTime.never());
+    }
+
+    /**
+     * Catches up, as {@link #catchUp()} does, after the subscriptions were disconnected at a known
+     * time. Changes made before then were received by the subscriptions, so a model which was last
+     * synced before the disconnection is synced from the time of the disconnection, instead. The
+     * same margin is subtracted from it, since it was also taken from the device's clock.
+     * @param disconnectedAt The time at which the subscriptions were disconnected
+     * @return An Rx {@link Completable} which can be used to perform the operation.
+     */
+    Completable catchUp(@NonNull SyncTime disconnectedAt) {
+        return syncAllModels(true, Objects.requireNonNull(disconnectedAt));
+    }
+
+    // Syncs every model, in dependency order. When catching up, a model which has been synced
+    // before is synced from a margin before its last sync time, or before the disconnection,
+    // whichever is later.
+    private Completable syncAllModels(boolean catchingUp, SyncTime disconnectedAt) {
+        return Completable.defer(() -> {
+            List<ModelSchema> modelSchemas = new ArrayList<>(modelProvider.modelSchemas().values());
+
+            // Sort them all, according to their model's topological order. Tasks are started in
+            // this order, so the models that a task waits for have always been started before it.
+            TopologicalOrdering ordering =
+                TopologicalOrdering.forRegisteredModels(modelSchemaRegistry, modelProvider);
+            Collections.sort(modelSchemas, ordering::compare);
+
+            // Only wait for models that come earlier in the ordering, so that a cycle of
+            // associations can not leave two models waiting for each other.
+            final Map<String, CompletableSubject> hydratedModels = new HashMap<>();
+            final Map<String, List<Completable>> dependencies = new HashMap<>();
+            for (ModelSchema schema : modelSchemas) {
+                List<Completable> dependenciesOfSchema = new ArrayList<>();
+                for (String associationOwner : associationOwnersOf(schema)) {
+                    CompletableSubject dependency = hydratedModels.get(associationOwner);
+                    if (dependency != null) {
+                        dependenciesOfSchema.add(dependency);
+                    }
+                }
+                dependencies.put(schema.getName(), dependenciesOfSchema);
+                hydratedModels.put(schema.getName(), CompletableSubject.create());
+            }
+
+            return Flowable.fromIterable(modelSchemas)
+                .flatMapCompletable(schema -> {
+                    CompletableSubject hydrated = hydratedModels.get(schema.getName());
+                    return Completable.merge(dependencies.get(schema.getName()))
+                        .andThen(createHydrationTask(schema, catchingUp, disconnectedAt))
+                        .doOnComplete(hydrated::onComplete);
+                }, false, syncMaxConcurrentModels());
+        });
+    }
+
+    private Completable createHydrationTask(ModelSchema schema, boolean catchingUp, SyncTime disconnectedAt) {
         ModelSyncMetricsAccumulator metricsAccumulator = new ModelSyncMetricsAccumulator(schema.getName());
         return syncTimeRegistry.lookupLastSyncTime(schema.getName())
+            .map(lastSyncTime -> catchingUp && lastSyncTime.exists() ?
+                catchUpTime(lastSyncTime, disconnectedAt) : lastSyncTime)
             .map(this::filterOutOldSyncTimes)
             // And for each, perform a sync. The network response will contain an Iterable<ModelWithMetadata<T>>
             .flatMap(lastSyncTime -> {
                 // Sync all the pages
-                return syncModel(schema, lastSyncTime)
-                    // For each ModelWithMetadata, merge it into the local store.
-                    .flatMapCompletable(original -> {
-                        ModelWithMetadata<? extends Model> updated;
-                        if (original.getModel() instanceof SerializedModel) {
-                            SerializedModel originalModel = (SerializedModel) original.getModel();
-                            SerializedModel newModel = SerializedModel.builder()
-                                .serializedData(originalModel.getSerializedData())
-                                .modelSchema(schema)
-                                .build();
-                            updated = new ModelWithMetadata<>(newModel, original.getSyncMetadata());
-                        } else {
-                            updated = original;
+                return syncModel(schema, lastSyncTime, metricsAccumulator)
+                    // Merge each page into the local store, as a whole. Up to prefetchDepth pages
+                    // may wait to be merged, so the next page is fetched while this one is merged.
+                    .concatMapCompletable(page -> {
+                        List<ModelWithMetadata<Model>> updatedPage = new ArrayList<>(page.size());
+                        for (ModelWithMetadata<Model> original : page) {
+                            updatedPage.add(withSchema(original, schema));
                         }
-                        return merger.merge(updated, metricsAccumulator::increment);
-                    })
+                        return Completable.defer(() -> {
+                            long mergeStart = Time.now();
+                            return merger.merge(updatedPage, metricsAccumulator::increment)
+                                .doOnComplete(() -> metricsAccumulator.recordMerge(Time.now() - mergeStart));
+                        });
+                    }, syncPrefetchDepth())
                     .toSingle(() -> lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE);
             })
             .flatMapCompletable(syncType -> {
                 Completable syncTimeSaveCompletable = SyncType.DELTA.equals(syncType) ?
                     syncTimeRegistry.saveLastDeltaSyncTime(schema.getName(), SyncTime.now()) :
                     syncTimeRegistry.saveLastBaseSyncTime(schema.getName(), SyncTime.now());
-                return syncTimeSaveCompletable.andThen(Completable.fromAction(() ->
+                return syncTimeSaveCompletable.andThen(Completable.fromAction(() -> {
                     Amplify.Hub.publish(
                         HubChannel.DATASTORE, metricsAccumulator.toModelSyncedEvent(syncType).toHubEvent()
-                    )
-                ));
+                    );
+                    Amplify.Hub.publish(
+                        HubChannel.DATASTORE,
+                        metricsAccumulator.toModelSyncPipelineEvent(syncPrefetchDepth()).toHubEvent()
+                    );
+                }));
             })
             .doOnError(failureToSync -> {
                 LOG.warn("Initial cloud sync failed.", failureToSync);
@@ -178,6 +256,57 @@ final class SyncProcessor {
             );
     }
 
+    // The time from which a model that has been synced before is caught up.
+    private static SyncTime catchUpTime(SyncTime lastSyncTime, SyncTime disconnectedAt) {
+        long since = disconnectedAt.exists()
+            ? Math.max(lastSyncTime.toLong(), disconnectedAt.toLong())
+            : lastSyncTime.toLong();
+        return SyncTime.at(since - CATCH_UP_CLOCK_SKEW_MARGIN_MS);
+    }
+
+    // Names of the other models that this model belongs to.
+    private static Set<String> associationOwnersOf(ModelSchema schema) {
+        Set<String> associationOwners = new HashSet<>();
+        for (ModelAssociation association : schema.getAssociations().values()) {
+            if (association.isOwner() && !schema.getName().equals(association.getAssociatedType())) {
+                associationOwners.add(association.getAssociatedType());
+            }
+        }
+        return associationOwners;
+    }
+
+    // Configurations that are built without defaults may not specify a concurrency.
+    private int syncMaxConcurrentModels() throws DataStoreException {
+        Integer syncMaxConcurrentModels =
+            dataStoreConfigurationProvider.getConfiguration().getSyncMaxConcurrentModels();
+        if (syncMaxConcurrentModels == null) {
+            return MIN_SYNC_MAX_CONCURRENT_MODELS;
+        }
+        return Math.max(MIN_SYNC_MAX_CONCURRENT_MODELS, syncMaxConcurrentModels);
+    }
+
+    // Configurations that are built without defaults may not specify a prefetch depth.
+    private int syncPrefetchDepth() throws DataStoreException {
+        Integer syncPrefetchDepth = dataStoreConfigurationProvider.getConfiguration().getSyncPrefetchDepth();
+        if (syncPrefetchDepth == null) {
+            return MIN_SYNC_PREFETCH_DEPTH;
+        }
+        return Math.max(MIN_SYNC_PREFETCH_DEPTH, syncPrefetchDepth);
+    }
+
+    // SerializedModels that come back from the sync don't carry a schema; attach it.
+    private static ModelWithMetadata<Model> withSchema(ModelWithMetadata<Model> original, ModelSchema schema) {
+        if (!(original.getModel() instanceof SerializedModel)) {
+            return original;
+        }
+        SerializedModel originalModel = (SerializedModel) original.getModel();
+        SerializedModel newModel = SerializedModel.builder()
+            .serializedData(originalModel.getSerializedData())
+            .modelSchema(schema)
+            .build();
+        return new ModelWithMetadata<>(newModel, original.getSyncMetadata());
+    }
+
     /**
      * If a sync time is older than (now) - (the base sync interval), regard the provided sync time
      * as "too old", and return {@link SyncTime#never()}, instead. In all other cases,
@@ -213,21 +342,32 @@ final class SyncProcessor {
      *
      * @param schema The schema of the model to sync
      * @param syncTime The time of a last successful sync.
+     * @param metricsAccumulator Records the time taken to fetch each page.
      * @param <T> The type of model to sync.
-     * @return a stream of all ModelWithMetadata&lt;T&gt; objects from all pages for the provided model.
+     * @return a stream of pages of ModelWithMetadata&lt;T&gt; objects, for the provided model.
      * @throws DataStoreException if dataStoreConfigurationProvider.getConfiguration() fails
      */
-    private <T extends Model> Flowable<ModelWithMetadata<T>> syncModel(ModelSchema schema, SyncTime syncTime)
+    private <T extends Model> Flowable<List<ModelWithMetadata<T>>> syncModel(
+            ModelSchema schema, SyncTime syncTime, ModelSyncMetricsAccumulator metricsAccumulator)
             throws DataStoreException {
         final Long lastSyncTimeAsLong = syncTime.exists() ? syncTime.toLong() : null;
         final Integer syncPageSize = dataStoreConfigurationProvider.getConfiguration().getSyncPageSize();
+        final AtomicInteger recordsRemaining =
+            new AtomicInteger(dataStoreConfigurationProvider.getConfiguration().getSyncMaxRecords());
         QueryPredicate predicate = queryPredicateProvider.getPredicate(schema.getName());
         // Create a BehaviorProcessor, and set the default value to a GraphQLRequest that fetches the first page.
         BehaviorProcessor<GraphQLRequest<PaginatedResult<ModelWithMetadata<T>>>> processor =
                 BehaviorProcessor.createDefault(
                         appSync.buildSyncRequest(schema, lastSyncTimeAsLong, syncPageSize, predicate));
 
-        return processor.concatMap(request -> syncPage(request).toFlowable())
+        return processor.concatMap(request -> Single.defer(() -> {
+                    long fetchStart = Time.now();
+                    return this.<T>syncPage(request)
+                        .doOnSuccess(result -> metricsAccumulator.recordFetch(Time.now() - fetchStart));
+                }).toFlowable())
+                .doOnSubscribe(subscription -> metricsAccumulator.start())
+                // Request the next page as soon as this one arrives. It is fetched while this
+                // page waits to be merged, for as long as the merge stage has room to buffer it.
                 .doOnNext(paginatedResult -> {
                     if (paginatedResult.hasNextResult()) {
                         processor.onNext(paginatedResult.getRequestForNextResult());
@@ -235,10 +375,20 @@ final class SyncProcessor {
                         processor.onComplete();
                     }
                 })
-                // Flatten the PaginatedResult objects into a stream of ModelWithMetadata objects.
-                .concatMapIterable(PaginatedResult::getItems)
+                // Keep the items of each page together, up to the maximum configured records to sync.
+                .map(paginatedResult -> {
+                    List<ModelWithMetadata<T>> page = new ArrayList<>();
+                    for (ModelWithMetadata<T> item : paginatedResult.getItems()) {
+                        if (page.size() >= recordsRemaining.get()) {
+                            break;
+                        }
+                        page.add(item);
+                    }
+                    recordsRemaining.addAndGet(-page.size());
+                    return page;
+                })
                 // Stop after fetching the maximum configured records to sync.
-                .take(dataStoreConfigurationProvider.getConfiguration().getSyncMaxRecords());
+                .takeUntil(page -> recordsRemaining.get() <= 0);
     }
 
     /**
@@ -33,7 +33,6 @@ final class SyncTime {
         this.time = time;
     }
 
-    @SuppressWarnings("unused")
     static SyncTime at(long time) {
         return new SyncTime(time);
     }
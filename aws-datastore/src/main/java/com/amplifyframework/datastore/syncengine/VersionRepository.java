@@ -18,14 +18,20 @@ package com.amplifyframework.datastore.syncengine;
 import androidx.annotation.NonNull;
 
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.PrimaryKey;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import io.reactivex.rxjava3.core.Single;
@@ -36,6 +42,9 @@ import io.reactivex.rxjava3.core.Single;
  */
 @SuppressWarnings("CodeBlock2Expr")
 final class VersionRepository {
+    // Keeps the number of bound IDs well under SQLite's limit on variables per statement.
+    private static final int MAX_MODELS_PER_QUERY = 500;
+
     private final LocalStorageAdapter localStorageAdapter;
 
     /**
@@ -65,6 +74,49 @@ final class VersionRepository {
         });
     }
 
+    /**
+     * Find the current versions of a batch of models, that we have in the local store.
+     * The versions are looked up with one query per {@link #MAX_MODELS_PER_QUERY} models,
+     * rather than one query per model.
+     * @param models Models, possibly of different types
+     * @param <T> Type of models
+     * @return Current versions known locally, keyed by model ID. Models which have
+     *         no metadata, or no version, in the local store are absent from the map.
+     */
+    <T extends Model> Single<Map<String, Integer>> findModelVersions(List<T> models) {
+        final List<Single<Map<String, Integer>>> lookups = new ArrayList<>();
+        for (int start = 0; start < models.size(); start += MAX_MODELS_PER_QUERY) {
+            List<T> chunk = models.subList(start, Math.min(start + MAX_MODELS_PER_QUERY, models.size()));
+            lookups.add(findVersionsOfChunk(chunk));
+        }
+        return Single.concat(lookups)
+            .<Map<String, Integer>>reduceWith(HashMap::new, (versions, chunkVersions) -> {
+                versions.putAll(chunkVersions);
+                return versions;
+            });
+    }
+
+    private <T extends Model> Single<Map<String, Integer>> findVersionsOfChunk(List<T> models) {
+        // The ModelMetadata for each model uses the same ID as an identifier.
+        QueryPredicate matchesAnyId = QueryPredicates.none();
+        for (T model : models) {
+            matchesAnyId = matchesAnyId.or(QueryField.field(PrimaryKey.fieldName()).eq(model.getId()));
+        }
+        final QueryPredicate predicate = matchesAnyId;
+        return Single.create(emitter -> {
+            localStorageAdapter.query(ModelMetadata.class, Where.matches(predicate), iterableResults -> {
+                final Map<String, Integer> versions = new HashMap<>();
+                while (iterableResults.hasNext()) {
+                    ModelMetadata metadata = iterableResults.next();
+                    if (metadata.getVersion() != null) {
+                        versions.put(metadata.getId(), metadata.getVersion());
+                    }
+                }
+                emitter.onSuccess(versions);
+            }, emitter::onError);
+        });
+    }
+
     /**
      * Extract a model version from an metadata iterator.
      * @param model The model for which metadata is being interrogated, used only for creating error messages.
@@ -56,6 +56,26 @@ public final class DataStoreConfigurationTest {
             dataStoreConfiguration.getSyncMaxRecords().intValue());
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PREFETCH_DEPTH,
+            dataStoreConfiguration.getSyncPrefetchDepth().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_MODELS,
+            dataStoreConfiguration.getSyncMaxConcurrentModels().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_MUTATIONS,
+            dataStoreConfiguration.getSyncMaxConcurrentMutations().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_WRITE_AHEAD_LOGGING,
+            dataStoreConfiguration.getStorageWriteAheadLogging());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_SYNCHRONOUS_MODE,
+            dataStoreConfiguration.getStorageSynchronousMode());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_CACHE_SIZE_KB,
+            dataStoreConfiguration.getStorageCacheSizeKb().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_MMAP_SIZE_BYTES,
+            dataStoreConfiguration.getStorageMmapSizeBytes().longValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_MAX_CONCURRENT_READS,
+            dataStoreConfiguration.getStorageMaxConcurrentReads().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_TEMPORAL_ENCODING,
+            dataStoreConfiguration.getStorageTemporalEncoding());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_QUERY_DIAGNOSTICS,
+            dataStoreConfiguration.getStorageQueryDiagnostics());
 
         assertTrue(dataStoreConfiguration.getConflictHandler() instanceof AlwaysApplyRemoteHandler);
         assertTrue(dataStoreConfiguration.getErrorHandler() instanceof DefaultDataStoreErrorHandler);
@@ -73,20 +93,66 @@ public final class DataStoreConfigurationTest {
         long expectedSyncIntervalMinutes = 6L;
         Long expectedSyncIntervalMs = TimeUnit.MINUTES.toMillis(expectedSyncIntervalMinutes);
         Integer expectedSyncMaxRecords = 3;
+        Integer expectedSyncMaxConcurrentModels = 2;
         JSONObject jsonConfigFromFile = new JSONObject()
             .put(ConfigKey.SYNC_INTERVAL_IN_MINUTES.toString(), expectedSyncIntervalMinutes)
-            .put(ConfigKey.SYNC_MAX_RECORDS.toString(), expectedSyncMaxRecords);
+            .put(ConfigKey.SYNC_MAX_RECORDS.toString(), expectedSyncMaxRecords)
+            .put(ConfigKey.SYNC_MAX_CONCURRENT_MODELS.toString(), expectedSyncMaxConcurrentModels);
         DataStoreConfiguration dataStoreConfiguration = DataStoreConfiguration.builder(jsonConfigFromFile).build();
         assertEquals(expectedSyncIntervalMs, dataStoreConfiguration.getSyncIntervalMs());
         assertEquals(expectedSyncMaxRecords, dataStoreConfiguration.getSyncMaxRecords());
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().longValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PREFETCH_DEPTH,
+            dataStoreConfiguration.getSyncPrefetchDepth().longValue());
+        assertEquals(expectedSyncMaxConcurrentModels, dataStoreConfiguration.getSyncMaxConcurrentModels());
 
         assertTrue(dataStoreConfiguration.getConflictHandler() instanceof AlwaysApplyRemoteHandler);
         assertTrue(dataStoreConfiguration.getErrorHandler() instanceof DefaultDataStoreErrorHandler);
         assertEquals(Collections.emptyMap(), dataStoreConfiguration.getSyncExpressions());
     }
 
+    /**
+     * The storage settings can be read from the config file. The synchronous mode,
+     * the temporal encoding and the query diagnostics are given by name, in any case.
+     * @throws JSONException While arranging config file JSON
+     * @throws DataStoreException While building a configuration instance
+     */
+    @Test
+    public void testStorageSettingsFromConfiguration() throws JSONException, DataStoreException {
+        JSONObject jsonConfigFromFile = new JSONObject()
+            .put(ConfigKey.STORAGE_WRITE_AHEAD_LOGGING.toString(), false)
+            .put(ConfigKey.STORAGE_SYNCHRONOUS_MODE.toString(), "full")
+            .put(ConfigKey.STORAGE_CACHE_SIZE_KB.toString(), 8_000)
+            .put(ConfigKey.STORAGE_MMAP_SIZE_BYTES.toString(), 64L * 1024 * 1024)
+            .put(ConfigKey.STORAGE_TEMPORAL_ENCODING.toString(), "sortable_binary")
+            .put(ConfigKey.STORAGE_QUERY_DIAGNOSTICS.toString(), "auto_index");
+        DataStoreConfiguration dataStoreConfiguration = DataStoreConfiguration.builder(jsonConfigFromFile).build();
+        assertEquals(Boolean.FALSE, dataStoreConfiguration.getStorageWriteAheadLogging());
+        assertEquals(DataStoreConfiguration.StorageSynchronousMode.FULL,
+            dataStoreConfiguration.getStorageSynchronousMode());
+        assertEquals(Integer.valueOf(8_000), dataStoreConfiguration.getStorageCacheSizeKb());
+        assertEquals(Long.valueOf(64L * 1024 * 1024), dataStoreConfiguration.getStorageMmapSizeBytes());
+        assertEquals(DataStoreConfiguration.StorageTemporalEncoding.SORTABLE_BINARY,
+            dataStoreConfiguration.getStorageTemporalEncoding());
+        assertEquals(DataStoreConfiguration.StorageQueryDiagnostics.AUTO_INDEX,
+            dataStoreConfiguration.getStorageQueryDiagnostics());
+        assertEquals(DataStoreConfiguration.DEFAULT_STORAGE_MAX_CONCURRENT_READS,
+            dataStoreConfiguration.getStorageMaxConcurrentReads().intValue());
+    }
+
+    /**
+     * An unknown synchronous mode in the config file is rejected.
+     * @throws DataStoreException On failure to build a config object, as expected
+     * @throws JSONException While arranging config file JSON
+     */
+    @Test(expected = DataStoreException.class)
+    public void testUnknownStorageSynchronousModeIsRejected() throws JSONException, DataStoreException {
+        JSONObject jsonConfigFromFile = new JSONObject()
+            .put(ConfigKey.STORAGE_SYNCHRONOUS_MODE.toString(), "sometimes");
+        DataStoreConfiguration.builder(jsonConfigFromFile).build();
+    }
+
     /**
      * When building a configuration from both a config file and a configuration object,
      * default values should be overridden, and the provided ones shall be used, instead.
@@ -98,6 +164,7 @@ public final class DataStoreConfigurationTest {
         long expectedSyncIntervalMinutes = 6L;
         Long expectedSyncIntervalMs = TimeUnit.MINUTES.toMillis(expectedSyncIntervalMinutes);
         Integer expectedSyncMaxRecords = 3;
+        Integer expectedSyncPrefetchDepth = 4;
         DummyConflictHandler dummyConflictHandler = new DummyConflictHandler();
         DataStoreErrorHandler errorHandler = DefaultDataStoreErrorHandler.instance();
 
@@ -105,6 +172,7 @@ public final class DataStoreConfigurationTest {
         DataStoreConfiguration configObject = DataStoreConfiguration
             .builder()
             .syncMaxRecords(expectedSyncMaxRecords)
+            .syncPrefetchDepth(expectedSyncPrefetchDepth)
             .conflictHandler(dummyConflictHandler)
             .errorHandler(errorHandler)
             .syncExpression(BlogOwner.class, syncExpression)
@@ -120,6 +188,7 @@ public final class DataStoreConfigurationTest {
         assertEquals(expectedSyncMaxRecords, dataStoreConfiguration.getSyncMaxRecords());
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().longValue());
+        assertEquals(expectedSyncPrefetchDepth, dataStoreConfiguration.getSyncPrefetchDepth());
 
         assertEquals(dummyConflictHandler, dataStoreConfiguration.getConflictHandler());
         assertEquals(errorHandler, dataStoreConfiguration.getErrorHandler());
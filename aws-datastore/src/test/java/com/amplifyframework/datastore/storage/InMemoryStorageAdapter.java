@@ -17,21 +17,26 @@ package com.amplifyframework.datastore.storage;
 
 import android.content.Context;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.SerializedModel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -129,6 +134,87 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(result.iterator());
     }
 
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull final List<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        for (T item : items) {
+            save(item, initiator, QueryPredicates.all(), changes::add, onError);
+        }
+        if (changes.size() == items.size()) {
+            onSuccess.accept(changes);
+        }
+    }
+
+    @Override
+    public void batch(
+            @NonNull final List<StorageOperation<? extends Model>> operations,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<? extends Model>> changes = new ArrayList<>();
+        for (StorageOperation<? extends Model> operation : operations) {
+            final List<StorageItemChange<Model>> results = new ArrayList<>();
+            final List<Model> item = Collections.singletonList(operation.item());
+            if (operation.isDelete()) {
+                deleteAll(item, initiator, results::addAll, onError);
+            } else {
+                saveAll(item, initiator, results::addAll, onError);
+            }
+            changes.addAll(results);
+        }
+        if (changes.size() == operations.size()) {
+            onSuccess.accept(changes);
+        }
+    }
+
+    @Override
+    public void deferredBatch(
+            @NonNull final Callable<List<StorageOperation<? extends Model>>> operations,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<? extends Model>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageOperation<? extends Model>> decidedOperations;
+        try {
+            decidedOperations = operations.call();
+        } catch (DataStoreException decisionFailure) {
+            onError.accept(decisionFailure);
+            return;
+        } catch (Exception decisionFailure) {
+            onError.accept(new DataStoreException(
+                "Failed to decide the operations of a batch.", decisionFailure, "See attached exception."
+            ));
+            return;
+        }
+        batch(decidedOperations, initiator, onSuccess, onError);
+    }
+
+    @Override
+    public <T extends Model> void stream(
+            @NonNull final Class<T> itemClass,
+            @NonNull final QueryOptions options,
+            @NonNull final Consumer<CancelableIterator<T>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError
+    ) {
+        query(itemClass, options, iterator -> onSuccess.accept(new CancelableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void cancel() {}
+        }), onError);
+    }
+
     @Override
     public void query(
             @NonNull String modelName,
@@ -145,6 +231,42 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(result.iterator());
     }
 
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull final List<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        for (T item : items) {
+            if (indexOf(item) < 0) {
+                // Deleting an item that doesn't exist "succeeds", without a published change.
+                final ModelSchema schema;
+                try {
+                    schema = ModelSchema.fromModelClass(item.getClass());
+                } catch (AmplifyException schemaBuildFailure) {
+                    onError.accept(new DataStoreException(
+                        "Failed to build model schema.", schemaBuildFailure, "Verify your model."
+                    ));
+                    return;
+                }
+                changes.add(StorageItemChange.<T>builder()
+                    .item(item)
+                    .patchItem(SerializedModel.create(item, schema))
+                    .modelSchema(schema)
+                    .type(StorageItemChange.Type.DELETE)
+                    .predicate(QueryPredicates.all())
+                    .initiator(initiator)
+                    .build());
+                continue;
+            }
+            delete(item, initiator, QueryPredicates.all(), changes::add, onError);
+        }
+        if (changes.size() == items.size()) {
+            onSuccess.accept(changes);
+        }
+    }
+
     @SuppressWarnings("unchecked") // item.getClass() -> Class<?>, but type is T. So cast as Class<T> is OK.
     @Override
     public <T extends Model> void delete(
@@ -251,6 +373,12 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         return disposable::dispose;
     }
 
+    @Override
+    public boolean setTransactionHook(@Nullable StorageTransactionHook transactionHook) {
+        // Changes are not written transactionally, so the hook is not supported.
+        return false;
+    }
+
     @Override
     public void terminate() {
         items.clear();
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link ItemChangeObservers}.
+ */
+public final class ItemChangeObserversTest {
+    private InMemoryStorageAdapter inMemoryStorageAdapter;
+    private SynchronousStorageAdapter storage;
+    private ItemChangeObservers observers;
+
+    /**
+     * Sets up observers of an in-memory storage adapter.
+     */
+    @Before
+    public void setup() {
+        inMemoryStorageAdapter = InMemoryStorageAdapter.create();
+        storage = SynchronousStorageAdapter.delegatingTo(inMemoryStorageAdapter);
+        observers = new ItemChangeObservers(inMemoryStorageAdapter);
+    }
+
+    /**
+     * An observer of a model only receives changes to items of that model which
+     * match its predicate, while an observer of all models receives every change.
+     * @throws DataStoreException On failure to save the arranged items
+     */
+    @Test
+    public void changesAreFilteredByModelAndPredicate() throws DataStoreException {
+        List<Model> ownerChanges = new ArrayList<>();
+        List<Model> allChanges = new ArrayList<>();
+        observers.observe("BlogOwner", BlogOwner.NAME.beginsWith("J"),
+            change -> ownerChanges.add(change.item()), error -> { }, () -> { });
+        observers.observe(null, QueryPredicates.all(),
+            change -> allChanges.add(change.item()), error -> { }, () -> { });
+
+        BlogOwner jane = BlogOwner.builder()
+            .name("Jane")
+            .build();
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony")
+            .build();
+        Blog janesBlog = Blog.builder()
+            .name("Jane's Blog")
+            .owner(jane)
+            .build();
+        storage.save(jane, tony, janesBlog);
+
+        assertEquals(Collections.singletonList(jane), ownerChanges);
+        assertEquals(Arrays.asList(jane, tony, janesBlog), allChanges);
+    }
+
+    /**
+     * A cancelled observer no longer receives changes, while the other observers still do.
+     * @throws DataStoreException On failure to save the arranged items
+     */
+    @Test
+    public void cancelledObserverReceivesNoChanges() throws DataStoreException {
+        AtomicInteger cancelledCount = new AtomicInteger();
+        AtomicInteger activeCount = new AtomicInteger();
+        Cancelable cancelable = observers.observe("BlogOwner", QueryPredicates.all(),
+            change -> cancelledCount.incrementAndGet(), error -> { }, () -> { });
+        observers.observe("BlogOwner", QueryPredicates.all(),
+            change -> activeCount.incrementAndGet(), error -> { }, () -> { });
+
+        storage.save(BlogOwner.builder()
+            .name("Jane")
+            .build());
+        cancelable.cancel();
+        storage.save(BlogOwner.builder()
+            .name("Tony")
+            .build());
+
+        assertEquals(1, cancelledCount.get());
+        assertEquals(2, activeCount.get());
+    }
+
+    /**
+     * When the storage adapter terminates, every observer is completed.
+     */
+    @Test
+    public void observersCompleteWhenStorageTerminates() {
+        AtomicInteger completions = new AtomicInteger();
+        observers.observe("BlogOwner", QueryPredicates.all(), change -> { }, error -> { },
+            completions::incrementAndGet);
+        observers.observe(null, QueryPredicates.all(), change -> { }, error -> { },
+            completions::incrementAndGet);
+
+        inMemoryStorageAdapter.terminate();
+        assertEquals(2, completions.get());
+    }
+}
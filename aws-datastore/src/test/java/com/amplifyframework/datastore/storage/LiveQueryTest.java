@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage;
+
+import android.os.Build;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.ContinuationToken;
+import com.amplifyframework.core.model.query.Page;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.todo.Todo;
+import com.amplifyframework.testmodels.todo.TodoOwner;
+import com.amplifyframework.testmodels.todo.TodoStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link LiveQuery}.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class LiveQueryTest {
+    private ModelSchema schema;
+    private List<List<BlogOwner>> snapshots;
+
+    /**
+     * Sets up a schema for the changes, and a list to collect snapshots.
+     * @throws AmplifyException On failure to build the schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        schema = ModelSchema.fromModelClass(BlogOwner.class);
+        snapshots = new ArrayList<>();
+    }
+
+    /**
+     * Changes are applied to the loaded result in place, keeping it sorted
+     * and limited to the items which match the predicate.
+     */
+    @Test
+    public void changesAreAppliedInSortOrder() {
+        BlogOwner alice = owner("Alice");
+        BlogOwner carol = owner("Carol");
+        LiveQuery<BlogOwner> liveQuery = new LiveQuery<>(
+            Where.matches(BlogOwner.NAME.ne("Mallory")).sorted(BlogOwner.NAME.ascending()),
+            snapshots::add
+        );
+        liveQuery.load(Arrays.asList(carol, alice).iterator());
+        assertEquals(Arrays.asList(alice, carol), last());
+
+        BlogOwner bob = owner("Bob");
+        liveQuery.apply(change(bob, StorageItemChange.Type.CREATE));
+        assertEquals(Arrays.asList(alice, bob, carol), last());
+
+        // Renaming an item moves it; renaming it out of the predicate removes it.
+        BlogOwner renamedAlice = alice.copyOfBuilder()
+            .name("Dave")
+            .build();
+        liveQuery.apply(change(renamedAlice, StorageItemChange.Type.UPDATE));
+        assertEquals(Arrays.asList(bob, carol, renamedAlice), last());
+        liveQuery.apply(change(bob.copyOfBuilder().name("Mallory").build(), StorageItemChange.Type.UPDATE));
+        assertEquals(Arrays.asList(carol, renamedAlice), last());
+
+        liveQuery.apply(change(carol, StorageItemChange.Type.DELETE));
+        assertEquals(Collections.singletonList(renamedAlice), last());
+    }
+
+    /**
+     * A change to an item outside of the result does not emit a snapshot.
+     */
+    @Test
+    public void unrelatedChangeEmitsNothing() {
+        LiveQuery<BlogOwner> liveQuery = new LiveQuery<>(Where.matches(BlogOwner.NAME.eq("Alice")), snapshots::add);
+        liveQuery.load(Collections.<BlogOwner>emptyList().iterator());
+        liveQuery.apply(change(owner("Bob"), StorageItemChange.Type.DELETE));
+        assertEquals(1, snapshots.size());
+    }
+
+    /**
+     * Changes which arrive before the initial result are applied on top of it,
+     * even if the initial result already included them.
+     */
+    @Test
+    public void changesBeforeLoadAreAppliedAfterIt() {
+        BlogOwner alice = owner("Alice");
+        BlogOwner bob = owner("Bob");
+        LiveQuery<BlogOwner> liveQuery = new LiveQuery<>(
+            Where.matches(QueryPredicates.all()).sorted(BlogOwner.NAME.descending()),
+            snapshots::add
+        );
+        liveQuery.apply(change(alice, StorageItemChange.Type.CREATE));
+        liveQuery.apply(change(bob, StorageItemChange.Type.CREATE));
+        assertEquals(0, snapshots.size());
+
+        liveQuery.load(Collections.singletonList(alice).iterator());
+        assertEquals(Collections.singletonList(Arrays.asList(bob, alice)), snapshots);
+    }
+
+    /**
+     * When a page is requested, the snapshots hold that window of the whole result.
+     */
+    @Test
+    public void snapshotIsLimitedToRequestedPage() {
+        BlogOwner alice = owner("Alice");
+        BlogOwner bob = owner("Bob");
+        BlogOwner carol = owner("Carol");
+        LiveQuery<BlogOwner> liveQuery = new LiveQuery<>(
+            Where.sorted(BlogOwner.NAME.ascending()).paginated(Page.startingAt(1).withLimit(1)),
+            snapshots::add
+        );
+        liveQuery.load(Arrays.asList(alice, carol).iterator());
+        assertEquals(Collections.singletonList(carol), last());
+
+        liveQuery.apply(change(bob, StorageItemChange.Type.CREATE));
+        assertEquals(Collections.singletonList(bob), last());
+    }
+
+    /**
+     * When a keyset page is requested, the snapshots hold the items after the continuation
+     * token's item, even when that item has since been deleted.
+     */
+    @Test
+    public void snapshotStartsAfterContinuationToken() {
+        BlogOwner alice = owner("Alice");
+        BlogOwner bob = owner("Bob");
+        BlogOwner carol = owner("Carol");
+        QueryOptions firstPage = Where.sorted(BlogOwner.NAME.ascending());
+        String token = ContinuationToken.of(alice, firstPage);
+        LiveQuery<BlogOwner> liveQuery = new LiveQuery<>(
+            Where.sorted(BlogOwner.NAME.ascending()).paginated(Page.startingAfter(token).withLimit(1)),
+            snapshots::add
+        );
+        liveQuery.load(Arrays.asList(alice, carol).iterator());
+        assertEquals(Collections.singletonList(carol), last());
+
+        liveQuery.apply(change(bob, StorageItemChange.Type.CREATE));
+        assertEquals(Collections.singletonList(bob), last());
+
+        liveQuery.apply(change(alice, StorageItemChange.Type.DELETE));
+        assertEquals(Collections.singletonList(bob), last());
+    }
+
+    /**
+     * Enums are ordered by name, as the local store orders them, rather than by their
+     * declaration order; and a keyset page starts right after its token's item in that order.
+     */
+    @Test
+    public void enumsSortByNameForItemsAndTokens() {
+        Todo pending = todo("Write tests", TodoStatus.Pending, "2021-03-04T05:06:07Z");
+        Todo inProgress = todo("Write code", TodoStatus.InProgress, "2021-03-04T05:06:08Z");
+        Todo done = todo("Write plan", TodoStatus.Done, "2021-03-04T05:06:09Z");
+        QueryOptions byStatus = Where.sorted(Todo.STATUS.ascending());
+        List<List<Todo>> todoSnapshots = new ArrayList<>();
+        LiveQuery<Todo> liveQuery = new LiveQuery<>(byStatus, todoSnapshots::add);
+        liveQuery.load(Arrays.asList(pending, inProgress, done).iterator());
+        assertEquals(Arrays.asList(done, inProgress, pending), todoSnapshots.get(0));
+
+        String token = ContinuationToken.of(done, byStatus);
+        LiveQuery<Todo> nextPage = new LiveQuery<>(
+            Where.sorted(Todo.STATUS.ascending()).paginated(Page.startingAfter(token).withLimit(1)),
+            todoSnapshots::add
+        );
+        nextPage.load(Arrays.asList(pending, inProgress, done).iterator());
+        assertEquals(Collections.singletonList(inProgress), todoSnapshots.get(1));
+    }
+
+    /**
+     * A keyset page which is sorted by a date-time field starts right after its token's item,
+     * whose value the token holds in its ISO-8601 form.
+     */
+    @Test
+    public void dateTimeTokenStartsAfterItsItem() {
+        Todo first = todo("First", TodoStatus.Done, "2021-03-04T05:06:07Z");
+        Todo second = todo("Second", TodoStatus.Done, "2021-03-04T05:06:08Z");
+        Todo third = todo("Third", TodoStatus.Done, "2021-03-04T05:06:09Z");
+        QueryOptions newestFirst = Where.sorted(Todo.CREATED_AT.descending());
+        String token = ContinuationToken.of(third, newestFirst);
+        List<List<Todo>> todoSnapshots = new ArrayList<>();
+        LiveQuery<Todo> liveQuery = new LiveQuery<>(
+            Where.sorted(Todo.CREATED_AT.descending()).paginated(Page.startingAfter(token).withLimit(2)),
+            todoSnapshots::add
+        );
+        liveQuery.load(Arrays.asList(first, second, third).iterator());
+        assertEquals(Arrays.asList(second, first), todoSnapshots.get(0));
+    }
+
+    /**
+     * Date-times with different offsets are ordered by the instants they represent, rather than
+     * by their ISO-8601 form; and a keyset page starts right after its token's item in that order.
+     */
+    @Test
+    public void dateTimesSortByInstantForItemsAndTokens() {
+        Todo first = todo("First", TodoStatus.Done, "2021-03-04T10:00:00+05:00");
+        Todo second = todo("Second", TodoStatus.Done, "2021-03-04T06:00:00Z");
+        Todo third = todo("Third", TodoStatus.Done, "2021-03-04T00:00:00-08:00");
+        QueryOptions oldestFirst = Where.sorted(Todo.CREATED_AT.ascending());
+        List<List<Todo>> todoSnapshots = new ArrayList<>();
+        new LiveQuery<>(oldestFirst, todoSnapshots::add)
+            .load(Arrays.asList(third, first, second).iterator());
+        assertEquals(Arrays.asList(first, second, third), todoSnapshots.get(0));
+
+        String token = ContinuationToken.of(first, oldestFirst);
+        LiveQuery<Todo> liveQuery = new LiveQuery<>(
+            Where.sorted(Todo.CREATED_AT.ascending()).paginated(Page.startingAfter(token).withLimit(2)),
+            todoSnapshots::add
+        );
+        liveQuery.load(Arrays.asList(third, first, second).iterator());
+        assertEquals(Arrays.asList(second, third), todoSnapshots.get(1));
+    }
+
+    private List<BlogOwner> last() {
+        return snapshots.get(snapshots.size() - 1);
+    }
+
+    private static BlogOwner owner(String name) {
+        return BlogOwner.builder()
+            .name(name)
+            .build();
+    }
+
+    private static Todo todo(String title, TodoStatus status, String createdAt) {
+        return Todo.builder()
+            .title(title)
+            .content(title)
+            .status(status)
+            .createdAt(new Temporal.DateTime(createdAt))
+            .duplicate(false)
+            .owner(TodoOwner.builder()
+                .name("Alice")
+                .build())
+            .build();
+    }
+
+    private StorageItemChange<BlogOwner> change(BlogOwner owner, StorageItemChange.Type type) {
+        return StorageItemChange.<BlogOwner>builder()
+            .item(owner)
+            .patchItem(SerializedModel.create(owner, schema))
+            .modelSchema(schema)
+            .type(type)
+            .predicate(QueryPredicates.all())
+            .initiator(StorageItemChange.Initiator.DATA_STORE_API)
+            .build();
+    }
+}
@@ -15,11 +15,13 @@
 
 package com.amplifyframework.datastore.storage;
 
+import android.content.Context;
 import androidx.annotation.NonNull;
 
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
+import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
@@ -80,6 +82,29 @@ public final class SynchronousStorageAdapter {
         return new SynchronousStorageAdapter(asyncDelegate, operationTimeoutMs);
     }
 
+    /**
+     * Initializes the storage adapter.
+     * @param context An Android Context
+     * @return The list of model schema that are available for use in the adapter
+     * @throws DataStoreException On any initialization failure
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public List<ModelSchema> initialize(@NonNull Context context) throws DataStoreException {
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<ModelSchema>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.initialize(context, onResult, onError)
+        );
+    }
+
+    /**
+     * Terminate use of the storage adapter.
+     * @throws DataStoreException On failure to terminate
+     */
+    public void terminate() throws DataStoreException {
+        asyncDelegate.terminate();
+    }
+
     /**
      * Save a model into the storage adapter.
      * @param model Model to save
@@ -15,19 +15,29 @@
 
 package com.amplifyframework.datastore.storage.sqlite;
 
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.storage.sqlite.adapter.SQLPredicate;
+import com.amplifyframework.testmodels.meeting.Meeting;
 import com.amplifyframework.testmodels.ratingsblog.Blog;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(RobolectricTestRunner.class)
@@ -103,6 +113,81 @@ public class SQLPredicateTest {
         validateSQLExpressionForNotContains(sqlPredicate, "tags");
     }
 
+    /**
+     * Test that equality checks on a single field which are OR'd together are
+     * parsed into an IN operation.
+     * @throws DataStoreException Not thrown.
+     */
+    @Test
+    public void testOrOfEqualitiesIsParsedAsIn() throws DataStoreException {
+        QueryPredicate predicate = Blog.NAME.eq("first").or(Blog.NAME.eq("second")).or(Blog.NAME.eq("third"));
+        SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+        assertEquals("name IN (?, ?, ?)", sqlPredicate.toString());
+        assertEquals(Arrays.asList("first", "second", "third"), sqlPredicate.getBindings());
+    }
+
+    /**
+     * Test that OR'd equality checks on different fields are left as an OR group.
+     * @throws DataStoreException Not thrown.
+     */
+    @Test
+    public void testOrOfEqualitiesOnDifferentFieldsIsNotParsedAsIn() throws DataStoreException {
+        QueryPredicate predicate = Blog.NAME.eq("first").or(Blog.ID.eq("second"));
+        SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+        assertEquals("(name = ? OR id = ?)", sqlPredicate.toString());
+        assertEquals(Arrays.asList("first", "second"), sqlPredicate.getBindings());
+    }
+
+    /**
+     * Test that, when temporal values are stored in the sortable binary encoding, values compared
+     * against temporal fields are bound in that encoding, whether given as text or as temporal objects.
+     * @throws AmplifyException Not thrown.
+     */
+    @Test
+    public void testTemporalValuesAreBoundInBinaryEncoding() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Meeting.class);
+        ModelSchemaRegistry registry = ModelSchemaRegistry.instance();
+        Temporal.DateTime start = new Temporal.DateTime("2021-03-04T05:06:07Z");
+        QueryPredicate predicate = Meeting.DATE_TIME.gt(start).and(Meeting.DATE_TIME.lt("2021-03-05T05:06:07+01:00"));
+        SQLPredicate sqlPredicate =
+            new SQLPredicate(predicate, schema, registry, StorageTemporalEncoding.SORTABLE_BINARY);
+
+        assertEquals("(dateTime > ? AND dateTime < ?)", sqlPredicate.toString());
+        assertArrayEquals(SortableTemporalCodec.encode(start), (byte[]) sqlPredicate.getBindings().get(0));
+        assertArrayEquals(
+            SortableTemporalCodec.encode(new Temporal.DateTime("2021-03-05T05:06:07+01:00")),
+            (byte[]) sqlPredicate.getBindings().get(1)
+        );
+    }
+
+    /**
+     * Test that text operators are rejected on temporal fields which are stored in the sortable
+     * binary encoding, since their values are not text.
+     * @throws AmplifyException Not thrown.
+     */
+    @Test
+    public void testTextOperatorOnBinaryTemporalFieldIsRejected() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Meeting.class);
+        ModelSchemaRegistry registry = ModelSchemaRegistry.instance();
+        QueryPredicate predicate = Meeting.DATE.beginsWith("2021-03");
+        assertThrows(DataStoreException.class, () ->
+            new SQLPredicate(predicate, schema, registry, StorageTemporalEncoding.SORTABLE_BINARY));
+    }
+
+    /**
+     * Test that text which is not a valid temporal value is rejected with a {@link DataStoreException},
+     * when it is compared against a temporal field which is stored in the sortable binary encoding.
+     * @throws AmplifyException Not thrown.
+     */
+    @Test
+    public void testInvalidTemporalTextIsRejected() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Meeting.class);
+        ModelSchemaRegistry registry = ModelSchemaRegistry.instance();
+        QueryPredicate predicate = Meeting.DATE_TIME.gt("yesterday");
+        assertThrows(DataStoreException.class, () ->
+            new SQLPredicate(predicate, schema, registry, StorageTemporalEncoding.SORTABLE_BINARY));
+    }
+
     private void validateSQLExpressionForContains(SQLPredicate sqlPredicate, String fieldName) {
         assertEquals(1, sqlPredicate.getBindings().size());
         assertEquals("something", sqlPredicate.getBindings().get(0));
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Build;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the compiled statements kept by the {@link SQLiteCommandFactory}.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteCommandFactoryTest {
+    private SQLiteDatabase database;
+    private SQLiteCommandFactory commandFactory;
+    private ModelSchema schema;
+
+    /**
+     * Creates an in-memory database with a table of blog owners.
+     * @throws AmplifyException On failure to build the schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        database = SQLiteDatabase.create(null);
+        schema = ModelSchema.fromModelClass(BlogOwner.class);
+        commandFactory = new SQLiteCommandFactory(ModelSchemaRegistry.instance(), database);
+        database.execSQL(commandFactory.createTableFor(schema).sqlStatement());
+    }
+
+    /**
+     * Closes the database.
+     */
+    @After
+    public void teardown() {
+        commandFactory.close();
+        database.close();
+    }
+
+    /**
+     * Commands with the same SQL share one compiled statement, whatever values they compare with.
+     * @throws DataStoreException On failure to build a command
+     */
+    @Test
+    public void compiledStatementsAreReused() throws DataStoreException {
+        assertSame(
+            commandFactory.insertFor(schema).getCompiledSqlStatement(),
+            commandFactory.insertFor(schema).getCompiledSqlStatement()
+        );
+        assertSame(
+            commandFactory.existsFor(schema, BlogOwner.NAME.eq("Alice")).getCompiledSqlStatement(),
+            commandFactory.existsFor(schema, BlogOwner.NAME.eq("Bob")).getCompiledSqlStatement()
+        );
+        assertNotSame(
+            commandFactory.existsFor(schema, BlogOwner.NAME.eq("Alice")).getCompiledSqlStatement(),
+            commandFactory.existsFor(schema, BlogOwner.NAME.ne("Alice")).getCompiledSqlStatement()
+        );
+    }
+
+    /**
+     * The least recently used statement is closed once it is evicted, unless a command still
+     * holds a reference to it, in which case it is usable until that reference is released.
+     * After being evicted, the same SQL is compiled again.
+     * @throws DataStoreException On failure to build a command
+     */
+    @Test
+    public void evictedStatementIsClosed() throws DataStoreException {
+        SQLiteStatement evicted = existsWithTerms(1);
+        SQLiteStatement held = existsWithTerms(2);
+        held.acquireReference();
+
+        for (int terms = 3; terms <= SQLiteCommandFactory.COMPILED_STATEMENT_CACHE_SIZE + 2; terms++) {
+            existsWithTerms(terms);
+        }
+
+        assertThrows(IllegalStateException.class, evicted::simpleQueryForLong);
+        assertEquals(0, held.simpleQueryForLong());
+        held.releaseReference();
+        assertThrows(IllegalStateException.class, held::simpleQueryForLong);
+        SQLiteStatement recompiled = existsWithTerms(1);
+        assertNotSame(evicted, recompiled);
+        assertEquals(0, recompiled.simpleQueryForLong());
+    }
+
+    /**
+     * Closing the factory closes every statement it has compiled.
+     * @throws DataStoreException On failure to build a command
+     */
+    @Test
+    public void closeReleasesCompiledStatements() throws DataStoreException {
+        SQLiteStatement insert = commandFactory.insertFor(schema).getCompiledSqlStatement();
+        SQLiteStatement exists = existsWithTerms(1);
+
+        commandFactory.close();
+
+        assertThrows(IllegalStateException.class, insert::executeInsert);
+        assertThrows(IllegalStateException.class, exists::simpleQueryForLong);
+    }
+
+    // Compiles an existence check with a given number of terms, each of which binds a value,
+    // so that each number of terms gives different SQL.
+    private SQLiteStatement existsWithTerms(int terms) throws DataStoreException {
+        QueryPredicate predicate = BlogOwner.NAME.eq("Owner 0");
+        for (int term = 1; term < terms; term++) {
+            predicate = predicate.or(BlogOwner.NAME.eq("Owner " + term));
+        }
+        SqlCommand command = commandFactory.existsFor(schema, predicate);
+        SQLiteStatement statement = command.getCompiledSqlStatement();
+        int index = 1;
+        for (Object binding : command.getBindings()) {
+            statement.bindString(index++, binding.toString());
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.appsync.ModelConverter;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.Author;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Comment;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostAuthorJoin;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+import com.amplifyframework.testmodels.meeting.Meeting;
+import com.amplifyframework.testmodels.parenting.Address;
+import com.amplifyframework.testmodels.parenting.Child;
+import com.amplifyframework.testmodels.parenting.City;
+import com.amplifyframework.testmodels.parenting.Parent;
+import com.amplifyframework.testmodels.parenting.Phonenumber;
+import com.amplifyframework.testmodels.todo.Todo;
+import com.amplifyframework.testmodels.todo.TodoOwner;
+import com.amplifyframework.testmodels.todo.TodoStatus;
+import com.amplifyframework.util.GsonFactory;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the {@link SQLiteModelMaterializer} builds the same models out of a query cursor
+ * as the JSON round-trip which it replaced: a map is built from each row, and Gson reads it into
+ * the model class. The models cover every field type, associated models which are joined into
+ * the query, custom types nested in each other, and fields which are left null.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteModelMaterializerTest {
+    private static final TodoOwner TODO_OWNER = TodoOwner.builder()
+        .name("Alice")
+        .email("alice@example.com")
+        .build();
+    private static final Todo FULL_TODO = Todo.builder()
+        .title("Groceries")
+        .content("Eggs, milk")
+        .status(TodoStatus.InProgress)
+        .createdAt(new Temporal.DateTime("2021-03-04T10:00:00.123+05:00"))
+        .duplicate(true)
+        .owner(TODO_OWNER)
+        .lastUpdated(1614852000L)
+        .dueDate(new Temporal.Date("2021-03-05"))
+        .priority(2)
+        .hoursSpent(1.5f)
+        .tags(Arrays.asList("home", "errand"))
+        .build();
+    private static final Todo SPARSE_TODO = Todo.builder()
+        .title("Laundry")
+        .content("Whites")
+        .status(TodoStatus.Pending)
+        .createdAt(new Temporal.DateTime("2021-03-04T07:00:00Z"))
+        .duplicate(false)
+        .owner(TodoOwner.builder().name("Bob").build())
+        .build();
+    private static final Meeting FULL_MEETING = Meeting.builder()
+        .name("Planning")
+        .date(new Temporal.Date("2021-03-04"))
+        .dateTime(new Temporal.DateTime("2021-03-04T08:00:00+02:00"))
+        .time(new Temporal.Time("08:00:00.500"))
+        .timestamp(new Temporal.Timestamp(1614837600L, TimeUnit.SECONDS))
+        .build();
+    private static final Meeting SPARSE_MEETING = Meeting.builder()
+        .name("Retrospective")
+        .build();
+    private static final Parent PARENT = Parent.builder()
+        .name("Carol")
+        .address(address("1 Main St", City.FREETOWN))
+        .children(Arrays.asList(
+            Child.builder().name("Dave").address(address("2 Side St", City.BO)).build(),
+            Child.builder().name("Erin").address(address("3 Hill Rd", City.MAKENI)).build()
+        ))
+        .build();
+    private static final Parent CHILDLESS_PARENT = Parent.builder()
+        .name("Grace")
+        .address(address("4 Low Rd", City.KENEMA))
+        .build();
+    private static final BlogOwner BLOG_OWNER = BlogOwner.builder()
+        .name("Frank")
+        .build();
+    private static final Blog BLOG = Blog.builder()
+        .name("Recipes")
+        .owner(BLOG_OWNER)
+        .build();
+    private static final Post POST_IN_BLOG = Post.builder()
+        .title("Bread")
+        .status(PostStatus.ACTIVE)
+        .rating(5)
+        .blog(BLOG)
+        .build();
+    private static final Post POST_WITHOUT_BLOG = Post.builder()
+        .title("Draft")
+        .status(PostStatus.INACTIVE)
+        .rating(0)
+        .build();
+
+    private Context context;
+    private ModelSchemaRegistry modelSchemaRegistry;
+    private Gson gson;
+
+    /**
+     * Starts from an empty database.
+     */
+    @Before
+    public void setup() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+        modelSchemaRegistry = ModelSchemaRegistry.instance();
+        gson = GsonFactory.instance();
+    }
+
+    /**
+     * Deletes the database.
+     */
+    @After
+    public void teardown() {
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+    }
+
+    /**
+     * With temporal values stored as text, the materialized models are those which were saved,
+     * and equal to those which Gson reads from the same rows.
+     * @throws DataStoreException On failure to save or read the models
+     */
+    @Test
+    public void materializedModelsEqualDeserializedModelsWithTextTemporals() throws DataStoreException {
+        assertMaterializedModelsEqualDeserializedModels(StorageTemporalEncoding.TEXT);
+    }
+
+    /**
+     * With temporal values stored in the sortable binary encoding, the materialized models are
+     * those which were saved, and equal to those which Gson reads from the same rows.
+     * @throws DataStoreException On failure to save or read the models
+     */
+    @Test
+    public void materializedModelsEqualDeserializedModelsWithBinaryTemporals() throws DataStoreException {
+        assertMaterializedModelsEqualDeserializedModels(StorageTemporalEncoding.SORTABLE_BINARY);
+    }
+
+    private void assertMaterializedModelsEqualDeserializedModels(StorageTemporalEncoding encoding)
+            throws DataStoreException {
+        SynchronousStorageAdapter store = open(encoding);
+        store.save(FULL_TODO, SPARSE_TODO, FULL_MEETING, SPARSE_MEETING, PARENT, CHILDLESS_PARENT);
+        store.save(BLOG_OWNER, BLOG, POST_IN_BLOG, POST_WITHOUT_BLOG);
+        store.terminate();
+
+        String path = context.getDatabasePath(SQLiteStorageAdapter.DATABASE_NAME).getPath();
+        try (SQLiteDatabase database = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY)) {
+            assertEquivalent(database, encoding, Todo.class, FULL_TODO, SPARSE_TODO);
+            assertEquivalent(database, encoding, Meeting.class, FULL_MEETING, SPARSE_MEETING);
+            assertEquivalent(database, encoding, Parent.class, PARENT, CHILDLESS_PARENT);
+            assertEquivalent(database, encoding, Blog.class, BLOG);
+            assertEquivalent(database, encoding, Post.class, POST_IN_BLOG, POST_WITHOUT_BLOG);
+        }
+    }
+
+    @SafeVarargs
+    private final <T extends Model> void assertEquivalent(
+            SQLiteDatabase database, StorageTemporalEncoding encoding, Class<T> modelClass, T... saved)
+            throws DataStoreException {
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelClass);
+        SQLiteModelFieldTypeConverter converter =
+            new SQLiteModelFieldTypeConverter(schema, modelSchemaRegistry, gson, encoding);
+        SQLiteModelMaterializer<T> materializer =
+            SQLiteModelMaterializer.create(modelClass, schema, modelSchemaRegistry, gson);
+
+        List<T> deserialized = new ArrayList<>();
+        List<T> materialized = new ArrayList<>();
+        SqlCommand sqlCommand = new SQLiteCommandFactory(modelSchemaRegistry).queryFor(schema, Where.matchesAll());
+        try (Cursor cursor = database.rawQuery(sqlCommand.sqlStatement(), sqlCommand.getBindingsAsArray())) {
+            SQLiteModelMaterializer.RowReader<T> rowReader = materializer.bind(cursor);
+            while (cursor.moveToNext()) {
+                deserialized.add(ModelConverter.fromMap(converter.buildMapForModel(cursor), modelClass));
+                materialized.add(rowReader.read(cursor));
+            }
+        }
+
+        assertEquals(deserialized, materialized);
+        assertEquals(new HashSet<>(Arrays.asList(saved)), new HashSet<>(materialized));
+    }
+
+    private SynchronousStorageAdapter open(StorageTemporalEncoding encoding) throws DataStoreException {
+        DataStoreConfiguration configuration = DataStoreConfiguration.builder()
+            .storageTemporalEncoding(encoding)
+            .build();
+        SimpleModelProvider modelProvider = SimpleModelProvider.withRandomVersion(
+            Todo.class, Meeting.class, Parent.class,
+            BlogOwner.class, Blog.class, Post.class, Comment.class, Author.class, PostAuthorJoin.class
+        );
+        SQLiteStorageAdapter adapter =
+            SQLiteStorageAdapter.forModels(modelSchemaRegistry, modelProvider, () -> configuration);
+        SynchronousStorageAdapter store = SynchronousStorageAdapter.delegatingTo(adapter);
+        store.initialize(context);
+        return store;
+    }
+
+    private static Address address(String street, City city) {
+        return Address.builder()
+            .street(street)
+            .street2(null)
+            .city(city)
+            .phonenumber(Phonenumber.builder().code(232).carrier(76).number(123456).build())
+            .country("Sierra Leone")
+            .build();
+    }
+}
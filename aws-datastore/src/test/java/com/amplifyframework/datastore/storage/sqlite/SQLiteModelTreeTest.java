@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.appsync.SerializedModel;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the descendants found by the {@link SQLiteModelTree}.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteModelTreeTest {
+    private static final String OWNER_ID = "7cf4c2f1-5dc1-4c35-9b3a-2b8a0e4b7d10";
+    private static final String BLOG_ID = "0d1c7b35-6c53-4f4e-9a52-1b0f7a3e8c21";
+
+    private ModelSchemaRegistry registry;
+    private SQLiteDatabase database;
+    private SQLiteModelTree modelTree;
+
+    /**
+     * Creates an in-memory database in which a blog owner has one blog.
+     * @throws AmplifyException On failure to build the schemas
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        registry = ModelSchemaRegistry.instance();
+        registry.clear();
+        database = SQLiteDatabase.create(null);
+        SQLiteCommandFactory commandFactory = new SQLiteCommandFactory(registry);
+        for (Class<? extends Model> modelClass : Arrays.asList(BlogOwner.class, Blog.class, Post.class)) {
+            ModelSchema schema = ModelSchema.fromModelClass(modelClass);
+            registry.register(schema.getName(), schema);
+            database.execSQL(commandFactory.createTableFor(schema).sqlStatement());
+        }
+        database.execSQL("INSERT INTO `BlogOwner` (`id`, `name`) VALUES (?, 'Alice')", new Object[] {OWNER_ID});
+        database.execSQL("INSERT INTO `Blog` (`id`, `name`, `blogOwnerId`) VALUES (?, 'Recipes', ?)",
+            new Object[] {BLOG_ID, OWNER_ID});
+        modelTree = new SQLiteModelTree(registry, database);
+    }
+
+    /**
+     * Closes the database.
+     */
+    @After
+    public void teardown() {
+        database.close();
+        registry.clear();
+    }
+
+    /**
+     * The descendants of a Java model are models of their own class, with only their ID set.
+     * @throws DataStoreException On failure to find the descendants
+     */
+    @Test
+    public void descendantsOfJavaModelAreStubsOfTheirClass() throws DataStoreException {
+        BlogOwner owner = BlogOwner.builder().name("Alice").id(OWNER_ID).build();
+
+        List<Model> descendants = modelTree.descendantsOf(Collections.singleton(owner));
+
+        assertEquals(1, descendants.size());
+        Blog blog = (Blog) descendants.get(0);
+        assertEquals(BLOG_ID, blog.getId());
+        assertNull(blog.getName());
+        assertNull(blog.getOwner());
+    }
+
+    /**
+     * The descendants of a serialized model are serialized models of their own schema.
+     * @throws DataStoreException On failure to find the descendants
+     */
+    @Test
+    public void descendantsOfSerializedModelAreSerialized() throws DataStoreException {
+        SerializedModel owner = SerializedModel.builder()
+            .serializedData(Collections.singletonMap("id", OWNER_ID))
+            .modelSchema(registry.getModelSchemaForModelClass("BlogOwner"))
+            .build();
+
+        List<Model> descendants = modelTree.descendantsOf(Collections.singleton(owner));
+
+        assertEquals(1, descendants.size());
+        SerializedModel blog = (SerializedModel) descendants.get(0);
+        assertEquals("Blog", blog.getModelName());
+        assertEquals(BLOG_ID, blog.getId());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.datastore.DataStoreChannelEventName;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageQueryDiagnostics;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.events.QueryDiagnosticsEvent;
+import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.HubEventFilter;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testutils.HubAccumulator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SQLiteQueryDiagnostics}.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteQueryDiagnosticsTest {
+    private SQLiteDatabase database;
+    private SQLiteCommandFactory commandFactory;
+    private ModelSchema schema;
+
+    /**
+     * Creates an in-memory database with a table of blog owners, which has no index on their names.
+     * @throws AmplifyException On failure to build the schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        database = SQLiteDatabase.create(null);
+        commandFactory = new SQLiteCommandFactory(ModelSchemaRegistry.instance());
+        schema = ModelSchema.fromModelClass(BlogOwner.class);
+        database.execSQL(commandFactory.createTableFor(schema).sqlStatement());
+    }
+
+    /**
+     * Closes the database.
+     */
+    @After
+    public void teardown() {
+        database.close();
+    }
+
+    /**
+     * A query which scans its table is published with its plan, and an index on the compared
+     * column is created once the query has been run often enough. The creation of the index is
+     * published with the plan which uses it.
+     * @throws DataStoreException On failure to build the query
+     */
+    @Test
+    public void queryWhichScansItsTableIsIndexed() throws DataStoreException {
+        HubAccumulator firstRun = HubAccumulator.create(HubChannel.DATASTORE,
+            DataStoreChannelEventName.QUERY_DIAGNOSED, 1).start();
+        HubEventFilter indexCreated = event -> event.getData() instanceof QueryDiagnosticsEvent &&
+            ((QueryDiagnosticsEvent) event.getData()).getCreatedIndex() != null;
+        HubAccumulator indexed = HubAccumulator.create(HubChannel.DATASTORE, indexCreated, 1).start();
+        SQLiteQueryDiagnostics diagnostics =
+            new SQLiteQueryDiagnostics(database, Runnable::run, StorageQueryDiagnostics.AUTO_INDEX);
+
+        runQuery(diagnostics, Where.matches(BlogOwner.NAME.eq("Alice")), 1);
+        QueryDiagnosticsEvent firstEvent = (QueryDiagnosticsEvent) firstRun.awaitFirst().getData();
+        assertEquals("BlogOwner", firstEvent.getModel());
+        assertTrue(firstEvent.isFullScan());
+        assertEquals(1, firstEvent.getExecutions());
+        assertFalse(indexExists("auto_BlogOwner_name"));
+
+        runQuery(diagnostics, Where.matches(BlogOwner.NAME.eq("Bob")), SQLiteQueryDiagnostics.AUTO_INDEX_EXECUTIONS);
+        QueryDiagnosticsEvent indexedEvent = (QueryDiagnosticsEvent) indexed.awaitFirst().getData();
+        assertEquals("auto_BlogOwner_name", indexedEvent.getCreatedIndex());
+        assertTrue(indexExists("auto_BlogOwner_name"));
+        assertFalse(indexedEvent.isFullScan());
+        assertFalse(indexedEvent.isTempSort());
+        assertTrue(indexedEvent.getQueryPlan().toString().contains("USING INDEX auto_BlogOwner_name"));
+    }
+
+    /**
+     * When queries are only reported, no index is created, however often a query is run.
+     * @throws DataStoreException On failure to build the query
+     */
+    @Test
+    public void reportedQueryIsNotIndexed() throws DataStoreException {
+        SQLiteQueryDiagnostics diagnostics =
+            new SQLiteQueryDiagnostics(database, Runnable::run, StorageQueryDiagnostics.REPORT);
+        runQuery(diagnostics, Where.matches(BlogOwner.NAME.eq("Alice")), SQLiteQueryDiagnostics.AUTO_INDEX_EXECUTIONS);
+        assertFalse(indexExists("auto_BlogOwner_name"));
+    }
+
+    /**
+     * A query which looks its rows up by primary key does not need an index.
+     * @throws DataStoreException On failure to build the query
+     */
+    @Test
+    public void queryByPrimaryKeyIsNotIndexed() throws DataStoreException {
+        SQLiteQueryDiagnostics diagnostics =
+            new SQLiteQueryDiagnostics(database, Runnable::run, StorageQueryDiagnostics.AUTO_INDEX);
+        runQuery(diagnostics, Where.id("some-id"), SQLiteQueryDiagnostics.AUTO_INDEX_EXECUTIONS);
+        assertFalse(indexExists("auto_BlogOwner_id"));
+    }
+
+    private void runQuery(SQLiteQueryDiagnostics diagnostics, QueryOptions options, int times)
+            throws DataStoreException {
+        SqlCommand command = commandFactory.queryFor(schema, options);
+        for (int run = 0; run < times; run++) {
+            Cursor results = database.rawQuery(command.sqlStatement(), command.getBindingsAsArray());
+            try (Cursor cursor = diagnostics.track(schema, options, command.sqlStatement(), results)) {
+                while (cursor.moveToNext()) {
+                    cursor.getString(0);
+                }
+            }
+        }
+    }
+
+    private boolean indexExists(String name) {
+        try (Cursor cursor = database.rawQuery(
+                "SELECT name FROM sqlite_master WHERE type = 'index' AND name = ?", new String[] {name})) {
+            return cursor.moveToFirst();
+        }
+    }
+}
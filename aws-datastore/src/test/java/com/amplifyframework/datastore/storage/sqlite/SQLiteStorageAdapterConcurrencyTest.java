@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.content.Context;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.StorageOperation;
+import com.amplifyframework.datastore.storage.StorageTransactionHook;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testutils.Latch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that, with write-ahead logging, the {@link SQLiteStorageAdapter} reads the local store
+ * while a write to it is still in progress.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class SQLiteStorageAdapterConcurrencyTest {
+    private Context context;
+    private SQLiteStorageAdapter adapter;
+    private SynchronousStorageAdapter store;
+    private CountDownLatch transactionMayFinish;
+
+    /**
+     * Opens an empty local store which uses write-ahead logging.
+     * @throws DataStoreException On failure to open the local store
+     */
+    @Before
+    public void setup() throws DataStoreException {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+        DataStoreConfiguration configuration = DataStoreConfiguration.builder()
+            .storageWriteAheadLogging(true)
+            .build();
+        adapter = SQLiteStorageAdapter.forModels(
+            ModelSchemaRegistry.instance(), SimpleModelProvider.instance("1", BlogOwner.class), () -> configuration);
+        store = SynchronousStorageAdapter.delegatingTo(adapter);
+        store.initialize(context);
+        transactionMayFinish = new CountDownLatch(1);
+    }
+
+    /**
+     * Lets any write which is still waiting finish, closes the local store and deletes it.
+     * @throws DataStoreException On failure to close the local store
+     */
+    @After
+    public void teardown() throws DataStoreException {
+        transactionMayFinish.countDown();
+        store.terminate();
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+    }
+
+    /**
+     * A query made while a write transaction is open returns without waiting for it, and sees
+     * only what had been committed before. Once the transaction is committed, its write is seen.
+     * @throws DataStoreException On failure to write or query the local store
+     */
+    @Test
+    public void queryIsNotHeldUpByOpenWriteTransaction() throws DataStoreException {
+        BlogOwner alice = BlogOwner.builder().name("Alice").build();
+        BlogOwner bob = BlogOwner.builder().name("Bob").build();
+        store.save(alice);
+        CountDownLatch transactionIsOpen = new CountDownLatch(1);
+        adapter.setTransactionHook(new HoldingTransactionHook(transactionIsOpen, transactionMayFinish));
+
+        CountDownLatch saved = new CountDownLatch(1);
+        adapter.save(bob, StorageItemChange.Initiator.DATA_STORE_API, QueryPredicates.all(),
+            change -> saved.countDown(), error -> { });
+        Latch.await(transactionIsOpen);
+
+        assertEquals(Collections.singletonList(alice), store.query(BlogOwner.class));
+        assertEquals(1, saved.getCount());
+
+        transactionMayFinish.countDown();
+        Latch.await(saved);
+        assertEquals(2, store.query(BlogOwner.class).size());
+    }
+
+    // Holds the transaction open, from its first change until it is let go.
+    private static final class HoldingTransactionHook implements StorageTransactionHook {
+        private final CountDownLatch transactionIsOpen;
+        private final CountDownLatch transactionMayFinish;
+
+        HoldingTransactionHook(CountDownLatch transactionIsOpen, CountDownLatch transactionMayFinish) {
+            this.transactionIsOpen = transactionIsOpen;
+            this.transactionMayFinish = transactionMayFinish;
+        }
+
+        @Override
+        public void onBegin() {}
+
+        @NonNull
+        @Override
+        public List<StorageOperation<? extends Model>> onChange(@NonNull StorageItemChange<? extends Model> change) {
+            transactionIsOpen.countDown();
+            Latch.await(transactionMayFinish);
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void onCommit() {}
+
+        @Override
+        public void onRollback() {}
+    }
+}
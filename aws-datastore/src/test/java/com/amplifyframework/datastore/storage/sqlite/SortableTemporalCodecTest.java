@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import com.amplifyframework.core.model.temporal.Temporal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SortableTemporalCodec}.
+ */
+public final class SortableTemporalCodecTest {
+    /**
+     * Dates, date-times and times are decoded to values equal to those which were encoded,
+     * including their offsets, or their lack of one, and fractions of a millisecond.
+     */
+    @Test
+    public void decodedValuesEqualEncodedValues() {
+        List<Temporal.Date> dates = Arrays.asList(
+            new Temporal.Date("2021-03-04"),
+            new Temporal.Date("2021-03-04+05:30"),
+            new Temporal.Date("1901-12-31-08:00")
+        );
+        for (Temporal.Date date : dates) {
+            assertEquals(date, SortableTemporalCodec.decodeDate(SortableTemporalCodec.encode(date)));
+        }
+
+        List<Temporal.DateTime> dateTimes = Arrays.asList(
+            new Temporal.DateTime("2021-03-04T05:06:07.123456789Z"),
+            new Temporal.DateTime("2021-03-04T05:06:07-07:00"),
+            new Temporal.DateTime("1960-01-01T00:00:00.5+14:00")
+        );
+        for (Temporal.DateTime dateTime : dateTimes) {
+            assertEquals(dateTime, SortableTemporalCodec.decodeDateTime(SortableTemporalCodec.encode(dateTime)));
+        }
+
+        List<Temporal.Time> times = Arrays.asList(
+            new Temporal.Time("05:06:07.000001"),
+            new Temporal.Time("00:30:00+01:00"),
+            new Temporal.Time("23:59:59.999-12:00")
+        );
+        for (Temporal.Time time : times) {
+            assertEquals(time, SortableTemporalCodec.decodeTime(SortableTemporalCodec.encode(time)));
+        }
+    }
+
+    /**
+     * The unsigned byte order of encoded date-times, as SQLite compares BLOBs, is the order of
+     * their instants, whatever their offsets, and on either side of the epoch.
+     */
+    @Test
+    public void byteOrderIsChronological() {
+        List<Temporal.DateTime> chronological = Arrays.asList(
+            new Temporal.DateTime("1969-12-31T23:59:59.999999999Z"),
+            new Temporal.DateTime("1970-01-01T00:00:00Z"),
+            new Temporal.DateTime("2021-03-04T10:00:00+05:00"),
+            new Temporal.DateTime("2021-03-04T06:00:00Z"),
+            new Temporal.DateTime("2021-03-04T00:00:00-08:00")
+        );
+        for (int index = 1; index < chronological.size(); index++) {
+            Temporal.DateTime earlier = chronological.get(index - 1);
+            Temporal.DateTime later = chronological.get(index);
+            assertTrue(earlier + " should sort before " + later, compareUnsigned(
+                SortableTemporalCodec.encode(earlier), SortableTemporalCodec.encode(later)) < 0);
+        }
+
+        assertTrue(compareUnsigned(
+            SortableTemporalCodec.encode(new Temporal.Date("2021-03-04+05:00")),
+            SortableTemporalCodec.encode(new Temporal.Date("2021-03-04"))) < 0);
+        assertTrue(compareUnsigned(
+            SortableTemporalCodec.encode(new Temporal.Time("00:30:00+01:00")),
+            SortableTemporalCodec.encode(new Temporal.Time("00:00:00"))) < 0);
+    }
+
+    // Compares byte arrays as memcmp() does.
+    private static int compareUnsigned(byte[] left, byte[] right) {
+        for (int index = 0; index < Math.min(left.length, right.length); index++) {
+            int difference = (left[index] & 0xff) - (right[index] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return left.length - right.length;
+    }
+}
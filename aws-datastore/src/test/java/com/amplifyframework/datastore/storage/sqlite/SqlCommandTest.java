@@ -22,13 +22,17 @@ import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.ModelIndex;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.ContinuationToken;
 import com.amplifyframework.core.model.query.Page;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.QueryPaginationInput;
 import com.amplifyframework.core.model.query.QuerySortBy;
 import com.amplifyframework.core.model.query.QuerySortOrder;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.appsync.SerializedModel;
 import com.amplifyframework.datastore.syncengine.PendingMutation;
 
 import org.junit.Before;
@@ -37,9 +41,12 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -244,6 +251,86 @@ public class SqlCommandTest {
         assertEquals(0, sqlCommand.getBindings().size());
     }
 
+    /**
+     * Validates that a keyset page after a continuation token seeks past the token's row, in the
+     * order of the sort keys and then of the primary key, and is limited without an offset.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test
+    public void queryWithKeysetPaginationInput() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final Map<String, Object> lastItem = new HashMap<>();
+        lastItem.put("id", "person-1");
+        lastItem.put("lastName", "Smith");
+        lastItem.put("age", 30);
+        final QuerySortBy[] sortBy = {
+            new QuerySortBy("lastName", QuerySortOrder.ASCENDING),
+            new QuerySortBy("age", QuerySortOrder.DESCENDING)
+        };
+        final String token = ContinuationToken.of(
+                SerializedModel.builder().serializedData(lastItem).modelSchema(personSchema).build(),
+                Arrays.asList(sortBy)
+        );
+
+        final SqlCommand sqlCommand = sqlCommandFactory.queryFor(
+                personSchema,
+                Where.matchesAll().sorted(sortBy).paginated(Page.startingAfter(token).withLimit(20))
+        );
+        assertNotNull(sqlCommand);
+        assertEquals(
+                PERSON_BASE_QUERY + " WHERE (`Person`.`lastName` >= ? AND ((`Person`.`lastName` > ?) OR " +
+                        "(`Person`.`lastName` = ? AND (`Person`.`age` < ? OR `Person`.`age` IS NULL)) OR " +
+                        "(`Person`.`lastName` = ? AND `Person`.`age` = ? AND `Person`.`id` > ?))) " +
+                        "ORDER BY `Person`.`lastName` ASC, `Person`.`age` DESC, `Person`.`id` ASC LIMIT ?;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(
+                Arrays.<Object>asList("Smith", "Smith", "Smith", 30L, "Smith", 30L, "person-1", 20),
+                sqlCommand.getBindings()
+        );
+    }
+
+    /**
+     * Validates that the first keyset page, which has no continuation token, is ordered by
+     * the primary key and limited without an offset.
+     * @throws DataStoreException From {@link SQLCommandFactory#queryFor(ModelSchema, QueryOptions)}
+     */
+    @Test
+    public void queryWithFirstKeysetPage() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final SqlCommand sqlCommand = sqlCommandFactory.queryFor(
+                personSchema,
+                Where.matchesAll().paginated(Page.startingAfter(null))
+        );
+        assertNotNull(sqlCommand);
+        assertEquals(
+                PERSON_BASE_QUERY + " ORDER BY `Person`.`id` ASC LIMIT ?;",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(Collections.<Object>singletonList(100), sqlCommand.getBindings());
+    }
+
+    /**
+     * Validates that an existence check is generated for a predicate, with
+     * the predicate's values as bindings.
+     * @throws DataStoreException From {@link SQLCommandFactory#existsFor(ModelSchema, QueryPredicate)}
+     */
+    @Test
+    public void existsForPredicate() throws DataStoreException {
+        final ModelSchema personSchema = getPersonModelSchema();
+        final SqlCommand sqlCommand = sqlCommandFactory.existsFor(
+                personSchema,
+                QueryField.field("Person", "id").eq("some-id")
+        );
+        assertNotNull(sqlCommand);
+        assertEquals("Person", sqlCommand.tableName());
+        assertEquals(
+                "SELECT EXISTS(SELECT 1 FROM `Person` WHERE `Person`.`id` = ?);",
+                sqlCommand.sqlStatement()
+        );
+        assertEquals(Collections.singletonList("some-id"), sqlCommand.getBindings());
+    }
+
     private static ModelSchema getPersonModelSchema() {
         final SortedMap<String, ModelField> fields = getFieldsMap();
         return ModelSchema.builder()
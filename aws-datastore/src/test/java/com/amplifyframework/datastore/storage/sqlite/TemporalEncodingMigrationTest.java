@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.ModelSchemaRegistry;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreConfiguration.StorageTemporalEncoding;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.model.SimpleModelProvider;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.meeting.Meeting;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link TemporalEncodingMigration}, both on its own and as the
+ * {@link SQLiteStorageAdapter} is opened with another temporal encoding.
+ */
+@Config(sdk = Build.VERSION_CODES.P, manifest = Config.NONE)
+@RunWith(RobolectricTestRunner.class)
+public final class TemporalEncodingMigrationTest {
+    // Sorted as text, these are in the reverse order of their instants.
+    private static final Meeting EARLY = meeting("early", "2021-03-04T10:00:00+05:00");
+    private static final Meeting MIDDLE = meeting("middle", "2021-03-04T08:00:00+02:00");
+    private static final Meeting LATE = meeting("late", "2021-03-04T07:00:00Z");
+
+    private Context context;
+
+    /**
+     * Starts from an empty database.
+     */
+    @Before
+    public void setup() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+    }
+
+    /**
+     * Deletes the database.
+     */
+    @After
+    public void teardown() {
+        context.deleteDatabase(SQLiteStorageAdapter.DATABASE_NAME);
+    }
+
+    /**
+     * Values written as text are converted when the store is opened with the sortable binary
+     * encoding, and converted back when it is opened with text again. Each time, the values read
+     * back are those which were written, and range queries compare them in the store's encoding.
+     * @throws DataStoreException On failure to open, write or query the store
+     */
+    @Test
+    public void storedValuesAreConvertedBothWays() throws DataStoreException {
+        SynchronousStorageAdapter textStore = open(StorageTemporalEncoding.TEXT);
+        textStore.save(EARLY, MIDDLE, LATE);
+        textStore.terminate();
+        assertEquals("text", storageClassOfDateTimes());
+
+        // Binary values are bound as BLOBs, so these queries go through a cursor factory.
+        SynchronousStorageAdapter binaryStore = open(StorageTemporalEncoding.SORTABLE_BINARY);
+        assertEquals(
+            new HashSet<>(Arrays.asList(EARLY, MIDDLE, LATE)),
+            new HashSet<>(binaryStore.query(Meeting.class))
+        );
+        assertEquals(
+            Arrays.asList(MIDDLE, LATE),
+            binaryStore.query(Meeting.class, Where.matches(Meeting.DATE_TIME.gt("2021-03-04T05:30:00Z"))
+                .sorted(Meeting.DATE_TIME.ascending()))
+        );
+        assertEquals(
+            Collections.singletonList(EARLY),
+            binaryStore.query(Meeting.class, Where.matches(Meeting.DATE_TIME.lt(MIDDLE.getDateTime())))
+        );
+        binaryStore.terminate();
+        assertEquals("blob", storageClassOfDateTimes());
+
+        // As text, the values are compared character by character again.
+        SynchronousStorageAdapter restoredTextStore = open(StorageTemporalEncoding.TEXT);
+        assertEquals(
+            new HashSet<>(Arrays.asList(EARLY, MIDDLE, LATE)),
+            new HashSet<>(restoredTextStore.query(Meeting.class))
+        );
+        assertEquals(
+            Arrays.asList(LATE, MIDDLE),
+            restoredTextStore.query(Meeting.class, Where.matches(Meeting.DATE_TIME.lt("2021-03-04T09:00:00+05:00"))
+                .sorted(Meeting.DATE_TIME.ascending()))
+        );
+        restoredTextStore.terminate();
+        assertEquals("text", storageClassOfDateTimes());
+    }
+
+    /**
+     * Once an encoding has been recorded, the columns are not searched again until another
+     * encoding is asked for; at which point every value is converted, including any which were
+     * written in the meantime.
+     * @throws AmplifyException On failure to build the schema, or to convert the values
+     */
+    @Test
+    public void recordedEncodingIsNotSearchedAgain() throws AmplifyException {
+        ModelSchemaRegistry registry = ModelSchemaRegistry.instance();
+        registry.clear();
+        ModelSchema schema = ModelSchema.fromModelClass(Meeting.class);
+        registry.register("Meeting", schema);
+        SQLiteDatabase database = SQLiteDatabase.create(null);
+        try {
+            database.execSQL(new SQLiteCommandFactory(registry).createTableFor(schema).sqlStatement());
+            TemporalEncodingMigration migration = new TemporalEncodingMigration(registry, database);
+            insertAsText(database, EARLY);
+
+            assertEquals(1, migration.migrateTo(StorageTemporalEncoding.SORTABLE_BINARY));
+            insertAsText(database, LATE);
+            assertEquals(0, migration.migrateTo(StorageTemporalEncoding.SORTABLE_BINARY));
+            assertEquals(2, migration.migrateTo(StorageTemporalEncoding.TEXT));
+            assertEquals(0, migration.migrateTo(StorageTemporalEncoding.TEXT));
+        } finally {
+            database.close();
+        }
+    }
+
+    private SynchronousStorageAdapter open(StorageTemporalEncoding encoding) throws DataStoreException {
+        DataStoreConfiguration configuration = DataStoreConfiguration.builder()
+            .storageTemporalEncoding(encoding)
+            .build();
+        SQLiteStorageAdapter adapter = SQLiteStorageAdapter.forModels(
+            ModelSchemaRegistry.instance(), SimpleModelProvider.instance("1", Meeting.class), () -> configuration);
+        SynchronousStorageAdapter store = SynchronousStorageAdapter.delegatingTo(adapter);
+        store.initialize(context);
+        return store;
+    }
+
+    // Reads the storage class of the date-times, which must all be the same.
+    private String storageClassOfDateTimes() {
+        String path = context.getDatabasePath(SQLiteStorageAdapter.DATABASE_NAME).getPath();
+        try (SQLiteDatabase database = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY);
+             Cursor cursor = database.rawQuery("SELECT DISTINCT typeof(`dateTime`) FROM `Meeting`", null)) {
+            assertEquals(1, cursor.getCount());
+            cursor.moveToFirst();
+            return cursor.getString(0);
+        }
+    }
+
+    private static void insertAsText(SQLiteDatabase database, Meeting meeting) {
+        database.execSQL("INSERT INTO `Meeting` (`id`, `name`, `dateTime`) VALUES (?, ?, ?)",
+            new Object[] {meeting.getId(), meeting.getName(), meeting.getDateTime().format()});
+    }
+
+    private static Meeting meeting(String name, String dateTime) {
+        return Meeting.builder()
+            .name(name)
+            .dateTime(new Temporal.DateTime(dateTime))
+            .build();
+    }
+}
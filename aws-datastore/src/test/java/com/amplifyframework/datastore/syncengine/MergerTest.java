@@ -18,6 +18,8 @@ package com.amplifyframework.datastore.syncengine;
 import android.database.sqlite.SQLiteConstraintException;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.NoOpConsumer;
+import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
@@ -26,6 +28,7 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
 import com.amplifyframework.testmodels.commentsblog.Blog;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
@@ -36,7 +39,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -435,4 +441,115 @@ public final class MergerTest {
         final List<Blog> blogsInStorage = storageAdapter.query(Blog.class);
         assertTrue(blogsInStorage.isEmpty());
     }
+
+    /**
+     * When a page of items is merged, new items are created, existing items are updated or
+     * deleted, and items whose version is not newer than the local one are skipped. The
+     * metadata of every merged item is saved along with it.
+     * @throws DataStoreException On failure to arrange test data into store,
+     *                            or on failure to query results for test assertions
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void pageIsMergedLikeIndividualItems() throws DataStoreException, InterruptedException {
+        // Arrange: three blog owners, and their metadata, are in the store.
+        BlogOwner toUpdate = BlogOwner.builder()
+            .name("Jameson")
+            .build();
+        BlogOwner toDelete = BlogOwner.builder()
+            .name("Tony")
+            .build();
+        BlogOwner toKeep = BlogOwner.builder()
+            .name("Raphael")
+            .build();
+        ModelMetadata toKeepMetadata = new ModelMetadata(toKeep.getId(), false, 3, Temporal.Timestamp.now());
+        storageAdapter.save(
+            toUpdate, new ModelMetadata(toUpdate.getId(), false, 1, Temporal.Timestamp.now()),
+            toDelete, new ModelMetadata(toDelete.getId(), false, 1, Temporal.Timestamp.now()),
+            toKeep, toKeepMetadata
+        );
+
+        // Act: merge a page which creates, updates, deletes, and tries to update with a stale version.
+        BlogOwner created = BlogOwner.builder()
+            .name("Susan")
+            .build();
+        BlogOwner updated = toUpdate.copyOfBuilder()
+            .name("Jameson Williams")
+            .build();
+        BlogOwner staleUpdate = toKeep.copyOfBuilder()
+            .name("Raph")
+            .build();
+        ModelMetadata createdMetadata = new ModelMetadata(created.getId(), false, 1, Temporal.Timestamp.now());
+        ModelMetadata updatedMetadata = new ModelMetadata(toUpdate.getId(), false, 2, Temporal.Timestamp.now());
+        List<ModelWithMetadata<BlogOwner>> page = Arrays.asList(
+            new ModelWithMetadata<>(created, createdMetadata),
+            new ModelWithMetadata<>(updated, updatedMetadata),
+            new ModelWithMetadata<>(toDelete, new ModelMetadata(toDelete.getId(), true, 2, Temporal.Timestamp.now())),
+            new ModelWithMetadata<>(staleUpdate, new ModelMetadata(toKeep.getId(), false, 2, Temporal.Timestamp.now()))
+        );
+        List<StorageItemChange.Type> changeTypes = new ArrayList<>();
+        TestObserver<Void> observer = merger.merge(page, changeTypes::add).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        observer.assertNoErrors().assertComplete();
+
+        // Assert: the page was written, other than the stale update.
+        assertEquals(
+            Arrays.asList(StorageItemChange.Type.CREATE, StorageItemChange.Type.UPDATE, StorageItemChange.Type.DELETE),
+            changeTypes
+        );
+        assertEquals(
+            new HashSet<>(Arrays.asList(created, updated, toKeep)),
+            new HashSet<>(storageAdapter.query(BlogOwner.class))
+        );
+        assertEquals(
+            Collections.singletonList(updatedMetadata),
+            storageAdapter.query(ModelMetadata.class, Where.id(toUpdate.getId()))
+        );
+        assertEquals(
+            Collections.singletonList(toKeepMetadata),
+            storageAdapter.query(ModelMetadata.class, Where.id(toKeep.getId()))
+        );
+    }
+
+    /**
+     * When writing a page fails on a foreign key constraint, its items are merged
+     * one at a time, so that only the orphaned item is left out.
+     * @throws DataStoreException On failure to query results for assertions
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void pageWithOrphanedItemIsMergedItemByItem() throws DataStoreException, InterruptedException {
+        // Arrange: neither item is in the local store, and the blog's owner never will be.
+        BlogOwner owner = BlogOwner.builder()
+            .name("Jameson")
+            .build();
+        Blog orphanedBlog = Blog.builder()
+            .name("How Not To Save Blogs")
+            .owner(BlogOwner.builder()
+                .name("Raphael")
+                .build())
+            .build();
+        List<ModelWithMetadata<Model>> page = Arrays.asList(
+            new ModelWithMetadata<>(owner, new ModelMetadata(owner.getId(), false, 1, Temporal.Timestamp.now())),
+            new ModelWithMetadata<>(orphanedBlog,
+                new ModelMetadata(orphanedBlog.getId(), false, 1, Temporal.Timestamp.now()))
+        );
+
+        // Enforce foreign key constraint on in-memory storage adapter
+        doThrow(SQLiteConstraintException.class)
+                .when(inMemoryStorageAdapter)
+                .batch(any(), any(), any(), any());
+        doThrow(SQLiteConstraintException.class)
+                .when(inMemoryStorageAdapter)
+                .save(eq(orphanedBlog), any(), any(), any(), any());
+
+        // Act: merge the page
+        TestObserver<Void> observer = merger.merge(page, NoOpConsumer.create()).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        observer.assertNoErrors().assertComplete();
+
+        // Assert: the owner was merged, but the orphaned blog was not.
+        assertEquals(Collections.singletonList(owner), storageAdapter.query(BlogOwner.class));
+        assertTrue(storageAdapter.query(Blog.class).isEmpty());
+    }
 }
@@ -19,6 +19,8 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.graphql.GraphQLLocation;
 import com.amplifyframework.api.graphql.GraphQLPathSegment;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.NoOpCancelable;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.ModelSchemaRegistry;
 import com.amplifyframework.core.model.temporal.Temporal;
@@ -29,6 +31,7 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.AppSync;
 import com.amplifyframework.datastore.appsync.AppSyncMocking;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
+import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
@@ -49,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.amplifyframework.datastore.syncengine.TestHubEventFilters.isOutboxEmpty;
 import static com.amplifyframework.datastore.syncengine.TestHubEventFilters.isProcessed;
@@ -56,6 +60,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -90,6 +95,10 @@ public final class MutationProcessorTest {
         Merger merger = new Merger(mutationOutbox, versionRepository, localStorageAdapter);
         this.appSync = mock(AppSync.class);
         this.configurationProvider = mock(DataStoreConfigurationProvider.class);
+        when(configurationProvider.getConfiguration())
+            .thenReturn(DataStoreConfiguration.builder()
+                .syncMaxConcurrentMutations(2)
+                .build());
         ConflictResolver conflictResolver = new ConflictResolver(configurationProvider, appSync);
         modelSchemaRegistry = ModelSchemaRegistry.instance();
         modelSchemaRegistry.register(Collections.singleton(BlogOwner.class));
@@ -100,6 +109,7 @@ public final class MutationProcessorTest {
             .mutationOutbox(mutationOutbox)
             .appSync(appSync)
             .conflictResolver(conflictResolver)
+            .dataStoreConfigurationProvider(configurationProvider)
             .build();
     }
 
@@ -172,6 +182,59 @@ public final class MutationProcessorTest {
         verify(appSync).create(eq(tony), any(), any(), any());
     }
 
+    /**
+     * Mutations of different models are published at the same time, up to the configured
+     * limit. A mutation that is waiting on a slow response should not hold back the
+     * mutation of another model that was enqueued after it.
+     * @throws DataStoreException On failure to interact with storage adapter during arrangement
+     */
+    @Test
+    public void mutationsOfDifferentModelsArePublishedConcurrently() throws DataStoreException {
+        BlogOwner slowOwner = BlogOwner.builder()
+            .name("Slow Sam")
+            .build();
+        BlogOwner fastOwner = BlogOwner.builder()
+            .name("Quick Quinn")
+            .build();
+        synchronousStorageAdapter.save(slowOwner);
+        synchronousStorageAdapter.save(fastOwner);
+
+        // Hold on to the response callback for the first model, instead of responding right away.
+        AtomicReference<Consumer<GraphQLResponse<ModelWithMetadata<BlogOwner>>>> slowResponse =
+            new AtomicReference<>();
+        doAnswer(invocation -> {
+            slowResponse.set(invocation.getArgument(2));
+            return new NoOpCancelable();
+        }).when(appSync).create(eq(slowOwner), any(), any(), any());
+        AppSyncMocking.create(appSync).mockSuccessResponse(fastOwner);
+
+        ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(BlogOwner.class);
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(slowOwner, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(fastOwner, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        HubAccumulator fastAccumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isProcessed(fastOwner), 1)
+                .start();
+        HubAccumulator slowAccumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isProcessed(slowOwner), 1)
+                .start();
+
+        // The second model is processed while the first is still waiting on its response.
+        mutationProcessor.startDrainingMutationOutbox();
+        fastAccumulator.await();
+        assertTrue(mutationOutbox.hasPendingMutation(slowOwner.getId()));
+
+        // Once the response arrives, the first model is processed, too.
+        ModelMetadata metadata = new ModelMetadata(slowOwner.getId(), false, 1, Temporal.Timestamp.now());
+        slowResponse.get().accept(
+            new GraphQLResponse<>(new ModelWithMetadata<>(slowOwner, metadata), Collections.emptyList())
+        );
+        slowAccumulator.await();
+        assertFalse(mutationOutbox.hasPendingMutation(slowOwner.getId()));
+    }
+
     /**
      * If the AppSync response to the mutation contains a ConflictUnhandled
      * error in the GraphQLResponse error list, then the user-provided
@@ -17,6 +17,7 @@ package com.amplifyframework.datastore.syncengine;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.testmodels.commentsblog.Blog;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 
 import org.junit.Before;
@@ -24,8 +25,14 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -122,4 +129,207 @@ public final class MutationQueueTest {
         mutationQueue.add(createTony);
         assertEquals(createQing, mutationQueue.peek());
     }
+
+    /**
+     * The next mutation for a model id is the oldest mutation of that model which is
+     * still in the queue, regardless of the mutations of other models around it.
+     */
+    @Test
+    public void nextMutationForModelIdIsOldestMutationOfModel() {
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        PendingMutation<BlogOwner> createTony = PendingMutation.creation(tony, schema);
+        PendingMutation<BlogOwner> updateQing = PendingMutation.update(qing, schema);
+        mutationQueue.add(createQing);
+        mutationQueue.add(createTony);
+        mutationQueue.add(updateQing);
+
+        assertEquals(createQing, mutationQueue.nextMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.nextMutationForModelId(tony.getId()));
+
+        mutationQueue.remove(createQing);
+        assertEquals(updateQing, mutationQueue.nextMutationForModelId(qing.getId()));
+
+        mutationQueue.remove(updateQing);
+        assertNull(mutationQueue.nextMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.nextMutationForModelId(tony.getId()));
+
+        mutationQueue.clear();
+        assertNull(mutationQueue.nextMutationForModelId(tony.getId()));
+    }
+
+    /**
+     * While the queue is drained from its head, as the mutation processor does, the next
+     * mutation for each model id is always the oldest one left, until none are.
+     */
+    @Test
+    public void nextMutationForModelIdIsKeptWhileQueueIsDrained() {
+        List<PendingMutation<BlogOwner>> creations = new ArrayList<>();
+        List<PendingMutation<BlogOwner>> updates = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            BlogOwner owner = BlogOwner.builder()
+                    .name("Owner " + index)
+                    .build();
+            creations.add(PendingMutation.creation(owner, schema));
+            updates.add(PendingMutation.update(owner, schema));
+        }
+        List<PendingMutation<BlogOwner>> queued = new ArrayList<>(creations);
+        queued.addAll(updates);
+        for (PendingMutation<BlogOwner> mutation : queued) {
+            mutationQueue.add(mutation);
+        }
+
+        for (int index = 0; index < queued.size(); index++) {
+            PendingMutation<BlogOwner> head = queued.get(index);
+            String modelId = head.getMutatedItem().getId();
+            assertEquals(head, mutationQueue.peek());
+            assertEquals(head, mutationQueue.nextMutationForModelId(modelId));
+            mutationQueue.remove(head);
+            PendingMutation<BlogOwner> next = index < creations.size() ? updates.get(index) : null;
+            assertEquals(next, mutationQueue.nextMutationForModelId(modelId));
+        }
+        assertEquals(0, mutationQueue.size());
+    }
+
+    /**
+     * The last mutation for a model id is the newest mutation of that model, and the
+     * next mutations for distinct models skip any mutation that follows another
+     * mutation of the same model.
+     */
+    @Test
+    public void mutationsForDistinctModelsAreNextMutationOfEachModel() {
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        BlogOwner jameson = BlogOwner.builder()
+                .name("Jameson Williams")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        PendingMutation<BlogOwner> updateQing = PendingMutation.update(qing, schema);
+        PendingMutation<BlogOwner> createTony = PendingMutation.creation(tony, schema);
+        PendingMutation<BlogOwner> createJameson = PendingMutation.creation(jameson, schema);
+        mutationQueue.add(createQing);
+        mutationQueue.add(updateQing);
+        mutationQueue.add(createTony);
+        mutationQueue.add(createJameson);
+
+        assertEquals(updateQing, mutationQueue.lastMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.lastMutationForModelId(tony.getId()));
+
+        assertEquals(Collections.singletonList(createQing), mutationQueue.nextMutationsForDistinctModels(1));
+        assertEquals(Arrays.asList(createQing, createTony), mutationQueue.nextMutationsForDistinctModels(2));
+        assertEquals(Arrays.asList(createQing, createTony, createJameson),
+            mutationQueue.nextMutationsForDistinctModels(4));
+
+        mutationQueue.remove(createQing);
+        assertEquals(Arrays.asList(updateQing, createTony), mutationQueue.nextMutationsForDistinctModels(2));
+
+        mutationQueue.clear();
+        assertNull(mutationQueue.lastMutationForModelId(qing.getId()));
+        assertTrue(mutationQueue.nextMutationsForDistinctModels(2).isEmpty());
+    }
+
+    /**
+     * A mutation of a child model is not published alongside an earlier mutation of
+     * the parent it belongs to, and neither are the mutations after it.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void mutationsForDistinctModelsStopAtChildOfEarlierParent() throws AmplifyException {
+        ModelSchema blogSchema = ModelSchema.fromModelClass(Blog.class);
+        BlogOwner owner = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner otherOwner = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        Blog blog = Blog.builder()
+                .name("Qing's Blog")
+                .owner(owner)
+                .build();
+        Blog otherBlog = Blog.builder()
+                .name("Tony's Blog")
+                .owner(otherOwner)
+                .build();
+        PendingMutation<Blog> createOtherBlog = PendingMutation.creation(otherBlog, blogSchema);
+        PendingMutation<BlogOwner> createOwner = PendingMutation.creation(owner, schema);
+        PendingMutation<Blog> createBlog = PendingMutation.creation(blog, blogSchema);
+        PendingMutation<BlogOwner> createOtherOwner = PendingMutation.creation(otherOwner, schema);
+        mutationQueue.add(createOtherBlog);
+        mutationQueue.add(createOwner);
+        mutationQueue.add(createBlog);
+        mutationQueue.add(createOtherOwner);
+
+        assertEquals(Arrays.asList(createOtherBlog, createOwner), mutationQueue.nextMutationsForDistinctModels(4));
+
+        // Once the parent has been published, its child is next. The parent of the other blog
+        // comes after that blog in the queue, so it is not published alongside it.
+        mutationQueue.remove(createOwner);
+        assertEquals(Arrays.asList(createOtherBlog, createBlog), mutationQueue.nextMutationsForDistinctModels(4));
+    }
+
+    /**
+     * A mutation of a parent model is not published alongside an earlier mutation of a
+     * child which belongs to it, such as the deletion of a blog owner after the deletion
+     * of their blog, and neither are the mutations after it.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Test
+    public void mutationsForDistinctModelsStopAtParentOfEarlierChild() throws AmplifyException {
+        ModelSchema blogSchema = ModelSchema.fromModelClass(Blog.class);
+        BlogOwner owner = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner otherOwner = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        Blog blog = Blog.builder()
+                .name("Qing's Blog")
+                .owner(owner)
+                .build();
+        PendingMutation<Blog> deleteBlog = PendingMutation.deletion(blog, blogSchema);
+        PendingMutation<BlogOwner> deleteOwner = PendingMutation.deletion(owner, schema);
+        PendingMutation<BlogOwner> createOtherOwner = PendingMutation.creation(otherOwner, schema);
+        mutationQueue.add(deleteBlog);
+        mutationQueue.add(deleteOwner);
+        mutationQueue.add(createOtherOwner);
+
+        assertEquals(Collections.singletonList(deleteBlog), mutationQueue.nextMutationsForDistinctModels(3));
+
+        // Once the child has been published, its parent is next.
+        mutationQueue.remove(deleteBlog);
+        assertEquals(Arrays.asList(deleteOwner, createOtherOwner), mutationQueue.nextMutationsForDistinctModels(3));
+    }
+
+    /**
+     * When a mutation in the queue is replaced by a mutation of a different model,
+     * it is found by the id of the new model, and not by the id of the old one.
+     */
+    @Test
+    public void replacedMutationIsFoundByNewModelId() {
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        mutationQueue.add(createQing);
+
+        PendingMutation<BlogOwner> createTony =
+            PendingMutation.instance(createQing.getMutationId(), tony, schema, PendingMutation.Type.CREATE,
+                createQing.getPredicate());
+        mutationQueue.updateExistingQueueItemOrAppendNew(createQing.getMutationId(), createTony);
+
+        assertNull(mutationQueue.nextMutationForModelId(qing.getId()));
+        assertEquals(createTony, mutationQueue.nextMutationForModelId(tony.getId()));
+    }
 }
@@ -16,6 +16,7 @@
 package com.amplifyframework.datastore.syncengine;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.events.SubscriptionReconnectedEvent;
 import com.amplifyframework.api.graphql.GraphQLBehavior;
 import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.core.Amplify;
@@ -54,6 +55,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -173,4 +175,27 @@ public final class OrchestratorTest {
 
         assertTrue(orchestrator.stop().blockingAwait(5, TimeUnit.SECONDS));
     }
+
+    /**
+     * When the subscriptions' connection is restored, the models are synced again, to catch up
+     * on the changes which the subscriptions may have missed.
+     */
+    @Test
+    public void reconnectedSubscriptionsAreCaughtUpBySyncing() {
+        // Arrange: orchestrator is running, and has synced once.
+        HubAccumulator readyObserver =
+            HubAccumulator.create(HubChannel.DATASTORE, DataStoreChannelEventName.READY, 1).start();
+        orchestrator.start().test();
+        readyObserver.await(10, TimeUnit.SECONDS);
+        verify(mockApi, times(1)).query(any(), any(), any());
+
+        // Act: the subscriptions are reconnected.
+        long now = System.currentTimeMillis();
+        Amplify.Hub.publish(HubChannel.API, new SubscriptionReconnectedEvent(now - 1_000, now, 1).toHubEvent());
+
+        // Assert: the model is synced again.
+        verify(mockApi, timeout(TimeUnit.SECONDS.toMillis(5)).times(2)).query(any(), any(), any());
+
+        assertTrue(orchestrator.stop().blockingAwait(5, TimeUnit.SECONDS));
+    }
 }
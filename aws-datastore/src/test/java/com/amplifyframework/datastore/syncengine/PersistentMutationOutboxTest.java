@@ -22,6 +22,7 @@ import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageOperation;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
 import com.amplifyframework.datastore.syncengine.MutationOutbox.OutboxEvent;
 import com.amplifyframework.datastore.syncengine.PendingMutation.PersistentRecord;
@@ -35,6 +36,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -916,6 +918,77 @@ public final class PersistentMutationOutboxTest {
         assertNull(mutationOutbox.peek());
     }
 
+    /**
+     * When a mutation is in flight, a new mutation for the same model is enqueued behind it.
+     * Any further mutation for that model is coalesced with the queued one, instead of
+     * being enqueued, too.
+     * @throws DataStoreException On failure to query storage for current mutations state
+     */
+    @Test
+    public void mutationCoalescedWithQueuedMutationIfExistingMutationIsInFlight() throws DataStoreException {
+        // Arrange an existing mutation, which is in flight.
+        BlogOwner joe = BlogOwner.builder()
+            .name("Joe")
+            .build();
+        PendingMutation<BlogOwner> creation = PendingMutation.creation(joe, schema);
+        mutationOutbox.enqueue(creation)
+            .andThen(mutationOutbox.markInFlight(creation.getMutationId()))
+            .blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        // Enqueue two updates behind it.
+        PendingMutation<BlogOwner> firstUpdate = PendingMutation.update(joe.copyOfBuilder()
+            .name("Joe Jr.")
+            .build(), schema);
+        PendingMutation<BlogOwner> secondUpdate = PendingMutation.update(joe.copyOfBuilder()
+            .name("Joe III")
+            .build(), schema);
+        mutationOutbox.enqueue(firstUpdate)
+            .andThen(mutationOutbox.enqueue(secondUpdate))
+            .blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        // The second update replaced the first one, and the in-flight creation was left alone.
+        assertRecordCountForMutationId(creation.getMutationId().toString(), 1);
+        assertRecordCountForMutationId(firstUpdate.getMutationId().toString(), 0);
+        assertRecordCountForMutationId(secondUpdate.getMutationId().toString(), 1);
+
+        assertEquals(creation, mutationOutbox.peek());
+        mutationOutbox.remove(creation.getMutationId())
+            .blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(secondUpdate, mutationOutbox.peek());
+    }
+
+    /**
+     * Peeking for several mutations returns the next mutation of each distinct model,
+     * in the order they were enqueued.
+     */
+    @Test
+    public void peekReturnsNextMutationOfDistinctModels() {
+        BlogOwner joe = BlogOwner.builder()
+            .name("Joe")
+            .build();
+        BlogOwner jane = BlogOwner.builder()
+            .name("Jane")
+            .build();
+        BlogOwner jim = BlogOwner.builder()
+            .name("Jim")
+            .build();
+        PendingMutation<BlogOwner> createJoe = PendingMutation.creation(joe, schema);
+        PendingMutation<BlogOwner> deleteJoe = PendingMutation.deletion(joe, schema);
+        PendingMutation<BlogOwner> createJane = PendingMutation.creation(jane, schema);
+        PendingMutation<BlogOwner> createJim = PendingMutation.creation(jim, schema);
+
+        // Joe's creation is in flight, so that his deletion is queued behind it.
+        mutationOutbox.enqueue(createJoe)
+            .andThen(mutationOutbox.markInFlight(createJoe.getMutationId()))
+            .andThen(mutationOutbox.enqueue(deleteJoe))
+            .andThen(mutationOutbox.enqueue(createJane))
+            .andThen(mutationOutbox.enqueue(createJim))
+            .blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(createJoe, createJane), mutationOutbox.peek(2));
+        assertEquals(Arrays.asList(createJoe, createJane, createJim), mutationOutbox.peek(10));
+    }
+
     /**
      * It is an error to mark an item as in-flight, if it isn't even in the dang queue.
      * @throws InterruptedException If interrupted while awaiting terminal result in test observer
@@ -1024,6 +1097,96 @@ public final class PersistentMutationOutboxTest {
             );
     }
 
+    /**
+     * Mutations enqueued in a transaction are not added to the outbox until the transaction
+     * is committed. Instead, the writes of their records are handed back, to be made
+     * as part of the storage transaction.
+     * @throws DataStoreException On failure to begin or enqueue into the transaction
+     */
+    @Test
+    public void transactionStagesMutationsUntilCommitted() throws DataStoreException {
+        TestObserver<OutboxEvent> queueObserver = mutationOutbox.events().test();
+        BlogOwner joe = BlogOwner.builder()
+            .name("Joe")
+            .build();
+        PendingMutation<BlogOwner> createJoe = PendingMutation.creation(joe, schema);
+
+        OutboxTransaction transaction = mutationOutbox.beginTransaction();
+        assertEquals(
+            Collections.singletonList(StorageOperation.save(converter.toRecord(createJoe))),
+            transaction.enqueue(createJoe)
+        );
+        assertNull(mutationOutbox.peek());
+        queueObserver.assertNoValues();
+
+        transaction.commit();
+        assertEquals(createJoe, mutationOutbox.peek());
+        assertTrue(mutationOutbox.hasPendingMutation(joe.getId()));
+        queueObserver.assertValue(OutboxEvent.CONTENT_AVAILABLE);
+    }
+
+    /**
+     * Several mutations of one model in the same transaction are coalesced with each other,
+     * just as they would be if enqueued one at a time.
+     * @throws DataStoreException On failure to begin or enqueue into the transaction
+     */
+    @Test
+    public void transactionCoalescesMutationsOfSameModel() throws DataStoreException {
+        BlogOwner joe = BlogOwner.builder()
+            .name("Joe")
+            .build();
+        BlogOwner jane = BlogOwner.builder()
+            .name("Jane")
+            .build();
+        BlogOwner renamedJoe = joe.copyOfBuilder()
+            .name("Joe Jr.")
+            .build();
+        PendingMutation<BlogOwner> createJoe = PendingMutation.creation(joe, schema);
+        PendingMutation<BlogOwner> updateJoe = PendingMutation.update(renamedJoe, schema);
+        PendingMutation<BlogOwner> createJane = PendingMutation.creation(jane, schema);
+        PendingMutation<BlogOwner> deleteJane = PendingMutation.deletion(jane, schema);
+
+        OutboxTransaction transaction = mutationOutbox.beginTransaction();
+        transaction.enqueue(createJoe);
+        PendingMutation<BlogOwner> expectedJoeCreation = PendingMutation.instance(
+            createJoe.getMutationId(), renamedJoe, schema, PendingMutation.Type.CREATE, QueryPredicates.all()
+        );
+        assertEquals(
+            Collections.singletonList(StorageOperation.save(converter.toRecord(expectedJoeCreation))),
+            transaction.enqueue(updateJoe)
+        );
+        transaction.enqueue(createJane);
+        assertEquals(
+            Collections.singletonList(StorageOperation.delete(converter.toRecord(createJane))),
+            transaction.enqueue(deleteJane)
+        );
+        transaction.commit();
+
+        assertEquals(Collections.singletonList(expectedJoeCreation), mutationOutbox.peek(10));
+        assertFalse(mutationOutbox.hasPendingMutation(jane.getId()));
+    }
+
+    /**
+     * When a transaction is rolled back, the outbox is left as it was, and is unlocked
+     * for the next enqueue.
+     * @throws DataStoreException On failure to begin or enqueue into the transaction
+     */
+    @Test
+    public void rolledBackTransactionLeavesOutboxUnchanged() throws DataStoreException {
+        BlogOwner joe = BlogOwner.builder()
+            .name("Joe")
+            .build();
+        PendingMutation<BlogOwner> createJoe = PendingMutation.creation(joe, schema);
+
+        OutboxTransaction transaction = mutationOutbox.beginTransaction();
+        transaction.enqueue(createJoe);
+        transaction.rollback();
+        assertNull(mutationOutbox.peek());
+
+        assertTrue(mutationOutbox.enqueue(createJoe).blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(createJoe, mutationOutbox.peek());
+    }
+
     private void assertRecordCountForMutationId(String mutationId, int expectedCount) throws DataStoreException {
         List<PersistentRecord> recordsForExistingMutationId = getPendingMutationRecordFromStorage(mutationId);
         assertEquals(expectedCount, recordsForExistingMutationId.size());
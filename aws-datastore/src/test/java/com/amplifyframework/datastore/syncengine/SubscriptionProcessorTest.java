@@ -48,17 +48,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -73,6 +78,8 @@ public final class SubscriptionProcessorTest {
     private Merger merger;
     private SubscriptionProcessor subscriptionProcessor;
     private ModelSchemaRegistry modelSchemaRegistry;
+    private CountDownLatch failureReported;
+    private CountDownLatch overflowReported;
 
     /**
      * Sets up an {@link SubscriptionProcessor} and associated test dependencies.
@@ -86,6 +93,8 @@ public final class SubscriptionProcessorTest {
         this.modelSchemas = sortedModels(modelProvider);
         this.appSync = mock(AppSync.class);
         this.merger = mock(Merger.class);
+        this.failureReported = new CountDownLatch(1);
+        this.overflowReported = new CountDownLatch(1);
         DataStoreConfiguration dataStoreConfiguration = DataStoreConfiguration.builder()
                 .syncExpression(BlogOwner.class, () -> BlogOwner.NAME.beginsWith("John"))
                 .build();
@@ -96,7 +105,8 @@ public final class SubscriptionProcessorTest {
                 .modelProvider(modelProvider)
                 .merger(merger)
                 .queryPredicateProvider(queryPredicateProvider)
-                .onFailure(throwable -> { })
+                .onFailure(throwable -> failureReported.countDown())
+                .onBufferOverflow(overflowReported::countDown)
                 .build();
     }
 
@@ -195,14 +205,14 @@ public final class SubscriptionProcessorTest {
         arrangeDataEmittingSubscription(appSync,
                 modelSchemaRegistry.getModelSchemaForModelInstance(model),
                 SubscriptionType.ON_CREATE,
-                response);
+                Collections.singletonList(response));
 
         // Merge will be invoked for the subcription data, when we start draining...
         CountDownLatch latch = new CountDownLatch(1);
         doAnswer(invocation -> {
             latch.countDown();
             return Completable.complete();
-        }).when(merger).merge(eq(response.getData()));
+        }).when(merger).merge(eq(Collections.singletonList(response.getData())), any());
 
         // Start draining....
         subscriptionProcessor.startSubscriptions();
@@ -212,12 +222,126 @@ public final class SubscriptionProcessorTest {
         return latch.await(OPERATION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
     }
 
-    @SuppressWarnings("SameParameterValue")
+    /**
+     * When several versions of the same model arrive before they are merged, only the newest
+     * version is merged.
+     * @throws DataStoreException On failure to arrange mocking
+     * @throws InterruptedException On failure to await latch
+     */
+    @Test
+    public void olderVersionsAreCollapsedIntoNewest() throws DataStoreException, InterruptedException {
+        arrangeStartedSubscriptions(appSync, modelSchemas, SubscriptionType.values());
+        BlogOwner model = BlogOwner.builder()
+            .name("John Smith")
+            .build();
+        List<GraphQLResponse<ModelWithMetadata<BlogOwner>>> responses = new ArrayList<>();
+        for (int version = 1; version <= 3; version++) {
+            ModelMetadata modelMetadata = new ModelMetadata(model.getId(), false, version, Temporal.Timestamp.now());
+            responses.add(new GraphQLResponse<>(new ModelWithMetadata<>(model, modelMetadata), null));
+        }
+        arrangeDataEmittingSubscription(appSync,
+                modelSchemaRegistry.getModelSchemaForModelInstance(model),
+                SubscriptionType.ON_UPDATE,
+                responses);
+
+        // Only the newest version is looked for; any batch without it is merged without effect.
+        doReturn(Completable.complete()).when(merger).merge(anyList(), any());
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            latch.countDown();
+            return Completable.complete();
+        }).when(merger).merge(eq(Collections.singletonList(responses.get(2).getData())), any());
+
+        subscriptionProcessor.startSubscriptions();
+        subscriptionProcessor.startDrainingMutationBuffer();
+
+        assertTrue(latch.await(OPERATION_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * When more events arrive than the buffer can hold, before they are merged, the overflow is
+     * reported, so that the subscriptions can be started again. It is not reported as a failure,
+     * which would stop the sync.
+     * @throws DataStoreException On failure to arrange mocking
+     * @throws InterruptedException On failure to await latch
+     */
+    @Test
+    public void overflowReportedWhenBufferOverflows() throws DataStoreException, InterruptedException {
+        arrangeStartedSubscriptions(appSync, modelSchemas, SubscriptionType.values());
+        List<GraphQLResponse<ModelWithMetadata<BlogOwner>>> responses = new ArrayList<>();
+        for (int index = 0; index <= SubscriptionProcessor.BUFFER_CAPACITY; index++) {
+            BlogOwner model = BlogOwner.builder()
+                .name("John " + index)
+                .build();
+            ModelMetadata modelMetadata = new ModelMetadata(model.getId(), false, 1, Temporal.Timestamp.now());
+            responses.add(new GraphQLResponse<>(new ModelWithMetadata<>(model, modelMetadata), null));
+        }
+        arrangeDataEmittingSubscription(appSync,
+                modelSchemaRegistry.getModelSchemaForModelInstance(responses.get(0).getData().getModel()),
+                SubscriptionType.ON_CREATE,
+                responses);
+
+        // The buffer is never drained.
+        subscriptionProcessor.startSubscriptions();
+
+        assertTrue(overflowReported.await(OPERATION_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, failureReported.getCount());
+    }
+
+    /**
+     * When a batch of events fails to merge, its events are merged one at a time, so that only
+     * the event which fails on its own is skipped. Draining goes on after it.
+     * @throws DataStoreException On failure to arrange mocking
+     * @throws InterruptedException On failure to await latch
+     */
+    @Test
+    public void eventsOfFailedBatchAreMergedOneAtATime() throws DataStoreException, InterruptedException {
+        arrangeStartedSubscriptions(appSync, modelSchemas, SubscriptionType.values());
+        // One more event than fits in a batch, so that there are two batches.
+        List<GraphQLResponse<ModelWithMetadata<BlogOwner>>> responses = new ArrayList<>();
+        for (int index = 0; index <= SubscriptionProcessor.MAX_BATCH_SIZE; index++) {
+            BlogOwner model = BlogOwner.builder()
+                .name("John " + index)
+                .build();
+            ModelMetadata modelMetadata = new ModelMetadata(model.getId(), false, 1, Temporal.Timestamp.now());
+            responses.add(new GraphQLResponse<>(new ModelWithMetadata<>(model, modelMetadata), null));
+        }
+        arrangeDataEmittingSubscription(appSync,
+                modelSchemaRegistry.getModelSchemaForModelInstance(responses.get(0).getData().getModel()),
+                SubscriptionType.ON_CREATE,
+                responses);
+
+        // Any merge which includes the first event fails.
+        ModelWithMetadata<BlogOwner> failing = responses.get(0).getData();
+        Set<ModelWithMetadata<?>> merged = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        CountDownLatch othersMerged = new CountDownLatch(SubscriptionProcessor.MAX_BATCH_SIZE);
+        doAnswer(invocation -> {
+            List<ModelWithMetadata<?>> merges = invocation.getArgument(0);
+            if (merges.contains(failing)) {
+                return Completable.error(new DataStoreException("Merge failed.", "Expected by the test."));
+            }
+            for (ModelWithMetadata<?> modelWithMetadata : merges) {
+                if (merged.add(modelWithMetadata)) {
+                    othersMerged.countDown();
+                }
+            }
+            return Completable.complete();
+        }).when(merger).merge(anyList(), any());
+
+        subscriptionProcessor.startSubscriptions();
+        subscriptionProcessor.startDrainingMutationBuffer();
+
+        assertTrue(othersMerged.await(OPERATION_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(merged.contains(failing));
+        assertEquals(SubscriptionProcessor.MAX_BATCH_SIZE, merged.size());
+        assertEquals(1, failureReported.getCount());
+    }
+
     private static <T extends Model> void arrangeDataEmittingSubscription(
             AppSync appSync,
             ModelSchema modelSchema,
             SubscriptionType subscriptionType,
-            GraphQLResponse<ModelWithMetadata<T>> response) throws DataStoreException {
+            List<GraphQLResponse<ModelWithMetadata<T>>> responses) throws DataStoreException {
         Answer<Cancelable> answer = invocation -> {
             final int startConsumerIndex = 1;
             Consumer<String> onStart = invocation.getArgument(startConsumerIndex);
@@ -225,7 +349,9 @@ public final class SubscriptionProcessorTest {
 
             final int dataConsumerIndex = 2;
             Consumer<GraphQLResponse<ModelWithMetadata<T>>> onData = invocation.getArgument(dataConsumerIndex);
-            onData.accept(response);
+            for (GraphQLResponse<ModelWithMetadata<T>> response : responses) {
+                onData.accept(response);
+            }
 
             return new NoOpCancelable();
         };
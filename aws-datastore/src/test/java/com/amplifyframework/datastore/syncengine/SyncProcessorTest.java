@@ -18,8 +18,12 @@ package com.amplifyframework.datastore.syncengine;
 import android.util.Range;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.PaginatedResult;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.NoOpCancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
@@ -33,6 +37,7 @@ import com.amplifyframework.datastore.appsync.AppSync;
 import com.amplifyframework.datastore.appsync.AppSyncMocking;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.appsync.ModelWithMetadata;
+import com.amplifyframework.datastore.events.ModelSyncPipelineEvent;
 import com.amplifyframework.datastore.events.ModelSyncedEvent;
 import com.amplifyframework.datastore.events.SyncQueriesStartedEvent;
 import com.amplifyframework.datastore.model.SimpleModelProvider;
@@ -44,9 +49,12 @@ import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.hub.HubEventFilter;
 import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Author;
+import com.amplifyframework.testmodels.commentsblog.Blog;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 import com.amplifyframework.testmodels.commentsblog.Post;
 import com.amplifyframework.testutils.HubAccumulator;
+import com.amplifyframework.testutils.Latch;
 import com.amplifyframework.testutils.random.RandomString;
 import com.amplifyframework.util.ForEach;
 import com.amplifyframework.util.Time;
@@ -55,20 +63,26 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.robolectric.RobolectricTestRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
 
 import static com.amplifyframework.datastore.appsync.TestModelWithMetadataInstances.BLOGGER_ISLA;
 import static com.amplifyframework.datastore.appsync.TestModelWithMetadataInstances.BLOGGER_JAMESON;
@@ -79,7 +93,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -96,6 +114,7 @@ public final class SyncProcessorTest {
     private AppSync appSync;
     private ModelProvider modelProvider;
     private SynchronousStorageAdapter storageAdapter;
+    private Merger merger;
 
     private SyncProcessor syncProcessor;
     private int errorHandlerCallCount;
@@ -130,13 +149,14 @@ public final class SyncProcessorTest {
         final SyncTimeRegistry syncTimeRegistry = new SyncTimeRegistry(inMemoryStorageAdapter);
         final MutationOutbox mutationOutbox = new PersistentMutationOutbox(inMemoryStorageAdapter);
         final VersionRepository versionRepository = new VersionRepository(inMemoryStorageAdapter);
-        final Merger merger = new Merger(mutationOutbox, versionRepository, inMemoryStorageAdapter);
+        this.merger = spy(new Merger(mutationOutbox, versionRepository, inMemoryStorageAdapter));
 
         DataStoreConfigurationProvider dataStoreConfigurationProvider = () -> DataStoreConfiguration
             .builder()
             .syncInterval(BASE_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
             .syncMaxRecords(syncMaxRecords)
             .syncPageSize(1_000)
+            .syncMaxConcurrentModels(modelCount)
             .errorHandler(dataStoreException -> errorHandlerCallCount++)
             .syncExpression(BlogOwner.class, () -> BlogOwner.NAME.beginsWith("J"))
             .build();
@@ -514,6 +534,84 @@ public final class SyncProcessorTest {
         }
     }
 
+    /**
+     * When catching up after the subscriptions have been disconnected, each model is delta synced
+     * from its own last sync time, less a margin for the difference between the device's clock
+     * and the service's.
+     * @throws AmplifyException On failure to build GraphQLRequest for sync query
+     */
+    @Test
+    public void catchUpRequestsDeltaSyncFromBeforeLastSyncTime() throws AmplifyException {
+        // Arrange: every model was delta synced recently.
+        long recentTimeMs = Time.now();
+        Observable.fromIterable(modelProvider.modelNames())
+            .map(modelName -> LastSyncMetadata.deltaSyncedAt(modelName, recentTimeMs))
+            .blockingForEach(storageAdapter::save);
+        AppSyncMocking.sync(appSync)
+            .mockSuccessResponse(BlogOwner.class, BLOGGER_JAMESON);
+
+        // Act: catch up.
+        assertTrue(syncProcessor.catchUp().blockingAwait(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Assert: each sync starts a margin before the last one.
+        int modelClassCount = modelProvider.models().size();
+        @SuppressWarnings("unchecked") // ignore GraphQLRequest.class not being a parameterized type.
+        ArgumentCaptor<GraphQLRequest<PaginatedResult<ModelWithMetadata<BlogOwner>>>> requestCaptor =
+                ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(appSync, times(modelClassCount)).sync(
+            requestCaptor.capture(),
+            any(),
+            any()
+        );
+        for (GraphQLRequest<PaginatedResult<ModelWithMetadata<BlogOwner>>> capturedValue :
+                requestCaptor.getAllValues()) {
+            assertEquals(
+                recentTimeMs - SyncProcessor.CATCH_UP_CLOCK_SKEW_MARGIN_MS,
+                capturedValue.getVariables().get("lastSync")
+            );
+        }
+    }
+
+    /**
+     * When catching up after the subscriptions were disconnected at a known time, a model which
+     * was last synced before the disconnection is delta synced from the time of the disconnection,
+     * less the same margin, since the changes made before it were received by the subscriptions.
+     * @throws AmplifyException On failure to build GraphQLRequest for sync query
+     */
+    @Test
+    public void catchUpRequestsDeltaSyncFromBeforeDisconnection() throws AmplifyException {
+        // Arrange: every model was delta synced some time before the subscriptions were disconnected.
+        long disconnectedAtMs = Time.now();
+        long lastSyncTimeMs = disconnectedAtMs - TimeUnit.MINUTES.toMillis(30);
+        Observable.fromIterable(modelProvider.modelNames())
+            .map(modelName -> LastSyncMetadata.deltaSyncedAt(modelName, lastSyncTimeMs))
+            .blockingForEach(storageAdapter::save);
+        AppSyncMocking.sync(appSync)
+            .mockSuccessResponse(BlogOwner.class, BLOGGER_JAMESON);
+
+        // Act: catch up from the disconnection.
+        assertTrue(syncProcessor.catchUp(SyncTime.at(disconnectedAtMs))
+            .blockingAwait(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Assert: each sync starts a margin before the disconnection, rather than the last sync.
+        int modelClassCount = modelProvider.models().size();
+        @SuppressWarnings("unchecked") // ignore GraphQLRequest.class not being a parameterized type.
+        ArgumentCaptor<GraphQLRequest<PaginatedResult<ModelWithMetadata<BlogOwner>>>> requestCaptor =
+                ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(appSync, times(modelClassCount)).sync(
+            requestCaptor.capture(),
+            any(),
+            any()
+        );
+        for (GraphQLRequest<PaginatedResult<ModelWithMetadata<BlogOwner>>> capturedValue :
+                requestCaptor.getAllValues()) {
+            assertEquals(
+                disconnectedAtMs - SyncProcessor.CATCH_UP_CLOCK_SKEW_MARGIN_MS,
+                capturedValue.getVariables().get("lastSync")
+            );
+        }
+    }
+
     /**
      * Verify that the syncExpressions from the DataStoreConfiguration are applied to the sync request.
      * @throws AmplifyException On failure interacting with storage adapter
@@ -560,6 +658,58 @@ public final class SyncProcessorTest {
         assertEquals(1, errorHandlerCallCount);
     }
 
+    /**
+     * Models which do not depend on each other are synced concurrently, but a model
+     * is not synced until the models it belongs to have been synced.
+     * @throws AmplifyException On failure to arrange the mock AppSync
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @SuppressWarnings("unchecked") // Mock response consumer
+    @Test
+    public void independentModelsAreSyncedConcurrently() throws AmplifyException, InterruptedException {
+        // Arrange: respond to every sync right away, except for BlogOwner's.
+        AppSyncMocking.sync(appSync);
+        CompletableSubject blogOwnerResponded = CompletableSubject.create();
+        List<String> requestedModels = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            AppSyncGraphQLRequest<?> request = invocation.getArgument(0);
+            Consumer<GraphQLResponse<PaginatedResult<ModelWithMetadata<Model>>>> onResponse =
+                invocation.getArgument(1);
+            GraphQLResponse<PaginatedResult<ModelWithMetadata<Model>>> emptyResponse = new GraphQLResponse<>(
+                new PaginatedResult<>(Collections.emptyList(), null),
+                Collections.emptyList()
+            );
+            String modelName = request.getModelSchema().getName();
+            requestedModels.add(modelName);
+            if (BlogOwner.class.getSimpleName().equals(modelName)) {
+                blogOwnerResponded.subscribe(() -> onResponse.accept(emptyResponse));
+            } else {
+                onResponse.accept(emptyResponse);
+            }
+            return new NoOpCancelable();
+        }).when(appSync).sync(any(), any(), any());
+
+        // Act: start hydration.
+        TestObserver<Void> hydrationObserver = syncProcessor.hydrate().test();
+
+        // Assert: Author does not depend on BlogOwner, so it was synced while BlogOwner was pending.
+        // Blog belongs to a BlogOwner, so it, and the models which depend on it, were not.
+        assertTrue(requestedModels.contains(BlogOwner.class.getSimpleName()));
+        assertTrue(requestedModels.contains(Author.class.getSimpleName()));
+        assertFalse(requestedModels.contains(Blog.class.getSimpleName()));
+        assertFalse(requestedModels.contains(Post.class.getSimpleName()));
+        hydrationObserver.assertNotComplete();
+
+        // Act: let the BlogOwner sync complete.
+        blogOwnerResponded.onComplete();
+
+        // Assert: the rest of the models are synced, in order of their dependencies.
+        assertTrue(hydrationObserver.await(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        hydrationObserver.assertNoErrors().assertComplete();
+        assertTrue(requestedModels.indexOf(Blog.class.getSimpleName()) <
+            requestedModels.indexOf(Post.class.getSimpleName()));
+    }
+
     /**
      * Validate that all records are synced, via pagination.
      * @throws AmplifyException on error building sync request for next page.
@@ -570,6 +720,83 @@ public final class SyncProcessorTest {
         syncAndExpect(5, 10);
     }
 
+    /**
+     * Validate that, once a model is synced, a pipeline metrics event reports
+     * the number of pages that were fetched for it.
+     * @throws AmplifyException on error building sync request for next page.
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void pipelineMetricsEmittedForSyncedPages() throws AmplifyException, InterruptedException {
+        HubAccumulator pipelineAccumulator = createAccumulator(syncPipelineMetricsEmittedFor(BlogOwner.class), 1);
+        AppSyncMocking.SyncConfigurator configurator = AppSyncMocking.sync(appSync);
+        String token = null;
+        for (int pageIndex = 0; pageIndex < 3; pageIndex++) {
+            String nextToken = pageIndex < 2 ? RandomString.string() : null;
+            configurator.mockSuccessResponse(BlogOwner.class, token, nextToken, randomBlogOwnerWithMetadata());
+            token = nextToken;
+        }
+        pipelineAccumulator.start();
+
+        TestObserver<ModelWithMetadata<? extends Model>> hydrationObserver = TestObserver.create();
+        syncProcessor.hydrate().subscribe(hydrationObserver);
+        assertTrue(hydrationObserver.await(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        hydrationObserver.assertNoErrors();
+        hydrationObserver.assertComplete();
+
+        ModelSyncPipelineEvent event = (ModelSyncPipelineEvent) pipelineAccumulator.awaitFirst().getData();
+        assertEquals(3, event.getPages());
+        assertEquals(1, event.getPrefetchDepth());
+    }
+
+    /**
+     * Validate that the next page of a model is fetched while the page before it is merged.
+     * The merge of the first page is held until the second page has been fetched, so the sync
+     * only completes if the fetch does not wait for the merge.
+     * @throws AmplifyException on error building sync request for next page.
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void nextPageIsFetchedWhileLastPageIsMerged() throws AmplifyException, InterruptedException {
+        HubAccumulator pipelineAccumulator = createAccumulator(syncPipelineMetricsEmittedFor(BlogOwner.class), 1);
+        String secondPageToken = RandomString.string();
+        ModelWithMetadata<BlogOwner> firstPageItem = randomBlogOwnerWithMetadata();
+        ModelWithMetadata<BlogOwner> secondPageItem = randomBlogOwnerWithMetadata();
+        AppSyncMocking.sync(appSync).mockSuccessResponse(BlogOwner.class, null, secondPageToken, firstPageItem);
+
+        // The second page is fetched by a fake which records that it was.
+        CountDownLatch secondPageFetched = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            secondPageFetched.countDown();
+            Consumer<GraphQLResponse<PaginatedResult<ModelWithMetadata<BlogOwner>>>> onResponse =
+                invocation.getArgument(1);
+            onResponse.accept(new GraphQLResponse<>(
+                new PaginatedResult<>(Collections.singleton(secondPageItem), null), Collections.emptyList()
+            ));
+            return new NoOpCancelable();
+        }).when(appSync).sync(argThat(requestsPage(BlogOwner.class, secondPageToken)), any(), any());
+
+        // The first page is not merged until the second one has been fetched.
+        doAnswer(invocation -> Completable.fromAction(() -> Latch.await(secondPageFetched))
+            .subscribeOn(Schedulers.io())
+            .andThen((Completable) invocation.callRealMethod())
+        ).when(merger).merge(eq(Collections.singletonList(firstPageItem)), any());
+        pipelineAccumulator.start();
+
+        TestObserver<ModelWithMetadata<? extends Model>> hydrationObserver = TestObserver.create();
+        syncProcessor.hydrate().subscribe(hydrationObserver);
+        assertTrue(hydrationObserver.await(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        hydrationObserver.assertNoErrors();
+        hydrationObserver.assertComplete();
+
+        assertEquals(
+            new HashSet<>(Arrays.asList(firstPageItem.getModel(), secondPageItem.getModel())),
+            new HashSet<>(storageAdapter.query(BlogOwner.class))
+        );
+        ModelSyncPipelineEvent event = (ModelSyncPipelineEvent) pipelineAccumulator.awaitFirst().getData();
+        assertEquals(2, event.getPages());
+    }
+
     /**
      * Validate that sync stops after retrieving syncMaxRecords results, even if there are more pages available.
      * @throws AmplifyException on error building sync request for next page.
@@ -715,6 +942,20 @@ public final class SyncProcessorTest {
         };
     }
 
+    // Matches the sync request for the page of a model which follows the given token.
+    private static <M extends Model> ArgumentMatcher<GraphQLRequest<PaginatedResult<ModelWithMetadata<M>>>>
+            requestsPage(Class<M> modelClass, String nextToken) {
+        return request -> request instanceof AppSyncGraphQLRequest &&
+            modelClass.getSimpleName().equals(((AppSyncGraphQLRequest<?>) request).getModelSchema().getName()) &&
+            nextToken.equals(request.getVariables().get("nextToken"));
+    }
+
+    private static HubEventFilter syncPipelineMetricsEmittedFor(Class<? extends Model> model) {
+        return hubEvent -> forEvent(DataStoreChannelEventName.MODEL_SYNC_PIPELINE).filter(hubEvent) &&
+            hubEvent.getData() instanceof ModelSyncPipelineEvent &&
+            model.getSimpleName().equals(((ModelSyncPipelineEvent) hubEvent.getData()).getModel());
+    }
+
     private static HubEventFilter syncQueryStartedForModels(int modelCount) {
         return hubEvent -> {
             return forEvent(DataStoreChannelEventName.SYNC_QUERIES_STARTED).filter(hubEvent) &&
@@ -35,5 +35,23 @@ public enum ApiChannelEventName {
      * @see com.amplifyframework.api.events.ApiEndpointStatusChangeEvent
      * @see com.amplifyframework.api.events.ApiEndpointStatusChangeEvent.ApiEndpointStatus
      */
-    API_ENDPOINT_STATUS_CHANGED
+    API_ENDPOINT_STATUS_CHANGED,
+
+    /**
+     * Indicates that the handshake to start a GraphQL subscription has ended, either because
+     * the subscription was acknowledged by the endpoint, or because it failed to start. The
+     * event reports how long the handshake took, so that the time taken to start subscriptions
+     * can be monitored.
+     * @see com.amplifyframework.api.events.SubscriptionHandshakeEvent
+     */
+    SUBSCRIPTION_HANDSHAKE_COMPLETED,
+
+    /**
+     * Indicates that the connection which carries GraphQL subscriptions was lost, and has been
+     * made again, with the active subscriptions started anew. Items published while the connection
+     * was lost were not delivered; the event reports the window of time in which that may have
+     * happened, so that a consumer can fetch what it missed.
+     * @see com.amplifyframework.api.events.SubscriptionReconnectedEvent
+     */
+    SUBSCRIPTION_CONNECTION_RESTORED
 }
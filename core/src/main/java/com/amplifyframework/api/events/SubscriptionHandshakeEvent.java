@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.events;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.hub.HubEvent;
+
+/**
+ * This class represents the hub event payload for
+ * {@link ApiChannelEventName#SUBSCRIPTION_HANDSHAKE_COMPLETED}.
+ */
+public final class SubscriptionHandshakeEvent implements HubEvent.Data<SubscriptionHandshakeEvent> {
+    private final String subscriptionId;
+    private final boolean acknowledged;
+    private final long connectionWaitMs;
+    private final long acknowledgementWaitMs;
+
+    /**
+     * Constructs a new {@link SubscriptionHandshakeEvent} object.
+     * @param subscriptionId ID of the subscription
+     * @param acknowledged True if the endpoint acknowledged the subscription, false if it failed to start
+     * @param connectionWaitMs Time in milliseconds that the subscription waited for the connection to be
+     *                         acknowledged, before it could be started
+     * @param acknowledgementWaitMs Time in milliseconds from the start of the subscription being sent,
+     *                              until it was acknowledged or failed
+     */
+    public SubscriptionHandshakeEvent(
+            @NonNull String subscriptionId,
+            boolean acknowledged,
+            long connectionWaitMs,
+            long acknowledgementWaitMs) {
+        this.subscriptionId = subscriptionId;
+        this.acknowledged = acknowledged;
+        this.connectionWaitMs = connectionWaitMs;
+        this.acknowledgementWaitMs = acknowledgementWaitMs;
+    }
+
+    /**
+     * Gets the ID of the subscription.
+     * @return ID of the subscription
+     */
+    @NonNull
+    public String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /**
+     * Checks whether the endpoint acknowledged the subscription.
+     * @return True if the subscription was acknowledged, false if it failed to start
+     */
+    public boolean isAcknowledged() {
+        return acknowledged;
+    }
+
+    /**
+     * Gets the time that the subscription waited for the connection to be acknowledged.
+     * This is zero if the connection was already open.
+     * @return Time in milliseconds
+     */
+    public long getConnectionWaitMs() {
+        return connectionWaitMs;
+    }
+
+    /**
+     * Gets the time from the start of the subscription being sent, until it was
+     * acknowledged or failed.
+     * @return Time in milliseconds
+     */
+    public long getAcknowledgementWaitMs() {
+        return acknowledgementWaitMs;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = subscriptionId != null ? subscriptionId.hashCode() : 0;
+        result = 31 * result + (acknowledged ? 1 : 0);
+        result = 31 * result + (int) (connectionWaitMs ^ (connectionWaitMs >>> 32));
+        result = 31 * result + (int) (acknowledgementWaitMs ^ (acknowledgementWaitMs >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        SubscriptionHandshakeEvent that = (SubscriptionHandshakeEvent) thatObject;
+
+        if (acknowledged != that.acknowledged) {
+            return false;
+        }
+        if (connectionWaitMs != that.connectionWaitMs) {
+            return false;
+        }
+        if (acknowledgementWaitMs != that.acknowledgementWaitMs) {
+            return false;
+        }
+        return ObjectsCompat.equals(subscriptionId, that.subscriptionId);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SubscriptionHandshakeEvent{" +
+            "subscriptionId=" + subscriptionId +
+            ", acknowledged=" + acknowledged +
+            ", connectionWaitMs=" + connectionWaitMs +
+            ", acknowledgementWaitMs=" + acknowledgementWaitMs +
+            "}";
+    }
+
+    @Override
+    public HubEvent<SubscriptionHandshakeEvent> toHubEvent() {
+        return HubEvent.create(ApiChannelEventName.SUBSCRIPTION_HANDSHAKE_COMPLETED, this);
+    }
+
+    /**
+     * Factory method that attempts to cast the data field of the
+     * {@link HubEvent} object as an instance of {@link SubscriptionHandshakeEvent}.
+     * @param hubEvent An instance of {@link HubEvent}
+     * @return An instance of {@link SubscriptionHandshakeEvent}.
+     * @throws AmplifyException If unable to cast to the target type.
+     */
+    public static SubscriptionHandshakeEvent from(HubEvent<?> hubEvent) throws AmplifyException {
+        if (hubEvent.getData() instanceof SubscriptionHandshakeEvent) {
+            return (SubscriptionHandshakeEvent) hubEvent.getData();
+        }
+        String expectedClassName = SubscriptionHandshakeEvent.class.getSimpleName();
+        throw new AmplifyException("Unable to cast event data from " + expectedClassName,
+                                   "Ensure that the event payload is of type " + expectedClassName);
+    }
+}
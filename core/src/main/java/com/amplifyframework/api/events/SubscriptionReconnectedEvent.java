@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.events;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.hub.HubEvent;
+
+/**
+ * This class represents the hub event payload for
+ * {@link ApiChannelEventName#SUBSCRIPTION_CONNECTION_RESTORED}.
+ */
+public final class SubscriptionReconnectedEvent implements HubEvent.Data<SubscriptionReconnectedEvent> {
+    private final long disconnectedAtMs;
+    private final long reconnectedAtMs;
+    private final int attempts;
+
+    /**
+     * Constructs a new {@link SubscriptionReconnectedEvent} object.
+     * @param disconnectedAtMs Time since the epoch, in milliseconds, at which the connection was
+     *                         last known to be working
+     * @param reconnectedAtMs Time since the epoch, in milliseconds, at which the subscriptions
+     *                        were all started again
+     * @param attempts Number of attempts made to connect again
+     */
+    public SubscriptionReconnectedEvent(long disconnectedAtMs, long reconnectedAtMs, int attempts) {
+        this.disconnectedAtMs = disconnectedAtMs;
+        this.reconnectedAtMs = reconnectedAtMs;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Gets the time at which the connection was last known to be working. Items published
+     * after this time may not have been delivered to the subscriptions.
+     * @return Time since the epoch, in milliseconds
+     */
+    public long getDisconnectedAtMs() {
+        return disconnectedAtMs;
+    }
+
+    /**
+     * Gets the time at which the subscriptions were all started again.
+     * @return Time since the epoch, in milliseconds
+     */
+    public long getReconnectedAtMs() {
+        return reconnectedAtMs;
+    }
+
+    /**
+     * Gets the number of attempts made to connect again.
+     * @return Number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (disconnectedAtMs ^ (disconnectedAtMs >>> 32));
+        result = 31 * result + (int) (reconnectedAtMs ^ (reconnectedAtMs >>> 32));
+        result = 31 * result + attempts;
+        return result;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        SubscriptionReconnectedEvent that = (SubscriptionReconnectedEvent) thatObject;
+
+        if (disconnectedAtMs != that.disconnectedAtMs) {
+            return false;
+        }
+        if (reconnectedAtMs != that.reconnectedAtMs) {
+            return false;
+        }
+        return attempts == that.attempts;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SubscriptionReconnectedEvent{" +
+            "disconnectedAtMs=" + disconnectedAtMs +
+            ", reconnectedAtMs=" + reconnectedAtMs +
+            ", attempts=" + attempts +
+            "}";
+    }
+
+    @Override
+    public HubEvent<SubscriptionReconnectedEvent> toHubEvent() {
+        return HubEvent.create(ApiChannelEventName.SUBSCRIPTION_CONNECTION_RESTORED, this);
+    }
+
+    /**
+     * Factory method that attempts to cast the data field of the
+     * {@link HubEvent} object as an instance of {@link SubscriptionReconnectedEvent}.
+     * @param hubEvent An instance of {@link HubEvent}
+     * @return An instance of {@link SubscriptionReconnectedEvent}.
+     * @throws AmplifyException If unable to cast to the target type.
+     */
+    public static SubscriptionReconnectedEvent from(HubEvent<?> hubEvent) throws AmplifyException {
+        if (hubEvent.getData() instanceof SubscriptionReconnectedEvent) {
+            return (SubscriptionReconnectedEvent) hubEvent.getData();
+        }
+        String expectedClassName = SubscriptionReconnectedEvent.class.getSimpleName();
+        throw new AmplifyException("Unable to cast event data from " + expectedClassName,
+                                   "Ensure that the event payload is of type " + expectedClassName);
+    }
+}
@@ -21,6 +21,8 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiException;
 import com.amplifyframework.api.ApiOperation;
 
+import java.io.Reader;
+
 /**
  * A GraphQLOperation is an API operation which returns a GraphQLResponse.
  * @param <R> The type of data contained in the GraphQLResponse.
@@ -56,4 +58,21 @@ public abstract class GraphQLOperation<R> extends ApiOperation<GraphQLRequest<R>
                     AmplifyException.TODO_RECOVERY_SUGGESTION);
         }
     }
+
+    /**
+     * Converts a stream of response json containing a single object to a formatted
+     * {@link GraphQLResponse} object that a response consumer can receive. The json
+     * is read as it arrives, rather than being held in memory as a whole.
+     * @param jsonResponse reader of the json response from API to be converted
+     * @return wrapped response object
+     * @throws ApiException If the response can not be read, or the class provided mismatches the data
+     */
+    protected final GraphQLResponse<R> wrapResponse(Reader jsonResponse) throws ApiException {
+        try {
+            return responseFactory.buildResponse(getRequest(), jsonResponse);
+        } catch (ClassCastException cce) {
+            throw new ApiException("Amplify encountered an error while deserializing an object",
+                    AmplifyException.TODO_RECOVERY_SUGGESTION);
+        }
+    }
 }
@@ -19,9 +19,12 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiException;
 import com.amplifyframework.util.Immutable;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -240,5 +243,35 @@ public final class GraphQLResponse<R> {
          */
         <R> GraphQLResponse<R> buildResponse(GraphQLRequest<R> request, String apiResponseJson)
             throws ApiException;
+
+        /**
+         * Deserializes JSON returned by an API into an object of the provided typeOfR, reading it
+         * from a stream. A factory may override this to build the response as the JSON is read,
+         * without holding all of it in memory. By default, the JSON is read into a String, which
+         * is passed to {@link #buildResponse(GraphQLRequest, String)}.
+         * @param request The request which resulted in this GraphQLResponse
+         * @param apiResponseJson Reader of the response from the endpoint; it is not closed
+         *
+         * @param <R> The typeOfR of the response object
+         * @return An instance of provided typeOfR which models the data provided in the response JSON
+         * @throws ApiException If the response could not be read, or if the class provided mismatches the data
+         */
+        default <R> GraphQLResponse<R> buildResponse(GraphQLRequest<R> request, Reader apiResponseJson)
+                throws ApiException {
+            final StringBuilder responseJson = new StringBuilder();
+            final char[] buffer = new char[8192];
+            try {
+                int charsRead;
+                while ((charsRead = apiResponseJson.read(buffer)) != -1) {
+                    responseJson.append(buffer, 0, charsRead);
+                }
+            } catch (IOException exception) {
+                throw new ApiException(
+                    "Could not read the response from the API.",
+                    exception, AmplifyException.TODO_RECOVERY_SUGGESTION
+                );
+            }
+            return buildResponse(request, responseJson.toString());
+        }
     }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.core.async;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} whose elements are produced lazily, from a resource that
+ * is held open while iteration is in progress. The resource is released
+ * automatically once the last element has been read. A caller that stops
+ * iterating before then must {@link #cancel()} the iterator, to release it early.
+ * Canceling an iterator more than once has no further effect.
+ * @param <T> Type of element
+ */
+public interface CancelableIterator<T> extends Iterator<T>, Cancelable {
+}
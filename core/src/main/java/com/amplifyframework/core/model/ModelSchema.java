@@ -34,16 +34,23 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Schema of a Model that implements the {@link Model} interface.
  * The schema encapsulates the metadata information of a Model.
  */
 public final class ModelSchema {
+    // Schemas built from model classes, by class. A class's annotations do not change
+    // once it is loaded, and the collections of a schema, and of its fields and indexes,
+    // can not be modified once it is built, so they are shared.
+    private static final Map<Class<? extends Model>, ModelSchema> SCHEMAS_BY_CLASS = new ConcurrentHashMap<>();
+
     // Name of the Model.
     private final String name;
 
@@ -73,10 +80,10 @@ public final class ModelSchema {
     private ModelSchema(Builder builder) {
         this.name = builder.name;
         this.pluralName = builder.pluralName;
-        this.authRules = builder.authRules;
-        this.fields = builder.fields;
+        this.authRules = Collections.unmodifiableList(new ArrayList<>(builder.authRules));
+        this.fields = Collections.unmodifiableMap(new TreeMap<>(builder.fields));
         this.associations = builder.associations;
-        this.indexes = builder.indexes;
+        this.indexes = Collections.unmodifiableMap(new TreeMap<>(builder.indexes));
         this.modelClass = builder.modelClass;
     }
 
@@ -90,7 +97,8 @@ public final class ModelSchema {
     }
 
     /**
-     * Construct the ModelSchema from the {@link Model} class.
+     * Construct the ModelSchema from the {@link Model} class. The schema of
+     * each class is built once, and then reused.
      *
      * @param clazz the instance of a model class
      * @return the ModelSchema object.
@@ -98,6 +106,15 @@ public final class ModelSchema {
      */
     @NonNull
     public static ModelSchema fromModelClass(@NonNull Class<? extends Model> clazz) throws AmplifyException {
+        ModelSchema schema = SCHEMAS_BY_CLASS.get(clazz);
+        if (schema == null) {
+            schema = buildFromModelClass(clazz);
+            SCHEMAS_BY_CLASS.put(clazz, schema);
+        }
+        return schema;
+    }
+
+    private static ModelSchema buildFromModelClass(Class<? extends Model> clazz) throws AmplifyException {
         try {
             final List<Field> classFields = FieldFinder.findModelFieldsIn(clazz);
             final TreeMap<String, ModelField> fields = new TreeMap<>();
@@ -174,7 +191,7 @@ public final class ModelSchema {
                     .isArray(Collection.class.isAssignableFrom(field.getType()))
                     .isEnum(Enum.class.isAssignableFrom(field.getType()))
                     .isModel(Model.class.isAssignableFrom(field.getType()))
-                    .authRules(authRules)
+                    .authRules(Collections.unmodifiableList(authRules))
                     .build();
         }
         return null;
@@ -215,7 +232,7 @@ public final class ModelSchema {
             Index indexAnnotation = (Index) annotation;
             return ModelIndex.builder()
                     .indexName(indexAnnotation.name())
-                    .indexFieldNames(Arrays.asList(indexAnnotation.fields()))
+                    .indexFieldNames(Collections.unmodifiableList(Arrays.asList(indexAnnotation.fields())))
                     .build();
         }
         return null;
@@ -15,6 +15,8 @@
 
 package com.amplifyframework.core.model.query;
 
+import androidx.annotation.Nullable;
+
 /**
  * Query DSL for pagination.
  */
@@ -38,6 +40,21 @@ public final class Page {
         return new QueryPaginationInput(page, DEFAULT_LIMIT);
     }
 
+    /**
+     * Creates a keyset {@link QueryPaginationInput}, for the page which follows the item that
+     * a continuation token was made from. Unlike {@link #startingAt(int)}, the rows of the
+     * pages before are not scanned and skipped, so deep pages are as fast as the first.
+     * The query must have the same predicate and sort order as the query of the page before.
+     *
+     * @param continuationToken the continuation token of the last item of the page before,
+     *                          or null for the first page
+     * @return a new instance of <code>QueryPaginationInput</code> with <code>limit</code>
+     *         {@link #DEFAULT_LIMIT}.
+     */
+    public static QueryPaginationInput startingAfter(@Nullable final String continuationToken) {
+        return new QueryPaginationInput(0, DEFAULT_LIMIT, true, continuationToken);
+    }
+
     /**
      * Utility that creates a <code>QueryPaginationInput</code>
      * with <code>page</code> 0 and <code>limit</code> {@link #DEFAULT_LIMIT}.
@@ -16,10 +16,15 @@
 package com.amplifyframework.core.model.query;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.ObjectsCompat;
 
 /**
  * A simple data structure that holds pagination information that can be applied queries.
+ *
+ * A page is found either by its number, which skips the rows of every page before it, or by the
+ * continuation token of the last item of the page before it. Pages found by continuation token
+ * (keyset pages) seek straight to their first row, so they cost the same however deep they are.
  */
 public final class QueryPaginationInput {
 
@@ -30,10 +35,18 @@ public final class QueryPaginationInput {
 
     private final int page;
     private final int limit;
+    private final boolean keyset;
+    private final String continuationToken;
 
     QueryPaginationInput(int page, int limit) {
+        this(page, limit, false, null);
+    }
+
+    QueryPaginationInput(int page, int limit, boolean keyset, @Nullable String continuationToken) {
         this.page = page;
         this.limit = limit;
+        this.keyset = keyset;
+        this.continuationToken = continuationToken;
     }
 
     /**
@@ -43,7 +56,7 @@ public final class QueryPaginationInput {
      * @return a copy of the current {@link QueryPaginationInput} with a new <code>limit</code>.
      */
     public QueryPaginationInput withLimit(@NonNull Integer limit) {
-        return new QueryPaginationInput(this.page, limit);
+        return new QueryPaginationInput(this.page, limit, this.keyset, this.continuationToken);
     }
 
     /**
@@ -62,6 +75,26 @@ public final class QueryPaginationInput {
         return limit;
     }
 
+    /**
+     * Returns true if the page is found by continuation token, instead of by its number.
+     * Keyset pages are ordered by their sort fields and then by ID, so that every row has
+     * a distinct position to continue from.
+     * @return true for a keyset page
+     * @see Page#startingAfter(String)
+     */
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Returns the continuation token of the last item of the page before this one.
+     * @return the continuation token, or null for the first page, or for a page found by its number
+     */
+    @Nullable
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) {
@@ -72,12 +105,14 @@ public final class QueryPaginationInput {
         }
         QueryPaginationInput that = (QueryPaginationInput) object;
         return page == that.page &&
-                limit == that.limit;
+                limit == that.limit &&
+                keyset == that.keyset &&
+                ObjectsCompat.equals(continuationToken, that.continuationToken);
     }
 
     @Override
     public int hashCode() {
-        return ObjectsCompat.hash(page, limit);
+        return ObjectsCompat.hash(page, limit, keyset, continuationToken);
     }
 
     @Override
@@ -85,6 +120,8 @@ public final class QueryPaginationInput {
         return "QueryPaginationInput{" +
                 "page=" + page +
                 ", limit=" + limit +
+                ", keyset=" + keyset +
+                ", continuationToken=" + continuationToken +
                 '}';
     }
 
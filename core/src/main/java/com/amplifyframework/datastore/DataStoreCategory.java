@@ -20,6 +20,7 @@ import androidx.annotation.NonNull;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.category.Category;
 import com.amplifyframework.core.category.CategoryType;
 import com.amplifyframework.core.model.Model;
@@ -27,6 +28,7 @@ import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * DataStore simplifies local storage of your application data on the
@@ -71,6 +73,17 @@ public final class DataStoreCategory
         getSelectedPlugin().save(item, predicate, onItemSaved, onFailureToSave);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave) {
+        getSelectedPlugin().saveAll(items, onItemsSaved, onFailureToSave);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,6 +107,17 @@ public final class DataStoreCategory
         getSelectedPlugin().delete(object, predicate, onItemDeleted, onFailureToDelete);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsDeleted,
+            @NonNull Consumer<DataStoreException> onFailureToDelete) {
+        getSelectedPlugin().deleteAll(items, onItemsDeleted, onFailureToDelete);
+    }
+
     @Override
     public <T extends Model> void delete(
             @NonNull Class<T> objectClass,
@@ -135,6 +159,18 @@ public final class DataStoreCategory
         getSelectedPlugin().query(itemClass, options, onQueryResults, onQueryFailure);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<CancelableIterator<T>> onQueryResults,
+            @NonNull Consumer<DataStoreException> onQueryFailure) {
+        getSelectedPlugin().stream(itemClass, options, onQueryResults, onQueryFailure);
+    }
+
     /**
      * {@inheritDoc}
      */
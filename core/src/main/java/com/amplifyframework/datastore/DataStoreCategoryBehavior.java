@@ -20,12 +20,14 @@ import androidx.annotation.NonNull;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelField;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * A DataStore is a high-level abstraction of an object repository.
@@ -67,6 +69,21 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onFailureToSave
     );
 
+    /**
+     * Saves a batch of items into the DataStore, in a single local transaction.
+     * Either all of the items are saved, or none of them are. Writing many items
+     * this way is much faster than saving them one at a time.
+     * @param items Items to save
+     * @param onItemsSaved Called upon successful save of every item, with one change per item
+     * @param onFailureToSave Called upon failure to save the items; none of them will have been saved
+     * @param <T> The type of items being saved
+     */
+    <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave
+    );
+
     /**
      * Deletes an item from the DataStore. If item doesn't exist, then
      * operation succeeds with no-op.
@@ -99,6 +116,21 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onFailureToDelete
     );
 
+    /**
+     * Deletes a batch of items from the DataStore, in a single local transaction.
+     * Either all of the items are deleted, or none of them are. Items which don't
+     * exist are skipped, as with {@link #delete(Model, Consumer, Consumer)}.
+     * @param items Items to delete from the DataStore
+     * @param onItemsDeleted Called upon successful deletion of every item, with one change per item
+     * @param onFailureToDelete Called upon failure to delete the items; none of them will have been deleted
+     * @param <T> The type of items being deleted
+     */
+    <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsDeleted,
+            @NonNull Consumer<DataStoreException> onFailureToDelete
+    );
+
     /**
      * Deletes every item of given type from the DataStore that meets the provided
      * conditions. If there is no match, then nothing is deleted and operation
@@ -161,6 +193,25 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onQueryFailure
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, using the provided
+     * {@link QueryOptions}. Unlike {@link #query(Class, QueryOptions, Consumer, Consumer)},
+     * results are not read into memory up-front: the iterator reads each item from storage
+     * as it is requested, so that large result sets may be walked in constant memory.
+     * The iterator must be canceled if it is abandoned before it has been exhausted.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param onQueryResults Called with a lazy iterator over the results, once the query has started
+     * @param onQueryFailure Called when there is a failure that prevents the query from starting
+     * @param <T> The type of items being queried
+     */
+    <T extends Model> void stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<CancelableIterator<T>> onQueryResults,
+            @NonNull Consumer<DataStoreException> onQueryFailure
+    );
+
     /**
      * Observe all changes to any/all item(s) in the DataStore.
      * @param onObservationStarted Called when observation begins
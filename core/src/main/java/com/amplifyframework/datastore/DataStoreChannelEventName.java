@@ -88,7 +88,21 @@ public enum DataStoreChannelEventName {
      * event is emitted with metrics related to the latest sync
      * for the model.
      */
-    MODEL_SYNCED("modelSynced");
+    MODEL_SYNCED("modelSynced"),
+
+    /**
+     * The sync process for one of the models has completed. This event
+     * is emitted with timings that show how much the fetching of pages
+     * overlapped with merging them into the local store.
+     */
+    MODEL_SYNC_PIPELINE("modelSyncPipeline"),
+
+    /**
+     * A query of the local store has been diagnosed. This event is emitted with the query's
+     * plan and its running totals of rows and time, when it is first run and as it is run
+     * more often, and when an index has been created for it.
+     */
+    QUERY_DIAGNOSED("queryDiagnosed");
 
     private final String hubEventName;
 
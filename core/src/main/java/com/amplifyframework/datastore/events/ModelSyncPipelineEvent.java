@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.events;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.datastore.DataStoreChannelEventName;
+import com.amplifyframework.hub.HubEvent;
+
+/**
+ * Hub event payload emitted when the sync of a given model completes, describing how
+ * the fetching of pages from the network overlapped with merging them into the local store.
+ */
+public final class ModelSyncPipelineEvent implements HubEvent.Data<ModelSyncPipelineEvent> {
+    private final String model;
+    private final int pages;
+    private final int prefetchDepth;
+    private final long fetchTimeMs;
+    private final long mergeTimeMs;
+    private final long elapsedTimeMs;
+
+    /**
+     * Constructs a ModelSyncPipelineEvent object.
+     * @param model The name of the model.
+     * @param pages Number of pages fetched during the sync.
+     * @param prefetchDepth Number of pages that were allowed to wait to be merged.
+     * @param fetchTimeMs Total time spent fetching pages, in milliseconds.
+     * @param mergeTimeMs Total time spent merging pages into the local store, in milliseconds.
+     * @param elapsedTimeMs Time from the start to the end of the sync, in milliseconds.
+     */
+    public ModelSyncPipelineEvent(String model,
+                                  int pages,
+                                  int prefetchDepth,
+                                  long fetchTimeMs,
+                                  long mergeTimeMs,
+                                  long elapsedTimeMs) {
+        this.model = model;
+        this.pages = pages;
+        this.prefetchDepth = prefetchDepth;
+        this.fetchTimeMs = fetchTimeMs;
+        this.mergeTimeMs = mergeTimeMs;
+        this.elapsedTimeMs = elapsedTimeMs;
+    }
+
+    /**
+     * Getter for the model name.
+     * @return The model name (ex. Post).
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Getter for the number of pages fetched during the sync.
+     * @return Number of pages fetched.
+     */
+    public int getPages() {
+        return pages;
+    }
+
+    /**
+     * Getter for the number of pages that were allowed to wait to be merged,
+     * while the next page was being fetched.
+     * @return The configured prefetch depth.
+     */
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * Getter for the total time spent fetching pages from the network.
+     * @return Fetch time, in milliseconds.
+     */
+    public long getFetchTimeMs() {
+        return fetchTimeMs;
+    }
+
+    /**
+     * Getter for the total time spent merging pages into the local store.
+     * @return Merge time, in milliseconds.
+     */
+    public long getMergeTimeMs() {
+        return mergeTimeMs;
+    }
+
+    /**
+     * Getter for the time from the start to the end of the sync.
+     * @return Elapsed time, in milliseconds.
+     */
+    public long getElapsedTimeMs() {
+        return elapsedTimeMs;
+    }
+
+    /**
+     * Gets the amount of time during which a page was being fetched at the same
+     * time as another page was being merged. This is zero when pages were fetched
+     * and merged strictly one after the other.
+     * @return Overlap time, in milliseconds.
+     */
+    public long getOverlapTimeMs() {
+        return Math.max(0, fetchTimeMs + mergeTimeMs - elapsedTimeMs);
+    }
+
+    @Override
+    public HubEvent<ModelSyncPipelineEvent> toHubEvent() {
+        return HubEvent.create(DataStoreChannelEventName.MODEL_SYNC_PIPELINE, this);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ModelSyncPipelineEvent{" +
+            "model=" + model +
+            ", pages=" + pages +
+            ", prefetchDepth=" + prefetchDepth +
+            ", fetchTimeMs=" + fetchTimeMs +
+            ", mergeTimeMs=" + mergeTimeMs +
+            ", elapsedTimeMs=" + elapsedTimeMs +
+            '}';
+    }
+
+    @Override
+    public int hashCode() {
+        int result = model != null ? model.hashCode() : 0;
+        result = 31 * result + pages;
+        result = 31 * result + prefetchDepth;
+        result = 31 * result + Long.valueOf(fetchTimeMs).hashCode();
+        result = 31 * result + Long.valueOf(mergeTimeMs).hashCode();
+        result = 31 * result + Long.valueOf(elapsedTimeMs).hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        ModelSyncPipelineEvent that = (ModelSyncPipelineEvent) thatObject;
+
+        if (!ObjectsCompat.equals(model, that.model)) {
+            return false;
+        }
+        if (pages != that.pages) {
+            return false;
+        }
+        if (prefetchDepth != that.prefetchDepth) {
+            return false;
+        }
+        if (fetchTimeMs != that.fetchTimeMs) {
+            return false;
+        }
+        if (mergeTimeMs != that.mergeTimeMs) {
+            return false;
+        }
+        return elapsedTimeMs == that.elapsedTimeMs;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.events;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.datastore.DataStoreChannelEventName;
+import com.amplifyframework.hub.HubEvent;
+import com.amplifyframework.util.Immutable;
+
+import java.util.List;
+
+/**
+ * Hub event payload emitted when a query of the local store has been diagnosed. Queries with the
+ * same SQL, which differ only in the values they compare against, are diagnosed as one.
+ */
+public final class QueryDiagnosticsEvent implements HubEvent.Data<QueryDiagnosticsEvent> {
+    private final String model;
+    private final String query;
+    private final List<String> queryPlan;
+    private final boolean fullScan;
+    private final boolean tempSort;
+    private final long executions;
+    private final long rowsRead;
+    private final long totalTimeMs;
+    private final String createdIndex;
+
+    /**
+     * Constructs a QueryDiagnosticsEvent object.
+     * @param model The name of the queried model.
+     * @param query The SQL of the query, without the values bound to it.
+     * @param queryPlan The steps of the query plan, as described by SQLite.
+     * @param fullScan Whether the query scans every row of a table.
+     * @param tempSort Whether the query sorts its results without an index.
+     * @param executions Number of times the query has been run.
+     * @param rowsRead Total number of rows read from the results of the query.
+     * @param totalTimeMs Total time from running the query to closing its results, in milliseconds.
+     * @param createdIndex Name of the index which was created for the query, if any.
+     */
+    public QueryDiagnosticsEvent(String model,
+                                 String query,
+                                 List<String> queryPlan,
+                                 boolean fullScan,
+                                 boolean tempSort,
+                                 long executions,
+                                 long rowsRead,
+                                 long totalTimeMs,
+                                 @Nullable String createdIndex) {
+        this.model = model;
+        this.query = query;
+        this.queryPlan = Immutable.of(queryPlan);
+        this.fullScan = fullScan;
+        this.tempSort = tempSort;
+        this.executions = executions;
+        this.rowsRead = rowsRead;
+        this.totalTimeMs = totalTimeMs;
+        this.createdIndex = createdIndex;
+    }
+
+    /**
+     * Getter for the model name.
+     * @return The model name (ex. Post).
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Getter for the SQL of the query. Values are bound to its placeholders when it is run.
+     * @return SQL of the query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Getter for the steps of the query plan, as described by SQLite's EXPLAIN QUERY PLAN.
+     * @return Steps of the query plan, in order.
+     */
+    public List<String> getQueryPlan() {
+        return queryPlan;
+    }
+
+    /**
+     * Whether the query reads every row of a table, instead of looking rows up in an index.
+     * @return true if the query scans a whole table.
+     */
+    public boolean isFullScan() {
+        return fullScan;
+    }
+
+    /**
+     * Whether the query sorts its results in a temporary B-tree, instead of reading them
+     * in order from an index.
+     * @return true if the query sorts without an index.
+     */
+    public boolean isTempSort() {
+        return tempSort;
+    }
+
+    /**
+     * Getter for the number of times the query has been run.
+     * @return Number of executions.
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Getter for the total number of rows read from the results of the query.
+     * @return Rows read, over all executions.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Getter for the total time from running the query to closing its results,
+     * which includes the time to read the rows.
+     * @return Total time, over all executions, in milliseconds.
+     */
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    /**
+     * Getter for the name of the index which was created for the query.
+     * @return Name of the created index, or null if none was created.
+     */
+    @Nullable
+    public String getCreatedIndex() {
+        return createdIndex;
+    }
+
+    @Override
+    public HubEvent<QueryDiagnosticsEvent> toHubEvent() {
+        return HubEvent.create(DataStoreChannelEventName.QUERY_DIAGNOSED, this);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "QueryDiagnosticsEvent{" +
+            "model=" + model +
+            ", query=" + query +
+            ", queryPlan=" + queryPlan +
+            ", fullScan=" + fullScan +
+            ", tempSort=" + tempSort +
+            ", executions=" + executions +
+            ", rowsRead=" + rowsRead +
+            ", totalTimeMs=" + totalTimeMs +
+            ", createdIndex=" + createdIndex +
+            '}';
+    }
+
+    @Override
+    public int hashCode() {
+        int result = model != null ? model.hashCode() : 0;
+        result = 31 * result + (query != null ? query.hashCode() : 0);
+        result = 31 * result + queryPlan.hashCode();
+        result = 31 * result + (fullScan ? 1 : 0);
+        result = 31 * result + (tempSort ? 1 : 0);
+        result = 31 * result + Long.valueOf(executions).hashCode();
+        result = 31 * result + Long.valueOf(rowsRead).hashCode();
+        result = 31 * result + Long.valueOf(totalTimeMs).hashCode();
+        result = 31 * result + (createdIndex != null ? createdIndex.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        QueryDiagnosticsEvent that = (QueryDiagnosticsEvent) thatObject;
+
+        if (!ObjectsCompat.equals(model, that.model)) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(query, that.query)) {
+            return false;
+        }
+        if (!queryPlan.equals(that.queryPlan)) {
+            return false;
+        }
+        if (fullScan != that.fullScan || tempSort != that.tempSort) {
+            return false;
+        }
+        if (executions != that.executions || rowsRead != that.rowsRead || totalTimeMs != that.totalTimeMs) {
+            return false;
+        }
+        return ObjectsCompat.equals(createdIndex, that.createdIndex);
+    }
+}
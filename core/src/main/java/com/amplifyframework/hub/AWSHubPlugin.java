@@ -18,50 +18,84 @@ package com.amplifyframework.hub;
 import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.core.BuildConfig;
 
 import org.json.JSONObject;
 
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An implementation of the {@link HubPlugin} which dispatches messages via
  * an {@link ExecutorService}.
+ *
+ * Subscriptions are indexed by {@link HubChannel}, so that publishing an event only visits
+ * the subscriptions of its own channel, without taking a lock. Each subscription has its own
+ * queue of events, which is drained by a bounded pool of threads. A subscription receives its
+ * events in the order they were published, and at most one thread delivers to it at a time.
  */
 public final class AWSHubPlugin extends HubPlugin<Void> {
-    private final Set<Subscription> subscriptions;
+    private static final int MAX_EVENTS_PER_DISPATCH = 32;
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 30;
+
+    private final Map<HubChannel, List<Subscription>> subscriptionsByChannel;
+    private final Map<SubscriptionToken, Subscription> subscriptionsByToken;
     private final ExecutorService executorService;
+    private final DispatchStatistics dispatchStatistics;
 
     /**
      * Constructs a new AWSHubPlugin.
      */
     @SuppressWarnings("WeakerAccess") // This is a public API
     public AWSHubPlugin() {
-        this.subscriptions = new HashSet<>();
-        this.executorService = Executors.newCachedThreadPool();
+        this(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    @VisibleForTesting
+    AWSHubPlugin(int maxDispatchThreads) {
+        this.subscriptionsByChannel = new EnumMap<>(HubChannel.class);
+        for (HubChannel hubChannel : HubChannel.values()) {
+            subscriptionsByChannel.put(hubChannel, new CopyOnWriteArrayList<>());
+        }
+        this.subscriptionsByToken = new ConcurrentHashMap<>();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+            maxDispatchThreads,
+            maxDispatchThreads,
+            IDLE_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>()
+        );
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
+        this.dispatchStatistics = new DispatchStatistics();
     }
 
     @Override
     public <T> void publish(@NonNull HubChannel hubChannel, @NonNull HubEvent<T> hubEvent) {
         Objects.requireNonNull(hubChannel);
         Objects.requireNonNull(hubEvent);
-        executorService.execute(() -> {
-            synchronized (subscriptions) {
-                for (Subscription subscription : subscriptions) {
-                    if (subscription.getHubChannel().equals(hubChannel) &&
-                            subscription.getHubEventFilter().filter(hubEvent)) {
-                        executorService.execute(() -> subscription.getHubSubscriber().onEvent(hubEvent));
-                    }
-                }
-            }
-        });
+        dispatchStatistics.recordPublished();
+        long publishedAtNanos = System.nanoTime();
+        for (Subscription subscription : subscriptionsByChannel.get(hubChannel)) {
+            subscription.getPendingEvents().offer(new PendingEvent(hubEvent, publishedAtNanos));
+            dispatchStatistics.recordQueued();
+            scheduleDispatch(subscription);
+        }
     }
 
     @NonNull
@@ -81,22 +115,65 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
         Objects.requireNonNull(hubEventFilter);
         Objects.requireNonNull(hubSubscriber);
         SubscriptionToken token = SubscriptionToken.create();
-        synchronized (subscriptions) {
-            subscriptions.add(new Subscription(token, hubChannel, hubEventFilter, hubSubscriber));
-        }
+        Subscription subscription = new Subscription(token, hubChannel, hubEventFilter, hubSubscriber);
+        subscriptionsByToken.put(token, subscription);
+        subscriptionsByChannel.get(hubChannel).add(subscription);
         return token;
     }
 
     @Override
     public void unsubscribe(@NonNull SubscriptionToken subscriptionToken) {
         Objects.requireNonNull(subscriptionToken);
-        synchronized (subscriptions) {
-            Iterator<Subscription> iterator = subscriptions.iterator();
-            while (iterator.hasNext()) {
-                if (iterator.next().getSubscriptionToken().equals(subscriptionToken)) {
-                    iterator.remove();
+        Subscription subscription = subscriptionsByToken.remove(subscriptionToken);
+        if (subscription == null) {
+            return;
+        }
+        // Events that are still queued for the subscription are discarded by its next dispatch.
+        subscription.cancel();
+        subscriptionsByChannel.get(subscription.getHubChannel()).remove(subscription);
+    }
+
+    /**
+     * Gets a snapshot of the statistics of event dispatch, such as how many events are
+     * waiting to be delivered, and how long they have been waiting.
+     * @return Current dispatch metrics
+     */
+    @NonNull
+    public HubDispatchMetrics getDispatchMetrics() {
+        return dispatchStatistics.snapshot();
+    }
+
+    private void scheduleDispatch(Subscription subscription) {
+        if (subscription.getDispatchScheduled().compareAndSet(false, true)) {
+            executorService.execute(() -> dispatch(subscription));
+        }
+    }
+
+    /**
+     * Delivers a batch of the events that are queued for a subscription. If more events
+     * remain after the batch, another dispatch is scheduled behind those of the other
+     * subscriptions, so that one busy subscription can't hold on to a thread indefinitely.
+     * @param subscription Subscription to deliver events to
+     */
+    private void dispatch(Subscription subscription) {
+        Queue<PendingEvent> pendingEvents = subscription.getPendingEvents();
+        try {
+            PendingEvent pendingEvent;
+            int dispatchedEvents = 0;
+            while (dispatchedEvents < MAX_EVENTS_PER_DISPATCH && (pendingEvent = pendingEvents.poll()) != null) {
+                dispatchedEvents++;
+                dispatchStatistics.recordDispatched(System.nanoTime() - pendingEvent.getPublishedAtNanos());
+                HubEvent<?> hubEvent = pendingEvent.getHubEvent();
+                if (!subscription.isCanceled() && subscription.getHubEventFilter().filter(hubEvent)) {
+                    subscription.getHubSubscriber().onEvent(hubEvent);
                 }
             }
+        } finally {
+            // An event may have been queued after the last poll, but before this flag is cleared.
+            subscription.getDispatchScheduled().set(false);
+            if (!pendingEvents.isEmpty()) {
+                scheduleDispatch(subscription);
+            }
         }
     }
 
@@ -129,6 +206,9 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
         private final HubChannel channel;
         private final HubEventFilter hubEventFilter;
         private final HubSubscriber hubSubscriber;
+        private final Queue<PendingEvent> pendingEvents;
+        private final AtomicBoolean dispatchScheduled;
+        private volatile boolean canceled;
 
         Subscription(
                 @NonNull SubscriptionToken subscriptionToken,
@@ -139,6 +219,9 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
             this.channel = Objects.requireNonNull(channel);
             this.hubEventFilter = Objects.requireNonNull(hubEventFilter);
             this.hubSubscriber = Objects.requireNonNull(hubSubscriber);
+            this.pendingEvents = new ConcurrentLinkedQueue<>();
+            this.dispatchScheduled = new AtomicBoolean(false);
+            this.canceled = false;
         }
 
         SubscriptionToken getSubscriptionToken() {
@@ -157,6 +240,22 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
             return hubSubscriber;
         }
 
+        Queue<PendingEvent> getPendingEvents() {
+            return pendingEvents;
+        }
+
+        AtomicBoolean getDispatchScheduled() {
+            return dispatchScheduled;
+        }
+
+        boolean isCanceled() {
+            return canceled;
+        }
+
+        void cancel() {
+            canceled = true;
+        }
+
         @Override
         public boolean equals(Object thatObject) {
             if (this == thatObject) {
@@ -199,4 +298,69 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
                 '}';
         }
     }
+
+    /**
+     * An event that is waiting to be delivered to a subscription.
+     */
+    private static final class PendingEvent {
+        private final HubEvent<?> hubEvent;
+        private final long publishedAtNanos;
+
+        PendingEvent(HubEvent<?> hubEvent, long publishedAtNanos) {
+            this.hubEvent = hubEvent;
+            this.publishedAtNanos = publishedAtNanos;
+        }
+
+        HubEvent<?> getHubEvent() {
+            return hubEvent;
+        }
+
+        long getPublishedAtNanos() {
+            return publishedAtNanos;
+        }
+    }
+
+    /**
+     * Accumulates the statistics that are reported as {@link HubDispatchMetrics}.
+     */
+    private static final class DispatchStatistics {
+        private final AtomicInteger queuedEvents = new AtomicInteger();
+        private long publishedEvents;
+        private long dispatchedEvents;
+        private int maxQueuedEvents;
+        private long totalLatencyNanos;
+        private long maxLatencyNanos;
+
+        synchronized void recordPublished() {
+            publishedEvents++;
+        }
+
+        void recordQueued() {
+            int depth = queuedEvents.incrementAndGet();
+            synchronized (this) {
+                maxQueuedEvents = Math.max(maxQueuedEvents, depth);
+            }
+        }
+
+        void recordDispatched(long latencyNanos) {
+            queuedEvents.decrementAndGet();
+            synchronized (this) {
+                dispatchedEvents++;
+                totalLatencyNanos += latencyNanos;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+            }
+        }
+
+        synchronized HubDispatchMetrics snapshot() {
+            double averageLatencyNanos = dispatchedEvents == 0 ? 0 : (double) totalLatencyNanos / dispatchedEvents;
+            return new HubDispatchMetrics(
+                publishedEvents,
+                dispatchedEvents,
+                queuedEvents.get(),
+                maxQueuedEvents,
+                averageLatencyNanos / TimeUnit.MILLISECONDS.toNanos(1),
+                (double) maxLatencyNanos / TimeUnit.MILLISECONDS.toNanos(1)
+            );
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.hub;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A snapshot of the dispatch statistics of the {@link AWSHubPlugin}.
+ *
+ * An event is queued once for each subscription on the channel it was published to,
+ * and leaves the queue when it is handed to the subscription's filter. The dispatch
+ * latency is the time between an event being published, and it being handed to a
+ * subscription's filter.
+ */
+public final class HubDispatchMetrics {
+    private final long publishedEvents;
+    private final long dispatchedEvents;
+    private final int queuedEvents;
+    private final int maxQueuedEvents;
+    private final double averageDispatchLatencyMs;
+    private final double maxDispatchLatencyMs;
+
+    HubDispatchMetrics(
+            long publishedEvents,
+            long dispatchedEvents,
+            int queuedEvents,
+            int maxQueuedEvents,
+            double averageDispatchLatencyMs,
+            double maxDispatchLatencyMs) {
+        this.publishedEvents = publishedEvents;
+        this.dispatchedEvents = dispatchedEvents;
+        this.queuedEvents = queuedEvents;
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.averageDispatchLatencyMs = averageDispatchLatencyMs;
+        this.maxDispatchLatencyMs = maxDispatchLatencyMs;
+    }
+
+    /**
+     * Gets the number of events that have been published to the hub.
+     * @return Number of published events
+     */
+    public long getPublishedEvents() {
+        return publishedEvents;
+    }
+
+    /**
+     * Gets the number of times an event has been handed to a subscription.
+     * @return Number of dispatched events
+     */
+    public long getDispatchedEvents() {
+        return dispatchedEvents;
+    }
+
+    /**
+     * Gets the number of events that are waiting to be handed to a subscription.
+     * @return Current depth of the dispatch queues
+     */
+    public int getQueuedEvents() {
+        return queuedEvents;
+    }
+
+    /**
+     * Gets the largest number of events that have waited to be handed to a subscription
+     * at any one time.
+     * @return Maximum depth of the dispatch queues
+     */
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents;
+    }
+
+    /**
+     * Gets the average time between an event being published and it being handed to a subscription.
+     * @return Average dispatch latency, in milliseconds
+     */
+    public double getAverageDispatchLatencyMs() {
+        return averageDispatchLatencyMs;
+    }
+
+    /**
+     * Gets the longest time between an event being published and it being handed to a subscription.
+     * @return Maximum dispatch latency, in milliseconds
+     */
+    public double getMaxDispatchLatencyMs() {
+        return maxDispatchLatencyMs;
+    }
+
+    @Override
+    public boolean equals(Object thatObject) {
+        if (this == thatObject) {
+            return true;
+        }
+        if (thatObject == null || getClass() != thatObject.getClass()) {
+            return false;
+        }
+
+        HubDispatchMetrics that = (HubDispatchMetrics) thatObject;
+        return publishedEvents == that.publishedEvents &&
+            dispatchedEvents == that.dispatchedEvents &&
+            queuedEvents == that.queuedEvents &&
+            maxQueuedEvents == that.maxQueuedEvents &&
+            Double.compare(averageDispatchLatencyMs, that.averageDispatchLatencyMs) == 0 &&
+            Double.compare(maxDispatchLatencyMs, that.maxDispatchLatencyMs) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (publishedEvents ^ (publishedEvents >>> 32));
+        result = 31 * result + (int) (dispatchedEvents ^ (dispatchedEvents >>> 32));
+        result = 31 * result + queuedEvents;
+        result = 31 * result + maxQueuedEvents;
+        long averageBits = Double.doubleToLongBits(averageDispatchLatencyMs);
+        result = 31 * result + (int) (averageBits ^ (averageBits >>> 32));
+        long maxBits = Double.doubleToLongBits(maxDispatchLatencyMs);
+        result = 31 * result + (int) (maxBits ^ (maxBits >>> 32));
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HubDispatchMetrics{" +
+            "publishedEvents=" + publishedEvents +
+            ", dispatchedEvents=" + dispatchedEvents +
+            ", queuedEvents=" + queuedEvents +
+            ", maxQueuedEvents=" + maxQueuedEvents +
+            ", averageDispatchLatencyMs=" + averageDispatchLatencyMs +
+            ", maxDispatchLatencyMs=" + maxDispatchLatencyMs +
+            '}';
+    }
+}
@@ -26,12 +26,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility that operates on the fields of a
  * {@link com.amplifyframework.core.model.Model}.
+ *
+ * Classes do not change once loaded, so the fields found in each class are kept for the
+ * life of the process. Lookups after the first one do not use reflection.
  */
 public final class FieldFinder {
+    // The fields found so far, by class.
+    private static final Map<Class<?>, ClassFields> CLASS_FIELDS = new ConcurrentHashMap<>();
 
     /**
      * Dis-allows instantiation of this utility.
@@ -47,6 +54,14 @@ public final class FieldFinder {
      */
     @NonNull
     public static List<Field> findModelFieldsIn(@NonNull Class<?> clazz) {
+        final ClassFields classFields = fieldsOf(clazz);
+        if (classFields.modelFields == null) {
+            classFields.modelFields = scanModelFieldsIn(clazz);
+        }
+        return classFields.modelFields;
+    }
+
+    private static List<Field> scanModelFieldsIn(Class<?> clazz) {
         final List<Field> fields = new ArrayList<>();
         Class<?> fieldContainerClazz = clazz;
         while (fieldContainerClazz != null) {
@@ -68,6 +83,14 @@ public final class FieldFinder {
      */
     @NonNull
     public static List<Field> findNonTransientFieldsIn(@NonNull Class<?> clazz) {
+        final ClassFields classFields = fieldsOf(clazz);
+        if (classFields.nonTransientFields == null) {
+            classFields.nonTransientFields = scanNonTransientFieldsIn(clazz);
+        }
+        return classFields.nonTransientFields;
+    }
+
+    private static List<Field> scanNonTransientFieldsIn(Class<?> clazz) {
         final List<Field> fields = new ArrayList<>();
         Class<?> fieldContainerClazz = clazz;
         while (fieldContainerClazz != null) {
@@ -99,13 +122,59 @@ public final class FieldFinder {
     public static Object extractFieldValue(@NonNull Object object,
                                        @NonNull String fieldName) throws NoSuchFieldException {
         try {
-            Field objectField = object.getClass().getDeclaredField(fieldName);
-            objectField.setAccessible(true);
-            return objectField.get(object);
+            return declaredField(object.getClass(), fieldName).get(object);
         } catch (NoSuchFieldException noSuchFieldException) {
             throw noSuchFieldException;
         } catch (Exception exception) {
             return null;
         }
     }
+
+    /**
+     * Finds a field declared by a class, which has been made accessible, so that
+     * its value can be read again and again without looking the field up.
+     * @param clazz Class which declares the field
+     * @param fieldName Name of the field
+     * @return An accessible field
+     * @throws NoSuchFieldException if the class does not declare a field named fieldName
+     */
+    @NonNull
+    public static Field findDeclaredField(@NonNull Class<?> clazz, @NonNull String fieldName)
+            throws NoSuchFieldException {
+        return declaredField(clazz, fieldName);
+    }
+
+    // A field declared by the class itself, made accessible once.
+    private static Field declaredField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        final Map<String, Field> declaredFields = fieldsOf(clazz).declaredFields;
+        Field field = declaredFields.get(fieldName);
+        if (field == null) {
+            field = clazz.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            declaredFields.put(fieldName, field);
+        }
+        return field;
+    }
+
+    private static ClassFields fieldsOf(Class<?> clazz) {
+        ClassFields classFields = CLASS_FIELDS.get(clazz);
+        if (classFields == null) {
+            classFields = new ClassFields();
+            ClassFields existing = CLASS_FIELDS.putIfAbsent(clazz, classFields);
+            if (existing != null) {
+                classFields = existing;
+            }
+        }
+        return classFields;
+    }
+
+    /**
+     * The fields of a class, as they are found. Two threads may both scan a class at
+     * the same time; they find the same fields, so either result may be kept.
+     */
+    private static final class ClassFields {
+        private final Map<String, Field> declaredFields = new ConcurrentHashMap<>();
+        private volatile List<Field> modelFields;
+        private volatile List<Field> nonTransientFields;
+    }
 }
@@ -31,6 +31,7 @@ import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 /**
  * Tests the {@link ModelSchema}.
@@ -106,4 +107,31 @@ public final class ModelSchemaTest {
         // showed that the object was already in the collection.
         assertSame(actualModelSchema, modelSchemaSet.iterator().next());
     }
+
+    /**
+     * The schema of a model class is built once, and the same schema is returned afterwards.
+     * @throws AmplifyException from model schema parsing
+     */
+    @Test
+    public void modelSchemaOfClassIsBuiltOnce() throws AmplifyException {
+        assertSame(ModelSchema.fromModelClass(Person.class), ModelSchema.fromModelClass(Person.class));
+    }
+
+    /**
+     * Since the schema of a model class is shared, none of its collections can be modified.
+     * @throws AmplifyException from model schema parsing
+     */
+    @Test
+    public void modelSchemaOfClassCanNotBeModified() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(Person.class);
+        ModelField firstName = schema.getFields().get("first_name");
+        ModelIndex index = schema.getIndexes().get("first_name_and_age_based_index");
+
+        assertThrows(UnsupportedOperationException.class, () -> schema.getFields().remove("first_name"));
+        assertThrows(UnsupportedOperationException.class, () -> schema.getAuthRules().clear());
+        assertThrows(UnsupportedOperationException.class, () -> schema.getIndexes().clear());
+        assertThrows(UnsupportedOperationException.class, () -> firstName.getAuthRules().clear());
+        assertThrows(UnsupportedOperationException.class, () -> index.getIndexFieldNames().set(0, "last_name"));
+        assertEquals(Arrays.asList("first_name", "age"), index.getIndexFieldNames());
+    }
 }
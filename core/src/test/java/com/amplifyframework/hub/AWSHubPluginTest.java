@@ -20,14 +20,20 @@ import com.amplifyframework.testutils.Latch;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Validates the functionality of the {@link AWSHubPlugin}.
@@ -75,6 +81,63 @@ public final class AWSHubPluginTest {
         );
     }
 
+    /**
+     * Validates that a subscriber receives the events of its channel in the order that
+     * they were published, even when the hub has fewer dispatch threads than subscribers.
+     */
+    @Test
+    public void eventsAreDeliveredInPublicationOrder() {
+        final int eventCount = 500;
+        hub = new AWSHubPlugin(1);
+        List<Integer> firstReceived = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> secondReceived = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2 * eventCount);
+        hub.subscribe(HubChannel.DATASTORE, event -> {
+            firstReceived.add((Integer) event.getData());
+            latch.countDown();
+        });
+        hub.subscribe(HubChannel.DATASTORE, event -> {
+            secondReceived.add((Integer) event.getData());
+            latch.countDown();
+        });
+        AtomicInteger otherChannelEvents = new AtomicInteger();
+        hub.subscribe(HubChannel.STORAGE, event -> otherChannelEvents.incrementAndGet());
+
+        List<Integer> published = new ArrayList<>();
+        for (int index = 0; index < eventCount; index++) {
+            published.add(index);
+            hub.publish(HubChannel.DATASTORE, HubEvent.create("index", index));
+        }
+        Latch.await(latch);
+        assertEquals(published, firstReceived);
+        assertEquals(published, secondReceived);
+        assertEquals(0, otherChannelEvents.get());
+    }
+
+    /**
+     * Validates that the dispatch metrics count every published event, and
+     * every time an event was handed to a subscription.
+     */
+    @Test
+    public void dispatchMetricsCountPublishedEvents() {
+        CountDownLatch latch = new CountDownLatch(4);
+        hub.subscribe(HubChannel.API, event -> latch.countDown());
+        AtomicInteger filteredEvents = new AtomicInteger();
+        hub.subscribe(HubChannel.API, event -> false, event -> filteredEvents.incrementAndGet());
+        hub.subscribe(HubChannel.API, event -> latch.countDown());
+        hub.publish(HubChannel.API, HubEvent.create("first"));
+        hub.publish(HubChannel.API, HubEvent.create("second"));
+        hub.publish(HubChannel.AUTH, HubEvent.create("nobody is listening"));
+        Latch.await(latch);
+
+        HubDispatchMetrics metrics = hub.getDispatchMetrics();
+        assertEquals(3, metrics.getPublishedEvents());
+        assertTrue(metrics.getDispatchedEvents() >= 4);
+        assertTrue(metrics.getMaxQueuedEvents() >= 1);
+        assertTrue(metrics.getMaxDispatchLatencyMs() >= metrics.getAverageDispatchLatencyMs());
+        assertEquals(0, filteredEvents.get());
+    }
+
     /**
      * Tests publishing, subscribing, receiving events, etc., from many threads.
      *
@@ -17,6 +17,7 @@ package com.amplifyframework.hub;
 
 import com.amplifyframework.api.events.ApiEndpointStatusChangeEvent;
 import com.amplifyframework.api.events.ApiEndpointStatusChangeEvent.ApiEndpointStatus;
+import com.amplifyframework.datastore.events.ModelSyncPipelineEvent;
 import com.amplifyframework.datastore.events.ModelSyncedEvent;
 import com.amplifyframework.datastore.events.NetworkStatusEvent;
 import com.amplifyframework.datastore.events.SyncQueriesStartedEvent;
@@ -72,6 +73,20 @@ public class HubEventDataObjectsTest {
         EqualsToStringHashValidator.validate(status1, status2, status3);
     }
 
+    /**
+     * Verify {@link ModelSyncPipelineEvent} behavior.
+     */
+    @Test
+    public void verifyModelSyncPipelineEvent() {
+        ModelSyncPipelineEvent status1 =
+            new ModelSyncPipelineEvent("Post", 3, 1, 300, 200, 400);
+        ModelSyncPipelineEvent status2 =
+            new ModelSyncPipelineEvent("Blog", 2, 2, 100, 100, 200);
+        ModelSyncPipelineEvent status3 =
+            new ModelSyncPipelineEvent("Post", 3, 1, 300, 200, 400);
+        EqualsToStringHashValidator.validate(status1, status2, status3);
+    }
+
     /**
      * Verify {@link SyncQueriesStartedEvent} behavior.
      */
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.util;
+
+import com.amplifyframework.testmodels.personcar.Person;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link FieldFinder} utility.
+ */
+public final class FieldFinderTest {
+    /**
+     * The fields of a class are found once, and the same ones are returned afterwards.
+     */
+    @Test
+    public void fieldsOfClassAreFoundOnce() {
+        assertSame(FieldFinder.findModelFieldsIn(Person.class), FieldFinder.findModelFieldsIn(Person.class));
+        assertSame(
+            FieldFinder.findNonTransientFieldsIn(Person.class),
+            FieldFinder.findNonTransientFieldsIn(Person.class)
+        );
+    }
+
+    /**
+     * A declared field is made accessible once, and then read from each object it is given.
+     * @throws NoSuchFieldException Not thrown, since the fields exist
+     */
+    @Test
+    public void declaredFieldIsReadFromEachObject() throws NoSuchFieldException {
+        Field firstName = FieldFinder.findDeclaredField(Person.class, "first_name");
+        assertSame(firstName, FieldFinder.findDeclaredField(Person.class, "first_name"));
+
+        Person tony = Person.builder().firstName("Tony").lastName("Swanson").build();
+        Person jane = Person.builder().firstName("Jane").lastName("Doe").build();
+        assertEquals("Tony", FieldFinder.extractFieldValue(tony, "first_name"));
+        assertEquals("Jane", FieldFinder.extractFieldValue(jane, "first_name"));
+        assertEquals("Doe", FieldFinder.extractFieldValue(jane, "last_name"));
+    }
+
+    /**
+     * A field which the class does not declare is not found, however often it is asked for.
+     */
+    @Test
+    public void missingFieldIsNeverFound() {
+        Person person = Person.builder().firstName("Tony").lastName("Swanson").build();
+        assertThrows(NoSuchFieldException.class, () -> FieldFinder.extractFieldValue(person, "nickname"));
+        assertThrows(NoSuchFieldException.class, () -> FieldFinder.extractFieldValue(person, "nickname"));
+        assertThrows(NoSuchFieldException.class, () -> FieldFinder.findDeclaredField(Person.class, "nickname"));
+    }
+}
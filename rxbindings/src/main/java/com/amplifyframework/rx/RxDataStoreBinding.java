@@ -21,6 +21,7 @@ import androidx.annotation.VisibleForTesting;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.NoOpAction;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
@@ -31,9 +32,11 @@ import com.amplifyframework.datastore.DataStoreItemChange;
 import com.amplifyframework.rx.RxAdapters.VoidBehaviors;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 
 final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
@@ -60,6 +63,13 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
         return toCompletable((onResult, onError) -> dataStore.save(item, predicate, onResult, onError));
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Completable saveAll(@NonNull List<T> items) {
+        return VoidBehaviors.<DataStoreException>toCompletable((onComplete, onError) ->
+            dataStore.saveAll(items, changes -> onComplete.call(), onError));
+    }
+
     @NonNull
     @Override
     public <T extends Model> Completable delete(@NonNull T item) {
@@ -73,6 +83,13 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
             dataStore.delete(item, predicate, onResult, onError));
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Completable deleteAll(@NonNull List<T> items) {
+        return VoidBehaviors.<DataStoreException>toCompletable((onComplete, onError) ->
+            dataStore.deleteAll(items, changes -> onComplete.call(), onError));
+    }
+
     @NonNull
     @Override
     public <T extends Model> Completable delete(@NonNull Class<T> itemClass, @NonNull QueryPredicate predicate) {
@@ -102,6 +119,25 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
             dataStore.query(itemClass, options, onResult, onError));
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Flowable<T> stream(
+            @NonNull Class<T> itemClass, @NonNull QueryOptions options) {
+        return VoidBehaviors.<CancelableIterator<T>, DataStoreException>toSingle((onResult, onError) ->
+            dataStore.stream(itemClass, options, onResult, onError))
+            .flatMapPublisher(iterator -> Flowable.generate(
+                () -> iterator,
+                (results, emitter) -> {
+                    if (results.hasNext()) {
+                        emitter.onNext(results.next());
+                    } else {
+                        emitter.onComplete();
+                    }
+                },
+                CancelableIterator::cancel
+            ));
+    }
+
     @NonNull
     @Override
     public Observable<DataStoreItemChange<? extends Model>> observe() {
@@ -23,7 +23,10 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreCategoryBehavior;
 import com.amplifyframework.datastore.DataStoreItemChange;
 
+import java.util.List;
+
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 
 /**
@@ -55,6 +58,18 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryPredicate predicate
     );
 
+    /**
+     * Saves a batch of items into the DataStore, in a single local transaction.
+     * @param <T> The type of items being saved
+     * @param items Items to save
+     * @return A {@link Completable} which completes once every item is saved, emits error
+     *         if none of them could be saved
+     */
+    @NonNull
+    <T extends Model> Completable saveAll(
+            @NonNull List<T> items
+    );
+
     /**
      * Deletes an item from the DataStore.
      * @param <T> The type of item being deleted
@@ -79,6 +94,18 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryPredicate predicate
     );
 
+    /**
+     * Deletes a batch of items from the DataStore, in a single local transaction.
+     * @param <T> The type of items being deleted
+     * @param items Items to delete from the DataStore
+     * @return A {@link Completable} which completes once every item is deleted, emits error
+     *         if none of them could be deleted
+     */
+    @NonNull
+    <T extends Model> Completable deleteAll(
+            @NonNull List<T> items
+    );
+
     /**
      * Deletes item from the DataStore, filtered by a predicate.
      * @param <T> The type of item being deleted
@@ -134,6 +161,24 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryOptions options
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, using the provided
+     * {@link QueryOptions}, reading each item from storage only as it is requested downstream.
+     * This allows large result sets to be consumed in constant memory, and the first
+     * items to be rendered before the rest have been read.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param <T> The type of items being queried
+     * @return A backpressure-aware stream of 0..n query results, if available.
+     *         The Flowable will then terminate either either a completion or error.
+     *         Canceling the subscription releases the underlying storage resources.
+     */
+    @NonNull
+    <T extends Model> Flowable<T> stream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options
+    );
+
     /**
      * Observe all changes to any/all item(s) in the DataStore.
      * @return An observable stream of {@link DataStoreItemChange}s,
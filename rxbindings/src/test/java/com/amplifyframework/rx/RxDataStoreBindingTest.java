@@ -21,8 +21,11 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
+import com.amplifyframework.core.async.CancelableIterator;
 import com.amplifyframework.core.async.NoOpCancelable;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.datastore.DataStoreCategory;
 import com.amplifyframework.datastore.DataStoreCategoryConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
@@ -36,15 +39,20 @@ import com.amplifyframework.testutils.random.RandomString;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
 
 import static com.amplifyframework.rx.Matchers.anyAction;
 import static com.amplifyframework.rx.Matchers.anyConsumer;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -150,6 +158,77 @@ public final class RxDataStoreBindingTest {
             .save(eq(model), anyConsumer(), anyConsumer());
     }
 
+    /**
+     * When the DataStore saveAll behavior returns its results, the Rx binding
+     * should just complete.
+     * @throws InterruptedException If interrupted while test observer is awaiting terminal event
+     */
+    @Test
+    public void saveAllCompletesWhenBehaviorEmitsResult() throws InterruptedException {
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model());
+
+        // Arrange: category returns notification of every change when saveAll is transacted
+        doAnswer(invocation -> {
+            // 0 = models, 1 = result consumer, 2 = failure consumer
+            final int indexOfModels = 0;
+            final int indexOfResultConsumer = 1;
+            List<Model> modelsFromInvocation = invocation.getArgument(indexOfModels);
+            Consumer<List<DataStoreItemChange<Model>>> resultConsumer = invocation.getArgument(indexOfResultConsumer);
+            List<DataStoreItemChange<Model>> changes = new ArrayList<>();
+            for (Model modelFromInvocation : modelsFromInvocation) {
+                changes.add(DataStoreItemChange.builder()
+                    .uuid(modelFromInvocation.getId())
+                    .type(Type.CREATE)
+                    .itemClass(Model.class)
+                    .initiator(Initiator.LOCAL)
+                    .item(modelFromInvocation)
+                    .build());
+            }
+            resultConsumer.accept(changes);
+            return null;
+        }).when(delegate)
+            .saveAll(eq(models), anyConsumer(), anyConsumer());
+
+        // Act: try to save a batch of things.
+        TestObserver<Void> observer = rxDataStore.saveAll(models).test();
+
+        // Assert: operation completed
+        observer.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        observer.assertComplete();
+
+        // Assert: behavior was invoked
+        verify(delegate)
+            .saveAll(eq(models), anyConsumer(), anyConsumer());
+    }
+
+    /**
+     * When the DataStore saveAll behavior emits an error, the Rx binding should
+     * do the same.
+     * @throws InterruptedException If interrupted while test observer is awaiting terminal event
+     */
+    @Test
+    public void saveAllEmitsErrorWhenBehaviorDoes() throws InterruptedException {
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model());
+
+        // Arrange: The underlying category behavior returns an error.
+        DataStoreException expectedFailure = new DataStoreException("Expected", "Failure");
+        doAnswer(invocation -> {
+            int indexOfFailureConsumer = 2; // 0 = models, 1 = result consumer, 2 = failure consumer
+            Consumer<DataStoreException> failureConsumer = invocation.getArgument(indexOfFailureConsumer);
+            failureConsumer.accept(expectedFailure);
+            return null;
+        }).when(delegate)
+            .saveAll(eq(models), anyConsumer(), anyConsumer());
+
+        // Act: try to save a batch of things.
+        TestObserver<?> observer = rxDataStore.saveAll(models).test();
+        observer.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        observer.assertError(expectedFailure);
+
+        verify(delegate)
+            .saveAll(eq(models), anyConsumer(), anyConsumer());
+    }
+
     /**
      * When the DataStore delete behavior returns a result, the Rx binding
      * should just complete.
@@ -266,6 +345,49 @@ public final class RxDataStoreBindingTest {
             .query(eq(Model.class), anyConsumer(), anyConsumer());
     }
 
+    /**
+     * The Rx binding for streaming a query should only pull as many items from the
+     * category's lazy iterator as have been requested downstream, and should cancel
+     * the iterator when the subscription is canceled.
+     */
+    @Test
+    public void streamHonorsBackpressureAndCancelsIterator() {
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model(), RandomModel.model());
+        Iterator<Model> delegateIterator = models.iterator();
+        AtomicBoolean canceled = new AtomicBoolean(false);
+        CancelableIterator<Model> results = new CancelableIterator<Model>() {
+            @Override
+            public boolean hasNext() {
+                return delegateIterator.hasNext();
+            }
+
+            @Override
+            public Model next() {
+                return delegateIterator.next();
+            }
+
+            @Override
+            public void cancel() {
+                canceled.set(true);
+            }
+        };
+        doAnswer(invocation -> {
+            final int positionOfResultConsumer = 2; // 0 = clazz, 1 = options, 2 = result consumer
+            Consumer<CancelableIterator<Model>> resultConsumer = invocation.getArgument(positionOfResultConsumer);
+            resultConsumer.accept(results);
+            return null;
+        }).when(delegate)
+            .stream(eq(Model.class), any(QueryOptions.class), anyConsumer(), anyConsumer());
+
+        TestSubscriber<Model> subscriber = rxDataStore.stream(Model.class, Where.matchesAll()).test(1);
+        subscriber.assertValues(models.get(0));
+        subscriber.assertNotComplete();
+
+        subscriber.cancel();
+        assertTrue(canceled.get());
+        assertTrue(delegateIterator.hasNext());
+    }
+
     /**
      * The Rx binding for observing the DataStore should be an Observable stream
      * of DataStore changes. It should emit events whenever they are observed